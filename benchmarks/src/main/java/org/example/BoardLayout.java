@@ -0,0 +1,54 @@
+package org.example;
+
+import java.awt.Color;
+import java.util.ArrayList;
+import java.util.List;
+
+public enum BoardLayout {
+    LEVEL_1(1),
+    LEVEL_4(4),
+    LEVEL_8(8),
+    FULL_4_HITS(0);
+
+    static final long SEED = 42L;
+
+    private static final int FULL_COLUMNS = GameWorld.MAX_BRICK_COLUMNS;
+    private static final int FULL_ROWS = GameWorld.MAX_BRICK_ROWS;
+    private static final int FULL_HITS = 4;
+
+    private final int level;
+
+    BoardLayout(int level) {
+        this.level = level;
+    }
+
+    GameWorld create() {
+        GameWorld world = new GameWorld(SEED);
+        world.setEffectsSuppressed(true);
+        if (level > 0) {
+            world.startLevel(level);
+        } else {
+            world.replaceBricks(fullBoard());
+        }
+        return world;
+    }
+
+    private static List<Brick> fullBoard() {
+        int horizontalGap = GameWorld.LEVEL_HORIZONTAL_GAP;
+        int verticalGap = GameWorld.LEVEL_VERTICAL_GAP;
+        int topOffset = GameWorld.LEVEL_TOP_OFFSET;
+        int sidePadding = GameWorld.LEVEL_SIDE_PADDING;
+        double brickWidth = (GameWorld.PANEL_WIDTH - sidePadding * 2.0 - horizontalGap * (FULL_COLUMNS - 1)) / FULL_COLUMNS;
+        double brickHeight = GameWorld.LEVEL_BRICK_HEIGHT;
+        Color[] colors = {new Color(255, 99, 71), new Color(255, 165, 0), new Color(138, 43, 226), new Color(30, 144, 255)};
+        List<Brick> bricks = new ArrayList<>(FULL_COLUMNS * FULL_ROWS);
+        for (int row = 0; row < FULL_ROWS; row++) {
+            for (int col = 0; col < FULL_COLUMNS; col++) {
+                double x = sidePadding + col * (brickWidth + horizontalGap);
+                double y = topOffset + row * (brickHeight + verticalGap);
+                bricks.add(new Brick(x, y, brickWidth, brickHeight, colors[(row + col) % colors.length], FULL_HITS));
+            }
+        }
+        return bricks;
+    }
+}
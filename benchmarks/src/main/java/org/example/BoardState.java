@@ -0,0 +1,20 @@
+package org.example;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Thread)
+public class BoardState {
+    @Param
+    public BoardLayout layout;
+
+    GameWorld world;
+
+    @Setup(Level.Trial)
+    public void build() {
+        world = layout.create();
+    }
+}
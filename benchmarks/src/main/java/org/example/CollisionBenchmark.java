@@ -0,0 +1,95 @@
+package org.example;
+
+import java.awt.geom.Rectangle2D;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class CollisionBenchmark {
+
+    @State(Scope.Thread)
+    public static class Miss extends BoardState {
+        @Setup(Level.Trial)
+        public void placeBall() {
+            Ball ball = world.getBall();
+            ball.setCenter(GameWorld.PANEL_WIDTH / 2.0, world.getPaddle().getY() - 40);
+            ball.setVelocity(2.0, -6.0);
+        }
+    }
+
+    static final int HITS_PER_INVOCATION = 1024;
+
+    @State(Scope.Thread)
+    public static class Hit {
+        @Param
+        public BoardLayout layout;
+
+        GameWorld world;
+        private List<Brick> board;
+        private Brick target;
+        private final MemorySegment targetState = Arena.ofAuto().allocate(WorldLayout.BRICK);
+        private double ballX;
+        private double ballY;
+
+        @Setup(Level.Trial)
+        public void build() {
+            world = layout.create();
+            board = List.copyOf(world.getBricks());
+            target = board.get(0);
+            for (Brick brick : board) {
+                if (brick.getBounds().getMaxY() > target.getBounds().getMaxY()) {
+                    target = brick;
+                }
+            }
+            target.writeTo(targetState, 0);
+            Rectangle2D.Double bounds = target.getBounds();
+            ballX = bounds.getCenterX();
+            ballY = bounds.getMaxY() + world.getBall().getDiameter() / 2.0 - 2;
+        }
+
+        void reset() {
+            target.readFrom(targetState, 0);
+            if (world.getBricks().size() != board.size()) {
+                world.replaceBricks(board);
+            }
+            Ball ball = world.getBall();
+            ball.setCenter(ballX, ballY);
+            ball.setVelocity(1.0, -6.0);
+        }
+    }
+
+    @Benchmark
+    public int scanWithoutHit(Miss board) {
+        board.world.handleBrickCollisions();
+        return board.world.getBricks().size();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(HITS_PER_INVOCATION)
+    public int resolveHit(Hit board) {
+        for (int i = 0; i < HITS_PER_INVOCATION; i++) {
+            board.reset();
+            board.world.handleBrickCollisions();
+        }
+        return board.world.getScore();
+    }
+}
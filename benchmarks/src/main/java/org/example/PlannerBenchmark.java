@@ -0,0 +1,59 @@
+package org.example;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class PlannerBenchmark {
+    private static final double SHOT_ANGLE = Math.toRadians(25);
+    private static final double SHOT_SPEED = 7.0;
+
+    @State(Scope.Thread)
+    public static class Shot extends BoardState {
+        double interceptX;
+        double strikeY;
+        double radius;
+
+        @Setup(Level.Trial)
+        public void aim() {
+            Paddle paddle = world.getPaddle();
+            radius = world.getBall().getDiameter() / 2.0;
+            interceptX = paddle.getCenterX();
+            strikeY = paddle.getY() - radius - 0.5;
+        }
+    }
+
+    @Benchmark
+    public Object planBestShot(Shot board) {
+        return board.world.planBestShot(board.interceptX);
+    }
+
+    @Benchmark
+    public Object simulateShot(Shot board) {
+        return board.world.simulateShot(board.interceptX, board.strikeY, SHOT_SPEED * Math.sin(SHOT_ANGLE),
+            -SHOT_SPEED * Math.cos(SHOT_ANGLE), board.radius, false);
+    }
+
+    @Benchmark
+    public double evaluateBrickValues(BoardState board) {
+        double total = 0.0;
+        for (Brick brick : board.world.getBricks()) {
+            total += board.world.evaluateBrickValue(brick);
+        }
+        return total;
+    }
+}
@@ -0,0 +1,68 @@
+package org.example;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class RenderBenchmark {
+
+    @State(Scope.Thread)
+    public static class Canvas extends BoardState {
+        BufferedImage image;
+        Graphics2D g2;
+        Java2DFrameRenderer java2d;
+        PixelFrameRenderer pixel;
+
+        @Setup(Level.Trial)
+        public void allocate() {
+            image = new BufferedImage(GameWorld.PANEL_WIDTH, GameWorld.PANEL_HEIGHT, BufferedImage.TYPE_INT_RGB);
+            g2 = image.createGraphics();
+            g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            java2d = new Java2DFrameRenderer();
+            pixel = new PixelFrameRenderer();
+        }
+
+        @TearDown(Level.Trial)
+        public void release() {
+            g2.dispose();
+        }
+    }
+
+    @Benchmark
+    public int drawBricks(Canvas board) {
+        for (Brick brick : board.world.getBricks()) {
+            brick.draw(board.g2);
+        }
+        return board.image.getRGB(0, 0);
+    }
+
+    @Benchmark
+    public int fullFrameJava2D(Canvas board) {
+        board.java2d.render(board.world, board.image);
+        return board.image.getRGB(0, 0);
+    }
+
+    @Benchmark
+    public int fullFramePixel(Canvas board) {
+        board.pixel.render(board.world, board.image);
+        return board.image.getRGB(0, 0);
+    }
+}
@@ -3,6 +3,9 @@ package org.example;
 import java.awt.Color;
 import java.awt.Graphics2D;
 import java.awt.geom.Rectangle2D;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteBuffer;
 
 final class Ball {
     private double x;
@@ -14,7 +17,8 @@ final class Ball {
     private Color color;
     private boolean onFire;
     private boolean radioactive;
-    private static final int TRAIL_CAPACITY = 18;
+    private boolean trailVisible = true;
+    static final int TRAIL_CAPACITY = 18;
     private final double[] trailX = new double[TRAIL_CAPACITY];
     private final double[] trailY = new double[TRAIL_CAPACITY];
     private int trailSize;
@@ -143,13 +147,91 @@ final class Ball {
         }
     }
 
+    void setTrailVisible(boolean trailVisible) {
+        this.trailVisible = trailVisible;
+    }
+
     void clearTrail() {
         trailSize = 0;
         trailHead = -1;
     }
 
+    void writeState(ByteBuffer buffer) {
+        buffer.putDouble(x);
+        buffer.putDouble(y);
+        buffer.putDouble(velocityX);
+        buffer.putDouble(velocityY);
+        buffer.putInt(color.getRGB());
+        buffer.put((byte) ((onFire ? 1 : 0) | (radioactive ? 2 : 0)));
+        buffer.put((byte) trailSize);
+        for (int i = trailSize - 1; i >= 0; i--) {
+            int index = (trailHead - i + TRAIL_CAPACITY) % TRAIL_CAPACITY;
+            buffer.putDouble(trailX[index]);
+            buffer.putDouble(trailY[index]);
+        }
+    }
+
+    void writeTo(MemorySegment segment, long base) {
+        segment.set(ValueLayout.JAVA_DOUBLE, base + WorldLayout.BALL_X, x);
+        segment.set(ValueLayout.JAVA_DOUBLE, base + WorldLayout.BALL_Y, y);
+        segment.set(ValueLayout.JAVA_DOUBLE, base + WorldLayout.BALL_VELOCITY_X, velocityX);
+        segment.set(ValueLayout.JAVA_DOUBLE, base + WorldLayout.BALL_VELOCITY_Y, velocityY);
+        segment.set(ValueLayout.JAVA_INT, base + WorldLayout.BALL_COLOR, color.getRGB());
+        segment.set(ValueLayout.JAVA_BYTE, base + WorldLayout.BALL_FLAGS, (byte) ((onFire ? 1 : 0) | (radioactive ? 2 : 0)));
+        segment.set(ValueLayout.JAVA_BYTE, base + WorldLayout.BALL_TRAIL_SIZE, (byte) trailSize);
+        for (int i = 0; i < trailSize; i++) {
+            int index = (trailHead - (trailSize - 1 - i) + TRAIL_CAPACITY) % TRAIL_CAPACITY;
+            long point = base + WorldLayout.trailPoint(i);
+            segment.set(ValueLayout.JAVA_DOUBLE, point, trailX[index]);
+            segment.set(ValueLayout.JAVA_DOUBLE, point + 8, trailY[index]);
+        }
+    }
+
+    void readFrom(MemorySegment segment, long base) {
+        x = segment.get(ValueLayout.JAVA_DOUBLE, base + WorldLayout.BALL_X);
+        y = segment.get(ValueLayout.JAVA_DOUBLE, base + WorldLayout.BALL_Y);
+        velocityX = segment.get(ValueLayout.JAVA_DOUBLE, base + WorldLayout.BALL_VELOCITY_X);
+        velocityY = segment.get(ValueLayout.JAVA_DOUBLE, base + WorldLayout.BALL_VELOCITY_Y);
+        int rgb = segment.get(ValueLayout.JAVA_INT, base + WorldLayout.BALL_COLOR);
+        if (rgb != color.getRGB()) {
+            color = rgb == defaultColor.getRGB() ? defaultColor : new Color(rgb, true);
+        }
+        int flags = segment.get(ValueLayout.JAVA_BYTE, base + WorldLayout.BALL_FLAGS);
+        onFire = (flags & 1) != 0;
+        radioactive = (flags & 2) != 0;
+        int size = segment.get(ValueLayout.JAVA_BYTE, base + WorldLayout.BALL_TRAIL_SIZE);
+        if (size < 0 || size > TRAIL_CAPACITY) {
+            throw new IllegalArgumentException("Trainee invalide : " + size);
+        }
+        clearTrail();
+        for (int i = 0; i < size; i++) {
+            long point = base + WorldLayout.trailPoint(i);
+            recordTrailPosition(segment.get(ValueLayout.JAVA_DOUBLE, point), segment.get(ValueLayout.JAVA_DOUBLE, point + 8));
+        }
+    }
+
+    void readState(ByteBuffer buffer) {
+        x = buffer.getDouble();
+        y = buffer.getDouble();
+        velocityX = buffer.getDouble();
+        velocityY = buffer.getDouble();
+        int rgb = buffer.getInt();
+        color = rgb == defaultColor.getRGB() ? defaultColor : new Color(rgb, true);
+        int flags = buffer.get();
+        onFire = (flags & 1) != 0;
+        radioactive = (flags & 2) != 0;
+        int size = buffer.get();
+        if (size < 0 || size > TRAIL_CAPACITY) {
+            throw new IllegalArgumentException("Trainee invalide : " + size);
+        }
+        clearTrail();
+        for (int i = 0; i < size; i++) {
+            recordTrailPosition(buffer.getDouble(), buffer.getDouble());
+        }
+    }
+
     void draw(Graphics2D g2) {
-        if (radioactive && trailSize > 1) {
+        if (radioactive && trailVisible && trailSize > 1) {
             drawRadioactiveTrail(g2);
         }
 
@@ -174,6 +256,33 @@ final class Ball {
         g2.fillOval((int) Math.round(x + diameter / 3.0), (int) Math.round(y + diameter / 3.0), highlightSize, highlightSize);
     }
 
+    void draw(PixelCanvas canvas) {
+        int drawX = (int) Math.round(x);
+        int drawY = (int) Math.round(y);
+        if (radioactive && trailVisible && trailSize > 1) {
+            for (int i = 0; i < trailSize; i++) {
+                int index = (trailHead - i + TRAIL_CAPACITY) % TRAIL_CAPACITY;
+                double progress = (double) (trailSize - i) / (trailSize + 1);
+                int alpha = Math.max(10, Math.min(240, (int) Math.round(120 * progress)));
+                double size = Math.round(diameter * (0.6 + 0.5 * progress));
+                canvas.fillSoftDisc(trailX[index], trailY[index], size, PixelCanvas.argb(80, 255, 160, alpha));
+            }
+        }
+
+        if (radioactive) {
+            canvas.fillOval(drawX - 9, drawY - 9, Math.max(4, diameter + 18), Math.max(4, diameter + 18), PixelCanvas.argb(120, 255, 150, 120));
+            canvas.fillOval(drawX - 3, drawY - 3, diameter + 6, diameter + 6, PixelCanvas.argb(180, 255, 200, 200));
+        } else if (onFire) {
+            canvas.fillOval(drawX - 6, drawY - 6, Math.max(4, diameter + 12), Math.max(4, diameter + 12), PixelCanvas.argb(255, 120, 0, 160));
+            canvas.fillOval(drawX - 2, drawY - 2, diameter + 4, diameter + 4, PixelCanvas.argb(255, 200, 40, 180));
+        }
+
+        canvas.fillOval(drawX, drawY, diameter, diameter, radioactive ? PixelCanvas.argb(90, 255, 130, 255) : color.getRGB());
+        int highlightSize = Math.max(2, diameter / 4);
+        canvas.fillOval((int) Math.round(x + diameter / 3.0), (int) Math.round(y + diameter / 3.0), highlightSize, highlightSize,
+            radioactive ? PixelCanvas.argb(235, 255, 235, 255) : 0xFFFFFFFF);
+    }
+
     private void drawRadioactiveTrail(Graphics2D g2) {
         double baseSize = diameter;
         for (int i = 0; i < trailSize; i++) {
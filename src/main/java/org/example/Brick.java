@@ -5,28 +5,92 @@ import java.awt.Color;
 import java.awt.GradientPaint;
 import java.awt.Graphics2D;
 import java.awt.geom.Rectangle2D;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteBuffer;
 
 final class Brick {
     private final Rectangle2D.Double bounds;
-    private final Color color;
-    private final int maxHitPoints;
+    private int rgb;
+    private Color color;
+    private int maxHitPoints;
     private int hitPoints;
 
     Brick(double x, double y, double width, double height, Color color, int hitPoints) {
         this.bounds = new Rectangle2D.Double(x, y, width, height);
         this.color = color;
+        this.rgb = color.getRGB();
         this.hitPoints = Math.max(1, hitPoints);
         this.maxHitPoints = this.hitPoints;
     }
 
+    Brick() {
+        this.bounds = new Rectangle2D.Double();
+    }
+
+    private Brick(Rectangle2D.Double bounds, Color color, int maxHitPoints, int hitPoints) {
+        this.bounds = bounds;
+        this.color = color;
+        this.rgb = color.getRGB();
+        this.maxHitPoints = maxHitPoints;
+        this.hitPoints = hitPoints;
+    }
+
+    static Brick readState(ByteBuffer buffer) {
+        Rectangle2D.Double bounds = new Rectangle2D.Double(buffer.getDouble(), buffer.getDouble(),
+            buffer.getDouble(), buffer.getDouble());
+        Color color = new Color(buffer.getInt(), true);
+        int maxHitPoints = buffer.get();
+        int hitPoints = buffer.get();
+        return new Brick(bounds, color, maxHitPoints, hitPoints);
+    }
+
+    void readFrom(MemorySegment segment, long base) {
+        bounds.setRect(
+            segment.get(ValueLayout.JAVA_DOUBLE, base + WorldLayout.BRICK_X),
+            segment.get(ValueLayout.JAVA_DOUBLE, base + WorldLayout.BRICK_Y),
+            segment.get(ValueLayout.JAVA_DOUBLE, base + WorldLayout.BRICK_WIDTH),
+            segment.get(ValueLayout.JAVA_DOUBLE, base + WorldLayout.BRICK_HEIGHT));
+        rgb = segment.get(ValueLayout.JAVA_INT, base + WorldLayout.BRICK_COLOR);
+        maxHitPoints = segment.get(ValueLayout.JAVA_BYTE, base + WorldLayout.BRICK_MAX_HITS);
+        hitPoints = segment.get(ValueLayout.JAVA_BYTE, base + WorldLayout.BRICK_HITS);
+    }
+
+    void writeTo(MemorySegment segment, long base) {
+        segment.set(ValueLayout.JAVA_DOUBLE, base + WorldLayout.BRICK_X, bounds.x);
+        segment.set(ValueLayout.JAVA_DOUBLE, base + WorldLayout.BRICK_Y, bounds.y);
+        segment.set(ValueLayout.JAVA_DOUBLE, base + WorldLayout.BRICK_WIDTH, bounds.width);
+        segment.set(ValueLayout.JAVA_DOUBLE, base + WorldLayout.BRICK_HEIGHT, bounds.height);
+        segment.set(ValueLayout.JAVA_INT, base + WorldLayout.BRICK_COLOR, rgb);
+        segment.set(ValueLayout.JAVA_BYTE, base + WorldLayout.BRICK_MAX_HITS, (byte) maxHitPoints);
+        segment.set(ValueLayout.JAVA_BYTE, base + WorldLayout.BRICK_HITS, (byte) hitPoints);
+    }
+
+    void writeState(ByteBuffer buffer) {
+        buffer.putDouble(bounds.x);
+        buffer.putDouble(bounds.y);
+        buffer.putDouble(bounds.width);
+        buffer.putDouble(bounds.height);
+        buffer.putInt(rgb);
+        buffer.put((byte) maxHitPoints);
+        buffer.put((byte) hitPoints);
+    }
+
     Rectangle2D.Double getBounds() {
         return bounds;
     }
 
     Color getColor() {
+        if (color == null || color.getRGB() != rgb) {
+            color = new Color(rgb, true);
+        }
         return color;
     }
 
+    int getRgb() {
+        return rgb;
+    }
+
     boolean isDestroyed() {
         return hitPoints <= 0;
     }
@@ -42,6 +106,10 @@ final class Brick {
         return hitPoints;
     }
 
+    int getMaxHitPoints() {
+        return maxHitPoints;
+    }
+
     void draw(Graphics2D g2) {
         if (isDestroyed()) {
             return;
@@ -53,15 +121,15 @@ final class Brick {
         GradientPaint gradient = new GradientPaint(
             (float) bounds.x,
             (float) bounds.y,
-            shade(color, 1.15),
+            shade(getColor(), 1.15),
             (float) bounds.x,
             (float) (bounds.y + bounds.height),
-            shade(color, 0.85)
+            shade(getColor(), 0.85)
         );
         g2.setPaint(gradient);
         g2.fill(bounds);
 
-        g2.setColor(shade(color, 1.2f));
+        g2.setColor(shade(getColor(), 1.2f));
         g2.setStroke(new BasicStroke(2f));
         g2.draw(bounds);
 
@@ -73,6 +141,35 @@ final class Brick {
         drawHealthMarker(g2);
     }
 
+    void draw(PixelCanvas canvas) {
+        if (isDestroyed()) {
+            return;
+        }
+        int x = (int) Math.round(bounds.x);
+        int y = (int) Math.round(bounds.y);
+        int width = (int) Math.round(bounds.width);
+        int height = (int) Math.round(bounds.height);
+
+        canvas.fillRect(x + 3, y + 3, width, height, PixelCanvas.argb(0, 0, 0, 70));
+        canvas.fillVerticalGradient(x, y, width, height, shade(getColor(), 1.15).getRGB(), shade(getColor(), 0.85).getRGB());
+        canvas.drawRect(x - 1, y - 1, width + 2, height + 2, 2, shade(getColor(), 1.2f).getRGB());
+        canvas.fillRect(x + 2, y + 1, width - 4, 3, PixelCanvas.argb(255, 255, 255, 120));
+
+        int inset = 6;
+        int markerHeight = 6;
+        int markerWidth = width - inset * 2;
+        int markerX = x + inset;
+        int markerY = y + height - markerHeight - 4;
+        canvas.fillRect(markerX, markerY, markerWidth, markerHeight, PixelCanvas.argb(0, 0, 0, 100));
+        int filledWidth = (int) Math.round(Math.max(0, markerWidth * ((double) hitPoints / maxHitPoints)));
+        canvas.fillRect(markerX, markerY, filledWidth, markerHeight, shade(getColor(), 1.1).getRGB());
+        int tickColor = PixelCanvas.argb(255, 255, 255, 90);
+        for (int i = 1; i < maxHitPoints; i++) {
+            int tickX = (int) Math.round(markerX + ((double) markerWidth / maxHitPoints) * i);
+            canvas.fillRect(tickX, markerY, 1, markerHeight + 1, tickColor);
+        }
+    }
+
     private void drawHealthMarker(Graphics2D g2) {
         int inset = 6;
         double markerHeight = 6;
@@ -85,7 +182,7 @@ final class Brick {
 
         double ratio = (double) hitPoints / maxHitPoints;
         double filledWidth = Math.max(0, markerWidth * ratio);
-        g2.setColor(shade(color, 1.1));
+        g2.setColor(shade(getColor(), 1.1));
         g2.fill(new Rectangle2D.Double(markerX, markerY, filledWidth, markerHeight));
 
         g2.setStroke(new BasicStroke(1f));
@@ -0,0 +1,292 @@
+package org.example;
+
+import java.awt.Color;
+import java.awt.Composite;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.Paint;
+import java.awt.RenderingHints;
+import java.awt.Shape;
+import java.awt.Stroke;
+import java.awt.font.GlyphVector;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.RenderedImage;
+import java.awt.image.renderable.RenderableImage;
+import java.text.AttributedString;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+
+final class DisplayList {
+    static final byte SET_COLOR = 1;
+    static final byte SET_PAINT = 2;
+    static final byte SET_STROKE = 3;
+    static final byte SET_FONT = 4;
+    static final byte SET_COMPOSITE = 5;
+    static final byte SET_BACKGROUND = 6;
+    static final byte SET_HINT = 7;
+    static final byte SET_TRANSFORM = 8;
+    static final byte SET_CLIP = 9;
+    static final byte PAINT_MODE = 10;
+    static final byte XOR_MODE = 11;
+    static final byte PUSH = 12;
+    static final byte POP = 13;
+
+    static final byte FILL_RECT = 20;
+    static final byte CLEAR_RECT = 21;
+    static final byte DRAW_LINE = 22;
+    static final byte FILL_OVAL = 23;
+    static final byte DRAW_OVAL = 24;
+    static final byte FILL_ROUND_RECT = 25;
+    static final byte DRAW_ROUND_RECT = 26;
+    static final byte FILL_ARC = 27;
+    static final byte DRAW_ARC = 28;
+    static final byte FILL_RECT2D = 29;
+    static final byte DRAW_RECT2D = 30;
+    static final byte FILL_SHAPE = 31;
+    static final byte DRAW_SHAPE = 32;
+    static final byte DRAW_POLYLINE = 33;
+    static final byte DRAW_POLYGON = 34;
+    static final byte FILL_POLYGON = 35;
+    static final byte DRAW_STRING = 36;
+    static final byte DRAW_ATTRIBUTED_STRING = 37;
+    static final byte DRAW_GLYPHS = 38;
+    static final byte DRAW_IMAGE = 39;
+    static final byte DRAW_IMAGE_SCALED = 40;
+    static final byte DRAW_IMAGE_REGION = 41;
+    static final byte DRAW_IMAGE_TRANSFORMED = 42;
+    static final byte DRAW_RENDERED = 43;
+    static final byte DRAW_RENDERABLE = 44;
+    static final byte COPY_AREA = 45;
+
+    private byte[] ops = new byte[256];
+    private double[] args = new double[1024];
+    private Object[] refs = new Object[256];
+    private int opCount;
+    private int argCount;
+    private int refCount;
+    private int drawCalls;
+    private int stateChanges;
+
+    void clear() {
+        Arrays.fill(refs, 0, refCount, null);
+        opCount = 0;
+        argCount = 0;
+        refCount = 0;
+        drawCalls = 0;
+        stateChanges = 0;
+    }
+
+    int size() {
+        return opCount;
+    }
+
+    int drawCalls() {
+        return drawCalls;
+    }
+
+    int stateChanges() {
+        return stateChanges;
+    }
+
+    void add(byte op) {
+        if (opCount == ops.length) {
+            ops = Arrays.copyOf(ops, opCount * 2);
+        }
+        ops[opCount++] = op;
+        if (op >= FILL_RECT) {
+            drawCalls++;
+        } else if (op != PUSH && op != POP) {
+            stateChanges++;
+        }
+    }
+
+    void arg(double value) {
+        if (argCount == args.length) {
+            args = Arrays.copyOf(args, argCount * 2);
+        }
+        args[argCount++] = value;
+    }
+
+    void ref(Object value) {
+        if (refCount == refs.length) {
+            refs = Arrays.copyOf(refs, refCount * 2);
+        }
+        refs[refCount++] = value;
+    }
+
+    void replay(Graphics2D target) {
+        Graphics2D root = (Graphics2D) target.create();
+        Deque<Graphics2D> stack = new ArrayDeque<>();
+        Deque<AffineTransform> relativeTransforms = new ArrayDeque<>();
+        AffineTransform base = root.getTransform();
+        Shape baseClip = root.getClip();
+        Graphics2D g = root;
+        AffineTransform relative = new AffineTransform();
+        int a = 0;
+        int r = 0;
+        try {
+            for (int i = 0; i < opCount; i++) {
+                switch (ops[i]) {
+                    case SET_COLOR -> g.setColor((Color) refs[r++]);
+                    case SET_PAINT -> g.setPaint((Paint) refs[r++]);
+                    case SET_STROKE -> g.setStroke((Stroke) refs[r++]);
+                    case SET_FONT -> g.setFont((Font) refs[r++]);
+                    case SET_COMPOSITE -> g.setComposite((Composite) refs[r++]);
+                    case SET_BACKGROUND -> g.setBackground((Color) refs[r++]);
+                    case SET_HINT -> g.setRenderingHint((RenderingHints.Key) refs[r++], refs[r++]);
+                    case SET_TRANSFORM -> {
+                        relative = new AffineTransform(args[a], args[a + 1], args[a + 2], args[a + 3], args[a + 4], args[a + 5]);
+                        a += 6;
+                        AffineTransform absolute = new AffineTransform(base);
+                        absolute.concatenate(relative);
+                        g.setTransform(absolute);
+                    }
+                    case SET_CLIP -> {
+                        Shape deviceClip = (Shape) refs[r++];
+                        g.setTransform(base);
+                        g.setClip(baseClip);
+                        if (deviceClip != null) {
+                            g.clip(deviceClip);
+                        }
+                        AffineTransform absolute = new AffineTransform(base);
+                        absolute.concatenate(relative);
+                        g.setTransform(absolute);
+                    }
+                    case PAINT_MODE -> g.setPaintMode();
+                    case XOR_MODE -> g.setXORMode((Color) refs[r++]);
+                    case PUSH -> {
+                        stack.push(g);
+                        relativeTransforms.push(relative);
+                        g = (Graphics2D) g.create();
+                    }
+                    case POP -> {
+                        g.dispose();
+                        g = stack.pop();
+                        relative = relativeTransforms.pop();
+                    }
+                    case FILL_RECT -> {
+                        g.fillRect((int) args[a], (int) args[a + 1], (int) args[a + 2], (int) args[a + 3]);
+                        a += 4;
+                    }
+                    case CLEAR_RECT -> {
+                        g.clearRect((int) args[a], (int) args[a + 1], (int) args[a + 2], (int) args[a + 3]);
+                        a += 4;
+                    }
+                    case DRAW_LINE -> {
+                        g.drawLine((int) args[a], (int) args[a + 1], (int) args[a + 2], (int) args[a + 3]);
+                        a += 4;
+                    }
+                    case FILL_OVAL -> {
+                        g.fillOval((int) args[a], (int) args[a + 1], (int) args[a + 2], (int) args[a + 3]);
+                        a += 4;
+                    }
+                    case DRAW_OVAL -> {
+                        g.drawOval((int) args[a], (int) args[a + 1], (int) args[a + 2], (int) args[a + 3]);
+                        a += 4;
+                    }
+                    case FILL_ROUND_RECT -> {
+                        g.fillRoundRect((int) args[a], (int) args[a + 1], (int) args[a + 2], (int) args[a + 3],
+                            (int) args[a + 4], (int) args[a + 5]);
+                        a += 6;
+                    }
+                    case DRAW_ROUND_RECT -> {
+                        g.drawRoundRect((int) args[a], (int) args[a + 1], (int) args[a + 2], (int) args[a + 3],
+                            (int) args[a + 4], (int) args[a + 5]);
+                        a += 6;
+                    }
+                    case FILL_ARC -> {
+                        g.fillArc((int) args[a], (int) args[a + 1], (int) args[a + 2], (int) args[a + 3],
+                            (int) args[a + 4], (int) args[a + 5]);
+                        a += 6;
+                    }
+                    case DRAW_ARC -> {
+                        g.drawArc((int) args[a], (int) args[a + 1], (int) args[a + 2], (int) args[a + 3],
+                            (int) args[a + 4], (int) args[a + 5]);
+                        a += 6;
+                    }
+                    case FILL_RECT2D -> {
+                        g.fill(new Rectangle2D.Double(args[a], args[a + 1], args[a + 2], args[a + 3]));
+                        a += 4;
+                    }
+                    case DRAW_RECT2D -> {
+                        g.draw(new Rectangle2D.Double(args[a], args[a + 1], args[a + 2], args[a + 3]));
+                        a += 4;
+                    }
+                    case FILL_SHAPE -> g.fill((Shape) refs[r++]);
+                    case DRAW_SHAPE -> g.draw((Shape) refs[r++]);
+                    case DRAW_POLYLINE -> {
+                        g.drawPolyline((int[]) refs[r], (int[]) refs[r + 1], (int) args[a]);
+                        r += 2;
+                        a++;
+                    }
+                    case DRAW_POLYGON -> {
+                        g.drawPolygon((int[]) refs[r], (int[]) refs[r + 1], (int) args[a]);
+                        r += 2;
+                        a++;
+                    }
+                    case FILL_POLYGON -> {
+                        g.fillPolygon((int[]) refs[r], (int[]) refs[r + 1], (int) args[a]);
+                        r += 2;
+                        a++;
+                    }
+                    case DRAW_STRING -> {
+                        g.drawString((String) refs[r++], (float) args[a], (float) args[a + 1]);
+                        a += 2;
+                    }
+                    case DRAW_ATTRIBUTED_STRING -> {
+                        g.drawString(((AttributedString) refs[r++]).getIterator(), (float) args[a], (float) args[a + 1]);
+                        a += 2;
+                    }
+                    case DRAW_GLYPHS -> {
+                        g.drawGlyphVector((GlyphVector) refs[r++], (float) args[a], (float) args[a + 1]);
+                        a += 2;
+                    }
+                    case DRAW_IMAGE -> {
+                        g.drawImage((Image) refs[r], (int) args[a], (int) args[a + 1], (Color) refs[r + 1], null);
+                        r += 2;
+                        a += 2;
+                    }
+                    case DRAW_IMAGE_SCALED -> {
+                        g.drawImage((Image) refs[r], (int) args[a], (int) args[a + 1], (int) args[a + 2], (int) args[a + 3],
+                            (Color) refs[r + 1], null);
+                        r += 2;
+                        a += 4;
+                    }
+                    case DRAW_IMAGE_REGION -> {
+                        g.drawImage((Image) refs[r], (int) args[a], (int) args[a + 1], (int) args[a + 2], (int) args[a + 3],
+                            (int) args[a + 4], (int) args[a + 5], (int) args[a + 6], (int) args[a + 7], (Color) refs[r + 1], null);
+                        r += 2;
+                        a += 8;
+                    }
+                    case DRAW_IMAGE_TRANSFORMED -> {
+                        g.drawImage((Image) refs[r], (AffineTransform) refs[r + 1], null);
+                        r += 2;
+                    }
+                    case DRAW_RENDERED -> {
+                        g.drawRenderedImage((RenderedImage) refs[r], (AffineTransform) refs[r + 1]);
+                        r += 2;
+                    }
+                    case DRAW_RENDERABLE -> {
+                        g.drawRenderableImage((RenderableImage) refs[r], (AffineTransform) refs[r + 1]);
+                        r += 2;
+                    }
+                    case COPY_AREA -> {
+                        g.copyArea((int) args[a], (int) args[a + 1], (int) args[a + 2], (int) args[a + 3],
+                            (int) args[a + 4], (int) args[a + 5]);
+                        a += 6;
+                    }
+                    default -> throw new IllegalStateException("Unknown display list op " + ops[i]);
+                }
+            }
+        } finally {
+            while (!stack.isEmpty()) {
+                g.dispose();
+                g = stack.pop();
+            }
+            root.dispose();
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package org.example;
+
+import java.awt.Graphics2D;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongSupplier;
+
+final class DisplayListRenderer {
+    static final class LayerStats {
+        private final String name;
+        private final int drawCalls;
+        private final int stateChanges;
+        private final double recordMillis;
+        private final double replayMillis;
+        private final boolean reused;
+        private final boolean direct;
+
+        private LayerStats(String name, int drawCalls, int stateChanges, double recordMillis, double replayMillis, boolean reused,
+            boolean direct) {
+            this.name = name;
+            this.drawCalls = drawCalls;
+            this.stateChanges = stateChanges;
+            this.recordMillis = recordMillis;
+            this.replayMillis = replayMillis;
+            this.reused = reused;
+            this.direct = direct;
+        }
+
+        String name() {
+            return name;
+        }
+
+        int drawCalls() {
+            return drawCalls;
+        }
+
+        int stateChanges() {
+            return stateChanges;
+        }
+
+        double recordMillis() {
+            return recordMillis;
+        }
+
+        double replayMillis() {
+            return replayMillis;
+        }
+
+        boolean reused() {
+            return reused;
+        }
+
+        boolean direct() {
+            return direct;
+        }
+    }
+
+    private static final class Layer {
+        private final String name;
+        private final LongSupplier signature;
+        private final LayerCompositor.LayerPainter painter;
+        private final DisplayList displayList = new DisplayList();
+        private long recordedSignature;
+        private boolean valid;
+        private LayerStats stats;
+
+        Layer(String name, LongSupplier signature, LayerCompositor.LayerPainter painter) {
+            this.name = name;
+            this.signature = signature;
+            this.painter = painter;
+        }
+    }
+
+    private final List<Layer> layers = new ArrayList<>();
+
+    void addLayer(String name, LongSupplier signature, LayerCompositor.LayerPainter painter) {
+        layers.add(new Layer(name, signature, painter));
+    }
+
+    void addDirect(String name, LayerCompositor.LayerPainter painter) {
+        layers.add(new Layer(name, null, painter));
+    }
+
+    void invalidate() {
+        for (Layer layer : layers) {
+            layer.valid = false;
+        }
+    }
+
+    void render(Graphics2D target) {
+        for (Layer layer : layers) {
+            if (layer.signature == null) {
+                long start = System.nanoTime();
+                Graphics2D g2 = (Graphics2D) target.create();
+                layer.painter.paint(g2);
+                g2.dispose();
+                layer.stats = new LayerStats(layer.name, 0, 0, 0.0, (System.nanoTime() - start) / 1_000_000.0, false, true);
+                continue;
+            }
+            long recordNanos = 0;
+            long signature = layer.signature.getAsLong();
+            boolean reused = layer.valid && layer.recordedSignature == signature;
+            if (!reused) {
+                long start = System.nanoTime();
+                layer.displayList.clear();
+                RecordingGraphics recorder = new RecordingGraphics(layer.displayList, target);
+                layer.painter.paint(recorder);
+                recorder.dispose();
+                layer.recordedSignature = signature;
+                layer.valid = true;
+                recordNanos = System.nanoTime() - start;
+            }
+            long replayStart = System.nanoTime();
+            layer.displayList.replay(target);
+            long replayNanos = System.nanoTime() - replayStart;
+            layer.stats = new LayerStats(layer.name, layer.displayList.drawCalls(), layer.displayList.stateChanges(),
+                recordNanos / 1_000_000.0, replayNanos / 1_000_000.0, reused, false);
+        }
+    }
+
+    List<LayerStats> stats() {
+        List<LayerStats> result = new ArrayList<>();
+        for (Layer layer : layers) {
+            if (layer.stats != null) {
+                result.add(layer.stats);
+            }
+        }
+        return result;
+    }
+}
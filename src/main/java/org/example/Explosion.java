@@ -0,0 +1,266 @@
+package org.example;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Stroke;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Rectangle2D;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+final class Explosion {
+    static final int LIFETIME = 18;
+
+    private final double centerX;
+    private final double centerY;
+    private final double baseSize;
+    private final Color baseColor;
+    private final double particleFactor;
+    private final List<Shard> shards;
+    private final List<RadialParticle> radialParticles;
+    private final double ringRotation;
+    private final double ringStretch;
+    private int remainingLife = LIFETIME;
+
+    Explosion(Rectangle2D.Double bounds, Color baseColor, Random random, double particleFactor) {
+        this.centerX = bounds.getCenterX();
+        this.centerY = bounds.getCenterY();
+        this.baseSize = Math.max(bounds.width, bounds.height);
+        this.baseColor = baseColor;
+        this.particleFactor = particleFactor;
+        this.shards = createShards(random);
+        this.radialParticles = createRadialParticles(random);
+        this.ringRotation = (random.nextDouble() - 0.5) * 0.35;
+        this.ringStretch = 1.0 + random.nextDouble() * 0.12;
+    }
+
+    boolean update() {
+        remainingLife--;
+        for (Iterator<Shard> iterator = shards.iterator(); iterator.hasNext();) {
+            Shard shard = iterator.next();
+            shard.x += shard.vx;
+            shard.y += shard.vy;
+            shard.vy += 0.22;
+            shard.vx *= 0.985;
+            shard.angle += shard.angularVelocity;
+            shard.life--;
+            if (shard.life <= 0) {
+                iterator.remove();
+            }
+        }
+        return remainingLife <= 0;
+    }
+
+    void draw(Graphics2D g2) {
+        double progress = progress();
+        double lifeFade = 1.0 - progress;
+        double size = baseSize * (1.2 + progress * 1.6);
+        double x = centerX - size / 2.0;
+        double y = centerY - size / 2.0;
+
+        int alphaCore = (int) Math.max(0, 210 * lifeFade);
+        int alphaRing = (int) Math.max(0, 160 * lifeFade);
+
+        if (alphaCore > 0) {
+            Color core = adjustBrightness(baseColor, 1.15);
+            g2.setColor(new Color(core.getRed(), core.getGreen(), core.getBlue(), alphaCore));
+            g2.fillOval((int) Math.round(x), (int) Math.round(y), (int) Math.round(size), (int) Math.round(size));
+        }
+
+        if (alphaRing > 0) {
+            double ringSize = size * (1.25 + 0.35 * progress);
+            Stroke previousStroke = g2.getStroke();
+            g2.setStroke(new BasicStroke(2f));
+            Color ring = adjustBrightness(baseColor, 1.3);
+            g2.setColor(new Color(ring.getRed(), ring.getGreen(), ring.getBlue(), alphaRing));
+            AffineTransform originalTransform = g2.getTransform();
+            g2.translate(centerX, centerY);
+            g2.rotate(ringRotation);
+            g2.scale(ringStretch, 2.0 - ringStretch);
+            g2.drawOval((int) Math.round(-ringSize / 2.0), (int) Math.round(-ringSize / 2.0), (int) Math.round(ringSize), (int) Math.round(ringSize));
+            g2.setTransform(originalTransform);
+            g2.setStroke(previousStroke);
+        }
+
+        drawRadialParticles(g2, progress, lifeFade);
+        drawShards(g2, lifeFade);
+    }
+
+    void draw(PixelCanvas canvas) {
+        double progress = progress();
+        double lifeFade = 1.0 - progress;
+        double size = baseSize * (1.2 + progress * 1.6);
+
+        int alphaCore = (int) Math.max(0, 210 * lifeFade);
+        int alphaRing = (int) Math.max(0, 160 * lifeFade);
+
+        if (alphaCore > 0) {
+            int core = adjustBrightness(baseColor, 1.15).getRGB() & 0xFFFFFF;
+            canvas.fillOval((int) Math.round(centerX - size / 2.0), (int) Math.round(centerY - size / 2.0),
+                (int) Math.round(size), (int) Math.round(size), alphaCore << 24 | core);
+        }
+
+        if (alphaRing > 0) {
+            double ringSize = size * (1.25 + 0.35 * progress);
+            int ringWidth = (int) Math.round(ringSize * ringStretch);
+            int ringHeight = (int) Math.round(ringSize * (2.0 - ringStretch));
+            int ring = adjustBrightness(baseColor, 1.3).getRGB() & 0xFFFFFF;
+            canvas.drawOval((int) Math.round(centerX - ringWidth / 2.0), (int) Math.round(centerY - ringHeight / 2.0),
+                ringWidth, ringHeight, 2, alphaRing << 24 | ring);
+        }
+
+        for (RadialParticle particle : radialParticles) {
+            int alpha = (int) Math.round(particle.baseAlpha * lifeFade * (0.75 + (1.0 - progress) * 0.25));
+            if (alpha <= 0) {
+                continue;
+            }
+            double distance = particle.baseDistance * (0.8 + progress * 0.9);
+            double px = centerX + Math.cos(particle.angle) * distance;
+            double py = centerY + Math.sin(particle.angle) * distance;
+            canvas.fillSoftDisc(px, py, particle.size, Math.min(255, alpha) << 24 | (particle.color.getRGB() & 0xFFFFFF));
+        }
+
+        for (Shard shard : shards) {
+            double lifeRatio = shard.life / (double) shard.maxLife;
+            if (lifeRatio <= 0) {
+                continue;
+            }
+            int alpha = (int) Math.round(220 * lifeRatio * lifeFade);
+            double extentX = Math.abs(Math.cos(shard.angle)) * shard.size + Math.abs(Math.sin(shard.angle)) * shard.size / 1.5;
+            double extentY = Math.abs(Math.sin(shard.angle)) * shard.size + Math.abs(Math.cos(shard.angle)) * shard.size / 1.5;
+            int side = (int) Math.max(1, Math.round(Math.sqrt(extentX * extentY) * 0.75));
+            canvas.fillRect((int) Math.round(shard.x - side / 2.0), (int) Math.round(shard.y - side / 2.0), side, side,
+                Math.max(0, Math.min(255, alpha)) << 24 | (shard.color.getRGB() & 0xFFFFFF));
+        }
+    }
+
+    private double progress() {
+        return 1.0 - (double) remainingLife / LIFETIME;
+    }
+
+    private int scaleParticleCount(int count) {
+        return Math.max(1, (int) Math.round(count * particleFactor));
+    }
+
+    private List<Shard> createShards(Random random) {
+        List<Shard> shards = new ArrayList<>();
+        int shardCount = scaleParticleCount(14 + random.nextInt(8));
+        for (int i = 0; i < shardCount; i++) {
+            double angle = random.nextDouble() * Math.PI * 2;
+            double speed = 2.0 + random.nextDouble() * 3.2;
+            double vx = Math.cos(angle) * speed;
+            double vy = Math.sin(angle) * speed * 0.8;
+            double size = 4 + random.nextDouble() * 6;
+            double angularVelocity = (random.nextDouble() - 0.5) * 0.3;
+            Color shardColor = adjustBrightness(baseColor, 0.85 + random.nextDouble() * 0.4);
+            shards.add(new Shard(centerX, centerY, vx, vy, size, angularVelocity, shardColor, random));
+        }
+        return shards;
+    }
+
+    private List<RadialParticle> createRadialParticles(Random random) {
+        List<RadialParticle> particles = new ArrayList<>();
+        int count = scaleParticleCount(8 + random.nextInt(6));
+        for (int i = 0; i < count; i++) {
+            double angle = random.nextDouble() * Math.PI * 2;
+            double distance = baseSize * (0.3 + random.nextDouble() * 0.6);
+            double size = 3 + random.nextDouble() * 6;
+            int alpha = 110 + random.nextInt(90);
+            Color tint = adjustBrightness(baseColor, 0.9 + random.nextDouble() * 0.45);
+            double stretch = 0.8 + random.nextDouble() * 0.7;
+            particles.add(new RadialParticle(angle, distance, size, alpha, tint, stretch));
+        }
+        return particles;
+    }
+
+    private void drawShards(Graphics2D g2, double lifeFade) {
+        AffineTransform originalTransform = g2.getTransform();
+        for (Shard shard : shards) {
+            double lifeRatio = shard.life / (double) shard.maxLife;
+            if (lifeRatio <= 0) {
+                continue;
+            }
+            int alpha = (int) Math.round(220 * lifeRatio * lifeFade);
+            g2.setColor(new Color(shard.color.getRed(), shard.color.getGreen(), shard.color.getBlue(), alpha));
+            g2.translate(shard.x, shard.y);
+            g2.rotate(shard.angle);
+            g2.fillRoundRect((int) Math.round(-shard.size / 2.0), (int) Math.round(-shard.size / 4.0), (int) Math.round(shard.size), (int) Math.round(shard.size / 1.5), 2, 2);
+            g2.setTransform(originalTransform);
+        }
+    }
+
+    private void drawRadialParticles(Graphics2D g2, double progress, double lifeFade) {
+        for (RadialParticle particle : radialParticles) {
+            int alpha = (int) Math.round(particle.baseAlpha * lifeFade * (0.75 + (1.0 - progress) * 0.25));
+            if (alpha <= 0) {
+                continue;
+            }
+            double distance = particle.baseDistance * (0.8 + progress * 0.9);
+            double px = centerX + Math.cos(particle.angle) * distance;
+            double py = centerY + Math.sin(particle.angle) * distance;
+            double sparkleSizeX = particle.size * particle.stretch;
+            double sparkleSizeY = particle.size * (2.0 - particle.stretch);
+            Color color = particle.color;
+            g2.setColor(new Color(color.getRed(), color.getGreen(), color.getBlue(), alpha));
+            g2.fillOval((int) Math.round(px - sparkleSizeX / 2.0), (int) Math.round(py - sparkleSizeY / 2.0), (int) Math.round(sparkleSizeX), (int) Math.round(sparkleSizeY));
+        }
+    }
+
+    private Color adjustBrightness(Color base, double factor) {
+        int r = clampColor((int) Math.round(base.getRed() * factor));
+        int g = clampColor((int) Math.round(base.getGreen() * factor));
+        int b = clampColor((int) Math.round(base.getBlue() * factor));
+        return new Color(r, g, b);
+    }
+
+    private int clampColor(int value) {
+        return Math.max(0, Math.min(255, value));
+    }
+
+    private static final class Shard {
+        private double x;
+        private double y;
+        private double vx;
+        private double vy;
+        private double size;
+        private double angle;
+        private final double angularVelocity;
+        private int life;
+        private final int maxLife;
+        private final Color color;
+
+        Shard(double x, double y, double vx, double vy, double size, double angularVelocity, Color color, Random random) {
+            this.x = x;
+            this.y = y;
+            this.vx = vx;
+            this.vy = vy;
+            this.size = size;
+            this.angularVelocity = angularVelocity;
+            this.angle = random.nextDouble() * Math.PI * 2;
+            this.maxLife = LIFETIME + random.nextInt(10);
+            this.life = this.maxLife;
+            this.color = color;
+        }
+    }
+
+    private static final class RadialParticle {
+        private final double angle;
+        private final double baseDistance;
+        private final double size;
+        private final int baseAlpha;
+        private final Color color;
+        private final double stretch;
+
+        RadialParticle(double angle, double baseDistance, double size, int baseAlpha, Color color, double stretch) {
+            this.angle = angle;
+            this.baseDistance = baseDistance;
+            this.size = size;
+            this.baseAlpha = baseAlpha;
+            this.color = color;
+            this.stretch = stretch;
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package org.example;
+
+import java.awt.event.KeyEvent;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+
+final class FrameCapture {
+    private FrameCapture() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        System.setProperty("java.awt.headless", "true");
+        String rendererName = "pixel";
+        int frames = 600;
+        int every = 1;
+        Path output = null;
+        ReplayExporter.Format format = ReplayExporter.Format.PNG;
+        int workers = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+        boolean autopilot = false;
+        Long seed = null;
+        Path record = null;
+        Path replay = null;
+        boolean buildIndex = false;
+        int interval = ReplayIndex.DEFAULT_INTERVAL;
+        long seek = -1;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--renderer" -> rendererName = args[++i];
+                case "--frames" -> frames = Integer.parseInt(args[++i]);
+                case "--every" -> every = Math.max(1, Integer.parseInt(args[++i]));
+                case "--output" -> output = Path.of(args[++i]);
+                case "--format" -> format = ReplayExporter.Format.valueOf(args[++i].toUpperCase(Locale.ROOT));
+                case "--workers" -> workers = Math.max(1, Integer.parseInt(args[++i]));
+                case "--autopilot" -> autopilot = true;
+                case "--seed" -> seed = Long.parseLong(args[++i]);
+                case "--record" -> record = Path.of(args[++i]);
+                case "--replay" -> replay = Path.of(args[++i]);
+                case "--index" -> buildIndex = true;
+                case "--interval" -> interval = Integer.parseInt(args[++i]);
+                case "--seek" -> seek = Long.parseLong(args[++i]);
+                default -> {
+                    System.err.println("Usage : FrameCapture [--renderer pixel|java2d] [--frames N] [--every K] [--output chemin] [--format png|avi] [--workers N] [--autopilot] [--seed N] [--record replay.cbr] [--replay replay.cbr [--index] [--interval N] [--seek T]]");
+                    System.exit(2);
+                }
+            }
+        }
+
+        FrameRenderer renderer = switch (rendererName) {
+            case "pixel" -> new PixelFrameRenderer();
+            case "java2d" -> new Java2DFrameRenderer();
+            default -> throw new IllegalArgumentException("Moteur de rendu inconnu : " + rendererName);
+        };
+
+        InputLog replayLog = replay != null ? InputLog.load(replay) : null;
+        if (replayLog != null && buildIndex) {
+            indexReplay(replay, replayLog, interval);
+        }
+        if (replayLog != null && output == null) {
+            verifyReplay(replay, replayLog, seek);
+            return;
+        }
+
+        GameWorld world;
+        ReplayExporter.TickDriver driver;
+        if (replayLog != null && seek >= 0) {
+            ReplayIndex.Cursor cursor = seekReplay(replay, replayLog, seek);
+            world = cursor.world();
+            driver = cursor.player();
+            frames = (int) (replayLog.endTick() - seek);
+        } else if (replayLog != null) {
+            world = new GameWorld(replayLog.seed());
+            driver = replayLog.player();
+            frames = (int) replayLog.endTick();
+        } else {
+            world = seed != null ? new GameWorld(seed) : new GameWorld();
+            InputLog recording = record != null ? world.startRecording() : null;
+            if (autopilot) {
+                world.keyPressed(KeyEvent.VK_R);
+            }
+            driver = autopilot ? ReplayExporter.TickDriver.AUTOPILOT : null;
+            if (recording != null) {
+                runAndRecord(world, frames, driver, recording, record);
+                return;
+            }
+        }
+
+        if (output != null) {
+            ReplayExporter exporter = new ReplayExporter(renderer, format, workers);
+            ReplayExporter.Result result = exporter.export(world, frames, every, driver, output);
+            System.out.printf(Locale.ROOT, "%s -> %s : %d images, %.1f Mo en %.0f ms (x%.1f temps reel, %d encodeurs)%n",
+                rendererName, output, result.frames(), result.bytes() / (1024.0 * 1024.0), result.elapsedMillis(),
+                result.speedFactor(), workers);
+            return;
+        }
+        BufferedImage frame = new BufferedImage(GameWorld.PANEL_WIDTH, GameWorld.PANEL_HEIGHT, BufferedImage.TYPE_INT_RGB);
+
+        int captured = 0;
+        long renderNanos = 0;
+        for (int tick = 1; tick <= frames; tick++) {
+            if (driver != null) {
+                driver.beforeTick(world, tick);
+            }
+            world.update();
+            if (tick % every != 0) {
+                continue;
+            }
+            long start = System.nanoTime();
+            renderer.render(world, frame);
+            renderNanos += System.nanoTime() - start;
+            captured++;
+        }
+
+        double renderMillis = captured == 0 ? 0.0 : renderNanos / 1_000_000.0 / captured;
+        System.out.printf(Locale.ROOT, "%s : %d images, %.3f ms par image (%.1f img/s), score %d niveau %d%n",
+            rendererName, captured, renderMillis, renderMillis == 0 ? 0.0 : 1000.0 / renderMillis,
+            world.getScore(), world.getLevel());
+    }
+
+    private static void indexReplay(Path path, InputLog log, int interval) throws IOException {
+        Path indexPath = ReplayIndex.pathFor(path);
+        long start = System.nanoTime();
+        int keyframes = ReplayIndex.build(log, interval, indexPath);
+        System.out.printf(Locale.ROOT, "%s : %d images cles tous les %d ticks, %.1f Ko en %.0f ms%n",
+            indexPath, keyframes, interval, Files.size(indexPath) / 1024.0, (System.nanoTime() - start) / 1_000_000.0);
+    }
+
+    private static ReplayIndex.Cursor seekReplay(Path path, InputLog log, long tick) throws IOException {
+        try (ReplayIndex index = ReplayIndex.open(ReplayIndex.pathFor(path))) {
+            long start = System.nanoTime();
+            ReplayIndex.Cursor cursor = index.seek(log, tick);
+            System.out.printf(Locale.ROOT, "Saut au tick %d en %.2f ms (%d ticks simules depuis l'image cle)%n",
+                tick, (System.nanoTime() - start) / 1_000_000.0, cursor.simulatedTicks());
+            return cursor;
+        }
+    }
+
+    private static void verifyReplay(Path path, InputLog log, long seek) throws IOException {
+        long start = System.nanoTime();
+        GameWorld world;
+        if (seek >= 0) {
+            ReplayIndex.Cursor cursor = seekReplay(path, log, seek);
+            world = cursor.world();
+            while (world.getTick() < log.endTick()) {
+                cursor.player().beforeTick(world, world.getTick());
+                world.update();
+            }
+            cursor.player().beforeTick(world, world.getTick());
+        } else {
+            world = log.replay();
+        }
+        double elapsedMillis = (System.nanoTime() - start) / 1_000_000.0;
+        long replayed = world.getTick() - Math.max(0, seek);
+        System.out.printf(Locale.ROOT, "%s : %d ticks, %d evenements rejoues en %.0f ms (x%.0f temps reel)%n",
+            path, replayed, log.eventCount(), elapsedMillis,
+            replayed * 1000.0 / GameWorld.FRAMES_PER_SECOND / Math.max(1e-3, elapsedMillis));
+        if (log.matches(world)) {
+            System.out.printf(Locale.ROOT, "Replay identique : score %d niveau %d%n", world.getScore(), world.getLevel());
+        } else {
+            System.out.printf(Locale.ROOT, "Divergence : score %d/%d niveau %d/%d empreinte %016x/%016x%n",
+                world.getScore(), log.endScore(), world.getLevel(), log.endLevel(), world.stateChecksum(), log.endChecksum());
+            System.exit(1);
+        }
+    }
+
+    private static void runAndRecord(GameWorld world, int ticks, ReplayExporter.TickDriver driver, InputLog log, Path path)
+        throws IOException {
+        for (int tick = 1; tick <= ticks; tick++) {
+            if (driver != null) {
+                driver.beforeTick(world, tick);
+            }
+            world.update();
+        }
+        log.markEnd(world);
+        log.save(path);
+        System.out.printf(Locale.ROOT, "%s : graine %d, %d ticks, %d evenements, %d octets, score %d niveau %d%n",
+            path, log.seed(), world.getTick(), log.eventCount(), log.sizeInBytes(), world.getScore(), world.getLevel());
+    }
+}
@@ -0,0 +1,7 @@
+package org.example;
+
+import java.awt.image.BufferedImage;
+
+interface FrameRenderer {
+    void render(GameWorld world, BufferedImage target);
+}
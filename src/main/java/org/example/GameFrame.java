@@ -3,6 +3,8 @@ package org.example;
 import javax.swing.JFrame;
 import javax.swing.WindowConstants;
 import java.awt.Rectangle;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
 
 public final class GameFrame extends JFrame {
     private boolean fullscreen;
@@ -10,12 +12,22 @@ public final class GameFrame extends JFrame {
     private int windowState;
 
     public GameFrame() {
-        setTitle("ISSOU THE BEST");
+        this(null);
+    }
+
+    GameFrame(Lockstep lockstep) {
+        setTitle(lockstep == null ? "ISSOU THE BEST" : "ISSOU THE BEST - joueur " + (lockstep.localPlayer() + 1));
         setDefaultCloseOperation(WindowConstants.EXIT_ON_CLOSE);
         setResizable(false);
 
-        GamePanel panel = new GamePanel(this);
+        GamePanel panel = new GamePanel(this, lockstep);
         setContentPane(panel);
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent e) {
+                panel.shutdown();
+            }
+        });
         pack();
         setLocationRelativeTo(null);
         windowBounds = getBounds();
@@ -0,0 +1,100 @@
+package org.example;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteBuffer;
+
+final class GameRandom {
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+    private static final double DOUBLE_UNIT = 0x1.0p-53;
+
+    private long seed;
+    private long gamma;
+
+    GameRandom(long seed) {
+        this(seed, GOLDEN_GAMMA);
+    }
+
+    private GameRandom(long seed, long gamma) {
+        this.seed = seed;
+        this.gamma = gamma;
+    }
+
+    GameRandom split() {
+        return new GameRandom(nextLong(), mixGamma(nextSeed()));
+    }
+
+    long nextLong() {
+        return mix64(nextSeed());
+    }
+
+    int nextInt() {
+        return mix32(nextSeed());
+    }
+
+    int nextInt(int bound) {
+        if (bound <= 0) {
+            throw new IllegalArgumentException("Borne invalide : " + bound);
+        }
+        int r = nextInt();
+        int m = bound - 1;
+        if ((bound & m) == 0) {
+            return r & m;
+        }
+        for (int u = r >>> 1; u + m - (r = u % bound) < 0; u = nextInt() >>> 1) {
+            // rejet des tirages biaises
+        }
+        return r;
+    }
+
+    double nextDouble() {
+        return (nextLong() >>> 11) * DOUBLE_UNIT;
+    }
+
+    boolean nextBoolean() {
+        return nextInt() < 0;
+    }
+
+    void writeState(ByteBuffer buffer) {
+        buffer.putLong(seed);
+        buffer.putLong(gamma);
+    }
+
+    void writeTo(MemorySegment segment, long base) {
+        segment.set(ValueLayout.JAVA_LONG, base + WorldLayout.RANDOM_SEED, seed);
+        segment.set(ValueLayout.JAVA_LONG, base + WorldLayout.RANDOM_GAMMA, gamma);
+    }
+
+    void readFrom(MemorySegment segment, long base) {
+        seed = segment.get(ValueLayout.JAVA_LONG, base + WorldLayout.RANDOM_SEED);
+        gamma = segment.get(ValueLayout.JAVA_LONG, base + WorldLayout.RANDOM_GAMMA);
+    }
+
+    void readState(ByteBuffer buffer) {
+        seed = buffer.getLong();
+        gamma = buffer.getLong();
+    }
+
+    private long nextSeed() {
+        return seed += gamma;
+    }
+
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    private static int mix32(long z) {
+        z = (z ^ (z >>> 33)) * 0x62a9d9ed799705f5L;
+        return (int) (((z ^ (z >>> 28)) * 0xcb24d0a5c88c35b3L) >>> 32);
+    }
+
+    private static long mixGamma(long z) {
+        z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+        z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        z = (z ^ (z >>> 33)) | 1L;
+        int transitions = Long.bitCount(z ^ (z >>> 1));
+        return transitions < 24 ? z ^ 0xaaaaaaaaaaaaaaaaL : z;
+    }
+}
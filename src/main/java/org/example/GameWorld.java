@@ -0,0 +1,2325 @@
+package org.example;
+
+import java.awt.Color;
+import java.awt.event.KeyEvent;
+import java.awt.geom.Rectangle2D;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.function.Consumer;
+
+final class GameWorld {
+    enum GameState {
+        READY,
+        RUNNING,
+        PAUSED,
+        LEVEL_COMPLETE,
+        GAME_OVER
+    }
+
+    enum BonusType {
+        PADDLE_GROW("1", "Raquette XL", "Allonge la raquette et booste sa vitesse pendant 15s", 5, 15),
+        PIERCE_BALL("2", "Balle percante", "Traverse les briques pendant 10s", 6, 10),
+        SCORE_BOOST("3", "Score x2", "Double les points pendant 20s", 4, 20);
+
+        private final String keyLabel;
+        private final String label;
+        private final String description;
+        private final int cost;
+        private final int durationSeconds;
+
+        BonusType(String keyLabel, String label, String description, int cost, int durationSeconds) {
+            this.keyLabel = keyLabel;
+            this.label = label;
+            this.description = description;
+            this.cost = cost;
+            this.durationSeconds = durationSeconds;
+        }
+
+        int durationFrames() {
+            return durationSeconds * FRAMES_PER_SECOND;
+        }
+
+        String keyLabel() {
+            return keyLabel;
+        }
+
+        String label() {
+            return label;
+        }
+
+        String description() {
+            return description;
+        }
+
+        int cost() {
+            return cost;
+        }
+
+        int durationSeconds() {
+            return durationSeconds;
+        }
+    }
+
+    static final int PANEL_WIDTH = 800;
+    static final int PANEL_HEIGHT = 600;
+    static final int FRAMES_PER_SECOND = 60;
+    static final int SCORE_HISTORY_LIMIT = 5;
+    static final int MAX_BRICK_COLUMNS = 12;
+    static final int MAX_BRICK_ROWS = 9;
+    static final int BRICK_GRID_CELLS = MAX_BRICK_COLUMNS * MAX_BRICK_ROWS;
+    static final int STARTING_LIVES = 3;
+    static final double BASE_BALL_SPEED = 5.0;
+    static final double SPEED_INCREMENT = 0.4;
+    static final double MAX_BALL_SPEED = 11.0;
+    static final int BALL_DIAMETER = 18;
+    static final int BASE_PADDLE_WIDTH = 120;
+    static final int BASE_PADDLE_HEIGHT = 16;
+    static final double BASE_PADDLE_SPEED = 6.5;
+    static final int PADDLE_Y = PANEL_HEIGHT - 70;
+    static final int LEVEL_HORIZONTAL_GAP = 6;
+    static final int LEVEL_VERTICAL_GAP = 10;
+    static final int LEVEL_TOP_OFFSET = 70;
+    static final int LEVEL_SIDE_PADDING = 36;
+    static final double LEVEL_BRICK_HEIGHT = 24;
+    private static final int FALLBACK_HORIZONTAL_GAP = 8;
+    private static final int FALLBACK_VERTICAL_GAP = 8;
+    private static final int FALLBACK_TOP_OFFSET = 80;
+    private static final int FALLBACK_SIDE_PADDING = 30;
+    private static final int CHEAT_PADDLE_WIDTH = (int) Math.round(BASE_PADDLE_WIDTH * 1.7);
+    private static final double CHEAT_PADDLE_SPEED = BASE_PADDLE_SPEED * 1.75;
+    private static final Color[] BRICK_COLORS = {
+        new Color(0xF94144),
+        new Color(0xF3722C),
+        new Color(0xF8961E),
+        new Color(0xF9844A),
+        new Color(0xF9C74F),
+        new Color(0x90BE6D),
+        new Color(0x43AA8B),
+        new Color(0x577590),
+        new Color(0x9D4EDD)
+    };
+    private static final int STAR_COUNT = 140;
+    private static final int NEBULA_COUNT = 3;
+    static final double MAX_PADDLE_DEFLECTION = Math.toRadians(70);
+    private static final double AUTO_PILOT_SPEED_MULTIPLIER = 2.0;
+    private static final double[] AUTOPILOT_RATIOS = {
+        0.08, 0.16, 0.24, 0.32, 0.40, 0.50, 0.60, 0.68, 0.76, 0.84, 0.92
+    };
+    private static final int AUTOPILOT_MAX_LOOKAHEAD_EVENTS = 12;
+    private static final double AUTOPILOT_MAX_SIMULATION_TIME = 6.8;
+    private static final double AUTOPILOT_EPSILON = 1e-6;
+    private static final double AUTO_PILOT_GUIDANCE_STRENGTH = 0.65;
+
+    private final Paddle paddle;
+    private final Ball ball;
+    private final List<Brick> bricks = new ArrayList<>();
+    private final List<Explosion> explosions = new ArrayList<>();
+    private final List<ActiveBonus> activeBonuses = new ArrayList<>();
+    private final List<SpaceStar> stars = new ArrayList<>();
+    private final List<Nebula> nebulas = new ArrayList<>();
+    private final List<ScoreRecord> scoreRecords = new ArrayList<>();
+    private final List<Brick> bricksView = Collections.unmodifiableList(bricks);
+    private final List<Brick> spareBricks = new ArrayList<>();
+    private final List<Explosion> explosionsView = Collections.unmodifiableList(explosions);
+    private final List<ActiveBonus> activeBonusesView = Collections.unmodifiableList(activeBonuses);
+    private final List<SpaceStar> starsView = Collections.unmodifiableList(stars);
+    private final List<Nebula> nebulasView = Collections.unmodifiableList(nebulas);
+    private final List<ScoreRecord> scoreRecordsView = Collections.unmodifiableList(scoreRecords);
+    private long seed;
+    private final GameRandom gameplayRandom;
+    private final Random effectsRandom;
+    private InputLog inputLog;
+
+    private GameState gameState = GameState.READY;
+    private boolean leftPressed;
+    private boolean rightPressed;
+    private boolean helpVisible = true;
+    private boolean cheatMode;
+    private boolean autoPilotMode;
+    private boolean autoPilotAimValid;
+    private boolean pauseMenuVisible;
+    private double autoPilotAimX = PANEL_WIDTH / 2.0;
+    private GameState stateBeforePause = GameState.READY;
+
+    private int score;
+    private int lives;
+    private int level;
+    private int credits;
+    private int personalBestScore;
+    private int personalBestLevel = 1;
+    private int personalBestCredits;
+    private boolean scoreRecordedThisRun;
+    private Consumer<ScoreRecord> scoreListener;
+
+    private boolean shopOpen;
+    private String shopMessage = "";
+    private int shopMessageTimer;
+
+    private long tick;
+    private int starfieldVersion;
+    private int starfieldFrame;
+    private double particleFactor = 1.0;
+    private boolean effectsSuppressed;
+
+    GameWorld() {
+        this(new SplittableRandom().nextLong());
+    }
+
+    GameWorld(long seed) {
+        this.seed = seed;
+        GameRandom root = new GameRandom(seed);
+        gameplayRandom = root.split();
+        effectsRandom = new Random(root.nextLong());
+
+        int paddleWidth = BASE_PADDLE_WIDTH;
+        int paddleHeight = BASE_PADDLE_HEIGHT;
+        double paddleStartX = (PANEL_WIDTH - paddleWidth) / 2.0;
+        double paddleY = PADDLE_Y;
+        paddle = new Paddle(paddleStartX, paddleY, paddleWidth, paddleHeight, BASE_PADDLE_SPEED);
+
+        int ballDiameter = BALL_DIAMETER;
+        double ballCenterX = paddleStartX + paddleWidth / 2.0;
+        double ballCenterY = paddleY - ballDiameter;
+        ball = new Ball(ballCenterX, ballCenterY, ballDiameter, new Color(0xFFD966));
+
+        initializeSpaceElements();
+        startNewGame();
+    }
+
+    void update() {
+        tick++;
+        tickShopMessage();
+        starfieldFrame = (starfieldFrame + 1) % SpaceStar.CYCLE_FRAMES;
+        ensureValidPaddlePosition();
+        ensureValidBallPosition();
+        if (shopOpen) {
+            return;
+        }
+
+        if (autoPilotMode && gameState == GameState.READY && ball.getSpeed() == 0) {
+            launchBall();
+        }
+
+        updatePaddle();
+
+        if (gameState == GameState.READY) {
+            ball.setCenter(paddle.getX() + paddle.getWidth() / 2.0, paddle.getY() - ball.getDiameter() / 2.0 - 4);
+        } else if (gameState == GameState.RUNNING) {
+            if (autoPilotMode) {
+                applyAutoPilotGuidance();
+            }
+            ball.move();
+            constrainBallToField();
+            handlePaddleCollision();
+            handleBrickCollisions();
+
+            if (bricks.isEmpty()) {
+                addScore(500 + 200 * level);
+                gameState = GameState.LEVEL_COMPLETE;
+            }
+        }
+
+        updateActiveBonuses();
+        updateExplosions();
+    }
+
+    void keyPressed(int keyCode) {
+        if (inputLog != null) {
+            inputLog.record(tick, keyCode, true);
+        }
+        if (shopOpen) {
+            if (handleShopInput(keyCode)) {
+                return;
+            }
+            return;
+        }
+        if (pauseMenuVisible) {
+            handlePauseMenuInput(keyCode);
+            return;
+        }
+
+        switch (keyCode) {
+            case KeyEvent.VK_LEFT, KeyEvent.VK_Q, KeyEvent.VK_A -> leftPressed = true;
+            case KeyEvent.VK_RIGHT, KeyEvent.VK_D -> rightPressed = true;
+            case KeyEvent.VK_SPACE -> onSpacePressed();
+            case KeyEvent.VK_P, KeyEvent.VK_ESCAPE -> togglePauseMenu();
+            case KeyEvent.VK_H -> helpVisible = !helpVisible;
+            case KeyEvent.VK_E -> toggleCheatMode();
+            case KeyEvent.VK_R -> toggleAutoPilot();
+            case KeyEvent.VK_B -> toggleShop();
+            case KeyEvent.VK_1, KeyEvent.VK_NUMPAD1 -> { /* Ignored when boutique ferm??e */ }
+            case KeyEvent.VK_2, KeyEvent.VK_NUMPAD2 -> { /* Ignored when boutique ferm??e */ }
+            case KeyEvent.VK_3, KeyEvent.VK_NUMPAD3 -> { /* Ignored when boutique ferm??e */ }
+            default -> {
+            }
+        }
+    }
+
+    void keyReleased(int keyCode) {
+        if (inputLog != null) {
+            inputLog.record(tick, keyCode, false);
+        }
+        if (keyCode == KeyEvent.VK_LEFT || keyCode == KeyEvent.VK_Q || keyCode == KeyEvent.VK_A) {
+            leftPressed = false;
+        } else if (keyCode == KeyEvent.VK_RIGHT || keyCode == KeyEvent.VK_D) {
+            rightPressed = false;
+        }
+    }
+
+    void setParticleFactor(double particleFactor) {
+        this.particleFactor = Math.max(0.0, particleFactor);
+    }
+
+    void setEffectsSuppressed(boolean effectsSuppressed) {
+        this.effectsSuppressed = effectsSuppressed;
+    }
+
+    void setScoreListener(Consumer<ScoreRecord> scoreListener) {
+        this.scoreListener = scoreListener;
+    }
+
+    void restoreScoreHistory(List<ScoreRecord> records, int bestScore, int bestLevel, int bestCredits) {
+        scoreRecords.clear();
+        scoreRecords.addAll(records);
+        scoreRecords.sort((a, b) -> Integer.compare(b.score, a.score));
+        while (scoreRecords.size() > SCORE_HISTORY_LIMIT) {
+            scoreRecords.remove(scoreRecords.size() - 1);
+        }
+        personalBestScore = Math.max(personalBestScore, bestScore);
+        personalBestLevel = Math.max(personalBestLevel, bestLevel);
+        personalBestCredits = Math.max(personalBestCredits, bestCredits);
+    }
+
+    void abandonCurrentRun() {
+        if (!scoreRecordedThisRun && (score > 0 || level > 1 || credits > 0)) {
+            recordCurrentRun("Abandon");
+        }
+    }
+
+    long getTick() {
+        return tick;
+    }
+
+    long getSeed() {
+        return seed;
+    }
+
+    InputLog startRecording() {
+        if (tick != 0 || inputLog != null) {
+            throw new IllegalStateException("L'enregistrement doit commencer au premier tick");
+        }
+        inputLog = new InputLog(seed);
+        return inputLog;
+    }
+
+    InputLog getInputLog() {
+        return inputLog;
+    }
+
+    void writeState(ByteBuffer buffer) {
+        buffer.putLong(tick);
+        buffer.putInt(starfieldFrame);
+        gameplayRandom.writeState(buffer);
+        buffer.put((byte) gameState.ordinal());
+        buffer.put((byte) stateBeforePause.ordinal());
+        buffer.putShort((short) ((leftPressed ? 1 : 0)
+            | (rightPressed ? 1 << 1 : 0)
+            | (helpVisible ? 1 << 2 : 0)
+            | (cheatMode ? 1 << 3 : 0)
+            | (autoPilotMode ? 1 << 4 : 0)
+            | (autoPilotAimValid ? 1 << 5 : 0)
+            | (pauseMenuVisible ? 1 << 6 : 0)
+            | (shopOpen ? 1 << 7 : 0)
+            | (scoreRecordedThisRun ? 1 << 8 : 0)));
+        buffer.putDouble(autoPilotAimX);
+        buffer.putInt(score);
+        buffer.putInt(lives);
+        buffer.putInt(level);
+        buffer.putInt(credits);
+        buffer.putInt(personalBestScore);
+        buffer.putInt(personalBestLevel);
+        buffer.putInt(personalBestCredits);
+        putString(buffer, shopMessage);
+        buffer.putInt(shopMessageTimer);
+        paddle.writeState(buffer);
+        ball.writeState(buffer);
+        buffer.putShort((short) bricks.size());
+        for (int i = 0; i < bricks.size(); i++) {
+            bricks.get(i).writeState(buffer);
+        }
+        buffer.put((byte) activeBonuses.size());
+        for (int i = 0; i < activeBonuses.size(); i++) {
+            ActiveBonus bonus = activeBonuses.get(i);
+            buffer.put((byte) bonus.type.ordinal());
+            buffer.putInt(bonus.remainingFrames);
+        }
+        buffer.putShort((short) scoreRecords.size());
+        for (int i = 0; i < scoreRecords.size(); i++) {
+            ScoreRecord record = scoreRecords.get(i);
+            buffer.putInt(record.score);
+            buffer.putInt(record.level);
+            putString(buffer, record.note);
+        }
+    }
+
+    void restoreState(long seed, ByteBuffer buffer) {
+        this.seed = seed;
+        inputLog = null;
+        readState(buffer);
+    }
+
+    void readState(ByteBuffer buffer) {
+        tick = buffer.getLong();
+        starfieldFrame = buffer.getInt();
+        gameplayRandom.readState(buffer);
+        gameState = GameState.values()[buffer.get()];
+        stateBeforePause = GameState.values()[buffer.get()];
+        int flags = buffer.getShort();
+        leftPressed = (flags & 1) != 0;
+        rightPressed = (flags & 1 << 1) != 0;
+        helpVisible = (flags & 1 << 2) != 0;
+        cheatMode = (flags & 1 << 3) != 0;
+        autoPilotMode = (flags & 1 << 4) != 0;
+        autoPilotAimValid = (flags & 1 << 5) != 0;
+        pauseMenuVisible = (flags & 1 << 6) != 0;
+        shopOpen = (flags & 1 << 7) != 0;
+        scoreRecordedThisRun = (flags & 1 << 8) != 0;
+        autoPilotAimX = buffer.getDouble();
+        score = buffer.getInt();
+        lives = buffer.getInt();
+        level = buffer.getInt();
+        credits = buffer.getInt();
+        personalBestScore = buffer.getInt();
+        personalBestLevel = buffer.getInt();
+        personalBestCredits = buffer.getInt();
+        shopMessage = getString(buffer);
+        shopMessageTimer = buffer.getInt();
+        paddle.readState(buffer);
+        ball.readState(buffer);
+        bricks.clear();
+        int brickCount = buffer.getShort();
+        for (int i = 0; i < brickCount; i++) {
+            bricks.add(Brick.readState(buffer));
+        }
+        activeBonuses.clear();
+        int bonusCount = buffer.get();
+        for (int i = 0; i < bonusCount; i++) {
+            activeBonuses.add(new ActiveBonus(BonusType.values()[buffer.get()], buffer.getInt()));
+        }
+        scoreRecords.clear();
+        int recordCount = buffer.getShort();
+        for (int i = 0; i < recordCount; i++) {
+            scoreRecords.add(new ScoreRecord(buffer.getInt(), buffer.getInt(), getString(buffer)));
+        }
+        explosions.clear();
+    }
+
+    void writeTo(MemorySegment segment, long base) {
+        if (bricks.size() > WorldLayout.MAX_BRICKS || activeBonuses.size() > WorldLayout.MAX_BONUSES) {
+            throw new IllegalStateException("Monde trop grand pour le format fixe");
+        }
+        segment.set(ValueLayout.JAVA_INT, base + WorldLayout.MAGIC_OFFSET, WorldLayout.MAGIC);
+        segment.set(ValueLayout.JAVA_INT, base + WorldLayout.VERSION_OFFSET, WorldLayout.VERSION);
+        segment.set(ValueLayout.JAVA_LONG, base + WorldLayout.TICK, tick);
+        segment.set(ValueLayout.JAVA_LONG, base + WorldLayout.SEED, seed);
+        gameplayRandom.writeTo(segment, base);
+        segment.set(ValueLayout.JAVA_DOUBLE, base + WorldLayout.AUTO_PILOT_AIM_X, autoPilotAimX);
+        paddle.writeTo(segment, base + WorldLayout.PADDLE_BASE);
+        ball.writeTo(segment, base + WorldLayout.BALL_BASE);
+        segment.set(ValueLayout.JAVA_INT, base + WorldLayout.STARFIELD_FRAME, starfieldFrame);
+        segment.set(ValueLayout.JAVA_INT, base + WorldLayout.SCORE, score);
+        segment.set(ValueLayout.JAVA_INT, base + WorldLayout.LIVES, lives);
+        segment.set(ValueLayout.JAVA_INT, base + WorldLayout.LEVEL, level);
+        segment.set(ValueLayout.JAVA_INT, base + WorldLayout.CREDITS, credits);
+        segment.set(ValueLayout.JAVA_INT, base + WorldLayout.BEST_SCORE, personalBestScore);
+        segment.set(ValueLayout.JAVA_INT, base + WorldLayout.BEST_LEVEL, personalBestLevel);
+        segment.set(ValueLayout.JAVA_INT, base + WorldLayout.BEST_CREDITS, personalBestCredits);
+        segment.set(ValueLayout.JAVA_INT, base + WorldLayout.SHOP_MESSAGE_TIMER, shopMessageTimer);
+        segment.set(ValueLayout.JAVA_INT, base + WorldLayout.BRICK_COUNT, bricks.size());
+        segment.set(ValueLayout.JAVA_BYTE, base + WorldLayout.GAME_STATE, (byte) gameState.ordinal());
+        segment.set(ValueLayout.JAVA_BYTE, base + WorldLayout.STATE_BEFORE_PAUSE, (byte) stateBeforePause.ordinal());
+        segment.set(ValueLayout.JAVA_BYTE, base + WorldLayout.BONUS_COUNT, (byte) activeBonuses.size());
+        segment.set(ValueLayout.JAVA_BYTE, base + WorldLayout.RECORD_COUNT, (byte) scoreRecords.size());
+        segment.set(ValueLayout.JAVA_SHORT, base + WorldLayout.FLAGS, (short) ((leftPressed ? 1 : 0)
+            | (rightPressed ? 1 << 1 : 0)
+            | (helpVisible ? 1 << 2 : 0)
+            | (cheatMode ? 1 << 3 : 0)
+            | (autoPilotMode ? 1 << 4 : 0)
+            | (autoPilotAimValid ? 1 << 5 : 0)
+            | (pauseMenuVisible ? 1 << 6 : 0)
+            | (shopOpen ? 1 << 7 : 0)
+            | (scoreRecordedThisRun ? 1 << 8 : 0)));
+        putFixedString(segment, base + WorldLayout.SHOP_MESSAGE_LENGTH, base + WorldLayout.SHOP_MESSAGE,
+            WorldLayout.MESSAGE_BYTES, shopMessage);
+        for (int i = 0; i < activeBonuses.size(); i++) {
+            ActiveBonus bonus = activeBonuses.get(i);
+            long at = base + WorldLayout.bonus(i);
+            segment.set(ValueLayout.JAVA_INT, at + WorldLayout.BONUS_REMAINING_FRAMES, bonus.remainingFrames);
+            segment.set(ValueLayout.JAVA_BYTE, at + WorldLayout.BONUS_TYPE, (byte) bonus.type.ordinal());
+        }
+        for (int i = 0; i < scoreRecords.size(); i++) {
+            ScoreRecord record = scoreRecords.get(i);
+            long at = base + WorldLayout.record(i);
+            segment.set(ValueLayout.JAVA_INT, at + WorldLayout.RECORD_SCORE, record.score);
+            segment.set(ValueLayout.JAVA_INT, at + WorldLayout.RECORD_LEVEL, record.level);
+            putFixedString(segment, at + WorldLayout.RECORD_NOTE_LENGTH, at + WorldLayout.RECORD_NOTE,
+                WorldLayout.NOTE_BYTES, record.note);
+        }
+        for (int i = 0; i < bricks.size(); i++) {
+            bricks.get(i).writeTo(segment, base + WorldLayout.brick(i));
+        }
+    }
+
+    void readFrom(MemorySegment segment, long base) {
+        if (segment.get(ValueLayout.JAVA_INT, base + WorldLayout.MAGIC_OFFSET) != WorldLayout.MAGIC) {
+            throw new IllegalArgumentException("Emplacement de monde vide");
+        }
+        int version = segment.get(ValueLayout.JAVA_INT, base + WorldLayout.VERSION_OFFSET);
+        if (version != WorldLayout.VERSION) {
+            throw new IllegalArgumentException("Version de monde non supportee : " + version);
+        }
+        int brickCount = segment.get(ValueLayout.JAVA_INT, base + WorldLayout.BRICK_COUNT);
+        int bonusCount = segment.get(ValueLayout.JAVA_BYTE, base + WorldLayout.BONUS_COUNT);
+        int recordCount = segment.get(ValueLayout.JAVA_BYTE, base + WorldLayout.RECORD_COUNT);
+        if (brickCount < 0 || brickCount > WorldLayout.MAX_BRICKS || bonusCount < 0 || bonusCount > WorldLayout.MAX_BONUSES
+            || recordCount < 0 || recordCount > SCORE_HISTORY_LIMIT) {
+            throw new IllegalArgumentException("Emplacement de monde corrompu");
+        }
+        inputLog = null;
+        tick = segment.get(ValueLayout.JAVA_LONG, base + WorldLayout.TICK);
+        seed = segment.get(ValueLayout.JAVA_LONG, base + WorldLayout.SEED);
+        gameplayRandom.readFrom(segment, base);
+        autoPilotAimX = segment.get(ValueLayout.JAVA_DOUBLE, base + WorldLayout.AUTO_PILOT_AIM_X);
+        paddle.readFrom(segment, base + WorldLayout.PADDLE_BASE);
+        ball.readFrom(segment, base + WorldLayout.BALL_BASE);
+        starfieldFrame = segment.get(ValueLayout.JAVA_INT, base + WorldLayout.STARFIELD_FRAME);
+        score = segment.get(ValueLayout.JAVA_INT, base + WorldLayout.SCORE);
+        lives = segment.get(ValueLayout.JAVA_INT, base + WorldLayout.LIVES);
+        level = segment.get(ValueLayout.JAVA_INT, base + WorldLayout.LEVEL);
+        credits = segment.get(ValueLayout.JAVA_INT, base + WorldLayout.CREDITS);
+        personalBestScore = segment.get(ValueLayout.JAVA_INT, base + WorldLayout.BEST_SCORE);
+        personalBestLevel = segment.get(ValueLayout.JAVA_INT, base + WorldLayout.BEST_LEVEL);
+        personalBestCredits = segment.get(ValueLayout.JAVA_INT, base + WorldLayout.BEST_CREDITS);
+        shopMessageTimer = segment.get(ValueLayout.JAVA_INT, base + WorldLayout.SHOP_MESSAGE_TIMER);
+        gameState = GameState.values()[segment.get(ValueLayout.JAVA_BYTE, base + WorldLayout.GAME_STATE)];
+        stateBeforePause = GameState.values()[segment.get(ValueLayout.JAVA_BYTE, base + WorldLayout.STATE_BEFORE_PAUSE)];
+        int flags = segment.get(ValueLayout.JAVA_SHORT, base + WorldLayout.FLAGS);
+        leftPressed = (flags & 1) != 0;
+        rightPressed = (flags & 1 << 1) != 0;
+        helpVisible = (flags & 1 << 2) != 0;
+        cheatMode = (flags & 1 << 3) != 0;
+        autoPilotMode = (flags & 1 << 4) != 0;
+        autoPilotAimValid = (flags & 1 << 5) != 0;
+        pauseMenuVisible = (flags & 1 << 6) != 0;
+        shopOpen = (flags & 1 << 7) != 0;
+        scoreRecordedThisRun = (flags & 1 << 8) != 0;
+        shopMessage = getFixedString(segment, base + WorldLayout.SHOP_MESSAGE_LENGTH, base + WorldLayout.SHOP_MESSAGE,
+            WorldLayout.MESSAGE_BYTES, shopMessage);
+        for (int i = 0; i < bonusCount; i++) {
+            long at = base + WorldLayout.bonus(i);
+            BonusType type = BonusType.values()[segment.get(ValueLayout.JAVA_BYTE, at + WorldLayout.BONUS_TYPE)];
+            int remainingFrames = segment.get(ValueLayout.JAVA_INT, at + WorldLayout.BONUS_REMAINING_FRAMES);
+            if (i < activeBonuses.size() && activeBonuses.get(i).type == type) {
+                activeBonuses.get(i).remainingFrames = remainingFrames;
+            } else if (i < activeBonuses.size()) {
+                activeBonuses.set(i, new ActiveBonus(type, remainingFrames));
+            } else {
+                activeBonuses.add(new ActiveBonus(type, remainingFrames));
+            }
+        }
+        while (activeBonuses.size() > bonusCount) {
+            activeBonuses.remove(activeBonuses.size() - 1);
+        }
+        for (int i = 0; i < recordCount; i++) {
+            long at = base + WorldLayout.record(i);
+            int recordScore = segment.get(ValueLayout.JAVA_INT, at + WorldLayout.RECORD_SCORE);
+            int recordLevel = segment.get(ValueLayout.JAVA_INT, at + WorldLayout.RECORD_LEVEL);
+            ScoreRecord current = i < scoreRecords.size() ? scoreRecords.get(i) : null;
+            String note = getFixedString(segment, at + WorldLayout.RECORD_NOTE_LENGTH, at + WorldLayout.RECORD_NOTE,
+                WorldLayout.NOTE_BYTES, current != null ? current.note : null);
+            if (current != null && current.score == recordScore && current.level == recordLevel && current.note == note) {
+                continue;
+            }
+            ScoreRecord record = new ScoreRecord(recordScore, recordLevel, note);
+            if (current != null) {
+                scoreRecords.set(i, record);
+            } else {
+                scoreRecords.add(record);
+            }
+        }
+        while (scoreRecords.size() > recordCount) {
+            scoreRecords.remove(scoreRecords.size() - 1);
+        }
+        while (bricks.size() > brickCount) {
+            spareBricks.add(bricks.remove(bricks.size() - 1));
+        }
+        for (int i = 0; i < brickCount; i++) {
+            if (i == bricks.size()) {
+                bricks.add(spareBricks.isEmpty() ? new Brick() : spareBricks.remove(spareBricks.size() - 1));
+            }
+            bricks.get(i).readFrom(segment, base + WorldLayout.brick(i));
+        }
+        explosions.clear();
+    }
+
+    private static void putFixedString(MemorySegment segment, long lengthAt, long bytesAt, int capacity, String value) {
+        int length = 0;
+        if (isAscii(value)) {
+            length = Math.min(value.length(), capacity);
+            for (int i = 0; i < length; i++) {
+                segment.set(ValueLayout.JAVA_BYTE, bytesAt + i, (byte) value.charAt(i));
+            }
+        } else {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            length = Math.min(bytes.length, capacity);
+            MemorySegment.copy(bytes, 0, segment, ValueLayout.JAVA_BYTE, bytesAt, length);
+        }
+        segment.set(ValueLayout.JAVA_SHORT, lengthAt, (short) length);
+    }
+
+    private static String getFixedString(MemorySegment segment, long lengthAt, long bytesAt, int capacity, String current) {
+        int length = Math.min(segment.get(ValueLayout.JAVA_SHORT, lengthAt) & 0xFFFF, capacity);
+        if (current != null && current.length() == length && isAscii(current)) {
+            boolean same = true;
+            for (int i = 0; i < length && same; i++) {
+                same = segment.get(ValueLayout.JAVA_BYTE, bytesAt + i) == (byte) current.charAt(i);
+            }
+            if (same) {
+                return current;
+            }
+        }
+        byte[] bytes = new byte[length];
+        MemorySegment.copy(segment, ValueLayout.JAVA_BYTE, bytesAt, bytes, 0, length);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void putString(ByteBuffer buffer, String value) {
+        if (isAscii(value)) {
+            buffer.putShort((short) value.length());
+            for (int i = 0; i < value.length(); i++) {
+                buffer.put((byte) value.charAt(i));
+            }
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        buffer.putShort((short) bytes.length);
+        buffer.put(bytes);
+    }
+
+    private static boolean isAscii(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) >= 0x80) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getShort() & 0xFFFF];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    long stateChecksum() {
+        long hash = seed;
+        hash = hash * 31 + tick;
+        hash = hash * 31 + Objects.hash(gameState.ordinal(), stateBeforePause.ordinal(), score, lives, level, credits, shopOpen,
+            pauseMenuVisible, cheatMode, autoPilotMode, leftPressed, rightPressed);
+        hash = hash * 31 + Double.hashCode(paddle.getX());
+        hash = hash * 31 + paddle.getWidth();
+        hash = hash * 31 + Double.hashCode(ball.getX());
+        hash = hash * 31 + Double.hashCode(ball.getY());
+        hash = hash * 31 + Double.hashCode(ball.getVelocityX());
+        hash = hash * 31 + Double.hashCode(ball.getVelocityY());
+        for (Brick brick : bricks) {
+            hash = hash * 31 + brick.getBounds().hashCode();
+            hash = hash * 31 + brick.getRemainingHits();
+        }
+        for (ActiveBonus bonus : activeBonuses) {
+            hash = hash * 31 + bonus.type().ordinal();
+            hash = hash * 31 + bonus.remainingFrames;
+        }
+        return hash;
+    }
+
+    int getStarfieldVersion() {
+        return starfieldVersion;
+    }
+
+    int getStarfieldFrame() {
+        return starfieldFrame;
+    }
+
+    GameState getGameState() {
+        return gameState;
+    }
+
+    boolean isSceneFrozen() {
+        if (!explosions.isEmpty() || shopMessageTimer > 0) {
+            return false;
+        }
+        if (shopOpen) {
+            return true;
+        }
+        return switch (gameState) {
+            case PAUSED, LEVEL_COMPLETE, GAME_OVER -> true;
+            case READY -> !autoPilotMode && !leftPressed && !rightPressed && activeBonuses.isEmpty();
+            case RUNNING -> false;
+        };
+    }
+
+    Paddle getPaddle() {
+        return paddle;
+    }
+
+    Ball getBall() {
+        return ball;
+    }
+
+    List<Brick> getBricks() {
+        return bricksView;
+    }
+
+    List<Explosion> getExplosions() {
+        return explosionsView;
+    }
+
+    List<ActiveBonus> getActiveBonuses() {
+        return activeBonusesView;
+    }
+
+    List<SpaceStar> getStars() {
+        return starsView;
+    }
+
+    List<Nebula> getNebulas() {
+        return nebulasView;
+    }
+
+    List<ScoreRecord> getScoreRecords() {
+        return scoreRecordsView;
+    }
+
+    int getScore() {
+        return score;
+    }
+
+    int getLives() {
+        return lives;
+    }
+
+    int getLevel() {
+        return level;
+    }
+
+    int getCredits() {
+        return credits;
+    }
+
+    int getPersonalBestScore() {
+        return personalBestScore;
+    }
+
+    int getPersonalBestLevel() {
+        return personalBestLevel;
+    }
+
+    int getPersonalBestCredits() {
+        return personalBestCredits;
+    }
+
+    boolean isHelpVisible() {
+        return helpVisible;
+    }
+
+    boolean isCheatMode() {
+        return cheatMode;
+    }
+
+    boolean isAutoPilotMode() {
+        return autoPilotMode;
+    }
+
+    boolean isPauseMenuVisible() {
+        return pauseMenuVisible;
+    }
+
+    boolean isShopOpen() {
+        return shopOpen;
+    }
+
+    String getShopMessage() {
+        return shopMessage;
+    }
+
+
+    private void updatePaddle() {
+        if (gameState == GameState.GAME_OVER || gameState == GameState.LEVEL_COMPLETE || gameState == GameState.PAUSED) {
+            return;
+        }
+        if (autoPilotMode) {
+            runAutoPilot();
+            return;
+        }
+        if (leftPressed && !rightPressed) {
+            paddle.move(-1, PANEL_WIDTH);
+        } else if (rightPressed && !leftPressed) {
+            paddle.move(1, PANEL_WIDTH);
+        }
+        ensureValidPaddlePosition();
+    }
+
+    private void runAutoPilot() {
+        double halfWidth = paddle.getWidth() / 2.0;
+        double desiredCenter = planAutoPilotCenter();
+        if (!Double.isFinite(desiredCenter)) {
+            desiredCenter = PANEL_WIDTH / 2.0;
+        }
+        double clampedCenter = clamp(desiredCenter, halfWidth, PANEL_WIDTH - halfWidth);
+        if (!Double.isFinite(clampedCenter)) {
+            clampedCenter = PANEL_WIDTH / 2.0;
+        }
+        double paddleSpeed = paddle.getSpeed();
+        if (paddleSpeed <= 1e-3) {
+            paddle.setCenter(clampedCenter);
+            ensureValidPaddlePosition();
+            return;
+        }
+
+        double currentCenter = paddle.getCenterX();
+        double delta = clampedCenter - currentCenter;
+        double tolerance = Math.max(1.2, paddle.getWidth() * 0.015);
+
+        if (Math.abs(delta) <= tolerance) {
+            paddle.setCenter(clampedCenter);
+            ensureValidPaddlePosition();
+            return;
+        }
+
+        double directionLimit = autoPilotMode ? Math.min(autoPilotSpeedMultiplier(), 1.6) : 1.0;
+        double maxStep = paddleSpeed * directionLimit;
+        double distance = Math.abs(delta);
+        double targetStep = Math.min(distance, maxStep);
+        double normalizedDirection = Math.signum(delta) * (targetStep / paddleSpeed);
+        if (!Double.isFinite(normalizedDirection)) {
+            normalizedDirection = 0;
+        }
+        normalizedDirection = clamp(normalizedDirection, -directionLimit, directionLimit);
+
+        paddle.move(normalizedDirection, PANEL_WIDTH);
+
+        double newCenter = paddle.getCenterX();
+        if (Math.abs(clampedCenter - newCenter) <= tolerance) {
+            paddle.setCenter(clampedCenter);
+        }
+        ensureValidPaddlePosition();
+    }
+
+    private void applyAutoPilotGuidance() {
+        if (!autoPilotMode || bricks.isEmpty()) {
+            return;
+        }
+        if (ball.getSpeed() <= AUTOPILOT_EPSILON) {
+            return;
+        }
+        if (ball.getVelocityY() >= 0) {
+            return;
+        }
+
+        double referenceX = autoPilotAimValid ? autoPilotAimX : ball.getCenterX();
+        Brick target = selectPriorityBrick(referenceX);
+        if (target == null) {
+            return;
+        }
+
+        Rectangle2D.Double bounds = target.getBounds();
+        double dx = bounds.getCenterX() - ball.getCenterX();
+        double dy = bounds.getCenterY() - ball.getCenterY();
+        double distance = Math.hypot(dx, dy);
+        if (distance < AUTOPILOT_EPSILON) {
+            return;
+        }
+
+        double minSpeed = minimumBallSpeed() * autoPilotSpeedMultiplier();
+        double maxSpeed = effectiveMaxSpeed();
+        double desiredSpeed = clamp(ball.getSpeed(), minSpeed, maxSpeed);
+        if (desiredSpeed <= AUTOPILOT_EPSILON) {
+            desiredSpeed = minSpeed;
+        }
+
+        double desiredVelocityX = dx / distance * desiredSpeed;
+        double desiredVelocityY = dy / distance * desiredSpeed;
+        if (desiredVelocityY >= -AUTOPILOT_EPSILON) {
+            desiredVelocityY = -Math.abs(desiredVelocityY) - 0.5;
+        }
+
+        double blendedVelocityX = lerp(ball.getVelocityX(), desiredVelocityX, AUTO_PILOT_GUIDANCE_STRENGTH);
+        double blendedVelocityY = lerp(ball.getVelocityY(), desiredVelocityY, AUTO_PILOT_GUIDANCE_STRENGTH);
+        double blendedSpeed = Math.hypot(blendedVelocityX, blendedVelocityY);
+        if (blendedSpeed < AUTOPILOT_EPSILON) {
+            return;
+        }
+
+        double finalSpeed = clamp(blendedSpeed, minSpeed, maxSpeed);
+        double scale = finalSpeed / blendedSpeed;
+        ball.setVelocity(blendedVelocityX * scale, blendedVelocityY * scale);
+    }
+
+    private double planAutoPilotCenter() {
+        double interceptX = predictImpactX();
+        double speed = ball.getSpeed();
+        if (gameState != GameState.RUNNING || speed <= 0.01) {
+            return aimForBrick(ball.getCenterX(), interceptX);
+        }
+
+        ShotPlan plan = planBestShot(interceptX);
+        if (plan != null) {
+            return rememberAutoPilotAim(plan.targetCenter());
+        }
+        return aimForBrick(ball.getCenterX(), interceptX);
+    }
+
+    private double aimForBrick(double referenceX, double fallbackX) {
+        Brick priority = selectPriorityBrick(referenceX);
+        if (priority != null) {
+            double aim = priority.getBounds().getCenterX();
+            return rememberAutoPilotAim(aim);
+        }
+        if (autoPilotAimValid) {
+            return autoPilotAimX;
+        }
+        return fallbackX;
+    }
+
+    private double rememberAutoPilotAim(double aim) {
+        autoPilotAimX = clamp(aim, paddle.getWidth() / 2.0, PANEL_WIDTH - paddle.getWidth() / 2.0);
+        autoPilotAimValid = true;
+        return autoPilotAimX;
+    }
+
+    private double predictImpactX() {
+        double radius = ball.getDiameter() / 2.0;
+        double targetY = paddle.getY() - radius;
+        double centerX = ball.getCenterX();
+        double centerY = ball.getCenterY();
+        double velocityX = ball.getVelocityX();
+        double velocityY = ball.getVelocityY();
+
+        if (Math.abs(velocityX) < 1e-6 && Math.abs(velocityY) < 1e-6) {
+            return centerX;
+        }
+
+        if (velocityY > 0.01) {
+            double distance = Math.max(0, targetY - centerY);
+            double time = distance / velocityY;
+            double projected = centerX + velocityX * time;
+            return reflectWithinWalls(projected, radius);
+        }
+
+        if (velocityY < -0.01) {
+            double absVy = Math.abs(velocityY);
+            double distanceUp = Math.max(0, centerY - radius);
+            double distanceDown = Math.max(0, targetY - radius);
+            double totalTime = (distanceUp + distanceDown) / absVy;
+            double projected = centerX + velocityX * totalTime;
+            return reflectWithinWalls(projected, radius);
+        }
+
+        return centerX;
+    }
+
+    private Brick selectPriorityBrick(double referenceX) {
+        Brick best = null;
+        double bestScore = Double.NEGATIVE_INFINITY;
+        for (Brick brick : bricks) {
+            if (brick.isDestroyed()) {
+                continue;
+            }
+            Rectangle2D.Double bounds = brick.getBounds();
+            double baseValue = evaluateBrickValue(brick);
+            double alignment = 1.0 - clamp(Math.abs(bounds.getCenterX() - referenceX) / (PANEL_WIDTH * 0.5), 0.0, 1.0);
+            double score = baseValue * 5.0 + alignment * 2.2;
+            if (score > bestScore) {
+                bestScore = score;
+                best = brick;
+            }
+        }
+        return best;
+    }
+
+    ShotPlan planBestShot(double interceptX) {
+        double ballRadius = ball.getDiameter() / 2.0;
+        double paddleTop = paddle.getY();
+        double strikeY = paddleTop - ballRadius - 0.5;
+        double baseSpeed = Math.min(effectiveMaxSpeed(), (minimumBallSpeed() + level * 0.5) * autoPilotSpeedMultiplier());
+        double currentCenter = paddle.getCenterX();
+        double paddleWidth = paddle.getWidth();
+        boolean piercing = hasPiercingBall();
+
+        ShotPlan bestPlan = null;
+        for (double candidateRatio : AUTOPILOT_RATIOS) {
+            double ratio = clamp(candidateRatio, 0.08, 0.92);
+            double angle = (ratio - 0.5) * 2.0 * MAX_PADDLE_DEFLECTION;
+            double velocityX = baseSpeed * Math.sin(angle);
+            double velocityY = -Math.abs(baseSpeed * Math.cos(angle));
+            ShotSimulationResult result = simulateShot(interceptX, strikeY, velocityX, velocityY, ballRadius, piercing);
+            double targetCenter = interceptX + (0.5 - ratio) * paddleWidth;
+            double score = evaluateShotResult(result, targetCenter, currentCenter);
+            if (!Double.isFinite(score)) {
+                continue;
+            }
+            if (bestPlan == null || score > bestPlan.score()) {
+                bestPlan = new ShotPlan(targetCenter, ratio, score);
+            }
+        }
+        return bestPlan;
+    }
+
+    ShotSimulationResult simulateShot(double startX, double startY, double velocityX, double velocityY, double radius, boolean piercing) {
+        double x = startX;
+        double y = startY;
+        double vx = velocityX;
+        double vy = velocityY;
+        double timeElapsed = 0.0;
+        int bounceCount = 0;
+        List<Brick> hitBricks = new ArrayList<>();
+        List<Double> impactTimes = new ArrayList<>();
+        Set<Brick> removedBricks = piercing ? new HashSet<>() : null;
+
+        for (int iteration = 0; iteration < AUTOPILOT_MAX_LOOKAHEAD_EVENTS; iteration++) {
+            Collision collision = findNextCollision(x, y, vx, vy, radius, removedBricks);
+            if (collision == null) {
+                break;
+            }
+            double dt = Math.max(collision.time, AUTOPILOT_EPSILON);
+            x += vx * dt;
+            y += vy * dt;
+            timeElapsed += dt;
+            if (timeElapsed > AUTOPILOT_MAX_SIMULATION_TIME) {
+                break;
+            }
+
+            switch (collision.type) {
+                case FLOOR -> {
+                    return ShotSimulationResult.miss(timeElapsed, true, hitBricks, impactTimes, bounceCount, vx, vy);
+                }
+                case CEILING -> {
+                    vy = -vy;
+                    y = radius;
+                    bounceCount++;
+                }
+                case WALL -> {
+                    vx = -vx;
+                    x = clamp(x, radius, PANEL_WIDTH - radius);
+                    bounceCount++;
+                }
+                case BRICK -> {
+                    Brick brick = collision.brick;
+                    hitBricks.add(brick);
+                    impactTimes.add(timeElapsed);
+                    if (piercing) {
+                        if (removedBricks != null) {
+                            removedBricks.add(brick);
+                        }
+                        if (hitBricks.size() >= 6) {
+                            return ShotSimulationResult.hit(hitBricks, impactTimes, timeElapsed, bounceCount, vx, vy);
+                        }
+                    } else {
+                        if (collision.normalX != 0) {
+                            vx = -vx;
+                        }
+                        if (collision.normalY != 0) {
+                            vy = -vy;
+                        }
+                        return ShotSimulationResult.hit(hitBricks, impactTimes, timeElapsed, bounceCount, vx, vy);
+                    }
+                }
+            }
+        }
+
+        if (!hitBricks.isEmpty()) {
+            return ShotSimulationResult.hit(hitBricks, impactTimes, timeElapsed, bounceCount, vx, vy);
+        }
+        return ShotSimulationResult.miss(timeElapsed, false, hitBricks, impactTimes, bounceCount, vx, vy);
+    }
+
+    private Collision findNextCollision(double x, double y, double vx, double vy, double radius, Set<Brick> ignoredBricks) {
+        double minTime = Double.POSITIVE_INFINITY;
+        Collision best = null;
+
+        if (vy > AUTOPILOT_EPSILON) {
+            double time = (PANEL_HEIGHT - radius - y) / vy;
+            if (time >= AUTOPILOT_EPSILON && time < minTime) {
+                minTime = time;
+                best = new Collision(CollisionType.FLOOR, time, 0.0, -1.0, null);
+            }
+        }
+
+        if (vy < -AUTOPILOT_EPSILON) {
+            double time = (radius - y) / vy;
+            if (time >= AUTOPILOT_EPSILON && time < minTime) {
+                minTime = time;
+                best = new Collision(CollisionType.CEILING, time, 0.0, 1.0, null);
+            }
+        }
+
+        if (vx < -AUTOPILOT_EPSILON) {
+            double time = (radius - x) / vx;
+            if (time >= AUTOPILOT_EPSILON && time < minTime) {
+                minTime = time;
+                best = new Collision(CollisionType.WALL, time, 1.0, 0.0, null);
+            }
+        }
+
+        if (vx > AUTOPILOT_EPSILON) {
+            double time = (PANEL_WIDTH - radius - x) / vx;
+            if (time >= AUTOPILOT_EPSILON && time < minTime) {
+                minTime = time;
+                best = new Collision(CollisionType.WALL, time, -1.0, 0.0, null);
+            }
+        }
+
+        for (Brick brick : bricks) {
+            if (brick.isDestroyed()) {
+                continue;
+            }
+            if (ignoredBricks != null && ignoredBricks.contains(brick)) {
+                continue;
+            }
+            Collision collision = findBrickCollision(brick, x, y, vx, vy, radius);
+            if (collision != null && collision.time < minTime) {
+                minTime = collision.time;
+                best = collision;
+            }
+        }
+        return best;
+    }
+
+    private Collision findBrickCollision(Brick brick, double startX, double startY, double vx, double vy, double radius) {
+        Rectangle2D.Double bounds = brick.getBounds();
+        double minX = bounds.x - radius;
+        double maxX = bounds.x + bounds.width + radius;
+        double minY = bounds.y - radius;
+        double maxY = bounds.y + bounds.height + radius;
+
+        double enterX = Double.NEGATIVE_INFINITY;
+        double exitX = Double.POSITIVE_INFINITY;
+        double enterY = Double.NEGATIVE_INFINITY;
+        double exitY = Double.POSITIVE_INFINITY;
+
+        if (Math.abs(vx) < AUTOPILOT_EPSILON) {
+            if (startX <= minX || startX >= maxX) {
+                return null;
+            }
+        } else {
+            double inv = 1.0 / vx;
+            double t1 = (minX - startX) * inv;
+            double t2 = (maxX - startX) * inv;
+            enterX = Math.min(t1, t2);
+            exitX = Math.max(t1, t2);
+        }
+
+        if (Math.abs(vy) < AUTOPILOT_EPSILON) {
+            if (startY <= minY || startY >= maxY) {
+                return null;
+            }
+        } else {
+            double inv = 1.0 / vy;
+            double t1 = (minY - startY) * inv;
+            double t2 = (maxY - startY) * inv;
+            enterY = Math.min(t1, t2);
+            exitY = Math.max(t1, t2);
+        }
+
+        double entry = Math.max(Math.max(enterX, enterY), 0.0);
+        double exit = Math.min(exitX, exitY);
+        if (exit < entry || exit < AUTOPILOT_EPSILON) {
+            return null;
+        }
+
+        double normalX = 0.0;
+        double normalY = 0.0;
+        if (enterX > enterY) {
+            normalX = vx > 0 ? -1.0 : 1.0;
+        } else if (enterY > enterX) {
+            normalY = vy > 0 ? -1.0 : 1.0;
+        } else {
+            normalX = vx > 0 ? -1.0 : 1.0;
+            normalY = vy > 0 ? -1.0 : 1.0;
+        }
+
+        return new Collision(CollisionType.BRICK, entry, normalX, normalY, brick);
+    }
+
+    private double evaluateShotResult(ShotSimulationResult result, double targetCenter, double currentCenter) {
+        if (!result.hitBrick()) {
+            double penaltyBase = result.missedByFloor() ? 260.0 : 120.0;
+            double timePenalty = result.totalTime() * 9.0;
+            double movementPenalty = Math.abs(targetCenter - currentCenter) * 0.02;
+            return -penaltyBase - timePenalty - movementPenalty;
+        }
+
+        List<Brick> hitBricks = result.hitBricks();
+        List<Double> impactTimes = result.impactTimes();
+        if (hitBricks.isEmpty()) {
+            return -100.0;
+        }
+
+        double valueScore = 0.0;
+        for (int i = 0; i < hitBricks.size(); i++) {
+            double brickValue = evaluateBrickValue(hitBricks.get(i));
+            double timeWeight = 1.0 / (1.0 + impactTimes.get(i) * 0.55);
+            valueScore += brickValue * timeWeight;
+        }
+
+        Brick primary = hitBricks.get(0);
+        Rectangle2D.Double bounds = primary.getBounds();
+        double exitHorizontal = Math.abs(result.exitVelocityX());
+        double exitVertical = Math.abs(result.exitVelocityY());
+        double alignmentPenalty = Math.abs(bounds.getCenterX() - targetCenter) * 0.012;
+        double travelPenalty = Math.abs(targetCenter - currentCenter) * 0.016;
+        double horizontalBias = exitHorizontal / Math.max(0.4, exitVertical);
+        double lowHorizontalDeficit = Math.max(0.0, 1.4 - exitHorizontal);
+
+        double score = valueScore * 8.4;
+        score += exitHorizontal * 4.2;
+        score += horizontalBias * 6.0;
+        score -= lowHorizontalDeficit * 9.0;
+        score += Math.max(0.0, exitVertical) * 0.6;
+        score -= Math.max(0.0, result.exitVelocityY()) * 3.4;
+        score -= result.totalTime() * 1.6;
+        score -= result.bounces() * 1.3;
+        score -= alignmentPenalty;
+        score -= travelPenalty;
+
+        if (hitBricks.size() > 1) {
+            score += (hitBricks.size() - 1) * 6.0;
+        }
+        if (hitBricks.size() >= 3) {
+            score += 5.5;
+        }
+        return score;
+    }
+
+    double evaluateBrickValue(Brick brick) {
+        Rectangle2D.Double bounds = brick.getBounds();
+        double normalizedHeight = 1.0 - clamp(bounds.y / (PANEL_HEIGHT * 0.9), 0.0, 1.0);
+        double centerX = bounds.getCenterX();
+        double proximityToCenter = 1.0 - clamp(Math.abs(centerX - PANEL_WIDTH / 2.0) / (PANEL_WIDTH / 2.0), 0.0, 1.0);
+        double density = computeLocalBrickDensity(centerX, bounds.getCenterY(), 150.0);
+        double laneValue = computeLaneClearValue(centerX, bounds.y);
+        double edgeValue = computeEdgeClearValue(bounds);
+        double toughness = brick.getRemainingHits() > 1 ? brick.getRemainingHits() * 0.45 : 0.0;
+        return normalizedHeight * 4.4 + density * 1.8 + laneValue * 1.3 + proximityToCenter * 0.5 + edgeValue * 1.1 + toughness;
+    }
+
+    private double computeLaneClearValue(double centerX, double brickTopY) {
+        double laneHalfWidth = Math.max(50.0, paddle.getWidth() * 0.25);
+        int blockers = 0;
+        for (Brick brick : bricks) {
+            if (brick.isDestroyed()) {
+                continue;
+            }
+            Rectangle2D.Double bounds = brick.getBounds();
+            double bx = bounds.getCenterX();
+            if (bx < centerX - laneHalfWidth || bx > centerX + laneHalfWidth) {
+                continue;
+            }
+            if (bounds.y + bounds.height <= brickTopY - AUTOPILOT_EPSILON) {
+                blockers++;
+            }
+        }
+        return Math.max(0.0, 1.5 - blockers * 0.28);
+    }
+
+    private double computeLocalBrickDensity(double centerX, double centerY, double radius) {
+        double score = 0.0;
+        double radiusSquared = radius * radius;
+        for (Brick brick : bricks) {
+            if (brick.isDestroyed()) {
+                continue;
+            }
+            Rectangle2D.Double bounds = brick.getBounds();
+            double dx = bounds.getCenterX() - centerX;
+            double dy = bounds.getCenterY() - centerY;
+            double distanceSquared = dx * dx + dy * dy;
+            if (distanceSquared > radiusSquared) {
+                continue;
+            }
+            double weight = Math.exp(-distanceSquared / (radiusSquared * 0.6));
+            score += weight;
+        }
+        return score;
+    }
+
+    private double computeEdgeClearValue(Rectangle2D.Double bounds) {
+        double leftDistance = Math.max(0.0, bounds.x);
+        double rightDistance = Math.max(0.0, PANEL_WIDTH - (bounds.x + bounds.width));
+        double proximity = Math.min(leftDistance, rightDistance);
+        double normalized = 1.0 - clamp(proximity / (PANEL_WIDTH * 0.45), 0.0, 1.0);
+        return normalized;
+    }
+
+    static final class ShotPlan {
+        private final double targetCenter;
+        private final double ratio;
+        private final double score;
+
+        ShotPlan(double targetCenter, double ratio, double score) {
+            this.targetCenter = targetCenter;
+            this.ratio = ratio;
+            this.score = score;
+        }
+
+        double targetCenter() {
+            return targetCenter;
+        }
+
+        double ratio() {
+            return ratio;
+        }
+
+        double score() {
+            return score;
+        }
+    }
+
+    static final class ShotSimulationResult {
+        private final boolean hitBrick;
+        private final boolean missedByFloor;
+        private final double totalTime;
+        private final int bounces;
+        private final double exitVelocityX;
+        private final double exitVelocityY;
+        private final List<Brick> hitBricks;
+        private final List<Double> impactTimes;
+
+        private ShotSimulationResult(boolean hitBrick, boolean missedByFloor, double totalTime, int bounces,
+                                     double exitVelocityX, double exitVelocityY,
+                                     List<Brick> hitBricks, List<Double> impactTimes) {
+            this.hitBrick = hitBrick;
+            this.missedByFloor = missedByFloor;
+            this.totalTime = totalTime;
+            this.bounces = bounces;
+            this.exitVelocityX = exitVelocityX;
+            this.exitVelocityY = exitVelocityY;
+            this.hitBricks = hitBricks;
+            this.impactTimes = impactTimes;
+        }
+
+        static ShotSimulationResult hit(List<Brick> hitBricks, List<Double> impactTimes, double totalTime, int bounces,
+                                        double exitVelocityX, double exitVelocityY) {
+            return new ShotSimulationResult(true, false, totalTime, bounces, exitVelocityX, exitVelocityY,
+                List.copyOf(hitBricks), List.copyOf(impactTimes));
+        }
+
+        static ShotSimulationResult miss(double totalTime, boolean fell, List<Brick> hitBricks, List<Double> impactTimes,
+                                         int bounces, double exitVelocityX, double exitVelocityY) {
+            return new ShotSimulationResult(false, fell, totalTime, bounces, exitVelocityX, exitVelocityY,
+                List.copyOf(hitBricks), List.copyOf(impactTimes));
+        }
+
+        boolean hitBrick() {
+            return hitBrick;
+        }
+
+        boolean missedByFloor() {
+            return missedByFloor;
+        }
+
+        double totalTime() {
+            return totalTime;
+        }
+
+        int bounces() {
+            return bounces;
+        }
+
+        double exitVelocityX() {
+            return exitVelocityX;
+        }
+
+        double exitVelocityY() {
+            return exitVelocityY;
+        }
+
+        List<Brick> hitBricks() {
+            return hitBricks;
+        }
+
+        List<Double> impactTimes() {
+            return impactTimes;
+        }
+    }
+
+    private enum CollisionType {
+        BRICK,
+        WALL,
+        CEILING,
+        FLOOR
+    }
+
+    private static final class Collision {
+        private final CollisionType type;
+        private final double time;
+        private final double normalX;
+        private final double normalY;
+        private final Brick brick;
+
+        Collision(CollisionType type, double time, double normalX, double normalY, Brick brick) {
+            this.type = type;
+            this.time = time;
+            this.normalX = normalX;
+            this.normalY = normalY;
+            this.brick = brick;
+        }
+    }
+
+    private double reflectWithinWalls(double projectedCenter, double radius) {
+        double min = radius;
+        double max = PANEL_WIDTH - radius;
+        double arenaWidth = max - min;
+        if (arenaWidth <= 0) {
+            return PANEL_WIDTH / 2.0;
+        }
+
+        double range = arenaWidth * 2.0;
+        double offset = projectedCenter - min;
+        double wrapped = offset % range;
+        if (wrapped < 0) {
+            wrapped += range;
+        }
+        if (wrapped <= arenaWidth) {
+            return min + wrapped;
+        }
+        return max - (wrapped - arenaWidth);
+    }
+
+    private double autoPilotSpeedMultiplier() {
+        return autoPilotMode ? AUTO_PILOT_SPEED_MULTIPLIER : 1.0;
+    }
+
+    private double effectiveMaxSpeed() {
+        return MAX_BALL_SPEED * autoPilotSpeedMultiplier();
+    }
+
+    private void applyAutoPilotSpeedBoost() {
+        double speed = ball.getSpeed();
+        if (speed <= 0.01) {
+            return;
+        }
+        double minSpeed = minimumBallSpeed() * AUTO_PILOT_SPEED_MULTIPLIER;
+        double target = Math.min(effectiveMaxSpeed(), speed * AUTO_PILOT_SPEED_MULTIPLIER);
+        if (target < minSpeed) {
+            target = minSpeed;
+        }
+        if (target > speed + 0.01) {
+            ball.normalizeSpeed(target);
+        }
+    }
+
+    private void clampBallToNormalSpeed() {
+        double speed = ball.getSpeed();
+        if (speed > MAX_BALL_SPEED) {
+            ball.normalizeSpeed(MAX_BALL_SPEED);
+        }
+    }
+
+    private void constrainBallToField() {
+        double diameter = ball.getDiameter();
+        if (ball.getX() <= 0 && ball.getVelocityX() < 0) {
+            ball.setX(0);
+            ball.bounceHorizontally();
+        } else if (ball.getX() + diameter >= PANEL_WIDTH && ball.getVelocityX() > 0) {
+            ball.setX(PANEL_WIDTH - diameter);
+            ball.bounceHorizontally();
+        }
+
+        if (ball.getY() <= 0 && ball.getVelocityY() < 0) {
+            ball.setY(0);
+            ball.bounceVertically();
+        } else if (ball.getY() >= PANEL_HEIGHT) {
+            loseLife();
+        }
+    }
+
+    private void handlePaddleCollision() {
+        if (ball.getVelocityY() >= 0 && ball.getBounds().intersects(paddle.getBounds())) {
+            ball.setY(paddle.getY() - ball.getDiameter() - 0.5);
+
+            double hitPosition = (ball.getCenterX() - paddle.getX()) / paddle.getWidth();
+            hitPosition = Math.max(0.05, Math.min(0.95, hitPosition));
+
+            double maxAngle = MAX_PADDLE_DEFLECTION;
+            double angle = (hitPosition - 0.5) * 2 * maxAngle;
+            double baseTargetSpeed = (minimumBallSpeed() + level * 0.5) * autoPilotSpeedMultiplier();
+            double targetSpeed = Math.min(effectiveMaxSpeed(), baseTargetSpeed);
+            double newVelocityX = targetSpeed * Math.sin(angle);
+            double newVelocityY = -Math.abs(targetSpeed * Math.cos(angle));
+            ball.setVelocity(newVelocityX, newVelocityY);
+        }
+    }
+
+    void handleBrickCollisions() {
+        Rectangle2D.Double ballBounds = ball.getBounds();
+        Iterator<Brick> iterator = bricks.iterator();
+        boolean collisionHandled = false;
+        boolean piercingBall = hasPiercingBall();
+        while (iterator.hasNext()) {
+            Brick brick = iterator.next();
+            if (brick.isDestroyed()) {
+                iterator.remove();
+                continue;
+            }
+
+            Rectangle2D.Double brickBounds = brick.getBounds();
+            if (ballBounds.intersects(brickBounds)) {
+                if (piercingBall) {
+                    spawnExplosion(brickBounds, brick.getColor());
+                    iterator.remove();
+                    awardCredit();
+                    addScore(100);
+                    collisionHandled = true;
+                    continue;
+                } else {
+                    resolveBallBrickCollision(brickBounds);
+                    boolean destroyed = brick.applyHit();
+                    if (destroyed) {
+                        spawnExplosion(brickBounds, brick.getColor());
+                        iterator.remove();
+                        awardCredit();
+                        addScore(100);
+                    } else {
+                        addScore(30);
+                    }
+                }
+                collisionHandled = true;
+                if (!piercingBall) {
+                    break;
+                }
+            }
+        }
+        if (collisionHandled) {
+            accelerateBall();
+        }
+    }
+
+    private void spawnExplosion(Rectangle2D.Double brickBounds, Color color) {
+        if (effectsSuppressed) {
+            return;
+        }
+        explosions.add(new Explosion(brickBounds, color, effectsRandom, particleFactor));
+    }
+
+    private void addScore(int basePoints) {
+        double multiplier = currentScoreMultiplier();
+        int awarded = (int) Math.round(basePoints * multiplier);
+        score += Math.max(0, awarded);
+        updatePersonalBestProgress();
+    }
+
+    private void awardCredit() {
+        credits++;
+        updatePersonalBestProgress();
+    }
+
+    private double currentScoreMultiplier() {
+        return isBonusActive(BonusType.SCORE_BOOST) ? 2.0 : 1.0;
+    }
+
+    private boolean hasPiercingBall() {
+        return cheatMode || isBonusActive(BonusType.PIERCE_BALL);
+    }
+
+    private void updateActiveBonuses() {
+        if (activeBonuses.isEmpty()) {
+            return;
+        }
+        boolean modified = false;
+        if (gameState == GameState.RUNNING || gameState == GameState.READY) {
+            Iterator<ActiveBonus> iterator = activeBonuses.iterator();
+            while (iterator.hasNext()) {
+                ActiveBonus bonus = iterator.next();
+                bonus.remainingFrames--;
+                if (bonus.remainingFrames <= 0) {
+                    iterator.remove();
+                    modified = true;
+                }
+            }
+        }
+        if (modified) {
+            refreshPlayerModifiers();
+        }
+    }
+
+    private void updateExplosions() {
+        Iterator<Explosion> iterator = explosions.iterator();
+        while (iterator.hasNext()) {
+            Explosion explosion = iterator.next();
+            if (explosion.update()) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private void resolveBallBrickCollision(Rectangle2D.Double brickBounds) {
+        double ballLeft = ball.getX();
+        double ballRight = ball.getX() + ball.getDiameter();
+        double ballTop = ball.getY();
+        double ballBottom = ball.getY() + ball.getDiameter();
+
+        double overlapLeft = ballRight - brickBounds.x;
+        double overlapRight = brickBounds.x + brickBounds.width - ballLeft;
+        double overlapTop = ballBottom - brickBounds.y;
+        double overlapBottom = brickBounds.y + brickBounds.height - ballTop;
+
+        double minHorizontal = Math.min(overlapLeft, overlapRight);
+        double minVertical = Math.min(overlapTop, overlapBottom);
+
+        if (minHorizontal < minVertical) {
+            if (overlapLeft < overlapRight) {
+                ball.setX(brickBounds.x - ball.getDiameter() - 0.5);
+            } else {
+                ball.setX(brickBounds.x + brickBounds.width + 0.5);
+            }
+            ball.bounceHorizontally();
+        } else {
+            if (overlapTop < overlapBottom) {
+                ball.setY(brickBounds.y - ball.getDiameter() - 0.5);
+            } else {
+                ball.setY(brickBounds.y + brickBounds.height + 0.5);
+            }
+            ball.bounceVertically();
+        }
+    }
+
+    private void accelerateBall() {
+        double currentSpeed = ball.getSpeed();
+        double minSpeed = minimumBallSpeed() * autoPilotSpeedMultiplier();
+        if (currentSpeed < minSpeed) {
+            ball.normalizeSpeed(minSpeed);
+        } else {
+            double increment = SPEED_INCREMENT * autoPilotSpeedMultiplier();
+            double boostedSpeed = Math.min(effectiveMaxSpeed(), currentSpeed + increment);
+            ball.normalizeSpeed(boostedSpeed);
+        }
+    }
+
+    private double minimumBallSpeed() {
+        return BASE_BALL_SPEED + (level - 1) * 0.4;
+    }
+
+    private void loseLife() {
+        lives--;
+        if (lives <= 0) {
+            recordCurrentRun("Game Over");
+            gameState = GameState.GAME_OVER;
+        } else {
+            resetRound();
+        }
+    }
+
+    private void resetRound() {
+        pauseMenuVisible = false;
+        stateBeforePause = GameState.READY;
+        paddle.setCenter(PANEL_WIDTH / 2.0);
+        refreshPlayerModifiers();
+        ball.setCenter(paddle.getX() + paddle.getWidth() / 2.0, paddle.getY() - ball.getDiameter() / 2.0 - 4);
+        ball.setVelocity(0, 0);
+        gameState = GameState.READY;
+    }
+
+    private void recordCurrentRun(String note) {
+        if (scoreRecordedThisRun) {
+            return;
+        }
+        if (score <= 0 && level <= 1 && credits <= 0) {
+            return;
+        }
+        updatePersonalBestProgress();
+        scoreRecordedThisRun = true;
+        ScoreRecord record = new ScoreRecord(Math.max(0, score), Math.max(1, level), note);
+        scoreRecords.add(record);
+        scoreRecords.sort((a, b) -> Integer.compare(b.score, a.score));
+        while (scoreRecords.size() > SCORE_HISTORY_LIMIT) {
+            scoreRecords.remove(scoreRecords.size() - 1);
+        }
+        personalBestScore = Math.max(personalBestScore, record.score);
+        personalBestLevel = Math.max(personalBestLevel, record.level);
+        personalBestCredits = Math.max(personalBestCredits, credits);
+        if (scoreListener != null) {
+            scoreListener.accept(record);
+        }
+    }
+
+    private void updatePersonalBestProgress() {
+        if (score > personalBestScore) {
+            personalBestScore = score;
+        }
+        if (level > personalBestLevel) {
+            personalBestLevel = level;
+        }
+        if (credits > personalBestCredits) {
+            personalBestCredits = credits;
+        }
+    }
+
+    private void startNewGame() {
+        abandonCurrentRun();
+        score = 0;
+        lives = STARTING_LIVES;
+        level = 1;
+        cheatMode = false;
+        autoPilotMode = false;
+        credits = 0;
+        shopOpen = false;
+        shopMessage = "";
+        shopMessageTimer = 0;
+        activeBonuses.clear();
+        autoPilotAimValid = false;
+        autoPilotAimX = PANEL_WIDTH / 2.0;
+        pauseMenuVisible = false;
+        stateBeforePause = GameState.READY;
+        initializeSpaceElements();
+        refreshPlayerModifiers();
+        buildLevel();
+        resetRound();
+        scoreRecordedThisRun = false;
+    }
+
+    void startLevel(int targetLevel) {
+        level = Math.max(1, targetLevel);
+        updatePersonalBestProgress();
+        buildLevel();
+        autoPilotAimValid = false;
+        resetRound();
+    }
+
+    void replaceBricks(List<Brick> layout) {
+        bricks.clear();
+        explosions.clear();
+        bricks.addAll(layout);
+    }
+
+    private void startNextLevel() {
+        level++;
+        updatePersonalBestProgress();
+        buildLevel();
+        autoPilotAimValid = false;
+        resetRound();
+        gameState = GameState.READY;
+    }
+
+    private void initializeSpaceElements() {
+        stars.clear();
+        nebulas.clear();
+
+        for (int i = 0; i < STAR_COUNT; i++) {
+            double x = effectsRandom.nextDouble() * PANEL_WIDTH;
+            double y = effectsRandom.nextDouble() * PANEL_HEIGHT;
+            double size = 1.0 + effectsRandom.nextDouble() * 2.5;
+            double halo = size + 2.0 + effectsRandom.nextDouble() * 4.0;
+            int baseAlpha = 140 + effectsRandom.nextInt(80);
+            int alphaRange = 30 + effectsRandom.nextInt(90);
+            double twinkleSpeed = 0.01 + effectsRandom.nextDouble() * 0.04;
+            double phase = effectsRandom.nextDouble() * Math.PI * 2;
+            int tintRed = 200 + effectsRandom.nextInt(55);
+            int tintGreen = 200 + effectsRandom.nextInt(55);
+            stars.add(new SpaceStar(x, y, size, halo, baseAlpha, alphaRange, twinkleSpeed, phase, tintRed, tintGreen));
+        }
+
+        Color[] palette = {
+            new Color(120, 70, 210, 180),
+            new Color(70, 120, 220, 180),
+            new Color(190, 80, 180, 180),
+            new Color(90, 150, 200, 180)
+        };
+
+        for (int i = 0; i < NEBULA_COUNT; i++) {
+            double centerX = effectsRandom.nextDouble() * PANEL_WIDTH;
+            double centerY = effectsRandom.nextDouble() * PANEL_HEIGHT * 0.75;
+            double radius = 160 + effectsRandom.nextDouble() * 220;
+            Color base = palette[effectsRandom.nextInt(palette.length)];
+            Color inner = new Color(base.getRed(), base.getGreen(), base.getBlue(), 200);
+            Color mid = new Color(
+                Math.min(255, base.getRed() + 20),
+                Math.min(255, base.getGreen() + 20),
+                Math.min(255, base.getBlue() + 20),
+                70
+            );
+            nebulas.add(new Nebula(centerX, centerY, radius, inner, mid));
+        }
+        starfieldVersion++;
+    }
+
+    private void buildLevel() {
+        bricks.clear();
+        explosions.clear();
+
+        LevelConfig config = determineLevelConfig(level);
+        int horizontalGap = LEVEL_HORIZONTAL_GAP;
+        int verticalGap = LEVEL_VERTICAL_GAP;
+        int topOffset = LEVEL_TOP_OFFSET;
+        int sidePadding = LEVEL_SIDE_PADDING;
+
+        double availableWidth = PANEL_WIDTH - sidePadding * 2.0 - horizontalGap * (config.columns - 1);
+        if (availableWidth <= 0) {
+            buildFallbackLevel();
+            return;
+        }
+        double brickWidth = availableWidth / config.columns;
+        double brickHeight = LEVEL_BRICK_HEIGHT;
+
+        int totalPlaced = 0;
+        for (int row = 0; row < config.rows; row++) {
+            if (row > 0 && gameplayRandom.nextDouble() < config.gapChance) {
+                continue;
+            }
+            boolean[] pattern = generateRowPattern(config, row, gameplayRandom);
+            int rowPlaced = 0;
+            for (int col = 0; col < config.columns; col++) {
+                if (!pattern[col]) {
+                    continue;
+                }
+                double x = sidePadding + col * (brickWidth + horizontalGap);
+                double y = topOffset + row * (brickHeight + verticalGap);
+                int hits = determineBrickHits(config, row, gameplayRandom);
+                Color color = chooseBrickColor(hits, row);
+                bricks.add(new Brick(x, y, brickWidth, brickHeight, color, hits));
+                rowPlaced++;
+            }
+            totalPlaced += rowPlaced;
+        }
+
+        if (totalPlaced == 0) {
+            buildFallbackLevel();
+        }
+    }
+
+    static int brickCell(Brick brick) {
+        int cell = gridCell(brick, LEVEL_SIDE_PADDING, LEVEL_TOP_OFFSET, LEVEL_HORIZONTAL_GAP, LEVEL_VERTICAL_GAP);
+        if (cell < 0) {
+            cell = gridCell(brick, FALLBACK_SIDE_PADDING, FALLBACK_TOP_OFFSET, FALLBACK_HORIZONTAL_GAP, FALLBACK_VERTICAL_GAP);
+        }
+        return cell;
+    }
+
+    private static int gridCell(Brick brick, double sidePadding, double topOffset, double horizontalGap, double verticalGap) {
+        Rectangle2D.Double bounds = brick.getBounds();
+        double column = (bounds.x - sidePadding) / (bounds.width + horizontalGap);
+        double row = (bounds.y - topOffset) / (bounds.height + verticalGap);
+        long nearestColumn = Math.round(column);
+        long nearestRow = Math.round(row);
+        if (Math.abs(column - nearestColumn) > 1e-6 || Math.abs(row - nearestRow) > 1e-6
+            || nearestColumn < 0 || nearestColumn >= MAX_BRICK_COLUMNS || nearestRow < 0 || nearestRow >= MAX_BRICK_ROWS) {
+            return -1;
+        }
+        return (int) (nearestRow * MAX_BRICK_COLUMNS + nearestColumn);
+    }
+
+    static LevelConfig determineLevelConfig(int level) {
+        int stage = Math.max(0, level - 1);
+        int columns = Math.min(MAX_BRICK_COLUMNS, 8 + (int) Math.floor(stage / 2.0));
+        int rows = Math.min(MAX_BRICK_ROWS, 4 + (int) Math.floor(stage / 1.5));
+        double fillRate = clamp(0.55 + stage * 0.045, 0.55, 0.92);
+        double rowFillGrowth = clamp(0.02 + stage * 0.004, 0.02, 0.06);
+        double clusterBias = clamp(0.18 + stage * 0.015, 0.18, 0.45);
+        double toughChance = clamp(0.18 + stage * 0.05, 0.18, 0.65);
+        int maxHits = Math.min(4, 1 + (int) Math.floor(stage / 2.0));
+        double gapChance = clamp(0.22 - stage * 0.03, 0.04, 0.22);
+        double minDensity = clamp(0.18 + stage * 0.02, 0.18, 0.50);
+        return new LevelConfig(columns, rows, fillRate, rowFillGrowth, clusterBias, toughChance, Math.max(1, maxHits), gapChance, minDensity);
+    }
+
+    static boolean[] generateRowPattern(LevelConfig config, int rowIndex, GameRandom random) {
+        boolean[] pattern = new boolean[config.columns];
+        double rowFill = clamp(config.fillRate + config.rowFillGrowth * rowIndex, 0.20, 0.95);
+        int minBricks = minimumBricksForRow(config, rowIndex);
+        int bricksPlaced = 0;
+        boolean previous = false;
+
+        for (int col = 0; col < config.columns; col++) {
+            double chance = rowFill;
+            if (previous) {
+                chance += config.clusterBias;
+            } else if (col > 0 && random.nextDouble() < 0.35) {
+                chance += config.clusterBias * 0.5;
+            }
+            chance += (random.nextDouble() - 0.5) * 0.08;
+            chance = clamp(chance, 0.05, 0.98);
+
+            boolean place = random.nextDouble() < chance;
+            if (!place && bricksPlaced < minBricks) {
+                double remainingSlots = config.columns - col;
+                double needed = minBricks - bricksPlaced;
+                if (remainingSlots <= needed || random.nextDouble() < needed / Math.max(1.0, remainingSlots)) {
+                    place = true;
+                }
+            }
+
+            pattern[col] = place;
+            if (place) {
+                bricksPlaced++;
+            }
+            previous = place;
+        }
+
+        if (bricksPlaced == 0) {
+            int index = random.nextInt(config.columns);
+            pattern[index] = true;
+        } else if (bricksPlaced < minBricks) {
+            List<Integer> empties = new ArrayList<>();
+            for (int col = 0; col < config.columns; col++) {
+                if (!pattern[col]) {
+                    empties.add(col);
+                }
+            }
+            while (bricksPlaced < minBricks && !empties.isEmpty()) {
+                int idx = empties.remove(random.nextInt(empties.size()));
+                pattern[idx] = true;
+                bricksPlaced++;
+            }
+        }
+
+        return pattern;
+    }
+
+    private static int minimumBricksForRow(LevelConfig config, int rowIndex) {
+        double density = clamp(config.minDensity + rowIndex * 0.04, config.minDensity, 0.75);
+        return Math.max(1, (int) Math.round(config.columns * density));
+    }
+
+    static int determineBrickHits(LevelConfig config, int rowIndex, GameRandom random) {
+        if (config.maxHits <= 1) {
+            return 1;
+        }
+        double progress = config.rows <= 1 ? 1.0 : rowIndex / (double) (config.rows - 1);
+        double chance = config.toughBrickChance * (0.6 + progress * 0.6);
+        int hits = 1;
+        if (random.nextDouble() < chance) {
+            hits++;
+            while (hits < config.maxHits && random.nextDouble() < 0.45) {
+                hits++;
+            }
+        }
+        return Math.min(config.maxHits, hits);
+    }
+
+    private Color chooseBrickColor(int hits, int rowIndex) {
+        Color base = BRICK_COLORS[(rowIndex + level) % BRICK_COLORS.length];
+        double jitter = 0.9 + gameplayRandom.nextDouble() * 0.2;
+        Color adjusted = adjustBrightness(base, jitter);
+        if (hits >= 4) {
+            adjusted = adjustBrightness(adjusted, 0.75);
+        } else if (hits == 3) {
+            adjusted = adjustBrightness(adjusted, 0.82);
+        } else if (hits == 2) {
+            adjusted = adjustBrightness(adjusted, 0.9);
+        }
+        return adjusted;
+    }
+
+    private Color adjustBrightness(Color base, double factor) {
+        int r = clampColor((int) Math.round(base.getRed() * factor));
+        int g = clampColor((int) Math.round(base.getGreen() * factor));
+        int b = clampColor((int) Math.round(base.getBlue() * factor));
+        return new Color(r, g, b);
+    }
+
+    private double lerp(double start, double end, double alpha) {
+        double clampedAlpha = clamp(alpha, 0.0, 1.0);
+        return start + (end - start) * clampedAlpha;
+    }
+
+    private static double clamp(double value, double min, double max) {
+        if (!Double.isFinite(value)) {
+            return (min + max) / 2.0;
+        }
+        if (min > max) {
+            double temp = min;
+            min = max;
+            max = temp;
+        }
+        return Math.max(min, Math.min(max, value));
+    }
+
+    private int clampColor(int value) {
+        return Math.max(0, Math.min(255, value));
+    }
+
+    private void buildFallbackLevel() {
+        bricks.clear();
+        int columns = 10;
+        int rows = Math.min(6, 3 + level);
+        int horizontalGap = FALLBACK_HORIZONTAL_GAP;
+        int verticalGap = FALLBACK_VERTICAL_GAP;
+        int topOffset = FALLBACK_TOP_OFFSET;
+        int sidePadding = FALLBACK_SIDE_PADDING;
+
+        double availableWidth = PANEL_WIDTH - sidePadding * 2.0 - horizontalGap * (columns - 1);
+        if (availableWidth <= 0) {
+            return;
+        }
+        double brickWidth = availableWidth / columns;
+        double brickHeight = 24;
+
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < columns; col++) {
+                double x = sidePadding + col * (brickWidth + horizontalGap);
+                double y = topOffset + row * (brickHeight + verticalGap);
+                int hits = Math.min(1 + level / 3, 1 + row / 2);
+                Color color = BRICK_COLORS[(row + col) % BRICK_COLORS.length];
+                bricks.add(new Brick(x, y, brickWidth, brickHeight, color, hits));
+            }
+        }
+
+        if (bricks.isEmpty()) {
+            double fallbackWidth = 70;
+            double fallbackHeight = 24;
+            bricks.add(new Brick((PANEL_WIDTH - fallbackWidth) / 2.0, topOffset, fallbackWidth, fallbackHeight, BRICK_COLORS[0], 1));
+        }
+    }
+
+    private void launchBall() {
+        double baseSpeed = Math.max(minimumBallSpeed(), BASE_BALL_SPEED) * autoPilotSpeedMultiplier();
+        baseSpeed = Math.min(baseSpeed, effectiveMaxSpeed());
+        double angleDegrees = 40 + gameplayRandom.nextInt(21); // between 40 and 60 degrees
+        double angle = Math.toRadians(angleDegrees);
+        double direction = gameplayRandom.nextBoolean() ? 1 : -1;
+        double velocityX = direction * baseSpeed * Math.sin(angle);
+        double velocityY = -baseSpeed * Math.cos(angle);
+        ball.setVelocity(velocityX, velocityY);
+        gameState = GameState.RUNNING;
+    }
+
+
+    private void onSpacePressed() {
+        switch (gameState) {
+            case READY -> launchBall();
+            case PAUSED -> resumeFromPause();
+            case LEVEL_COMPLETE -> startNextLevel();
+            case GAME_OVER -> startNewGame();
+            default -> {
+            }
+        }
+    }
+
+    private void togglePauseMenu() {
+        if (pauseMenuVisible) {
+            resumeFromPause();
+        } else {
+            openPauseMenu();
+        }
+    }
+
+    private void openPauseMenu() {
+        if (gameState != GameState.PAUSED) {
+            stateBeforePause = gameState;
+        }
+        gameState = GameState.PAUSED;
+        pauseMenuVisible = true;
+    }
+
+    private void resumeFromPause() {
+        if (!pauseMenuVisible) {
+            return;
+        }
+        pauseMenuVisible = false;
+        if (stateBeforePause == GameState.PAUSED) {
+            stateBeforePause = GameState.READY;
+        }
+        gameState = stateBeforePause;
+        ensureValidPaddlePosition();
+        ensureValidBallPosition();
+    }
+
+    private void restartRoundFromPause() {
+        pauseMenuVisible = false;
+        stateBeforePause = GameState.READY;
+        resetRound();
+    }
+
+    private void toggleCheatMode() {
+        cheatMode = !cheatMode;
+        refreshPlayerModifiers();
+        if (gameState == GameState.READY) {
+            ball.setCenter(paddle.getX() + paddle.getWidth() / 2.0, paddle.getY() - ball.getDiameter() / 2.0 - 4);
+        }
+    }
+
+    private void toggleAutoPilot() {
+        autoPilotMode = !autoPilotMode;
+        leftPressed = false;
+        rightPressed = false;
+        autoPilotAimValid = false;
+        refreshPlayerModifiers();
+        ensureValidPaddlePosition();
+        ensureValidBallPosition();
+        if (autoPilotMode) {
+            applyAutoPilotSpeedBoost();
+        } else {
+            clampBallToNormalSpeed();
+        }
+        if (autoPilotMode && gameState == GameState.READY && ball.getSpeed() == 0) {
+            launchBall();
+        }
+    }
+
+    private void toggleShop() {
+        if (gameState == GameState.GAME_OVER || gameState == GameState.LEVEL_COMPLETE) {
+            return;
+        }
+        shopOpen = !shopOpen;
+        showShopMessage(shopOpen ? "Boutique ouverte" : "Boutique fermee");
+    }
+
+    private boolean handleShopInput(int keyCode) {
+        switch (keyCode) {
+            case KeyEvent.VK_B, KeyEvent.VK_ESCAPE -> {
+                shopOpen = false;
+                showShopMessage("Boutique fermee");
+                return true;
+            }
+            case KeyEvent.VK_1, KeyEvent.VK_NUMPAD1 -> {
+                attemptPurchase(BonusType.PADDLE_GROW);
+                return true;
+            }
+            case KeyEvent.VK_2, KeyEvent.VK_NUMPAD2 -> {
+                attemptPurchase(BonusType.PIERCE_BALL);
+                return true;
+            }
+            case KeyEvent.VK_3, KeyEvent.VK_NUMPAD3 -> {
+                attemptPurchase(BonusType.SCORE_BOOST);
+                return true;
+            }
+            default -> {
+                return false;
+            }
+        }
+    }
+
+    private void handlePauseMenuInput(int keyCode) {
+        switch (keyCode) {
+            case KeyEvent.VK_ESCAPE, KeyEvent.VK_P, KeyEvent.VK_SPACE -> resumeFromPause();
+            case KeyEvent.VK_ENTER -> restartRoundFromPause();
+            case KeyEvent.VK_Q -> startNewGame();
+            default -> {
+            }
+        }
+    }
+
+    private void attemptPurchase(BonusType bonusType) {
+        if (credits < bonusType.cost) {
+            showShopMessage("Credits insuffisants");
+            return;
+        }
+        credits -= bonusType.cost;
+        activateBonus(bonusType);
+        showShopMessage(bonusType.label + " achetee");
+    }
+
+    void showShopMessage(String message) {
+        shopMessage = message;
+        shopMessageTimer = FRAMES_PER_SECOND * 2;
+    }
+
+    private void tickShopMessage() {
+        if (shopMessageTimer > 0) {
+            shopMessageTimer--;
+            if (shopMessageTimer == 0) {
+                shopMessage = "";
+            }
+        }
+    }
+
+    private void refreshPlayerModifiers() {
+        double widthFactor = 1.0;
+        double paddleSpeed = BASE_PADDLE_SPEED;
+
+        if (cheatMode) {
+            widthFactor = (double) CHEAT_PADDLE_WIDTH / BASE_PADDLE_WIDTH;
+            paddleSpeed = CHEAT_PADDLE_SPEED;
+        }
+
+        if (isBonusActive(BonusType.PADDLE_GROW)) {
+            widthFactor *= 1.35;
+            paddleSpeed *= 1.2;
+        }
+
+        int targetWidth = (int) Math.round(BASE_PADDLE_WIDTH * widthFactor);
+        paddle.setSpeed(paddleSpeed);
+        paddle.setWidth(targetWidth, PANEL_WIDTH);
+
+        paddle.setOnFire(cheatMode);
+        boolean fireBall = hasPiercingBall();
+        ball.setOnFire(fireBall);
+        paddle.setRadioactive(autoPilotMode);
+        ball.setRadioactive(autoPilotMode);
+        ensureValidPaddlePosition();
+        ensureValidBallPosition();
+    }
+
+    private void ensureValidPaddlePosition() {
+        double x = paddle.getX();
+        double width = paddle.getWidth();
+        if (!Double.isFinite(x) || width <= 0) {
+            paddle.setCenter(PANEL_WIDTH / 2.0);
+            return;
+        }
+        double maxX = Math.max(0, PANEL_WIDTH - width);
+        if (x < 0) {
+            paddle.setCenter(width / 2.0);
+        } else if (x > maxX) {
+            paddle.setCenter(maxX + width / 2.0);
+        }
+    }
+
+    private void ensureValidBallPosition() {
+        double x = ball.getX();
+        double y = ball.getY();
+        if (Double.isFinite(x) && Double.isFinite(y)) {
+            return;
+        }
+        double diameter = ball.getDiameter();
+        double radius = diameter / 2.0;
+        double centerX = PANEL_WIDTH / 2.0;
+        if (Double.isFinite(paddle.getX())) {
+            centerX = clamp(paddle.getCenterX(), radius, PANEL_WIDTH - radius);
+        }
+        double centerY = paddle.getY() - radius - 4;
+        ball.setCenter(centerX, centerY);
+        ball.setVelocity(0, 0);
+    }
+
+    boolean isBonusActive(BonusType type) {
+        for (ActiveBonus bonus : activeBonuses) {
+            if (bonus.type == type) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    int getRemainingSecondsFor(BonusType type) {
+        for (ActiveBonus bonus : activeBonuses) {
+            if (bonus.type == type) {
+                return Math.max(0, bonus.remainingSeconds());
+            }
+        }
+        return 0;
+    }
+
+    private void activateBonus(BonusType type) {
+        int duration = type.durationFrames();
+        for (ActiveBonus bonus : activeBonuses) {
+            if (bonus.type == type) {
+                bonus.remainingFrames = duration;
+                refreshPlayerModifiers();
+                return;
+            }
+        }
+        activeBonuses.add(new ActiveBonus(type, duration));
+        refreshPlayerModifiers();
+    }
+
+    String describeCurrentRun() {
+        return switch (gameState) {
+            case READY -> "Pret";
+            case RUNNING -> autoPilotMode ? "En cours (auto)" : "En cours";
+            case PAUSED -> "En pause";
+            case LEVEL_COMPLETE -> "Niveau termine";
+            case GAME_OVER -> "Terminee";
+        };
+    }
+
+
+    static final class ScoreRecord {
+        private final int score;
+        private final int level;
+        private final String note;
+
+        ScoreRecord(int score, int level, String note) {
+            this.score = score;
+            this.level = level;
+            this.note = note;
+        }
+
+        int score() {
+            return score;
+        }
+
+        int level() {
+            return level;
+        }
+
+        String note() {
+            return note;
+        }
+    }
+
+    static final class LevelConfig {
+        private final int columns;
+        private final int rows;
+        private final double fillRate;
+        private final double rowFillGrowth;
+        private final double clusterBias;
+        private final double toughBrickChance;
+        private final int maxHits;
+        private final double gapChance;
+        private final double minDensity;
+
+        LevelConfig(int columns, int rows, double fillRate, double rowFillGrowth, double clusterBias, double toughBrickChance, int maxHits, double gapChance, double minDensity) {
+            this.columns = columns;
+            this.rows = rows;
+            this.fillRate = fillRate;
+            this.rowFillGrowth = rowFillGrowth;
+            this.clusterBias = clusterBias;
+            this.toughBrickChance = toughBrickChance;
+            this.maxHits = maxHits;
+            this.gapChance = gapChance;
+            this.minDensity = minDensity;
+        }
+
+        int columns() {
+            return columns;
+        }
+
+        int rows() {
+            return rows;
+        }
+
+        double gapChance() {
+            return gapChance;
+        }
+    }
+
+    static final class ActiveBonus {
+        private final BonusType type;
+        private int remainingFrames;
+
+        ActiveBonus(BonusType type, int remainingFrames) {
+            this.type = type;
+            this.remainingFrames = remainingFrames;
+        }
+
+        BonusType type() {
+            return type;
+        }
+
+        int remainingSeconds() {
+            return (int) Math.ceil(remainingFrames / (double) FRAMES_PER_SECOND);
+        }
+    }
+}
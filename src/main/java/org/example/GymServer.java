@@ -0,0 +1,321 @@
+package org.example;
+
+import java.awt.event.KeyEvent;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+final class GymServer implements AutoCloseable {
+    static final int DEFAULT_PORT = 47049;
+    static final int OBSERVATION_BYTES = 4 * 5 + 4 + 2 + 1 + 1 + GameWorld.BRICK_GRID_CELLS;
+    static final int MAX_ENVIRONMENTS = 65_536;
+
+    static final byte OP_CLOSE = 0;
+    static final byte OP_RESET = 1;
+    static final byte OP_STEP = 2;
+
+    static final byte ACTION_NONE = 0;
+    static final byte ACTION_LEFT = 1;
+    static final byte ACTION_RIGHT = 2;
+    static final byte ACTION_LAUNCH = 3;
+
+    private static final int RESPONSE_HEADER = 4 + 8;
+
+    private final ServerSocketChannel serverChannel;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private volatile boolean running = true;
+
+    private GymServer(ServerSocketChannel serverChannel) {
+        this.serverChannel = serverChannel;
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        System.setProperty("java.awt.headless", "true");
+        int port = DEFAULT_PORT;
+        int bench = 0;
+        int steps = 2000;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--port" -> port = Integer.parseInt(args[++i]);
+                case "--bench" -> bench = Integer.parseInt(args[++i]);
+                case "--steps" -> steps = Integer.parseInt(args[++i]);
+                default -> {
+                    System.err.println("Usage : GymServer [--port N] [--bench environnements [--steps N]]");
+                    System.exit(2);
+                }
+            }
+        }
+        try (GymServer server = start(bench > 0 ? 0 : port)) {
+            if (bench > 0) {
+                benchmark(server.port(), bench, steps);
+                return;
+            }
+            System.out.printf(Locale.ROOT, "Environnements d'entrainement sur le port %d%n", server.port());
+            Thread.currentThread().join();
+        }
+    }
+
+    static GymServer start(int port) throws IOException {
+        ServerSocketChannel channel = ServerSocketChannel.open();
+        try {
+            channel.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        GymServer server = new GymServer(channel);
+        server.executor.submit(server::acceptLoop);
+        return server;
+    }
+
+    int port() {
+        return serverChannel.socket().getLocalPort();
+    }
+
+    @Override
+    public void close() throws IOException {
+        running = false;
+        serverChannel.close();
+        executor.shutdownNow();
+    }
+
+    private void acceptLoop() {
+        while (running) {
+            try {
+                SocketChannel channel = serverChannel.accept();
+                executor.submit(() -> serve(channel));
+            } catch (IOException e) {
+                if (!running) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void serve(SocketChannel channel) {
+        try (channel) {
+            channel.socket().setTcpNoDelay(true);
+            ByteBuffer request = ByteBuffer.allocateDirect(1 + 1 + 4 + 8).order(ByteOrder.LITTLE_ENDIAN);
+            ByteBuffer actions = ByteBuffer.allocateDirect(0);
+            ByteBuffer response = ByteBuffer.allocateDirect(RESPONSE_HEADER).order(ByteOrder.LITTLE_ENDIAN);
+            Batch batch = null;
+            while (true) {
+                request.clear().limit(1);
+                readFully(channel, request);
+                byte op = request.get(0);
+                if (op == OP_CLOSE) {
+                    return;
+                }
+                long start;
+                if (op == OP_RESET) {
+                    request.clear().limit(4 + 8);
+                    readFully(channel, request);
+                    int count = request.getInt(0);
+                    long seed = request.getLong(4);
+                    if (count <= 0 || count > MAX_ENVIRONMENTS) {
+                        throw new IOException("Nombre d'environnements invalide : " + count);
+                    }
+                    start = System.nanoTime();
+                    batch = new Batch(count, seed);
+                    if (actions.capacity() < count) {
+                        actions = ByteBuffer.allocateDirect(count);
+                    }
+                    int size = RESPONSE_HEADER + count * OBSERVATION_BYTES;
+                    if (response.capacity() < size) {
+                        response = ByteBuffer.allocateDirect(size).order(ByteOrder.LITTLE_ENDIAN);
+                    }
+                } else if (op == OP_STEP) {
+                    if (batch == null) {
+                        throw new IOException("Aucun reset avant step");
+                    }
+                    request.clear().limit(1);
+                    readFully(channel, request);
+                    int repeat = Math.max(1, request.get(0) & 0xFF);
+                    actions.clear().limit(batch.size());
+                    readFully(channel, actions);
+                    start = System.nanoTime();
+                    batch.step(actions, repeat);
+                } else {
+                    throw new IOException("Operation inconnue : " + op);
+                }
+                response.clear();
+                response.position(RESPONSE_HEADER);
+                batch.observe(response);
+                response.putInt(0, batch.size());
+                response.putLong(4, System.nanoTime() - start);
+                response.flip();
+                while (response.hasRemaining()) {
+                    channel.write(response);
+                }
+            }
+        } catch (IOException e) {
+            // Agent deconnecte ou requete invalide : seule cette connexion est fermee
+        }
+    }
+
+    private static void readFully(SocketChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new EOFException("Agent deconnecte");
+            }
+        }
+    }
+
+    private static void benchmark(int port, int environments, int steps) throws IOException {
+        try (SocketChannel channel = SocketChannel.open(new InetSocketAddress(InetAddress.getLoopbackAddress(), port))) {
+            channel.socket().setTcpNoDelay(true);
+            ByteBuffer request = ByteBuffer.allocateDirect(1 + 1 + Math.max(12, environments)).order(ByteOrder.LITTLE_ENDIAN);
+            ByteBuffer response = ByteBuffer.allocateDirect(RESPONSE_HEADER + environments * OBSERVATION_BYTES)
+                .order(ByteOrder.LITTLE_ENDIAN);
+            request.clear();
+            request.put(OP_RESET).putInt(environments).putLong(1L);
+            request.flip();
+            channel.write(request);
+            exchangeResponse(channel, response);
+
+            GameRandom random = new GameRandom(7);
+            long serverNanos = 0;
+            long dones = 0;
+            long start = System.nanoTime();
+            for (int step = 0; step < steps; step++) {
+                request.clear();
+                request.put(OP_STEP).put((byte) 1);
+                for (int i = 0; i < environments; i++) {
+                    request.put((byte) random.nextInt(4));
+                }
+                request.flip();
+                while (request.hasRemaining()) {
+                    channel.write(request);
+                }
+                serverNanos += exchangeResponse(channel, response);
+                for (int i = 0; i < environments; i++) {
+                    dones += response.get(RESPONSE_HEADER + i * OBSERVATION_BYTES + 4 * 5 + 4 + 2 + 1);
+                }
+            }
+            long elapsed = System.nanoTime() - start;
+            request.clear();
+            request.put(OP_CLOSE).flip();
+            channel.write(request);
+            double roundTrip = elapsed / 1000.0 / steps;
+            double compute = serverNanos / 1000.0 / steps;
+            System.out.printf(Locale.ROOT, "%d environnements x %d pas : %.0f pas-env/s, aller-retour %.1f us dont %.1f us de simulation%n",
+                environments, steps, (double) environments * steps * 1_000_000_000.0 / elapsed, roundTrip, compute);
+            System.out.printf(Locale.ROOT, "Surcout IPC : %.1f us par lot, %.3f us par environnement, %d episodes termines%n",
+                roundTrip - compute, (roundTrip - compute) / environments, dones);
+        }
+    }
+
+    private static long exchangeResponse(SocketChannel channel, ByteBuffer response) throws IOException {
+        response.clear().limit(RESPONSE_HEADER);
+        readFully(channel, response);
+        int count = response.getInt(0);
+        long nanos = response.getLong(4);
+        response.limit(RESPONSE_HEADER + count * OBSERVATION_BYTES);
+        readFully(channel, response);
+        return nanos;
+    }
+
+    private static final class Batch {
+        private final GameWorld[] worlds;
+        private final int[] heldKeys;
+        private final int[] scoreDeltas;
+        private final boolean[] done;
+        private long nextSeed;
+
+        private Batch(int count, long seed) {
+            worlds = new GameWorld[count];
+            heldKeys = new int[count];
+            scoreDeltas = new int[count];
+            done = new boolean[count];
+            nextSeed = seed + count;
+            for (int i = 0; i < count; i++) {
+                worlds[i] = new GameWorld(seed + i);
+            }
+        }
+
+        int size() {
+            return worlds.length;
+        }
+
+        void step(ByteBuffer actions, int repeat) {
+            for (int i = 0; i < worlds.length; i++) {
+                if (done[i]) {
+                    worlds[i] = new GameWorld(nextSeed++);
+                    heldKeys[i] = 0;
+                    done[i] = false;
+                }
+                GameWorld world = worlds[i];
+                int before = world.getScore();
+                applyAction(i, actions.get(i));
+                for (int r = 0; r < repeat && world.getGameState() != GameWorld.GameState.GAME_OVER; r++) {
+                    world.update();
+                }
+                if (actions.get(i) == ACTION_LAUNCH) {
+                    world.keyReleased(KeyEvent.VK_SPACE);
+                }
+                scoreDeltas[i] = world.getScore() - before;
+                done[i] = world.getGameState() == GameWorld.GameState.GAME_OVER;
+            }
+        }
+
+        void observe(ByteBuffer out) {
+            for (int i = 0; i < worlds.length; i++) {
+                GameWorld world = worlds[i];
+                Ball ball = world.getBall();
+                out.putFloat((float) ball.getCenterX());
+                out.putFloat((float) ball.getCenterY());
+                out.putFloat((float) ball.getVelocityX());
+                out.putFloat((float) ball.getVelocityY());
+                out.putFloat((float) world.getPaddle().getCenterX());
+                out.putInt(scoreDeltas[i]);
+                out.putShort((short) world.getLevel());
+                out.put((byte) world.getLives());
+                out.put((byte) (done[i] ? 1 : 0));
+                putBricks(world.getBricks(), out);
+            }
+        }
+
+        private void applyAction(int index, byte action) {
+            GameWorld world = worlds[index];
+            int key = switch (action) {
+                case ACTION_LEFT -> KeyEvent.VK_LEFT;
+                case ACTION_RIGHT -> KeyEvent.VK_RIGHT;
+                default -> 0;
+            };
+            if (heldKeys[index] != key) {
+                if (heldKeys[index] != 0) {
+                    world.keyReleased(heldKeys[index]);
+                }
+                if (key != 0) {
+                    world.keyPressed(key);
+                }
+                heldKeys[index] = key;
+            }
+            if (action == ACTION_LAUNCH) {
+                world.keyPressed(KeyEvent.VK_SPACE);
+            }
+        }
+
+        private static void putBricks(List<Brick> bricks, ByteBuffer out) {
+            int start = out.position();
+            for (int cell = 0; cell < GameWorld.BRICK_GRID_CELLS; cell++) {
+                out.put((byte) 0);
+            }
+            for (Brick brick : bricks) {
+                int cell = GameWorld.brickCell(brick);
+                if (cell >= 0) {
+                    out.put(start + cell, (byte) brick.getRemainingHits());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package org.example;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+final class InputLog {
+    private static final int MAGIC = 0x43425250;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 4 + 1 + 8 + 4 + 8 + 4 + 4 + 8;
+
+    private final long seed;
+    private byte[] events = new byte[256];
+    private int size;
+    private int eventCount;
+    private long lastTick;
+    private long endTick;
+    private int endScore;
+    private int endLevel;
+    private long endChecksum;
+
+    InputLog(long seed) {
+        this.seed = seed;
+    }
+
+    long seed() {
+        return seed;
+    }
+
+    int eventCount() {
+        return eventCount;
+    }
+
+    long endTick() {
+        return endTick;
+    }
+
+    int endScore() {
+        return endScore;
+    }
+
+    int endLevel() {
+        return endLevel;
+    }
+
+    long endChecksum() {
+        return endChecksum;
+    }
+
+    int sizeInBytes() {
+        return HEADER_SIZE + size;
+    }
+
+    void record(long tick, int keyCode, boolean pressed) {
+        if (tick < lastTick) {
+            throw new IllegalArgumentException("Tick anterieur au dernier evenement : " + tick);
+        }
+        writeVarLong(tick - lastTick);
+        writeVarLong(((long) keyCode << 1) | (pressed ? 1 : 0));
+        lastTick = tick;
+        eventCount++;
+    }
+
+    void markEnd(GameWorld world) {
+        endTick = world.getTick();
+        endScore = world.getScore();
+        endLevel = world.getLevel();
+        endChecksum = world.stateChecksum();
+    }
+
+    boolean matches(GameWorld world) {
+        return world.getTick() == endTick && world.getScore() == endScore && world.getLevel() == endLevel
+            && world.stateChecksum() == endChecksum;
+    }
+
+    Player player() {
+        return new Player(0, 0);
+    }
+
+    Player playerAt(int offset, long baseTick) {
+        if (offset < 0 || offset > size) {
+            throw new IllegalArgumentException("Position hors du flux d'entrees : " + offset);
+        }
+        return new Player(offset, baseTick);
+    }
+
+    GameWorld replay() {
+        GameWorld world = new GameWorld(seed);
+        Player player = player();
+        while (world.getTick() < endTick) {
+            player.beforeTick(world, world.getTick());
+            world.update();
+        }
+        player.beforeTick(world, world.getTick());
+        return world;
+    }
+
+    void save(Path path) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(sizeInBytes());
+        buffer.putInt(MAGIC);
+        buffer.put((byte) VERSION);
+        buffer.putLong(seed);
+        buffer.putInt(eventCount);
+        buffer.putLong(endTick);
+        buffer.putInt(endScore);
+        buffer.putInt(endLevel);
+        buffer.putLong(endChecksum);
+        buffer.put(events, 0, size);
+        Files.write(path, buffer.array());
+    }
+
+    static InputLog load(Path path) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(path));
+        try {
+            if (buffer.getInt() != MAGIC) {
+                throw new IOException("Fichier de replay invalide : " + path);
+            }
+            int version = buffer.get();
+            if (version != VERSION) {
+                throw new IOException("Version de replay non supportee : " + version);
+            }
+            InputLog log = new InputLog(buffer.getLong());
+            int expectedEvents = buffer.getInt();
+            log.endTick = buffer.getLong();
+            log.endScore = buffer.getInt();
+            log.endLevel = buffer.getInt();
+            log.endChecksum = buffer.getLong();
+            log.events = Arrays.copyOfRange(buffer.array(), buffer.position(), buffer.limit());
+            log.size = log.events.length;
+            Player scan = log.player();
+            while (scan.hasNext()) {
+                scan.advance();
+                log.lastTick = scan.nextTick;
+                log.eventCount++;
+            }
+            if (log.eventCount != expectedEvents) {
+                throw new IOException("Replay tronque : " + log.eventCount + " evenements sur " + expectedEvents);
+            }
+            return log;
+        } catch (BufferUnderflowException | ArrayIndexOutOfBoundsException e) {
+            throw new IOException("Replay tronque : " + path, e);
+        }
+    }
+
+    private void writeVarLong(long value) {
+        if (size + 10 > events.length) {
+            events = Arrays.copyOf(events, events.length * 2);
+        }
+        long remaining = value;
+        while ((remaining & ~0x7FL) != 0) {
+            events[size++] = (byte) ((remaining & 0x7F) | 0x80);
+            remaining >>>= 7;
+        }
+        events[size++] = (byte) remaining;
+    }
+
+    final class Player implements ReplayExporter.TickDriver {
+        private final int limit = size;
+        private int position;
+        private long nextTick;
+        private int nextKeyCode;
+        private boolean nextPressed;
+        private boolean pending;
+        private int pendingOffset;
+        private long pendingBaseTick;
+
+        private Player(int position, long baseTick) {
+            this.position = position;
+            this.nextTick = baseTick;
+        }
+
+        int resumeOffset() {
+            return pending ? pendingOffset : position;
+        }
+
+        long resumeBaseTick() {
+            return pending ? pendingBaseTick : nextTick;
+        }
+
+        @Override
+        public void beforeTick(GameWorld world, long tick) {
+            long now = world.getTick();
+            while (true) {
+                if (!pending) {
+                    if (!hasNext()) {
+                        return;
+                    }
+                    advance();
+                }
+                if (nextTick > now) {
+                    return;
+                }
+                pending = false;
+                if (nextPressed) {
+                    world.keyPressed(nextKeyCode);
+                } else {
+                    world.keyReleased(nextKeyCode);
+                }
+            }
+        }
+
+        private boolean hasNext() {
+            return position < limit;
+        }
+
+        private void advance() {
+            pendingOffset = position;
+            pendingBaseTick = nextTick;
+            nextTick += readVarLong();
+            long code = readVarLong();
+            nextKeyCode = (int) (code >>> 1);
+            nextPressed = (code & 1) != 0;
+            pending = true;
+        }
+
+        private long readVarLong() {
+            long value = 0;
+            int shift = 0;
+            while (true) {
+                byte b = events[position++];
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+                shift += 7;
+            }
+        }
+    }
+}
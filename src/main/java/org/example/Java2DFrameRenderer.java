@@ -0,0 +1,509 @@
+package org.example;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.GradientPaint;
+import java.awt.Graphics2D;
+import java.awt.RadialGradientPaint;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Point2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+
+final class Java2DFrameRenderer implements FrameRenderer {
+    private static final int PANEL_WIDTH = GameWorld.PANEL_WIDTH;
+    private static final int PANEL_HEIGHT = GameWorld.PANEL_HEIGHT;
+
+    private final LayerCompositor.ImageFactory imageFactory;
+    private QualityGovernor.Level quality = QualityGovernor.Level.FULL;
+    private final StarfieldAtlas starfieldAtlas = new StarfieldAtlas();
+    private BufferedImage backgroundCache;
+    private GameWorld cachedWorld;
+    private int cachedStarfieldVersion;
+
+    Java2DFrameRenderer() {
+        this((width, height, transparency) -> new BufferedImage(width, height,
+            transparency == Transparency.OPAQUE ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB));
+    }
+
+    Java2DFrameRenderer(LayerCompositor.ImageFactory imageFactory) {
+        this.imageFactory = imageFactory;
+    }
+
+    @Override
+    public void render(GameWorld world, BufferedImage target) {
+        Graphics2D g2 = target.createGraphics();
+        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, quality.antialiasing()
+            ? RenderingHints.VALUE_ANTIALIAS_ON
+            : RenderingHints.VALUE_ANTIALIAS_OFF);
+        g2.scale(target.getWidth() / (double) PANEL_WIDTH, target.getHeight() / (double) PANEL_HEIGHT);
+        drawScene(g2, world);
+        g2.dispose();
+    }
+
+    void setQuality(QualityGovernor.Level quality) {
+        this.quality = quality;
+        invalidateCaches();
+    }
+
+    void invalidateCaches() {
+        backgroundCache = null;
+    }
+
+    void drawScene(Graphics2D g2, GameWorld world) {
+        drawBackground(g2, world);
+        drawBricks(g2, world);
+        drawEntities(g2, world);
+        drawOverlays(g2, world);
+    }
+
+    void drawEntities(Graphics2D g2, GameWorld world) {
+        drawExplosions(g2, world);
+        world.getPaddle().draw(g2);
+        world.getBall().draw(g2);
+    }
+
+    void drawOverlays(Graphics2D g2, GameWorld world) {
+        drawHud(g2, world);
+
+        switch (world.getGameState()) {
+            case READY -> drawCenteredMessage(g2, "Appuyez sur ESPACE pour lancer la balle");
+            case PAUSED -> drawPauseMenu(g2, world);
+            case LEVEL_COMPLETE -> drawCenteredMessage(g2, "Bravo ! Niveau suivant avec ESPACE");
+            case GAME_OVER -> drawCenteredMessage(g2, "Partie terminee - ESPACE pour rejouer");
+            default -> {
+            }
+        }
+
+        if (world.isHelpVisible() && world.getGameState() == GameWorld.GameState.READY) {
+            drawHelp(g2);
+        }
+
+        if (world.isShopOpen()) {
+            drawShopOverlay(g2, world);
+        }
+    }
+
+    void drawBackground(Graphics2D g2, GameWorld world) {
+        drawBackdrop(g2, world);
+        drawStarfield(g2, world);
+    }
+
+    void drawBackdrop(Graphics2D g2, GameWorld world) {
+        AffineTransform transform = g2.getTransform();
+        double cacheScale = Math.max(transform.getScaleX(), transform.getScaleY());
+        if (!Double.isFinite(cacheScale) || cacheScale <= 0) {
+            cacheScale = 1.0;
+        }
+        BufferedImage cache = ensureBackgroundCache(world, cacheScale);
+
+        g2.setTransform(new AffineTransform(1, 0, 0, 1, transform.getTranslateX(), transform.getTranslateY()));
+        g2.drawImage(cache, 0, 0, null);
+        g2.setTransform(transform);
+    }
+
+    BufferedImage ensureBackgroundCache(GameWorld world, double cacheScale) {
+        if (backgroundCache == null || cachedWorld != world || cachedStarfieldVersion != world.getStarfieldVersion()) {
+            int cacheWidth = (int) Math.ceil(PANEL_WIDTH * cacheScale);
+            int cacheHeight = (int) Math.ceil(PANEL_HEIGHT * cacheScale);
+            BufferedImage cache = imageFactory.create(cacheWidth, cacheHeight, Transparency.OPAQUE);
+            Graphics2D cacheGraphics = cache.createGraphics();
+            cacheGraphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            cacheGraphics.scale(cacheScale, cacheScale);
+            drawSpaceGradient(cacheGraphics);
+            if (quality.nebulas()) {
+                drawNebulas(cacheGraphics, world);
+            }
+            cacheGraphics.dispose();
+            backgroundCache = cache;
+            cachedWorld = world;
+            cachedStarfieldVersion = world.getStarfieldVersion();
+        }
+        return backgroundCache;
+    }
+
+    private void drawSpaceGradient(Graphics2D g2) {
+        GradientPaint vertical = new GradientPaint(0, 0, new Color(6, 6, 28), 0, PANEL_HEIGHT, new Color(4, 18, 46));
+        g2.setPaint(vertical);
+        g2.fillRect(0, 0, PANEL_WIDTH, PANEL_HEIGHT);
+
+        GradientPaint diagonal = new GradientPaint(0, 0, new Color(60, 14, 110, 90), PANEL_WIDTH, PANEL_HEIGHT, new Color(0, 0, 0, 0));
+        g2.setPaint(diagonal);
+        g2.fillRect(0, 0, PANEL_WIDTH, PANEL_HEIGHT);
+
+        GradientPaint horizon = new GradientPaint(0, PANEL_HEIGHT, new Color(0, 60, 120, 60), PANEL_WIDTH, PANEL_HEIGHT / 2f, new Color(0, 0, 0, 0));
+        g2.setPaint(horizon);
+        g2.fillRect(0, 0, PANEL_WIDTH, PANEL_HEIGHT);
+    }
+
+    private void drawNebulas(Graphics2D g2, GameWorld world) {
+        for (Nebula nebula : world.getNebulas()) {
+            float radius = (float) nebula.getRadius();
+            Point2D center = new Point2D.Double(nebula.getCenterX(), nebula.getCenterY());
+            float[] dist = {0f, 0.55f, 1f};
+            Color outer = new Color(nebula.getMidColor().getRed(), nebula.getMidColor().getGreen(), nebula.getMidColor().getBlue(), 0);
+            Color[] colors = {nebula.getInnerColor(), nebula.getMidColor(), outer};
+            RadialGradientPaint paint = new RadialGradientPaint(center, radius, dist, colors);
+            g2.setPaint(paint);
+            int diameter = (int) Math.round(radius * 2);
+            int drawX = (int) Math.round(nebula.getCenterX() - radius);
+            int drawY = (int) Math.round(nebula.getCenterY() - radius);
+            g2.fillOval(drawX, drawY, diameter, diameter);
+        }
+    }
+
+    void drawStarfield(Graphics2D g2, GameWorld world) {
+        starfieldAtlas.draw(g2, world, quality.starHalos());
+    }
+
+    void drawBricks(Graphics2D g2, GameWorld world) {
+        for (Brick brick : world.getBricks()) {
+            brick.draw(g2);
+        }
+    }
+
+    private void drawExplosions(Graphics2D g2, GameWorld world) {
+        for (Explosion explosion : world.getExplosions()) {
+            explosion.draw(g2);
+        }
+    }
+
+    private void drawHud(Graphics2D g2, GameWorld world) {
+        Color chipBackground = new Color(14, 24, 42, 170);
+        Color chipBorder = new Color(110, 190, 255, 150);
+        Color textColor = new Color(225, 235, 255);
+        Font labelFont = new Font("Roboto", Font.PLAIN, 14);
+        Font valueFont = new Font("Roboto", Font.BOLD, 18);
+
+        List<String> statusMessages = new ArrayList<>();
+        List<Color> statusColors = new ArrayList<>();
+        if (world.isCheatMode()) {
+            statusMessages.add("Mode triche surchauffe !");
+            statusColors.add(new Color(255, 120, 0));
+        } else if (world.isBonusActive(GameWorld.BonusType.PIERCE_BALL)) {
+            statusMessages.add("Balle percante active");
+            statusColors.add(new Color(255, 190, 60));
+        }
+        if (!world.getShopMessage().isEmpty()) {
+            statusMessages.add(world.getShopMessage());
+            statusColors.add(new Color(200, 230, 255));
+        }
+
+        g2.setFont(labelFont);
+        int chipPaddingX = 12;
+        int chipPaddingY = 8;
+        int chipHeight = Math.max(g2.getFontMetrics().getHeight(), g2.getFontMetrics(valueFont).getHeight()) + chipPaddingY * 2;
+
+        int chipY = 12;
+        int startX = 14;
+
+        startX += drawHudChip(g2, startX, chipY, chipPaddingX, chipPaddingY, chipHeight, "Score", formatScore(world.getScore()), new Color(86, 220, 250), chipBackground, chipBorder, labelFont, valueFont, textColor) + 10;
+        startX += drawHudChip(g2, startX, chipY, chipPaddingX, chipPaddingY, chipHeight, "Vies", String.valueOf(world.getLives()), new Color(255, 105, 97), chipBackground, chipBorder, labelFont, valueFont, textColor) + 10;
+        startX += drawHudChip(g2, startX, chipY, chipPaddingX, chipPaddingY, chipHeight, "Credits", String.valueOf(world.getCredits()), new Color(255, 214, 102), chipBackground, chipBorder, labelFont, valueFont, textColor) + 10;
+        drawHudChip(g2, startX, chipY, chipPaddingX, chipPaddingY, chipHeight, "Niveau", String.valueOf(Math.max(1, world.getLevel())), new Color(153, 128, 255), chipBackground, chipBorder, labelFont, valueFont, textColor);
+
+        if (!statusMessages.isEmpty()) {
+            int statusY = chipY + chipHeight + 10;
+            for (int i = 0; i < statusMessages.size(); i++) {
+                g2.setFont(labelFont);
+                g2.setColor(new Color(statusColors.get(i).getRed(), statusColors.get(i).getGreen(), statusColors.get(i).getBlue(), 220));
+                g2.drawString(statusMessages.get(i), 18, statusY);
+                statusY += 18;
+            }
+        }
+
+        drawBonusPanel(g2, world, chipBackground, chipBorder, labelFont, valueFont, textColor, chipY);
+    }
+
+    private int drawHudChip(Graphics2D g2, int x, int y, int paddingX, int paddingY, int height, String label, String value, Color bulletColor,
+                            Color background, Color border, Font labelFont, Font valueFont, Color textColor) {
+        g2.setFont(labelFont);
+        int labelWidth = g2.getFontMetrics().stringWidth(label);
+        g2.setFont(valueFont);
+        int valueWidth = g2.getFontMetrics().stringWidth(value);
+
+        int bulletRadius = 5;
+        int bulletDiameter = bulletRadius * 2;
+        int width = paddingX * 2 + bulletDiameter + 6 + labelWidth + 14 + valueWidth;
+
+        g2.setColor(background);
+        g2.fillRoundRect(x, y, width, height, 18, 18);
+        g2.setColor(border);
+        g2.setStroke(new BasicStroke(1.8f));
+        g2.drawRoundRect(x, y, width, height, 18, 18);
+
+        int centerY = y + height / 2;
+
+        g2.setColor(new Color(bulletColor.getRed(), bulletColor.getGreen(), bulletColor.getBlue(), 230));
+        g2.fillOval(x + paddingX, centerY - bulletRadius, bulletDiameter, bulletDiameter);
+
+        int textStart = x + paddingX + bulletDiameter + 6;
+        g2.setFont(labelFont);
+        int labelBaseline = centerY + (g2.getFontMetrics().getAscent() - g2.getFontMetrics().getDescent()) / 2;
+        g2.setColor(textColor);
+        g2.drawString(label, textStart, labelBaseline);
+
+        g2.setFont(valueFont);
+        int valueBaseline = centerY + (g2.getFontMetrics().getAscent() - g2.getFontMetrics().getDescent()) / 2;
+        int valueX = x + width - paddingX - valueWidth;
+        g2.drawString(value, valueX, valueBaseline);
+
+        return width;
+    }
+
+    private void drawBonusPanel(Graphics2D g2, GameWorld world, Color panelBackground, Color panelBorder, Font labelFont, Font valueFont, Color textColor, int panelY) {
+        int padding = 10;
+        int rowHeight = 22;
+        int panelWidth = 230;
+
+        int rows = Math.max(1, world.getActiveBonuses().size());
+        int panelHeight = padding * 2 + 18 + rows * rowHeight;
+
+        int panelX = PANEL_WIDTH - panelWidth - 16;
+
+        g2.setColor(new Color(panelBackground.getRed(), panelBackground.getGreen(), panelBackground.getBlue(), panelBackground.getAlpha()));
+        g2.fillRoundRect(panelX, panelY, panelWidth, panelHeight, 16, 16);
+        g2.setColor(panelBorder);
+        g2.setStroke(new BasicStroke(1.6f));
+        g2.drawRoundRect(panelX, panelY, panelWidth, panelHeight, 16, 16);
+
+        g2.setFont(valueFont.deriveFont(Font.BOLD, 15f));
+        g2.setColor(textColor);
+        int titleY = panelY + padding + 6;
+        g2.drawString("Bonus actifs", panelX + padding, titleY);
+
+        int rowBaseline = titleY + 14;
+        g2.setFont(labelFont);
+        if (world.getActiveBonuses().isEmpty()) {
+            g2.setColor(new Color(textColor.getRed(), textColor.getGreen(), textColor.getBlue(), 180));
+            g2.drawString("Aucun bonus en cours", panelX + padding, rowBaseline);
+            return;
+        }
+
+        for (GameWorld.ActiveBonus bonus : world.getActiveBonuses()) {
+            Color bullet = colorForBonus(bonus.type());
+            int bulletRadius = 5;
+            int bulletY = rowBaseline - bulletRadius - 4;
+            g2.setColor(new Color(bullet.getRed(), bullet.getGreen(), bullet.getBlue(), 230));
+            g2.fillOval(panelX + padding, bulletY, bulletRadius * 2, bulletRadius * 2);
+
+            g2.setColor(textColor);
+            int textX = panelX + padding + bulletRadius * 2 + 8;
+            g2.drawString(bonus.type().label(), textX, rowBaseline);
+
+            String remaining = bonus.remainingSeconds() + "s";
+            g2.setFont(valueFont);
+            int valueX = panelX + panelWidth - padding;
+            int valueWidth = g2.getFontMetrics().stringWidth(remaining);
+            g2.drawString(remaining, valueX - valueWidth, rowBaseline);
+
+            rowBaseline += rowHeight;
+            g2.setFont(labelFont);
+        }
+    }
+
+    private Color colorForBonus(GameWorld.BonusType type) {
+        return switch (type) {
+            case PADDLE_GROW -> new Color(88, 214, 141);
+            case PIERCE_BALL -> new Color(255, 196, 87);
+            case SCORE_BOOST -> new Color(134, 190, 255);
+        };
+    }
+
+    private void drawHelp(Graphics2D g2) {
+        g2.setFont(new Font("Roboto", Font.PLAIN, 16));
+        g2.setColor(new Color(255, 255, 255, 180));
+        String[] lines = {
+            "LEFT / RIGHT pour deplacer la raquette",
+            "ESPACE pour lancer ou continuer",
+            "P ou ECHAP pour ouvrir le menu pause",
+            "H pour afficher ou masquer l'aide"
+        };
+        int y = PANEL_HEIGHT - 120;
+        for (String line : lines) {
+            g2.drawString(line, 30, y);
+            y += 22;
+        }
+    }
+
+    private void drawCenteredMessage(Graphics2D g2, String message) {
+        g2.setFont(new Font("Roboto", Font.BOLD, 22));
+        int textWidth = g2.getFontMetrics().stringWidth(message);
+        int x = (PANEL_WIDTH - textWidth) / 2;
+        int y = PANEL_HEIGHT / 2;
+        g2.setColor(new Color(0, 0, 0, 170));
+        g2.fillRoundRect(x - 30, y - 40, textWidth + 60, 80, 20, 20);
+        g2.setColor(Color.WHITE);
+        g2.drawString(message, x, y + 6);
+    }
+
+    private void drawPauseMenu(Graphics2D g2, GameWorld world) {
+        if (!world.isPauseMenuVisible()) {
+            drawCenteredMessage(g2, "Jeu en pause");
+            return;
+        }
+
+        g2.setColor(new Color(0, 0, 0, 170));
+        g2.fillRect(0, 0, PANEL_WIDTH, PANEL_HEIGHT);
+
+        int panelWidth = 520;
+        int panelHeight = 380;
+        int panelX = (PANEL_WIDTH - panelWidth) / 2;
+        int panelY = (PANEL_HEIGHT - panelHeight) / 2;
+
+        g2.setColor(new Color(28, 34, 56, 230));
+        g2.fillRoundRect(panelX, panelY, panelWidth, panelHeight, 28, 28);
+        g2.setColor(new Color(120, 190, 255, 220));
+        g2.setStroke(new BasicStroke(2.5f));
+        g2.drawRoundRect(panelX, panelY, panelWidth, panelHeight, 28, 28);
+
+        g2.setColor(Color.WHITE);
+        g2.setFont(new Font("Roboto", Font.BOLD, 34));
+        g2.drawString("Pause", panelX + 25, panelY + 55);
+
+        g2.setFont(new Font("Roboto", Font.PLAIN, 18));
+        String[] options = {
+            "Echap / P   - Reprendre la partie",
+            "ESPACE      - Continuer",
+            "ENTREE      - Recommencer la manche",
+            "Q           - Nouvelle partie"
+        };
+        int y = panelY + 100;
+        for (String option : options) {
+            g2.drawString(option, panelX + 25, y);
+            y += 32;
+        }
+
+        drawRecordsTable(g2, world, panelX, panelY, panelWidth);
+    }
+
+    private void drawRecordsTable(Graphics2D g2, GameWorld world, int panelX, int panelY, int panelWidth) {
+        int titleY = panelY + 170;
+        g2.setColor(new Color(200, 220, 255));
+        g2.setFont(new Font("Roboto", Font.BOLD, 19));
+        g2.drawString("Tableau des scores / records", panelX + 25, titleY);
+
+        int summaryY = titleY + 24;
+        g2.setFont(new Font("Roboto", Font.PLAIN, 15));
+        g2.setColor(new Color(215, 225, 245));
+        String summary = String.format(
+            "Record perso : %s pts | Niveau %d | Credits max %d",
+            formatScore(Math.max(world.getPersonalBestScore(), world.getScore())),
+            Math.max(world.getPersonalBestLevel(), world.getLevel()),
+            Math.max(world.getPersonalBestCredits(), world.getCredits()));
+        g2.drawString(summary, panelX + 25, summaryY);
+
+        int boxY = summaryY + 12;
+        int boxHeight = 165;
+        g2.setColor(new Color(12, 18, 34, 200));
+        g2.fillRoundRect(panelX + 15, boxY, panelWidth - 30, boxHeight, 20, 20);
+        g2.setColor(new Color(120, 190, 255, 140));
+        g2.drawRoundRect(panelX + 15, boxY, panelWidth - 30, boxHeight, 20, 20);
+
+        int colRank = panelX + 30;
+        int colScore = panelX + 90;
+        int colLevel = panelX + 230;
+        int colNote = panelX + 320;
+        int headerY = boxY + 28;
+
+        g2.setFont(new Font("Roboto Mono", Font.BOLD, 15));
+        g2.setColor(new Color(190, 210, 255));
+        g2.drawString("#", colRank, headerY);
+        g2.drawString("Score", colScore, headerY);
+        g2.drawString("Niveau", colLevel, headerY);
+        g2.drawString("Etat", colNote, headerY);
+
+        g2.setFont(new Font("Roboto Mono", Font.PLAIN, 15));
+        g2.setColor(new Color(225, 230, 255));
+        int rowY = headerY + 24;
+        drawScoreRow(g2, "Actuel", world.getScore(), world.getLevel(), world.describeCurrentRun(), colRank, colScore, colLevel, colNote, rowY);
+
+        if (world.getScoreRecords().isEmpty()) {
+            g2.setColor(new Color(200, 210, 230));
+            g2.drawString("Aucun record enregistre pour le moment", colScore, rowY + 26);
+            return;
+        }
+
+        int rank = 1;
+        for (GameWorld.ScoreRecord record : world.getScoreRecords()) {
+            rowY += 22;
+            drawScoreRow(g2, String.valueOf(rank), record.score(), record.level(), record.note(), colRank, colScore, colLevel, colNote, rowY);
+            rank++;
+            if (rank > GameWorld.SCORE_HISTORY_LIMIT) {
+                break;
+            }
+        }
+    }
+
+    private void drawScoreRow(Graphics2D g2, String label, int scoreValue, int levelValue, String note,
+                              int colRank, int colScore, int colLevel, int colNote, int y) {
+        g2.drawString(label, colRank, y);
+        g2.drawString(formatScore(scoreValue), colScore, y);
+        g2.drawString(String.valueOf(Math.max(1, levelValue)), colLevel, y);
+        g2.drawString(note, colNote, y);
+    }
+
+    private String formatScore(int value) {
+        int safe = Math.max(0, value);
+        String digits = Integer.toString(safe);
+        StringBuilder builder = new StringBuilder();
+        int counter = 0;
+        for (int i = digits.length() - 1; i >= 0; i--) {
+            builder.append(digits.charAt(i));
+            counter++;
+            if (counter == 3 && i > 0) {
+                builder.append(' ');
+                counter = 0;
+            }
+        }
+        return builder.reverse().toString();
+    }
+
+    private void drawShopOverlay(Graphics2D g2, GameWorld world) {
+        g2.setColor(new Color(0, 0, 0, 170));
+        g2.fillRect(0, 0, PANEL_WIDTH, PANEL_HEIGHT);
+
+        int panelWidth = 560;
+        int panelHeight = 280;
+        int panelX = (PANEL_WIDTH - panelWidth) / 2;
+        int panelY = (PANEL_HEIGHT - panelHeight) / 2;
+
+        g2.setColor(new Color(30, 30, 60, 230));
+        g2.fillRoundRect(panelX, panelY, panelWidth, panelHeight, 24, 24);
+        g2.setColor(new Color(200, 200, 255, 220));
+        g2.setStroke(new BasicStroke(2f));
+        g2.drawRoundRect(panelX, panelY, panelWidth, panelHeight, 24, 24);
+
+        g2.setColor(Color.WHITE);
+        g2.setFont(new Font("Roboto", Font.BOLD, 26));
+        g2.drawString("Boutique", panelX + 26, panelY + 46);
+
+        g2.setFont(new Font("Roboto", Font.PLAIN, 16));
+        g2.drawString("Credits disponibles : " + world.getCredits(), panelX + 26, panelY + 78);
+        g2.drawString("Appuyez sur 1-3 pour acheter, B ou ECHAP pour fermer", panelX + 26, panelY + panelHeight - 32);
+
+        int itemY = panelY + 112;
+        for (GameWorld.BonusType bonus : GameWorld.BonusType.values()) {
+            boolean affordable = world.getCredits() >= bonus.cost();
+            g2.setFont(new Font("Roboto", Font.BOLD, 18));
+            g2.setColor(affordable ? Color.WHITE : new Color(200, 90, 90));
+            String title = bonus.keyLabel() + ". " + bonus.label() + " - " + bonus.cost() + " credits (" + bonus.durationSeconds() + "s)";
+            g2.drawString(title, panelX + 26, itemY);
+
+            g2.setFont(new Font("Roboto", Font.PLAIN, 14));
+            g2.setColor(new Color(200, 210, 255));
+            g2.drawString(bonus.description(), panelX + 26, itemY + 20);
+
+            if (world.isBonusActive(bonus)) {
+                g2.setColor(new Color(120, 220, 140));
+                g2.drawString("Actif (" + world.getRemainingSecondsFor(bonus) + "s restants)", panelX + 26, itemY + 38);
+            }
+
+            itemY += 64;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package org.example;
+
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.LongSupplier;
+
+final class LayerCompositor {
+    interface LayerPainter {
+        void paint(Graphics2D g2);
+    }
+
+    interface ImageFactory {
+        BufferedImage create(int width, int height, int transparency);
+    }
+
+    private static final class Layer {
+        private final boolean opaque;
+        private final LongSupplier signature;
+        private final LayerPainter painter;
+        private BufferedImage image;
+        private long renderedSignature;
+        private long pendingSignature;
+        private boolean valid;
+
+        Layer(boolean opaque, LongSupplier signature, LayerPainter painter) {
+            this.opaque = opaque;
+            this.signature = signature;
+            this.painter = painter;
+        }
+
+        boolean direct() {
+            return signature == null;
+        }
+
+        void render(Object antialiasing) {
+            Graphics2D g2 = image.createGraphics();
+            try {
+                if (!opaque) {
+                    g2.setComposite(AlphaComposite.Clear);
+                    g2.fillRect(0, 0, image.getWidth(), image.getHeight());
+                    g2.setComposite(AlphaComposite.SrcOver);
+                }
+                g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, antialiasing);
+                painter.paint(g2);
+            } finally {
+                g2.dispose();
+            }
+            renderedSignature = pendingSignature;
+            valid = true;
+        }
+    }
+
+    private final int width;
+    private final int height;
+    private final List<Layer> layers = new ArrayList<>();
+    private ForkJoinPool pool;
+
+    LayerCompositor(int width, int height) {
+        this.width = width;
+        this.height = height;
+    }
+
+    void addLayer(boolean opaque, LongSupplier signature, LayerPainter painter) {
+        layers.add(new Layer(opaque, signature, painter));
+    }
+
+    void addDirect(LayerPainter painter) {
+        layers.add(new Layer(false, null, painter));
+    }
+
+    void invalidate() {
+        for (Layer layer : layers) {
+            layer.valid = false;
+        }
+    }
+
+    void releaseImages() {
+        for (Layer layer : layers) {
+            layer.image = null;
+            layer.valid = false;
+        }
+    }
+
+    void compose(Graphics2D target, Object antialiasing, ImageFactory imageFactory) {
+        List<Layer> dirty = new ArrayList<>();
+        for (Layer layer : layers) {
+            if (layer.direct()) {
+                continue;
+            }
+            long signature = layer.signature.getAsLong();
+            if (layer.image == null) {
+                int transparency = layer.opaque ? Transparency.OPAQUE : Transparency.TRANSLUCENT;
+                layer.image = imageFactory.create(width, height, transparency);
+                layer.valid = false;
+            }
+            if (!layer.valid || layer.renderedSignature != signature) {
+                layer.pendingSignature = signature;
+                dirty.add(layer);
+            }
+        }
+
+        if (dirty.size() == 1) {
+            dirty.get(0).render(antialiasing);
+        } else if (!dirty.isEmpty()) {
+            List<ForkJoinTask<?>> tasks = new ArrayList<>(dirty.size());
+            for (Layer layer : dirty) {
+                tasks.add(ForkJoinTask.adapt(() -> layer.render(antialiasing)));
+            }
+            workerPool().invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(tasks)));
+        }
+
+        for (Layer layer : layers) {
+            if (layer.direct()) {
+                Graphics2D g2 = (Graphics2D) target.create();
+                g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, antialiasing);
+                layer.painter.paint(g2);
+                g2.dispose();
+            } else {
+                target.drawImage(layer.image, 0, 0, null);
+            }
+        }
+    }
+
+    private ForkJoinPool workerPool() {
+        if (pool == null) {
+            int parallelism = Math.max(1, Math.min(layers.size(), Runtime.getRuntime().availableProcessors()));
+            pool = new ForkJoinPool(parallelism);
+        }
+        return pool;
+    }
+}
@@ -0,0 +1,137 @@
+package org.example;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+final class Leaderboard {
+    static final int DEFAULT_MAX_SCORE = (1 << 20) - 1;
+    static final int DEFAULT_RETAINED = 1000;
+
+    private final int maxScore;
+    private final int retained;
+    private final AtomicLongArray tree;
+    private final AtomicLong runs = new AtomicLong();
+    private final AtomicLong nextSequence = new AtomicLong();
+    private final ConcurrentSkipListSet<Entry> best = new ConcurrentSkipListSet<>();
+    private final AtomicInteger bestSize = new AtomicInteger();
+
+    Leaderboard() {
+        this(DEFAULT_MAX_SCORE, DEFAULT_RETAINED);
+    }
+
+    Leaderboard(int maxScore, int retained) {
+        if (maxScore <= 0 || retained <= 0) {
+            throw new IllegalArgumentException("Classement invalide : " + maxScore + " / " + retained);
+        }
+        this.maxScore = maxScore;
+        this.retained = retained;
+        this.tree = new AtomicLongArray(maxScore + 2);
+    }
+
+    long record(int score, int level, long seed) {
+        int clamped = clamp(score);
+        for (int i = clamped + 1; i < tree.length(); i += i & -i) {
+            tree.incrementAndGet(i);
+        }
+        runs.incrementAndGet();
+        if (bestSize.get() < retained || clamped > best.last().score) {
+            best.add(new Entry(clamped, level, seed, nextSequence.getAndIncrement()));
+            if (bestSize.incrementAndGet() > retained && best.pollLast() != null) {
+                bestSize.decrementAndGet();
+            }
+        }
+        return rankOf(clamped);
+    }
+
+    long size() {
+        return runs.get();
+    }
+
+    long rankOf(int score) {
+        int clamped = clamp(score);
+        return countAbove(clamped) + 1;
+    }
+
+    int scoreAt(long rank) {
+        long total = prefix(tree.length() - 1);
+        if (rank < 1 || rank > total) {
+            return -1;
+        }
+        long remaining = total - rank + 1;
+        int position = 0;
+        for (int step = Integer.highestOneBit(tree.length() - 1); step > 0; step >>= 1) {
+            int next = position + step;
+            if (next < tree.length()) {
+                long count = tree.get(next);
+                if (count < remaining) {
+                    position = next;
+                    remaining -= count;
+                }
+            }
+        }
+        return position;
+    }
+
+    List<Entry> top(int count) {
+        List<Entry> result = new ArrayList<>(Math.min(count, retained));
+        for (Entry entry : best) {
+            if (result.size() >= count) {
+                break;
+            }
+            result.add(entry);
+        }
+        return result;
+    }
+
+    private long countAbove(int score) {
+        return prefix(tree.length() - 1) - prefix(score + 1);
+    }
+
+    private long prefix(int index) {
+        long sum = 0;
+        for (int i = index; i > 0; i -= i & -i) {
+            sum += tree.get(i);
+        }
+        return sum;
+    }
+
+    private int clamp(int score) {
+        return Math.max(0, Math.min(maxScore, score));
+    }
+
+    static final class Entry implements Comparable<Entry> {
+        private final int score;
+        private final int level;
+        private final long seed;
+        private final long sequence;
+
+        private Entry(int score, int level, long seed, long sequence) {
+            this.score = score;
+            this.level = level;
+            this.seed = seed;
+            this.sequence = sequence;
+        }
+
+        int score() {
+            return score;
+        }
+
+        int level() {
+            return level;
+        }
+
+        long seed() {
+            return seed;
+        }
+
+        @Override
+        public int compareTo(Entry other) {
+            int byScore = Integer.compare(other.score, score);
+            return byScore != 0 ? byScore : Long.compare(sequence, other.sequence);
+        }
+    }
+}
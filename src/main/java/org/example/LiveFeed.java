@@ -0,0 +1,246 @@
+package org.example;
+
+import java.awt.event.KeyEvent;
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.lang.invoke.VarHandle;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+import java.util.concurrent.locks.LockSupport;
+
+final class LiveFeed implements AutoCloseable {
+    private static final int MAGIC = 0x4342464C;
+    private static final int VERSION = 1;
+    private static final long MAGIC_OFFSET = 0;
+    private static final long VERSION_OFFSET = 4;
+    private static final long SLOT_SIZE_OFFSET = 8;
+    private static final long CLOSED_OFFSET = 16;
+    private static final long SEQUENCE_OFFSET = 64;
+    private static final long DATA_OFFSET = 128;
+    private static final long FILE_SIZE = DATA_OFFSET + WorldStore.SLOT_SIZE;
+    private static final int MAX_READ_ATTEMPTS = 64;
+
+    private final Arena arena;
+    private final MemorySegment segment;
+    private long sequence;
+
+    private LiveFeed(Arena arena, MemorySegment segment, long sequence) {
+        this.arena = arena;
+        this.segment = segment;
+        this.sequence = sequence;
+    }
+
+    public static void main(String[] args) throws IOException {
+        System.setProperty("java.awt.headless", "true");
+        Path publish = null;
+        Path follow = null;
+        int ticks = 600;
+        Long seed = null;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--publish" -> publish = Path.of(args[++i]);
+                case "--follow" -> follow = Path.of(args[++i]);
+                case "--ticks" -> ticks = Integer.parseInt(args[++i]);
+                case "--seed" -> seed = Long.parseLong(args[++i]);
+                default -> {
+                    System.err.println("Usage : LiveFeed (--publish etat.cbl [--seed N] | --follow etat.cbl) [--ticks N]");
+                    System.exit(2);
+                }
+            }
+        }
+        if (publish != null) {
+            GameWorld world = seed != null ? new GameWorld(seed) : new GameWorld();
+            world.keyPressed(KeyEvent.VK_R);
+            publishDemo(world, ticks, publish);
+        } else if (follow != null) {
+            followDemo(follow, ticks);
+        } else {
+            System.err.println("Usage : LiveFeed (--publish etat.cbl [--seed N] | --follow etat.cbl) [--ticks N]");
+            System.exit(2);
+        }
+    }
+
+    private static void publishDemo(GameWorld world, int ticks, Path path) throws IOException {
+        long publishNanos = 0;
+        long worstNanos = 0;
+        try (LiveFeed feed = LiveFeed.create(path)) {
+            long frameStart = System.nanoTime();
+            for (int tick = 1; tick <= ticks; tick++) {
+                ReplayExporter.TickDriver.AUTOPILOT.beforeTick(world, tick);
+                world.update();
+                long start = System.nanoTime();
+                feed.publish(world);
+                long elapsed = System.nanoTime() - start;
+                publishNanos += elapsed;
+                worstNanos = Math.max(worstNanos, elapsed);
+                frameStart += 1_000_000_000L / GameWorld.FRAMES_PER_SECOND;
+                long sleep = frameStart - System.nanoTime();
+                if (sleep > 0) {
+                    LockSupport.parkNanos(sleep);
+                }
+            }
+        }
+        System.out.printf(Locale.ROOT, "%s : %d ticks publies, %.2f us en moyenne, pire %.2f us, score %d niveau %d%n",
+            path, ticks, publishNanos / 1000.0 / Math.max(1, ticks), worstNanos / 1000.0, world.getScore(), world.getLevel());
+    }
+
+    private static void followDemo(Path path, int frames) throws IOException {
+        GameWorld world = new GameWorld(0);
+        try (Reader reader = follow(path)) {
+            long lastReport = System.nanoTime();
+            long deadline = lastReport + 10_000_000_000L;
+            while (reader.frames() < frames && System.nanoTime() < deadline) {
+                if (!reader.poll(world)) {
+                    if (reader.writerClosed()) {
+                        break;
+                    }
+                    LockSupport.parkNanos(1_000_000L);
+                    continue;
+                }
+                deadline = System.nanoTime() + 10_000_000_000L;
+                if (System.nanoTime() - lastReport >= 1_000_000_000L) {
+                    lastReport = System.nanoTime();
+                    System.out.printf(Locale.ROOT, "tick %d : score %d niveau %d vies %d briques %d%n",
+                        world.getTick(), world.getScore(), world.getLevel(), world.getLives(), world.getBricks().size());
+                }
+            }
+            System.out.printf(Locale.ROOT, "%s : %d etats lus, %d lectures relancees, dernier tick %d, empreinte %016x%n",
+                path, reader.frames(), reader.retries(), world.getTick(), world.stateChecksum());
+        }
+    }
+
+    static LiveFeed create(Path path) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Arena arena = Arena.ofShared();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+            StandardOpenOption.WRITE)) {
+            if (channel.size() != FILE_SIZE) {
+                channel.truncate(0);
+                channel.truncate(FILE_SIZE);
+            }
+            MemorySegment segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, FILE_SIZE, arena);
+            long sequence = segment.get(ValueLayout.JAVA_LONG, SEQUENCE_OFFSET);
+            sequence = (sequence + 1) & ~1L;
+            segment.set(ValueLayout.JAVA_LONG, SEQUENCE_OFFSET, sequence);
+            segment.set(ValueLayout.JAVA_LONG, SLOT_SIZE_OFFSET, WorldStore.SLOT_SIZE);
+            segment.set(ValueLayout.JAVA_INT, VERSION_OFFSET, VERSION);
+            segment.set(ValueLayout.JAVA_INT, CLOSED_OFFSET, 0);
+            VarHandle.releaseFence();
+            segment.set(ValueLayout.JAVA_INT, MAGIC_OFFSET, MAGIC);
+            return new LiveFeed(arena, segment, sequence);
+        } catch (IOException | RuntimeException e) {
+            arena.close();
+            throw e;
+        }
+    }
+
+    static Reader follow(Path path) throws IOException {
+        Arena arena = Arena.ofShared();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() < FILE_SIZE) {
+                throw new IOException("Flux d'etat incomplet : " + path);
+            }
+            MemorySegment segment = channel.map(FileChannel.MapMode.READ_ONLY, 0, FILE_SIZE, arena);
+            if (segment.get(ValueLayout.JAVA_INT, MAGIC_OFFSET) != MAGIC) {
+                throw new IOException("Flux d'etat invalide : " + path);
+            }
+            int version = segment.get(ValueLayout.JAVA_INT, VERSION_OFFSET);
+            if (version != VERSION || segment.get(ValueLayout.JAVA_LONG, SLOT_SIZE_OFFSET) != WorldStore.SLOT_SIZE) {
+                throw new IOException("Version de flux non supportee : " + version);
+            }
+            return new Reader(arena, segment);
+        } catch (IOException | RuntimeException e) {
+            arena.close();
+            throw e;
+        }
+    }
+
+    long sequence() {
+        return sequence;
+    }
+
+    void publish(GameWorld world) {
+        segment.set(ValueLayout.JAVA_LONG, SEQUENCE_OFFSET, sequence + 1);
+        VarHandle.storeStoreFence();
+        world.writeTo(segment, DATA_OFFSET);
+        VarHandle.storeStoreFence();
+        sequence += 2;
+        segment.set(ValueLayout.JAVA_LONG, SEQUENCE_OFFSET, sequence);
+    }
+
+    @Override
+    public void close() {
+        segment.set(ValueLayout.JAVA_INT, CLOSED_OFFSET, 1);
+        arena.close();
+    }
+
+    static final class Reader implements AutoCloseable {
+        private final Arena arena;
+        private final MemorySegment segment;
+        private final MemorySegment copy;
+        private long sequence = -1;
+        private long frames;
+        private long retries;
+
+        private Reader(Arena arena, MemorySegment segment) {
+            this.arena = arena;
+            this.segment = segment;
+            this.copy = arena.allocate(WorldStore.SLOT_SIZE, 64);
+        }
+
+        long sequence() {
+            return sequence;
+        }
+
+        long frames() {
+            return frames;
+        }
+
+        long retries() {
+            return retries;
+        }
+
+        boolean writerClosed() {
+            return segment.get(ValueLayout.JAVA_INT, CLOSED_OFFSET) != 0;
+        }
+
+        boolean poll(GameWorld target) {
+            for (int attempt = 0; attempt < MAX_READ_ATTEMPTS; attempt++) {
+                long before = segment.get(ValueLayout.JAVA_LONG, SEQUENCE_OFFSET);
+                if (before == sequence || before == 0) {
+                    return false;
+                }
+                if ((before & 1) != 0) {
+                    retries++;
+                    Thread.onSpinWait();
+                    continue;
+                }
+                VarHandle.loadLoadFence();
+                MemorySegment.copy(segment, DATA_OFFSET, copy, 0, WorldStore.SLOT_SIZE);
+                VarHandle.loadLoadFence();
+                if (segment.get(ValueLayout.JAVA_LONG, SEQUENCE_OFFSET) != before) {
+                    retries++;
+                    continue;
+                }
+                target.readFrom(copy, 0);
+                sequence = before;
+                frames++;
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public void close() {
+            arena.close();
+        }
+    }
+}
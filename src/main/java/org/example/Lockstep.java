@@ -0,0 +1,386 @@
+package org.example;
+
+import java.awt.event.KeyEvent;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+final class Lockstep implements AutoCloseable {
+    static final int DEFAULT_DELAY = 3;
+
+    private static final int MAGIC = 0x4342534C;
+    private static final int VERSION = 2;
+    private static final int HASH_HISTORY = 1024;
+    private static final int MAX_EVENTS = 255;
+    private static final int MAX_KEY_CODE = Integer.MAX_VALUE >>> 1;
+
+    private final Socket socket;
+    private final DataInputStream in;
+    private final DataOutputStream out;
+    private final GameWorld world;
+    private final int localPlayer;
+    private final int delay;
+    private final int[][] localEvents;
+    private final int[] localCounts;
+    private final int[] pendingEvents = new int[MAX_EVENTS];
+    private int pendingCount;
+    private final long[] hashes = new long[HASH_HISTORY];
+    private final BlockingQueue<Packet> remote = new ArrayBlockingQueue<>(HASH_HISTORY);
+    private final Thread reader;
+    private volatile IOException failure;
+    private long lastSentFrame;
+    private long desyncTick = -1;
+    private long stalls;
+    private long bytesSent;
+    private volatile long bytesReceived;
+
+    private Lockstep(Socket socket, DataInputStream in, DataOutputStream out, long seed, int localPlayer, int delay) {
+        this.socket = socket;
+        this.in = in;
+        this.out = out;
+        this.world = new GameWorld(seed);
+        this.localPlayer = localPlayer;
+        this.delay = delay;
+        this.localEvents = new int[delay + 1][MAX_EVENTS];
+        this.localCounts = new int[delay + 1];
+        this.lastSentFrame = delay;
+        this.hashes[0] = world.stateChecksum();
+        this.reader = Thread.ofVirtual().name("lockstep-entrees").unstarted(this::readRemote);
+    }
+
+    public static void main(String[] args) throws IOException {
+        System.setProperty("java.awt.headless", "true");
+        int hostPort = -1;
+        String join = null;
+        long seed = System.nanoTime();
+        int delay = DEFAULT_DELAY;
+        int ticks = GameWorld.FRAMES_PER_SECOND * 60;
+        long desync = -1;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--host" -> hostPort = Integer.parseInt(args[++i]);
+                case "--join" -> join = args[++i];
+                case "--seed" -> seed = Long.parseLong(args[++i]);
+                case "--delay" -> delay = Integer.parseInt(args[++i]);
+                case "--ticks" -> ticks = Integer.parseInt(args[++i]);
+                case "--desync" -> desync = Long.parseLong(args[++i]);
+                default -> {
+                    System.err.println("Usage : Lockstep (--host port [--seed N] [--delay N] | --join hote:port) [--ticks N] [--desync T]");
+                    System.exit(2);
+                }
+            }
+        }
+        Lockstep session;
+        if (hostPort >= 0) {
+            session = host(hostPort, seed, delay);
+        } else if (join != null) {
+            int separator = join.lastIndexOf(':');
+            session = join(join.substring(0, separator), Integer.parseInt(join.substring(separator + 1)));
+        } else {
+            System.err.println("Usage : Lockstep (--host port [--seed N] [--delay N] | --join hote:port) [--ticks N] [--desync T]");
+            System.exit(2);
+            return;
+        }
+        try (session) {
+            runDemo(session, ticks, desync);
+        }
+    }
+
+    private static void runDemo(Lockstep session, int ticks, long desync) throws IOException {
+        GameRandom inputs = new GameRandom(session.world.getSeed() + session.localPlayer + 1);
+        int[] keys = {KeyEvent.VK_LEFT, KeyEvent.VK_RIGHT, KeyEvent.VK_SPACE};
+        int held = -1;
+        long start = System.nanoTime();
+        while (session.world.getTick() < ticks) {
+            if (inputs.nextInt(20) == 0) {
+                if (held >= 0) {
+                    session.keyReleased(held);
+                }
+                held = keys[inputs.nextInt(keys.length)];
+                session.keyPressed(held);
+            }
+            if (session.world.getTick() == desync) {
+                session.injectLocalOnly(KeyEvent.VK_R);
+            }
+            while (!session.step(5, TimeUnit.SECONDS)) {
+                System.out.println("En attente du partenaire...");
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        GameWorld world = session.world;
+        System.out.printf(Locale.ROOT, "Joueur %d : %d ticks en %.2f s, delai %d, %d attentes, %d/%d octets envoyes/recus (%.1f par tick)%n",
+            session.localPlayer + 1, world.getTick(), seconds, session.delay, session.stalls, session.bytesSent,
+            session.bytesReceived, session.bytesSent / (double) Math.max(1, world.getTick()));
+        if (session.desyncTick >= 0) {
+            System.out.printf(Locale.ROOT, "Desynchronisation detectee au tick %d%n", session.desyncTick);
+        } else {
+            System.out.printf(Locale.ROOT, "Synchronise : score %d niveau %d empreinte %016x%n", world.getScore(), world.getLevel(),
+                world.stateChecksum());
+        }
+    }
+
+    static Lockstep host(int port, long seed, int delay) throws IOException {
+        try (ServerSocket server = listen(InetAddress.getLoopbackAddress(), port)) {
+            return host(server, seed, delay);
+        }
+    }
+
+    static ServerSocket listen(InetAddress address, int port) throws IOException {
+        ServerSocket server = new ServerSocket();
+        try {
+            server.bind(new InetSocketAddress(address, port), 1);
+        } catch (IOException e) {
+            server.close();
+            throw e;
+        }
+        return server;
+    }
+
+    static Lockstep host(ServerSocket server, long seed, int delay) throws IOException {
+        if (delay < 1 || delay >= HASH_HISTORY / 2) {
+            throw new IllegalArgumentException("Delai d'entree invalide : " + delay);
+        }
+        Socket socket = server.accept();
+        try {
+            socket.setTcpNoDelay(true);
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+            out.writeLong(seed);
+            out.writeByte(delay);
+            out.flush();
+            Lockstep session = new Lockstep(socket, in, out, seed, 0, delay);
+            session.reader.start();
+            return session;
+        } catch (IOException | RuntimeException e) {
+            socket.close();
+            throw e;
+        }
+    }
+
+    static Lockstep join(String host, int port) throws IOException {
+        Socket socket = new Socket();
+        try {
+            socket.connect(new InetSocketAddress(host, port), 10_000);
+            socket.setTcpNoDelay(true);
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Hote lockstep invalide");
+            }
+            int version = in.readByte();
+            if (version != VERSION) {
+                throw new IOException("Version lockstep non supportee : " + version);
+            }
+            long seed = in.readLong();
+            int delay = in.readByte();
+            Lockstep session = new Lockstep(socket, in, out, seed, 1, delay);
+            session.reader.start();
+            return session;
+        } catch (IOException | RuntimeException e) {
+            socket.close();
+            throw e;
+        }
+    }
+
+    GameWorld world() {
+        return world;
+    }
+
+    int localPlayer() {
+        return localPlayer;
+    }
+
+    int delay() {
+        return delay;
+    }
+
+    long desyncTick() {
+        return desyncTick;
+    }
+
+    long stalls() {
+        return stalls;
+    }
+
+    long bytesSent() {
+        return bytesSent;
+    }
+
+    long bytesReceived() {
+        return bytesReceived;
+    }
+
+    void keyPressed(int keyCode) {
+        queueLocal(checkKeyCode(keyCode) << 1 | 1);
+    }
+
+    void keyReleased(int keyCode) {
+        queueLocal(checkKeyCode(keyCode) << 1);
+    }
+
+    boolean step(long timeout, TimeUnit unit) throws IOException {
+        long tick = world.getTick();
+        long frame = tick + 1;
+        if (!sentFor(frame + delay)) {
+            sendLocal(frame + delay, tick);
+        }
+        int[] remoteEvents = null;
+        int remoteCount = 0;
+        if (frame > delay) {
+            Packet packet;
+            try {
+                packet = remote.poll(timeout, unit);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+            if (packet == null) {
+                if (failure != null) {
+                    throw failure;
+                }
+                stalls++;
+                return false;
+            }
+            if (packet.frame != frame) {
+                throw new IOException("Flux lockstep desordonne : " + packet.frame + " au lieu de " + frame);
+            }
+            checkHash(packet.hashTick, packet.hash);
+            remoteEvents = packet.events;
+            remoteCount = packet.events.length;
+        }
+        int slot = (int) (frame % localEvents.length);
+        if (localPlayer == 0) {
+            apply(localEvents[slot], localCounts[slot]);
+            apply(remoteEvents, remoteCount);
+        } else {
+            apply(remoteEvents, remoteCount);
+            apply(localEvents[slot], localCounts[slot]);
+        }
+        localCounts[slot] = 0;
+        world.update();
+        hashes[(int) (world.getTick() % HASH_HISTORY)] = world.stateChecksum();
+        return true;
+    }
+
+    void injectLocalOnly(int keyCode) {
+        world.keyPressed(keyCode);
+        world.keyReleased(keyCode);
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            socket.close();
+        } finally {
+            reader.interrupt();
+            try {
+                reader.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private boolean sentFor(long frame) {
+        return frame <= lastSentFrame;
+    }
+
+    private void sendLocal(long frame, long hashTick) throws IOException {
+        int slot = (int) (frame % localEvents.length);
+        System.arraycopy(pendingEvents, 0, localEvents[slot], 0, pendingCount);
+        localCounts[slot] = pendingCount;
+        out.writeInt((int) frame);
+        out.writeInt((int) hashTick);
+        out.writeLong(hashes[(int) (hashTick % HASH_HISTORY)]);
+        out.writeByte(pendingCount);
+        for (int i = 0; i < pendingCount; i++) {
+            out.writeInt(pendingEvents[i]);
+        }
+        out.flush();
+        bytesSent += 4 + 4 + 8 + 1 + 4L * pendingCount;
+        pendingCount = 0;
+        lastSentFrame = frame;
+    }
+
+    private static int checkKeyCode(int keyCode) {
+        if (keyCode < 0 || keyCode > MAX_KEY_CODE) {
+            throw new IllegalArgumentException("Code de touche invalide : " + keyCode);
+        }
+        return keyCode;
+    }
+
+    private void queueLocal(int event) {
+        if (pendingCount < MAX_EVENTS) {
+            pendingEvents[pendingCount++] = event;
+        }
+    }
+
+    private void apply(int[] events, int count) {
+        for (int i = 0; i < count; i++) {
+            if ((events[i] & 1) != 0) {
+                world.keyPressed(events[i] >>> 1);
+            } else {
+                world.keyReleased(events[i] >>> 1);
+            }
+        }
+    }
+
+    private void checkHash(long hashTick, long hash) {
+        if (desyncTick >= 0 || hashTick > world.getTick() || world.getTick() - hashTick >= HASH_HISTORY) {
+            return;
+        }
+        if (hashes[(int) (hashTick % HASH_HISTORY)] != hash) {
+            desyncTick = hashTick;
+        }
+    }
+
+    private void readRemote() {
+        try {
+            while (true) {
+                int frame = in.readInt();
+                int hashTick = in.readInt();
+                long hash = in.readLong();
+                int count = in.readUnsignedByte();
+                int[] events = new int[count];
+                for (int i = 0; i < count; i++) {
+                    events[i] = in.readInt();
+                }
+                bytesReceived += 4 + 4 + 8 + 1 + 4L * count;
+                remote.put(new Packet(frame, hashTick, hash, events));
+            }
+        } catch (EOFException e) {
+            failure = new IOException("Le partenaire s'est deconnecte");
+        } catch (IOException e) {
+            failure = e;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class Packet {
+        private final long frame;
+        private final long hashTick;
+        private final long hash;
+        private final int[] events;
+
+        private Packet(long frame, long hashTick, long hash, int[] events) {
+            this.frame = frame;
+            this.hashTick = hashTick;
+            this.hash = hash;
+            this.events = events;
+        }
+    }
+}
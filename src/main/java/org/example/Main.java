@@ -1,12 +1,48 @@
 package org.example;
 
 import javax.swing.SwingUtilities;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
 
 public final class Main {
     private Main() {
     }
 
-    public static void main(String[] args) {
-        SwingUtilities.invokeLater(GameFrame::new);
+    public static void main(String[] args) throws IOException {
+        Integer hostPort = null;
+        String join = null;
+        InetAddress bind = InetAddress.getLoopbackAddress();
+        long seed = System.nanoTime();
+        int delay = Lockstep.DEFAULT_DELAY;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--lockstep-host" -> hostPort = Integer.parseInt(args[++i]);
+                case "--lockstep-join" -> join = args[++i];
+                case "--bind" -> bind = InetAddress.getByName(args[++i]);
+                case "--seed" -> seed = Long.parseLong(args[++i]);
+                case "--delay" -> delay = Integer.parseInt(args[++i]);
+                default -> {
+                    System.err.println("Usage : Main [--lockstep-host port [--bind adresse] [--seed N] [--delay N] | --lockstep-join hote:port]");
+                    System.exit(2);
+                }
+            }
+        }
+
+        if (hostPort == null && join == null) {
+            SwingUtilities.invokeLater(GameFrame::new);
+            return;
+        }
+        Lockstep session;
+        if (hostPort != null) {
+            try (ServerSocket server = Lockstep.listen(bind, hostPort)) {
+                System.out.println("En attente du second joueur sur " + server.getLocalSocketAddress() + "...");
+                session = Lockstep.host(server, seed, delay);
+            }
+        } else {
+            int separator = join.lastIndexOf(':');
+            session = Lockstep.join(join.substring(0, separator), Integer.parseInt(join.substring(separator + 1)));
+        }
+        SwingUtilities.invokeLater(() -> new GameFrame(session));
     }
 }
@@ -0,0 +1,176 @@
+package org.example;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+final class MjpegAviWriter implements Closeable {
+    private static final int HEADER_SIZE = 224;
+    private static final int MOVI_FOURCC_OFFSET = 220;
+    private static final int AVIF_HASINDEX = 0x10;
+    private static final int AVIIF_KEYFRAME = 0x10;
+
+    private final FileChannel channel;
+    private final int width;
+    private final int height;
+    private final int framesPerSecond;
+    private int[] offsets = new int[256];
+    private int[] sizes = new int[256];
+    private int frameCount;
+    private int largestFrame;
+    private long position = HEADER_SIZE;
+    private boolean closed;
+
+    MjpegAviWriter(Path output, int width, int height, int framesPerSecond) throws IOException {
+        this.channel = FileChannel.open(output, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING);
+        this.width = width;
+        this.height = height;
+        this.framesPerSecond = Math.max(1, framesPerSecond);
+        writeFully(header(), 0);
+    }
+
+    void writeFrame(byte[] jpeg) throws IOException {
+        int padded = jpeg.length + (jpeg.length & 1);
+        ByteBuffer chunk = ByteBuffer.allocate(8 + padded).order(ByteOrder.LITTLE_ENDIAN);
+        putFourCc(chunk, "00dc");
+        chunk.putInt(jpeg.length);
+        chunk.put(jpeg);
+        chunk.flip();
+        chunk.limit(8 + padded);
+
+        if (frameCount == offsets.length) {
+            offsets = Arrays.copyOf(offsets, frameCount * 2);
+            sizes = Arrays.copyOf(sizes, frameCount * 2);
+        }
+        offsets[frameCount] = (int) (position - MOVI_FOURCC_OFFSET);
+        sizes[frameCount] = jpeg.length;
+        frameCount++;
+        largestFrame = Math.max(largestFrame, jpeg.length);
+
+        writeFully(chunk, position);
+        position += chunk.capacity();
+    }
+
+    int frameCount() {
+        return frameCount;
+    }
+
+    long size() {
+        return position;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            ByteBuffer index = ByteBuffer.allocate(8 + frameCount * 16).order(ByteOrder.LITTLE_ENDIAN);
+            putFourCc(index, "idx1");
+            index.putInt(frameCount * 16);
+            for (int i = 0; i < frameCount; i++) {
+                putFourCc(index, "00dc");
+                index.putInt(AVIIF_KEYFRAME);
+                index.putInt(offsets[i]);
+                index.putInt(sizes[i]);
+            }
+            index.flip();
+            long moviEnd = position;
+            writeFully(index, position);
+            position += index.capacity();
+            writeFully(header(moviEnd), 0);
+            channel.truncate(position);
+            channel.force(false);
+        } finally {
+            channel.close();
+        }
+    }
+
+    private ByteBuffer header() {
+        return header(HEADER_SIZE);
+    }
+
+    private ByteBuffer header(long moviEnd) {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        long riffSize = position - 8;
+        putFourCc(buffer, "RIFF");
+        buffer.putInt((int) riffSize);
+        putFourCc(buffer, "AVI ");
+
+        putFourCc(buffer, "LIST");
+        buffer.putInt(192);
+        putFourCc(buffer, "hdrl");
+        putFourCc(buffer, "avih");
+        buffer.putInt(56);
+        buffer.putInt(1_000_000 / framesPerSecond);
+        buffer.putInt(largestFrame * framesPerSecond);
+        buffer.putInt(0);
+        buffer.putInt(AVIF_HASINDEX);
+        buffer.putInt(frameCount);
+        buffer.putInt(0);
+        buffer.putInt(1);
+        buffer.putInt(largestFrame);
+        buffer.putInt(width);
+        buffer.putInt(height);
+        buffer.putInt(0).putInt(0).putInt(0).putInt(0);
+
+        putFourCc(buffer, "LIST");
+        buffer.putInt(116);
+        putFourCc(buffer, "strl");
+        putFourCc(buffer, "strh");
+        buffer.putInt(56);
+        putFourCc(buffer, "vids");
+        putFourCc(buffer, "MJPG");
+        buffer.putInt(0);
+        buffer.putShort((short) 0);
+        buffer.putShort((short) 0);
+        buffer.putInt(0);
+        buffer.putInt(1);
+        buffer.putInt(framesPerSecond);
+        buffer.putInt(0);
+        buffer.putInt(frameCount);
+        buffer.putInt(largestFrame);
+        buffer.putInt(-1);
+        buffer.putInt(0);
+        buffer.putShort((short) 0);
+        buffer.putShort((short) 0);
+        buffer.putShort((short) width);
+        buffer.putShort((short) height);
+
+        putFourCc(buffer, "strf");
+        buffer.putInt(40);
+        buffer.putInt(40);
+        buffer.putInt(width);
+        buffer.putInt(height);
+        buffer.putShort((short) 1);
+        buffer.putShort((short) 24);
+        putFourCc(buffer, "MJPG");
+        buffer.putInt(width * height * 3);
+        buffer.putInt(0).putInt(0).putInt(0).putInt(0);
+
+        putFourCc(buffer, "LIST");
+        buffer.putInt((int) (moviEnd - MOVI_FOURCC_OFFSET));
+        putFourCc(buffer, "movi");
+        buffer.flip();
+        return buffer;
+    }
+
+    private void writeFully(ByteBuffer buffer, long at) throws IOException {
+        long offset = at;
+        while (buffer.hasRemaining()) {
+            offset += channel.write(buffer, offset);
+        }
+    }
+
+    private static void putFourCc(ByteBuffer buffer, String fourCc) {
+        buffer.put(fourCc.getBytes(StandardCharsets.US_ASCII));
+    }
+}
@@ -0,0 +1,39 @@
+package org.example;
+
+import java.awt.Color;
+
+final class Nebula {
+    private final double centerX;
+    private final double centerY;
+    private final double radius;
+    private final Color innerColor;
+    private final Color midColor;
+
+    Nebula(double centerX, double centerY, double radius, Color innerColor, Color midColor) {
+        this.centerX = centerX;
+        this.centerY = centerY;
+        this.radius = radius;
+        this.innerColor = innerColor;
+        this.midColor = midColor;
+    }
+
+    double getCenterX() {
+        return centerX;
+    }
+
+    double getCenterY() {
+        return centerY;
+    }
+
+    double getRadius() {
+        return radius;
+    }
+
+    Color getInnerColor() {
+        return innerColor;
+    }
+
+    Color getMidColor() {
+        return midColor;
+    }
+}
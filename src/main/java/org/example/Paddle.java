@@ -3,6 +3,9 @@ package org.example;
 import java.awt.Color;
 import java.awt.Graphics2D;
 import java.awt.geom.Rectangle2D;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteBuffer;
 
 final class Paddle {
     private double x;
@@ -86,6 +89,38 @@ final class Paddle {
         return new Rectangle2D.Double(x, y, width, height);
     }
 
+    void writeState(ByteBuffer buffer) {
+        buffer.putDouble(x);
+        buffer.putInt(width);
+        buffer.putDouble(speed);
+        buffer.put((byte) ((onFire ? 1 : 0) | (radioactive ? 2 : 0)));
+    }
+
+    void writeTo(MemorySegment segment, long base) {
+        segment.set(ValueLayout.JAVA_DOUBLE, base + WorldLayout.PADDLE_X, x);
+        segment.set(ValueLayout.JAVA_DOUBLE, base + WorldLayout.PADDLE_SPEED, speed);
+        segment.set(ValueLayout.JAVA_INT, base + WorldLayout.PADDLE_WIDTH, width);
+        segment.set(ValueLayout.JAVA_BYTE, base + WorldLayout.PADDLE_FLAGS, (byte) ((onFire ? 1 : 0) | (radioactive ? 2 : 0)));
+    }
+
+    void readFrom(MemorySegment segment, long base) {
+        x = segment.get(ValueLayout.JAVA_DOUBLE, base + WorldLayout.PADDLE_X);
+        speed = segment.get(ValueLayout.JAVA_DOUBLE, base + WorldLayout.PADDLE_SPEED);
+        width = segment.get(ValueLayout.JAVA_INT, base + WorldLayout.PADDLE_WIDTH);
+        int flags = segment.get(ValueLayout.JAVA_BYTE, base + WorldLayout.PADDLE_FLAGS);
+        onFire = (flags & 1) != 0;
+        radioactive = (flags & 2) != 0;
+    }
+
+    void readState(ByteBuffer buffer) {
+        x = buffer.getDouble();
+        width = buffer.getInt();
+        speed = buffer.getDouble();
+        int flags = buffer.get();
+        onFire = (flags & 1) != 0;
+        radioactive = (flags & 2) != 0;
+    }
+
     void draw(Graphics2D g2) {
         int drawX = (int) Math.round(x);
         int drawY = (int) Math.round(y);
@@ -123,4 +158,32 @@ final class Paddle {
         g2.setColor(borderColor);
         g2.drawRoundRect(drawX, drawY, width, height, 20, 20);
     }
+
+    void draw(PixelCanvas canvas) {
+        int drawX = (int) Math.round(x);
+        int drawY = (int) Math.round(y);
+
+        if (radioactive) {
+            canvas.fillRoundRect(drawX - 6, drawY - 4, width + 12, height + 8, 28, 28, PixelCanvas.argb(110, 255, 170, 140));
+            canvas.fillRoundRect(drawX - 2, drawY - 1, width + 4, height + 2, 24, 24, PixelCanvas.argb(170, 255, 200, 210));
+        } else if (onFire) {
+            canvas.fillRoundRect(drawX - 6, drawY - 4, width + 12, height + 8, 28, 28, PixelCanvas.argb(255, 120, 0, 160));
+            canvas.fillRoundRect(drawX - 2, drawY - 1, width + 4, height + 2, 24, 24, PixelCanvas.argb(255, 200, 60, 200));
+        }
+
+        int bodyColor;
+        int borderColor;
+        if (radioactive) {
+            bodyColor = PixelCanvas.argb(200, 255, 215, 255);
+            borderColor = PixelCanvas.argb(100, 210, 140, 255);
+        } else if (onFire) {
+            bodyColor = PixelCanvas.argb(255, 245, 220, 255);
+            borderColor = PixelCanvas.argb(255, 150, 60, 255);
+        } else {
+            bodyColor = 0xFFF0F0F0;
+            borderColor = PixelCanvas.argb(220, 220, 220, 255);
+        }
+        canvas.fillRoundRect(drawX, drawY, width + 1, height + 1, 20, 20, bodyColor);
+        canvas.drawRoundRect(drawX, drawY, width + 1, height + 1, 20, 20, 1, borderColor);
+    }
 }
@@ -0,0 +1,449 @@
+package org.example;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+final class PixelCanvas {
+    private static final int MAX_SPRITE_DIAMETER = 64;
+
+    private static final class Glyph {
+        private final byte[] coverage;
+        private final int width;
+        private final int height;
+        private final int offsetX;
+        private final int offsetY;
+        private final int advance;
+
+        Glyph(byte[] coverage, int width, int height, int offsetX, int offsetY, int advance) {
+            this.coverage = coverage;
+            this.width = width;
+            this.height = height;
+            this.offsetX = offsetX;
+            this.offsetY = offsetY;
+            this.advance = advance;
+        }
+    }
+
+    private static final class GlyphAtlas {
+        private final Font font;
+        private final FontMetrics metrics;
+        private final Glyph[] latin = new Glyph[256];
+        private final Map<Character, Glyph> others = new HashMap<>();
+
+        GlyphAtlas(Font font) {
+            this.font = font;
+            BufferedImage scratch = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB);
+            Graphics2D g2 = scratch.createGraphics();
+            this.metrics = g2.getFontMetrics(font);
+            g2.dispose();
+        }
+
+        Glyph glyph(char c) {
+            if (c < latin.length) {
+                Glyph glyph = latin[c];
+                if (glyph == null) {
+                    glyph = rasterize(c);
+                    latin[c] = glyph;
+                }
+                return glyph;
+            }
+            return others.computeIfAbsent(c, this::rasterize);
+        }
+
+        private Glyph rasterize(char c) {
+            int advance = metrics.charWidth(c);
+            int pad = Math.max(2, font.getSize() / 4);
+            int width = Math.max(1, advance + pad * 2);
+            int height = Math.max(1, metrics.getAscent() + metrics.getDescent() + pad * 2);
+            BufferedImage cell = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+            Graphics2D g2 = cell.createGraphics();
+            g2.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g2.setFont(font);
+            g2.setColor(Color.WHITE);
+            g2.drawString(String.valueOf(c), pad, pad + metrics.getAscent());
+            g2.dispose();
+            int[] argb = ((DataBufferInt) cell.getRaster().getDataBuffer()).getData();
+            byte[] coverage = new byte[width * height];
+            for (int i = 0; i < argb.length; i++) {
+                coverage[i] = (byte) (argb[i] >>> 24);
+            }
+            return new Glyph(coverage, width, height, -pad, -pad - metrics.getAscent(), advance);
+        }
+    }
+
+    private final Map<Font, GlyphAtlas> atlases = new HashMap<>();
+    private final byte[][] discSprites = new byte[MAX_SPRITE_DIAMETER + 1][];
+    private int[] pixels;
+    private int width;
+    private int height;
+
+    void bind(BufferedImage target) {
+        int type = target.getType();
+        if (type != BufferedImage.TYPE_INT_RGB && type != BufferedImage.TYPE_INT_ARGB) {
+            throw new IllegalArgumentException("Image de type INT_RGB ou INT_ARGB attendue");
+        }
+        pixels = ((DataBufferInt) target.getRaster().getDataBuffer()).getData();
+        width = target.getWidth();
+        height = target.getHeight();
+    }
+
+    int getWidth() {
+        return width;
+    }
+
+    int getHeight() {
+        return height;
+    }
+
+    void copyFrom(int[] source) {
+        System.arraycopy(source, 0, pixels, 0, Math.min(source.length, pixels.length));
+    }
+
+    void fillRect(int x, int y, int w, int h, int argb) {
+        int x0 = Math.max(0, x);
+        int y0 = Math.max(0, y);
+        int x1 = Math.min(width, x + w);
+        int y1 = Math.min(height, y + h);
+        if (x0 >= x1 || y0 >= y1) {
+            return;
+        }
+        for (int row = y0; row < y1; row++) {
+            fillSpan(row, x0, x1, argb);
+        }
+    }
+
+    void fillVerticalGradient(int x, int y, int w, int h, int topArgb, int bottomArgb) {
+        if (h <= 0) {
+            return;
+        }
+        for (int row = 0; row < h; row++) {
+            int weight = h == 1 ? 0 : row * 256 / (h - 1);
+            fillRect(x, y + row, w, 1, lerpColor(topArgb, bottomArgb, weight));
+        }
+    }
+
+    void drawRect(int x, int y, int w, int h, int thickness, int argb) {
+        int t = Math.max(1, Math.min(thickness, Math.min(w, h) / 2 + 1));
+        fillRect(x, y, w, t, argb);
+        fillRect(x, y + h - t, w, t, argb);
+        fillRect(x, y + t, t, h - t * 2, argb);
+        fillRect(x + w - t, y + t, t, h - t * 2, argb);
+    }
+
+    void drawLine(int x0, int y0, int x1, int y1, int argb) {
+        int dx = Math.abs(x1 - x0);
+        int dy = -Math.abs(y1 - y0);
+        int sx = x0 < x1 ? 1 : -1;
+        int sy = y0 < y1 ? 1 : -1;
+        int error = dx + dy;
+        while (true) {
+            blendPixel(x0, y0, argb);
+            if (x0 == x1 && y0 == y1) {
+                return;
+            }
+            int doubled = error * 2;
+            if (doubled >= dy) {
+                error += dy;
+                x0 += sx;
+            }
+            if (doubled <= dx) {
+                error += dx;
+                y0 += sy;
+            }
+        }
+    }
+
+    void fillOval(int x, int y, int w, int h, int argb) {
+        fillRoundRect(x, y, w, h, w, h, argb);
+    }
+
+    void drawOval(int x, int y, int w, int h, int thickness, int argb) {
+        drawRoundRect(x, y, w, h, w, h, thickness, argb);
+    }
+
+    void fillRoundRect(int x, int y, int w, int h, int arcWidth, int arcHeight, int argb) {
+        if (w <= 0 || h <= 0) {
+            return;
+        }
+        int y0 = Math.max(0, y);
+        int y1 = Math.min(height, y + h);
+        for (int row = y0; row < y1; row++) {
+            int inset = roundRectInset(row - y, w, h, arcWidth, arcHeight);
+            if (inset < 0) {
+                continue;
+            }
+            int from = Math.max(0, x + inset);
+            int to = Math.min(width, x + w - inset);
+            if (from < to) {
+                fillSpan(row, from, to, argb);
+            }
+        }
+    }
+
+    void drawRoundRect(int x, int y, int w, int h, int arcWidth, int arcHeight, int thickness, int argb) {
+        if (w <= 0 || h <= 0) {
+            return;
+        }
+        int t = Math.max(1, thickness);
+        int innerW = w - t * 2;
+        int innerH = h - t * 2;
+        int innerArcW = Math.max(0, arcWidth - t * 2);
+        int innerArcH = Math.max(0, arcHeight - t * 2);
+        int y0 = Math.max(0, y);
+        int y1 = Math.min(height, y + h);
+        for (int row = y0; row < y1; row++) {
+            int inset = roundRectInset(row - y, w, h, arcWidth, arcHeight);
+            if (inset < 0) {
+                continue;
+            }
+            int outerFrom = x + inset;
+            int outerTo = x + w - inset;
+            int innerRow = row - y - t;
+            int innerInset = innerW > 0 && innerH > 0 && innerRow >= 0 && innerRow < innerH
+                ? roundRectInset(innerRow, innerW, innerH, innerArcW, innerArcH)
+                : -1;
+            if (innerInset < 0) {
+                clippedSpan(row, outerFrom, outerTo, argb);
+                continue;
+            }
+            int innerFrom = x + t + innerInset;
+            int innerTo = x + t + innerW - innerInset;
+            clippedSpan(row, outerFrom, Math.max(outerFrom, innerFrom), argb);
+            clippedSpan(row, Math.min(outerTo, innerTo), outerTo, argb);
+        }
+    }
+
+    void fillSoftDisc(double centerX, double centerY, double diameter, int argb) {
+        int size = (int) Math.max(1, Math.round(diameter));
+        if (size > MAX_SPRITE_DIAMETER) {
+            fillOval((int) Math.round(centerX - diameter / 2.0), (int) Math.round(centerY - diameter / 2.0), size, size, argb);
+            return;
+        }
+        byte[] sprite = discSprite(size);
+        int left = (int) Math.round(centerX - size / 2.0);
+        int top = (int) Math.round(centerY - size / 2.0);
+        int alpha = argb >>> 24;
+        int rgb = argb & 0xFFFFFF;
+        for (int j = 0; j < size; j++) {
+            int row = top + j;
+            if (row < 0 || row >= height) {
+                continue;
+            }
+            int offset = row * width;
+            for (int i = 0; i < size; i++) {
+                int column = left + i;
+                if (column < 0 || column >= width) {
+                    continue;
+                }
+                int coverage = sprite[j * size + i] & 0xFF;
+                if (coverage == 0) {
+                    continue;
+                }
+                int a = alpha * coverage / 255;
+                pixels[offset + column] = blend(pixels[offset + column], rgb, a);
+            }
+        }
+    }
+
+    void blendImage(int[] source, int sourceStride, int sourceX, int sourceY, int w, int h, int x, int y) {
+        for (int j = 0; j < h; j++) {
+            int row = y + j;
+            if (row < 0 || row >= height) {
+                continue;
+            }
+            int offset = row * width;
+            int sourceOffset = (sourceY + j) * sourceStride + sourceX;
+            for (int i = 0; i < w; i++) {
+                int column = x + i;
+                if (column < 0 || column >= width) {
+                    continue;
+                }
+                int argb = source[sourceOffset + i];
+                int alpha = argb >>> 24;
+                if (alpha != 0) {
+                    pixels[offset + column] = blend(pixels[offset + column], argb & 0xFFFFFF, alpha);
+                }
+            }
+        }
+    }
+
+    int stringWidth(Font font, String text) {
+        GlyphAtlas atlas = atlas(font);
+        int total = 0;
+        for (int i = 0; i < text.length(); i++) {
+            total += atlas.glyph(text.charAt(i)).advance;
+        }
+        return total;
+    }
+
+    int fontAscent(Font font) {
+        return atlas(font).metrics.getAscent();
+    }
+
+    int fontDescent(Font font) {
+        return atlas(font).metrics.getDescent();
+    }
+
+    int fontHeight(Font font) {
+        return atlas(font).metrics.getHeight();
+    }
+
+    void drawString(Font font, String text, int x, int baseline, int argb) {
+        GlyphAtlas atlas = atlas(font);
+        int alpha = argb >>> 24;
+        int rgb = argb & 0xFFFFFF;
+        int penX = x;
+        for (int i = 0; i < text.length(); i++) {
+            Glyph glyph = atlas.glyph(text.charAt(i));
+            int left = penX + glyph.offsetX;
+            int top = baseline + glyph.offsetY;
+            for (int j = 0; j < glyph.height; j++) {
+                int row = top + j;
+                if (row < 0 || row >= height) {
+                    continue;
+                }
+                int offset = row * width;
+                int coverageRow = j * glyph.width;
+                for (int k = 0; k < glyph.width; k++) {
+                    int coverage = glyph.coverage[coverageRow + k] & 0xFF;
+                    if (coverage == 0) {
+                        continue;
+                    }
+                    int column = left + k;
+                    if (column < 0 || column >= width) {
+                        continue;
+                    }
+                    pixels[offset + column] = blend(pixels[offset + column], rgb, alpha * coverage / 255);
+                }
+            }
+            penX += glyph.advance;
+        }
+    }
+
+    static int argb(Color color) {
+        return color.getRGB();
+    }
+
+    static int argb(int red, int green, int blue, int alpha) {
+        return clamp(alpha) << 24 | clamp(red) << 16 | clamp(green) << 8 | clamp(blue);
+    }
+
+    static int withAlpha(int argb, int alpha) {
+        return clamp(alpha) << 24 | argb & 0xFFFFFF;
+    }
+
+    static int lerpColor(int from, int to, int weight) {
+        int inverse = 256 - weight;
+        int a = ((from >>> 24) * inverse + (to >>> 24) * weight) >> 8;
+        int r = ((from >> 16 & 0xFF) * inverse + (to >> 16 & 0xFF) * weight) >> 8;
+        int g = ((from >> 8 & 0xFF) * inverse + (to >> 8 & 0xFF) * weight) >> 8;
+        int b = ((from & 0xFF) * inverse + (to & 0xFF) * weight) >> 8;
+        return a << 24 | r << 16 | g << 8 | b;
+    }
+
+    private void fillSpan(int row, int from, int to, int argb) {
+        int alpha = argb >>> 24;
+        if (alpha == 0) {
+            return;
+        }
+        int offset = row * width;
+        if (alpha == 255) {
+            Arrays.fill(pixels, offset + from, offset + to, argb | 0xFF000000);
+            return;
+        }
+        int rgb = argb & 0xFFFFFF;
+        for (int i = offset + from; i < offset + to; i++) {
+            pixels[i] = blend(pixels[i], rgb, alpha);
+        }
+    }
+
+    private void clippedSpan(int row, int from, int to, int argb) {
+        int clippedFrom = Math.max(0, from);
+        int clippedTo = Math.min(width, to);
+        if (clippedFrom < clippedTo) {
+            fillSpan(row, clippedFrom, clippedTo, argb);
+        }
+    }
+
+    private void blendPixel(int x, int y, int argb) {
+        if (x < 0 || y < 0 || x >= width || y >= height) {
+            return;
+        }
+        int index = y * width + x;
+        pixels[index] = blend(pixels[index], argb & 0xFFFFFF, argb >>> 24);
+    }
+
+    private static int roundRectInset(int row, int w, int h, int arcWidth, int arcHeight) {
+        if (row < 0 || row >= h) {
+            return -1;
+        }
+        double rx = Math.min(arcWidth, w) / 2.0;
+        double ry = Math.min(arcHeight, h) / 2.0;
+        if (rx <= 0 || ry <= 0) {
+            return 0;
+        }
+        double center = row + 0.5;
+        double dy;
+        if (center < ry) {
+            dy = ry - center;
+        } else if (center > h - ry) {
+            dy = center - (h - ry);
+        } else {
+            return 0;
+        }
+        double ratio = dy / ry;
+        if (ratio >= 1.0) {
+            return -1;
+        }
+        return (int) Math.round(rx - rx * Math.sqrt(1.0 - ratio * ratio));
+    }
+
+    private byte[] discSprite(int size) {
+        byte[] sprite = discSprites[size];
+        if (sprite == null) {
+            sprite = new byte[size * size];
+            double radius = size / 2.0;
+            for (int j = 0; j < size; j++) {
+                for (int i = 0; i < size; i++) {
+                    double dx = i + 0.5 - radius;
+                    double dy = j + 0.5 - radius;
+                    double edge = radius - Math.sqrt(dx * dx + dy * dy) + 0.5;
+                    sprite[j * size + i] = (byte) Math.round(Math.max(0.0, Math.min(1.0, edge)) * 255);
+                }
+            }
+            discSprites[size] = sprite;
+        }
+        return sprite;
+    }
+
+    private GlyphAtlas atlas(Font font) {
+        return atlases.computeIfAbsent(font, GlyphAtlas::new);
+    }
+
+    private static int blend(int destination, int rgb, int alpha) {
+        if (alpha <= 0) {
+            return destination;
+        }
+        if (alpha >= 255) {
+            return 0xFF000000 | rgb;
+        }
+        int a = alpha + (alpha >> 7);
+        int inverse = 256 - a;
+        int redBlue = ((rgb & 0xFF00FF) * a + (destination & 0xFF00FF) * inverse) >>> 8 & 0xFF00FF;
+        int green = ((rgb & 0xFF00) * a + (destination & 0xFF00) * inverse) >>> 8 & 0xFF00;
+        return 0xFF000000 | redBlue | green;
+    }
+
+    private static int clamp(int value) {
+        return Math.max(0, Math.min(255, value));
+    }
+}
@@ -0,0 +1,335 @@
+package org.example;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+
+final class PixelFrameRenderer implements FrameRenderer {
+    private static final int PANEL_WIDTH = GameWorld.PANEL_WIDTH;
+    private static final int PANEL_HEIGHT = GameWorld.PANEL_HEIGHT;
+    private static final Font LABEL_FONT = new Font("Roboto", Font.PLAIN, 14);
+    private static final Font VALUE_FONT = new Font("Roboto", Font.BOLD, 18);
+    private static final Font BONUS_TITLE_FONT = VALUE_FONT.deriveFont(Font.BOLD, 15f);
+    private static final Font HELP_FONT = new Font("Roboto", Font.PLAIN, 16);
+    private static final Font MESSAGE_FONT = new Font("Roboto", Font.BOLD, 22);
+    private static final Font PAUSE_TITLE_FONT = new Font("Roboto", Font.BOLD, 34);
+    private static final Font PAUSE_OPTION_FONT = new Font("Roboto", Font.PLAIN, 18);
+    private static final Font RECORDS_TITLE_FONT = new Font("Roboto", Font.BOLD, 19);
+    private static final Font RECORDS_SUMMARY_FONT = new Font("Roboto", Font.PLAIN, 15);
+    private static final Font TABLE_HEADER_FONT = new Font("Roboto Mono", Font.BOLD, 15);
+    private static final Font TABLE_FONT = new Font("Roboto Mono", Font.PLAIN, 15);
+    private static final Font SHOP_TITLE_FONT = new Font("Roboto", Font.BOLD, 26);
+    private static final Font SHOP_TEXT_FONT = new Font("Roboto", Font.PLAIN, 16);
+    private static final Font SHOP_ITEM_FONT = new Font("Roboto", Font.BOLD, 18);
+    private static final Font SHOP_DESCRIPTION_FONT = new Font("Roboto", Font.PLAIN, 14);
+
+    private final PixelCanvas canvas = new PixelCanvas();
+    private final Java2DFrameRenderer backgroundBaker = new Java2DFrameRenderer();
+    private final StarfieldAtlas starfieldAtlas = new StarfieldAtlas();
+    private QualityGovernor.Level quality = QualityGovernor.Level.FULL;
+
+    @Override
+    public void render(GameWorld world, BufferedImage target) {
+        if (target.getWidth() != PANEL_WIDTH || target.getHeight() != PANEL_HEIGHT) {
+            throw new IllegalArgumentException("Image " + PANEL_WIDTH + "x" + PANEL_HEIGHT + " attendue");
+        }
+        canvas.bind(target);
+        BufferedImage background = backgroundBaker.ensureBackgroundCache(world, 1.0);
+        canvas.copyFrom(((DataBufferInt) background.getRaster().getDataBuffer()).getData());
+        starfieldAtlas.draw(canvas, world, quality.starHalos());
+        for (Brick brick : world.getBricks()) {
+            brick.draw(canvas);
+        }
+        for (Explosion explosion : world.getExplosions()) {
+            explosion.draw(canvas);
+        }
+        world.getPaddle().draw(canvas);
+        world.getBall().draw(canvas);
+        drawOverlays(world);
+    }
+
+    void setQuality(QualityGovernor.Level quality) {
+        this.quality = quality;
+        backgroundBaker.setQuality(quality);
+    }
+
+    private void drawOverlays(GameWorld world) {
+        drawHud(world);
+
+        switch (world.getGameState()) {
+            case READY -> drawCenteredMessage("Appuyez sur ESPACE pour lancer la balle");
+            case PAUSED -> drawPauseMenu(world);
+            case LEVEL_COMPLETE -> drawCenteredMessage("Bravo ! Niveau suivant avec ESPACE");
+            case GAME_OVER -> drawCenteredMessage("Partie terminee - ESPACE pour rejouer");
+            default -> {
+            }
+        }
+
+        if (world.isHelpVisible() && world.getGameState() == GameWorld.GameState.READY) {
+            drawHelp();
+        }
+
+        if (world.isShopOpen()) {
+            drawShopOverlay(world);
+        }
+    }
+
+    private void drawHud(GameWorld world) {
+        int chipBackground = PixelCanvas.argb(14, 24, 42, 170);
+        int chipBorder = PixelCanvas.argb(110, 190, 255, 150);
+        int textColor = PixelCanvas.argb(225, 235, 255, 255);
+
+        int chipPaddingX = 12;
+        int chipPaddingY = 8;
+        int chipHeight = Math.max(canvas.fontHeight(LABEL_FONT), canvas.fontHeight(VALUE_FONT)) + chipPaddingY * 2;
+        int chipY = 12;
+        int startX = 14;
+
+        startX += drawHudChip(startX, chipY, chipPaddingX, chipHeight, "Score", formatScore(world.getScore()),
+            PixelCanvas.argb(86, 220, 250, 230), chipBackground, chipBorder, textColor) + 10;
+        startX += drawHudChip(startX, chipY, chipPaddingX, chipHeight, "Vies", String.valueOf(world.getLives()),
+            PixelCanvas.argb(255, 105, 97, 230), chipBackground, chipBorder, textColor) + 10;
+        startX += drawHudChip(startX, chipY, chipPaddingX, chipHeight, "Credits", String.valueOf(world.getCredits()),
+            PixelCanvas.argb(255, 214, 102, 230), chipBackground, chipBorder, textColor) + 10;
+        drawHudChip(startX, chipY, chipPaddingX, chipHeight, "Niveau", String.valueOf(Math.max(1, world.getLevel())),
+            PixelCanvas.argb(153, 128, 255, 230), chipBackground, chipBorder, textColor);
+
+        int statusY = chipY + chipHeight + 10;
+        if (world.isCheatMode()) {
+            canvas.drawString(LABEL_FONT, "Mode triche surchauffe !", 18, statusY, PixelCanvas.argb(255, 120, 0, 220));
+            statusY += 18;
+        } else if (world.isBonusActive(GameWorld.BonusType.PIERCE_BALL)) {
+            canvas.drawString(LABEL_FONT, "Balle percante active", 18, statusY, PixelCanvas.argb(255, 190, 60, 220));
+            statusY += 18;
+        }
+        if (!world.getShopMessage().isEmpty()) {
+            canvas.drawString(LABEL_FONT, world.getShopMessage(), 18, statusY, PixelCanvas.argb(200, 230, 255, 220));
+        }
+
+        drawBonusPanel(world, chipBackground, chipBorder, textColor, chipY);
+    }
+
+    private int drawHudChip(int x, int y, int paddingX, int height, String label, String value, int bulletColor,
+                            int background, int border, int textColor) {
+        int labelWidth = canvas.stringWidth(LABEL_FONT, label);
+        int valueWidth = canvas.stringWidth(VALUE_FONT, value);
+        int bulletRadius = 5;
+        int bulletDiameter = bulletRadius * 2;
+        int width = paddingX * 2 + bulletDiameter + 6 + labelWidth + 14 + valueWidth;
+
+        canvas.fillRoundRect(x, y, width, height, 18, 18, background);
+        canvas.drawRoundRect(x - 1, y - 1, width + 2, height + 2, 18, 18, 2, border);
+
+        int centerY = y + height / 2;
+        canvas.fillOval(x + paddingX, centerY - bulletRadius, bulletDiameter, bulletDiameter, bulletColor);
+
+        int textStart = x + paddingX + bulletDiameter + 6;
+        int labelBaseline = centerY + (canvas.fontAscent(LABEL_FONT) - canvas.fontDescent(LABEL_FONT)) / 2;
+        canvas.drawString(LABEL_FONT, label, textStart, labelBaseline, textColor);
+
+        int valueBaseline = centerY + (canvas.fontAscent(VALUE_FONT) - canvas.fontDescent(VALUE_FONT)) / 2;
+        canvas.drawString(VALUE_FONT, value, x + width - paddingX - valueWidth, valueBaseline, textColor);
+        return width;
+    }
+
+    private void drawBonusPanel(GameWorld world, int panelBackground, int panelBorder, int textColor, int panelY) {
+        int padding = 10;
+        int rowHeight = 22;
+        int panelWidth = 230;
+        int rows = Math.max(1, world.getActiveBonuses().size());
+        int panelHeight = padding * 2 + 18 + rows * rowHeight;
+        int panelX = PANEL_WIDTH - panelWidth - 16;
+
+        canvas.fillRoundRect(panelX, panelY, panelWidth, panelHeight, 16, 16, panelBackground);
+        canvas.drawRoundRect(panelX - 1, panelY - 1, panelWidth + 2, panelHeight + 2, 16, 16, 2, panelBorder);
+
+        int titleY = panelY + padding + 6;
+        canvas.drawString(BONUS_TITLE_FONT, "Bonus actifs", panelX + padding, titleY, textColor);
+
+        int rowBaseline = titleY + 14;
+        if (world.getActiveBonuses().isEmpty()) {
+            canvas.drawString(LABEL_FONT, "Aucun bonus en cours", panelX + padding, rowBaseline, PixelCanvas.withAlpha(textColor, 180));
+            return;
+        }
+
+        for (GameWorld.ActiveBonus bonus : world.getActiveBonuses()) {
+            int bulletRadius = 5;
+            int bulletY = rowBaseline - bulletRadius - 4;
+            canvas.fillOval(panelX + padding, bulletY, bulletRadius * 2, bulletRadius * 2,
+                PixelCanvas.withAlpha(colorForBonus(bonus.type()).getRGB(), 230));
+            int textX = panelX + padding + bulletRadius * 2 + 8;
+            canvas.drawString(LABEL_FONT, bonus.type().label(), textX, rowBaseline, textColor);
+
+            String remaining = bonus.remainingSeconds() + "s";
+            int valueWidth = canvas.stringWidth(VALUE_FONT, remaining);
+            canvas.drawString(VALUE_FONT, remaining, panelX + panelWidth - padding - valueWidth, rowBaseline, textColor);
+            rowBaseline += rowHeight;
+        }
+    }
+
+    private void drawHelp() {
+        String[] lines = {
+            "LEFT / RIGHT pour deplacer la raquette",
+            "ESPACE pour lancer ou continuer",
+            "P ou ECHAP pour ouvrir le menu pause",
+            "H pour afficher ou masquer l'aide"
+        };
+        int y = PANEL_HEIGHT - 120;
+        for (String line : lines) {
+            canvas.drawString(HELP_FONT, line, 30, y, PixelCanvas.argb(255, 255, 255, 180));
+            y += 22;
+        }
+    }
+
+    private void drawCenteredMessage(String message) {
+        int textWidth = canvas.stringWidth(MESSAGE_FONT, message);
+        int x = (PANEL_WIDTH - textWidth) / 2;
+        int y = PANEL_HEIGHT / 2;
+        canvas.fillRoundRect(x - 30, y - 40, textWidth + 60, 80, 20, 20, PixelCanvas.argb(0, 0, 0, 170));
+        canvas.drawString(MESSAGE_FONT, message, x, y + 6, 0xFFFFFFFF);
+    }
+
+    private void drawPauseMenu(GameWorld world) {
+        if (!world.isPauseMenuVisible()) {
+            drawCenteredMessage("Jeu en pause");
+            return;
+        }
+
+        canvas.fillRect(0, 0, PANEL_WIDTH, PANEL_HEIGHT, PixelCanvas.argb(0, 0, 0, 170));
+
+        int panelWidth = 520;
+        int panelHeight = 380;
+        int panelX = (PANEL_WIDTH - panelWidth) / 2;
+        int panelY = (PANEL_HEIGHT - panelHeight) / 2;
+
+        canvas.fillRoundRect(panelX, panelY, panelWidth, panelHeight, 28, 28, PixelCanvas.argb(28, 34, 56, 230));
+        canvas.drawRoundRect(panelX - 1, panelY - 1, panelWidth + 3, panelHeight + 3, 28, 28, 3, PixelCanvas.argb(120, 190, 255, 220));
+
+        canvas.drawString(PAUSE_TITLE_FONT, "Pause", panelX + 25, panelY + 55, 0xFFFFFFFF);
+
+        String[] options = {
+            "Echap / P   - Reprendre la partie",
+            "ESPACE      - Continuer",
+            "ENTREE      - Recommencer la manche",
+            "Q           - Nouvelle partie"
+        };
+        int y = panelY + 100;
+        for (String option : options) {
+            canvas.drawString(PAUSE_OPTION_FONT, option, panelX + 25, y, 0xFFFFFFFF);
+            y += 32;
+        }
+
+        drawRecordsTable(world, panelX, panelY, panelWidth);
+    }
+
+    private void drawRecordsTable(GameWorld world, int panelX, int panelY, int panelWidth) {
+        int titleY = panelY + 170;
+        canvas.drawString(RECORDS_TITLE_FONT, "Tableau des scores / records", panelX + 25, titleY, PixelCanvas.argb(200, 220, 255, 255));
+
+        int summaryY = titleY + 24;
+        String summary = String.format(
+            "Record perso : %s pts | Niveau %d | Credits max %d",
+            formatScore(Math.max(world.getPersonalBestScore(), world.getScore())),
+            Math.max(world.getPersonalBestLevel(), world.getLevel()),
+            Math.max(world.getPersonalBestCredits(), world.getCredits()));
+        canvas.drawString(RECORDS_SUMMARY_FONT, summary, panelX + 25, summaryY, PixelCanvas.argb(215, 225, 245, 255));
+
+        int boxY = summaryY + 12;
+        int boxHeight = 165;
+        canvas.fillRoundRect(panelX + 15, boxY, panelWidth - 30, boxHeight, 20, 20, PixelCanvas.argb(12, 18, 34, 200));
+        canvas.drawRoundRect(panelX + 15, boxY, panelWidth - 29, boxHeight + 1, 20, 20, 1, PixelCanvas.argb(120, 190, 255, 140));
+
+        int colRank = panelX + 30;
+        int colScore = panelX + 90;
+        int colLevel = panelX + 230;
+        int colNote = panelX + 320;
+        int headerY = boxY + 28;
+
+        int headerColor = PixelCanvas.argb(190, 210, 255, 255);
+        canvas.drawString(TABLE_HEADER_FONT, "#", colRank, headerY, headerColor);
+        canvas.drawString(TABLE_HEADER_FONT, "Score", colScore, headerY, headerColor);
+        canvas.drawString(TABLE_HEADER_FONT, "Niveau", colLevel, headerY, headerColor);
+        canvas.drawString(TABLE_HEADER_FONT, "Etat", colNote, headerY, headerColor);
+
+        int rowColor = PixelCanvas.argb(225, 230, 255, 255);
+        int rowY = headerY + 24;
+        drawScoreRow("Actuel", world.getScore(), world.getLevel(), world.describeCurrentRun(), colRank, colScore, colLevel, colNote, rowY, rowColor);
+
+        if (world.getScoreRecords().isEmpty()) {
+            canvas.drawString(TABLE_FONT, "Aucun record enregistre pour le moment", colScore, rowY + 26, PixelCanvas.argb(200, 210, 230, 255));
+            return;
+        }
+
+        int rank = 1;
+        for (GameWorld.ScoreRecord record : world.getScoreRecords()) {
+            rowY += 22;
+            drawScoreRow(String.valueOf(rank), record.score(), record.level(), record.note(), colRank, colScore, colLevel, colNote, rowY, rowColor);
+            rank++;
+            if (rank > GameWorld.SCORE_HISTORY_LIMIT) {
+                break;
+            }
+        }
+    }
+
+    private void drawScoreRow(String label, int scoreValue, int levelValue, String note,
+                              int colRank, int colScore, int colLevel, int colNote, int y, int color) {
+        canvas.drawString(TABLE_FONT, label, colRank, y, color);
+        canvas.drawString(TABLE_FONT, formatScore(scoreValue), colScore, y, color);
+        canvas.drawString(TABLE_FONT, String.valueOf(Math.max(1, levelValue)), colLevel, y, color);
+        canvas.drawString(TABLE_FONT, note, colNote, y, color);
+    }
+
+    private void drawShopOverlay(GameWorld world) {
+        canvas.fillRect(0, 0, PANEL_WIDTH, PANEL_HEIGHT, PixelCanvas.argb(0, 0, 0, 170));
+
+        int panelWidth = 560;
+        int panelHeight = 280;
+        int panelX = (PANEL_WIDTH - panelWidth) / 2;
+        int panelY = (PANEL_HEIGHT - panelHeight) / 2;
+
+        canvas.fillRoundRect(panelX, panelY, panelWidth, panelHeight, 24, 24, PixelCanvas.argb(30, 30, 60, 230));
+        canvas.drawRoundRect(panelX - 1, panelY - 1, panelWidth + 2, panelHeight + 2, 24, 24, 2, PixelCanvas.argb(200, 200, 255, 220));
+
+        canvas.drawString(SHOP_TITLE_FONT, "Boutique", panelX + 26, panelY + 46, 0xFFFFFFFF);
+        canvas.drawString(SHOP_TEXT_FONT, "Credits disponibles : " + world.getCredits(), panelX + 26, panelY + 78, 0xFFFFFFFF);
+        canvas.drawString(SHOP_TEXT_FONT, "Appuyez sur 1-3 pour acheter, B ou ECHAP pour fermer", panelX + 26, panelY + panelHeight - 32, 0xFFFFFFFF);
+
+        int itemY = panelY + 112;
+        for (GameWorld.BonusType bonus : GameWorld.BonusType.values()) {
+            boolean affordable = world.getCredits() >= bonus.cost();
+            String title = bonus.keyLabel() + ". " + bonus.label() + " - " + bonus.cost() + " credits (" + bonus.durationSeconds() + "s)";
+            canvas.drawString(SHOP_ITEM_FONT, title, panelX + 26, itemY, affordable ? 0xFFFFFFFF : PixelCanvas.argb(200, 90, 90, 255));
+            canvas.drawString(SHOP_DESCRIPTION_FONT, bonus.description(), panelX + 26, itemY + 20, PixelCanvas.argb(200, 210, 255, 255));
+            if (world.isBonusActive(bonus)) {
+                canvas.drawString(SHOP_DESCRIPTION_FONT, "Actif (" + world.getRemainingSecondsFor(bonus) + "s restants)",
+                    panelX + 26, itemY + 38, PixelCanvas.argb(120, 220, 140, 255));
+            }
+            itemY += 64;
+        }
+    }
+
+    private Color colorForBonus(GameWorld.BonusType type) {
+        return switch (type) {
+            case PADDLE_GROW -> new Color(88, 214, 141);
+            case PIERCE_BALL -> new Color(255, 196, 87);
+            case SCORE_BOOST -> new Color(134, 190, 255);
+        };
+    }
+
+    private String formatScore(int value) {
+        int safe = Math.max(0, value);
+        String digits = Integer.toString(safe);
+        StringBuilder builder = new StringBuilder();
+        int counter = 0;
+        for (int i = digits.length() - 1; i >= 0; i--) {
+            builder.append(digits.charAt(i));
+            counter++;
+            if (counter == 3 && i > 0) {
+                builder.append(' ');
+                counter = 0;
+            }
+        }
+        return builder.reverse().toString();
+    }
+}
@@ -0,0 +1,206 @@
+package org.example;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+
+final class QualityGovernor {
+    enum Level {
+        FULL("Complete"),
+        NO_STAR_HALOS("Sans halos d'etoiles"),
+        NO_RADIOACTIVE_TRAIL("Sans trainee radioactive"),
+        NO_NEBULAS("Sans nebuleuses"),
+        NO_ANTIALIASING("Sans anticrenelage"),
+        REDUCED_PARTICLES("Particules reduites");
+
+        private final String label;
+
+        Level(String label) {
+            this.label = label;
+        }
+
+        String label() {
+            return label;
+        }
+
+        boolean starHalos() {
+            return ordinal() < NO_STAR_HALOS.ordinal();
+        }
+
+        boolean radioactiveTrail() {
+            return ordinal() < NO_RADIOACTIVE_TRAIL.ordinal();
+        }
+
+        boolean nebulas() {
+            return ordinal() < NO_NEBULAS.ordinal();
+        }
+
+        boolean antialiasing() {
+            return ordinal() < NO_ANTIALIASING.ordinal();
+        }
+
+        double particleFactor() {
+            return ordinal() < REDUCED_PARTICLES.ordinal() ? 1.0 : 0.4;
+        }
+
+        Level lower() {
+            Level[] levels = values();
+            return levels[Math.min(levels.length - 1, ordinal() + 1)];
+        }
+
+        Level higher() {
+            return values()[Math.max(0, ordinal() - 1)];
+        }
+    }
+
+    static final class Transition {
+        private final long tick;
+        private final Level from;
+        private final Level to;
+        private final double frameMillis;
+
+        private Transition(long tick, Level from, Level to, double frameMillis) {
+            this.tick = tick;
+            this.from = from;
+            this.to = to;
+            this.frameMillis = frameMillis;
+        }
+
+        long tick() {
+            return tick;
+        }
+
+        Level from() {
+            return from;
+        }
+
+        Level to() {
+            return to;
+        }
+
+        double frameMillis() {
+            return frameMillis;
+        }
+    }
+
+    private static final int WINDOW_SIZE = 90;
+    private static final int HISTORY_LIMIT = 32;
+    private static final double DOWNGRADE_RATIO = 0.85;
+    private static final double UPGRADE_RATIO = 0.5;
+    private static final int UPGRADE_STABLE_WINDOWS = 3;
+
+    private final long frameBudgetNanos;
+    private final long[] updateSamples = new long[WINDOW_SIZE];
+    private final long[] paintSamples = new long[WINDOW_SIZE];
+    private int updateCount;
+    private int updateIndex;
+    private long updateTotal;
+    private int paintCount;
+    private int paintIndex;
+    private long paintTotal;
+    private int headroomWindows;
+    private long ticks;
+    private Level level = Level.FULL;
+    private final Deque<Transition> history = new ArrayDeque<>();
+
+    QualityGovernor(long frameBudgetNanos) {
+        this.frameBudgetNanos = Math.max(1, frameBudgetNanos);
+    }
+
+    void recordUpdate(long nanos) {
+        ticks++;
+        updateTotal -= updateSamples[updateIndex];
+        updateSamples[updateIndex] = Math.max(0, nanos);
+        updateTotal += updateSamples[updateIndex];
+        updateIndex = (updateIndex + 1) % WINDOW_SIZE;
+        if (updateCount < WINDOW_SIZE) {
+            updateCount++;
+        }
+    }
+
+    void recordPaint(long nanos) {
+        paintTotal -= paintSamples[paintIndex];
+        paintSamples[paintIndex] = Math.max(0, nanos);
+        paintTotal += paintSamples[paintIndex];
+        paintIndex = (paintIndex + 1) % WINDOW_SIZE;
+        if (paintCount < WINDOW_SIZE) {
+            paintCount++;
+        }
+    }
+
+    boolean evaluate() {
+        if (updateCount < WINDOW_SIZE || paintCount == 0) {
+            return false;
+        }
+        double frameNanos = averageUpdateNanos() + averagePaintNanos();
+        if (frameNanos > frameBudgetNanos * DOWNGRADE_RATIO) {
+            headroomWindows = 0;
+            return changeLevel(level.lower(), frameNanos);
+        }
+        if (frameNanos < frameBudgetNanos * UPGRADE_RATIO) {
+            headroomWindows++;
+            if (headroomWindows >= UPGRADE_STABLE_WINDOWS) {
+                headroomWindows = 0;
+                return changeLevel(level.higher(), frameNanos);
+            }
+            resetWindow();
+            return false;
+        }
+        headroomWindows = 0;
+        return false;
+    }
+
+    Level currentLevel() {
+        return level;
+    }
+
+    List<Transition> history() {
+        return new ArrayList<>(history);
+    }
+
+    double averageUpdateMillis() {
+        return averageUpdateNanos() / 1_000_000.0;
+    }
+
+    double averagePaintMillis() {
+        return averagePaintNanos() / 1_000_000.0;
+    }
+
+    double frameBudgetMillis() {
+        return frameBudgetNanos / 1_000_000.0;
+    }
+
+    private boolean changeLevel(Level target, double frameNanos) {
+        resetWindow();
+        if (target == level) {
+            return false;
+        }
+        history.addLast(new Transition(ticks, level, target, frameNanos / 1_000_000.0));
+        while (history.size() > HISTORY_LIMIT) {
+            history.removeFirst();
+        }
+        level = target;
+        return true;
+    }
+
+    private void resetWindow() {
+        updateCount = 0;
+        updateIndex = 0;
+        updateTotal = 0;
+        paintCount = 0;
+        paintIndex = 0;
+        paintTotal = 0;
+        Arrays.fill(updateSamples, 0);
+        Arrays.fill(paintSamples, 0);
+    }
+
+    private double averageUpdateNanos() {
+        return updateCount == 0 ? 0.0 : (double) updateTotal / updateCount;
+    }
+
+    private double averagePaintNanos() {
+        return paintCount == 0 ? 0.0 : (double) paintTotal / paintCount;
+    }
+}
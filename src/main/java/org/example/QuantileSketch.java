@@ -0,0 +1,173 @@
+package org.example;
+
+import java.util.Arrays;
+
+final class QuantileSketch {
+    static final int DEFAULT_ACCURACY = 200;
+
+    private static final int MIN_LEVEL_CAPACITY = 8;
+    private static final double LEVEL_DECAY = 2.0 / 3.0;
+
+    private final int accuracy;
+    private double[][] levels = new double[1][MIN_LEVEL_CAPACITY];
+    private int[] sizes = new int[1];
+    private int[] capacities;
+    private long count;
+    private double sum;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+    private long coinState;
+
+    QuantileSketch() {
+        this(DEFAULT_ACCURACY);
+    }
+
+    QuantileSketch(int accuracy) {
+        if (accuracy < MIN_LEVEL_CAPACITY) {
+            throw new IllegalArgumentException("Precision de sketch invalide : " + accuracy);
+        }
+        this.accuracy = accuracy;
+        this.capacities = capacities(1);
+    }
+
+    void add(double value) {
+        append(0, value);
+        count++;
+        sum += value;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+        if (sizes[0] >= capacities[0]) {
+            compress();
+        }
+    }
+
+    void merge(QuantileSketch other) {
+        if (other.count == 0) {
+            return;
+        }
+        for (int h = 0; h < other.levels.length; h++) {
+            for (int i = 0; i < other.sizes[h]; i++) {
+                append(h, other.levels[h][i]);
+            }
+        }
+        count += other.count;
+        sum += other.sum;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+        compress();
+    }
+
+    long count() {
+        return count;
+    }
+
+    double mean() {
+        return count == 0 ? Double.NaN : sum / count;
+    }
+
+    double min() {
+        return count == 0 ? Double.NaN : min;
+    }
+
+    double max() {
+        return count == 0 ? Double.NaN : max;
+    }
+
+    int retained() {
+        int retained = 0;
+        for (int size : sizes) {
+            retained += size;
+        }
+        return retained;
+    }
+
+    double quantile(double q) {
+        if (count == 0) {
+            return Double.NaN;
+        }
+        if (q <= 0.0) {
+            return min;
+        }
+        if (q >= 1.0) {
+            return max;
+        }
+        int retained = retained();
+        double[] values = new double[retained];
+        long[] weights = new long[retained];
+        int n = 0;
+        for (int h = 0; h < levels.length; h++) {
+            double[] level = levels[h];
+            for (int i = 0; i < sizes[h]; i++) {
+                values[n] = level[i];
+                weights[n] = 1L << h;
+                n++;
+            }
+        }
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Double.compare(values[a], values[b]));
+        long target = (long) Math.ceil(q * count);
+        long cumulative = 0;
+        for (int index : order) {
+            cumulative += weights[index];
+            if (cumulative >= target) {
+                return values[index];
+            }
+        }
+        return max;
+    }
+
+    private int[] capacities(int levelCount) {
+        int[] result = new int[levelCount];
+        for (int h = 0; h < levelCount; h++) {
+            int depth = levelCount - 1 - h;
+            result[h] = Math.max(MIN_LEVEL_CAPACITY, (int) Math.ceil(accuracy * Math.pow(LEVEL_DECAY, depth)));
+        }
+        return result;
+    }
+
+    private void compress() {
+        for (int h = 0; h < levels.length; h++) {
+            if (sizes[h] >= capacities[h]) {
+                compact(h);
+            }
+        }
+    }
+
+    private void compact(int level) {
+        double[] items = levels[level];
+        int size = sizes[level];
+        Arrays.sort(items, 0, size);
+        int keep = size & 1;
+        for (int i = keep + coin(); i < size; i += 2) {
+            append(level + 1, items[i]);
+        }
+        sizes[level] = keep;
+    }
+
+    private int coin() {
+        coinState += 0x9E3779B97F4A7C15L;
+        long z = coinState;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return (int) ((z ^ (z >>> 31)) >>> 63);
+    }
+
+    private void append(int level, double value) {
+        if (level >= levels.length) {
+            int previous = levels.length;
+            levels = Arrays.copyOf(levels, level + 1);
+            sizes = Arrays.copyOf(sizes, level + 1);
+            for (int h = previous; h <= level; h++) {
+                levels[h] = new double[MIN_LEVEL_CAPACITY];
+            }
+            capacities = capacities(level + 1);
+        }
+        if (sizes[level] == levels[level].length) {
+            levels[level] = Arrays.copyOf(levels[level], levels[level].length * 2);
+        }
+        levels[level][sizes[level]++] = value;
+    }
+}
@@ -0,0 +1,572 @@
+package org.example;
+
+import java.awt.Color;
+import java.awt.Composite;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.Image;
+import java.awt.Paint;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.Shape;
+import java.awt.Stroke;
+import java.awt.font.FontRenderContext;
+import java.awt.font.GlyphVector;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Area;
+import java.awt.geom.NoninvertibleTransformException;
+import java.awt.geom.Path2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.geom.RectangularShape;
+import java.awt.image.BufferedImage;
+import java.awt.image.BufferedImageOp;
+import java.awt.image.ImageObserver;
+import java.awt.image.RenderedImage;
+import java.awt.image.renderable.RenderableImage;
+import java.text.AttributedCharacterIterator;
+import java.text.AttributedString;
+import java.util.Arrays;
+import java.util.Map;
+
+final class RecordingGraphics extends Graphics2D {
+    private final DisplayList list;
+    private final Graphics2D shadow;
+    private final AffineTransform base;
+    private final boolean child;
+    private AffineTransform transform;
+    private Shape deviceClip;
+
+    RecordingGraphics(DisplayList list, Graphics2D template) {
+        this.list = list;
+        this.shadow = (Graphics2D) template.create();
+        this.base = shadow.getTransform();
+        this.transform = new AffineTransform();
+        this.child = false;
+    }
+
+    private RecordingGraphics(RecordingGraphics parent) {
+        this.list = parent.list;
+        this.shadow = (Graphics2D) parent.shadow.create();
+        this.base = parent.base;
+        this.transform = new AffineTransform(parent.transform);
+        this.deviceClip = parent.deviceClip;
+        this.child = true;
+    }
+
+    @Override
+    public Graphics create() {
+        list.add(DisplayList.PUSH);
+        return new RecordingGraphics(this);
+    }
+
+    @Override
+    public void dispose() {
+        if (child) {
+            list.add(DisplayList.POP);
+        }
+        shadow.dispose();
+    }
+
+    @Override
+    public Color getColor() {
+        return shadow.getColor();
+    }
+
+    @Override
+    public void setColor(Color c) {
+        if (c == null || c.equals(shadow.getPaint())) {
+            return;
+        }
+        shadow.setColor(c);
+        list.add(DisplayList.SET_COLOR);
+        list.ref(c);
+    }
+
+    @Override
+    public Paint getPaint() {
+        return shadow.getPaint();
+    }
+
+    @Override
+    public void setPaint(Paint paint) {
+        if (paint == null || paint.equals(shadow.getPaint())) {
+            return;
+        }
+        shadow.setPaint(paint);
+        list.add(DisplayList.SET_PAINT);
+        list.ref(paint);
+    }
+
+    @Override
+    public Stroke getStroke() {
+        return shadow.getStroke();
+    }
+
+    @Override
+    public void setStroke(Stroke s) {
+        if (s == null || s.equals(shadow.getStroke())) {
+            return;
+        }
+        shadow.setStroke(s);
+        list.add(DisplayList.SET_STROKE);
+        list.ref(s);
+    }
+
+    @Override
+    public Font getFont() {
+        return shadow.getFont();
+    }
+
+    @Override
+    public void setFont(Font font) {
+        if (font == null || font.equals(shadow.getFont())) {
+            return;
+        }
+        shadow.setFont(font);
+        list.add(DisplayList.SET_FONT);
+        list.ref(font);
+    }
+
+    @Override
+    public Composite getComposite() {
+        return shadow.getComposite();
+    }
+
+    @Override
+    public void setComposite(Composite comp) {
+        if (comp == null || comp.equals(shadow.getComposite())) {
+            return;
+        }
+        shadow.setComposite(comp);
+        list.add(DisplayList.SET_COMPOSITE);
+        list.ref(comp);
+    }
+
+    @Override
+    public Color getBackground() {
+        return shadow.getBackground();
+    }
+
+    @Override
+    public void setBackground(Color color) {
+        shadow.setBackground(color);
+        list.add(DisplayList.SET_BACKGROUND);
+        list.ref(color);
+    }
+
+    @Override
+    public void setPaintMode() {
+        shadow.setPaintMode();
+        list.add(DisplayList.PAINT_MODE);
+    }
+
+    @Override
+    public void setXORMode(Color c1) {
+        shadow.setXORMode(c1);
+        list.add(DisplayList.XOR_MODE);
+        list.ref(c1);
+    }
+
+    @Override
+    public Object getRenderingHint(RenderingHints.Key hintKey) {
+        return shadow.getRenderingHint(hintKey);
+    }
+
+    @Override
+    public void setRenderingHint(RenderingHints.Key hintKey, Object hintValue) {
+        if (hintValue != null && hintValue.equals(shadow.getRenderingHint(hintKey))) {
+            return;
+        }
+        shadow.setRenderingHint(hintKey, hintValue);
+        list.add(DisplayList.SET_HINT);
+        list.ref(hintKey);
+        list.ref(hintValue);
+    }
+
+    @Override
+    public void setRenderingHints(Map<?, ?> hints) {
+        addRenderingHints(hints);
+    }
+
+    @Override
+    public void addRenderingHints(Map<?, ?> hints) {
+        for (Map.Entry<?, ?> entry : hints.entrySet()) {
+            if (entry.getKey() instanceof RenderingHints.Key key) {
+                setRenderingHint(key, entry.getValue());
+            }
+        }
+    }
+
+    @Override
+    public RenderingHints getRenderingHints() {
+        return shadow.getRenderingHints();
+    }
+
+    @Override
+    public AffineTransform getTransform() {
+        return new AffineTransform(transform);
+    }
+
+    @Override
+    public void setTransform(AffineTransform tx) {
+        transform = new AffineTransform(tx);
+        transformChanged();
+    }
+
+    @Override
+    public void transform(AffineTransform tx) {
+        transform.concatenate(tx);
+        transformChanged();
+    }
+
+    @Override
+    public void translate(int x, int y) {
+        translate((double) x, (double) y);
+    }
+
+    @Override
+    public void translate(double tx, double ty) {
+        transform.translate(tx, ty);
+        transformChanged();
+    }
+
+    @Override
+    public void rotate(double theta) {
+        transform.rotate(theta);
+        transformChanged();
+    }
+
+    @Override
+    public void rotate(double theta, double x, double y) {
+        transform.rotate(theta, x, y);
+        transformChanged();
+    }
+
+    @Override
+    public void scale(double sx, double sy) {
+        transform.scale(sx, sy);
+        transformChanged();
+    }
+
+    @Override
+    public void shear(double shx, double shy) {
+        transform.shear(shx, shy);
+        transformChanged();
+    }
+
+    private void transformChanged() {
+        AffineTransform absolute = new AffineTransform(base);
+        absolute.concatenate(transform);
+        shadow.setTransform(absolute);
+        list.add(DisplayList.SET_TRANSFORM);
+        list.arg(transform.getScaleX());
+        list.arg(transform.getShearY());
+        list.arg(transform.getShearX());
+        list.arg(transform.getScaleY());
+        list.arg(transform.getTranslateX());
+        list.arg(transform.getTranslateY());
+    }
+
+    @Override
+    public Shape getClip() {
+        if (deviceClip == null) {
+            return null;
+        }
+        try {
+            return transform.createInverse().createTransformedShape(deviceClip);
+        } catch (NoninvertibleTransformException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public Rectangle getClipBounds() {
+        Shape clip = getClip();
+        return clip == null ? null : clip.getBounds();
+    }
+
+    @Override
+    public void clipRect(int x, int y, int width, int height) {
+        clip(new Rectangle(x, y, width, height));
+    }
+
+    @Override
+    public void setClip(int x, int y, int width, int height) {
+        setClip(new Rectangle(x, y, width, height));
+    }
+
+    @Override
+    public void setClip(Shape clip) {
+        deviceClip = clip == null ? null : transform.createTransformedShape(clip);
+        clipChanged();
+    }
+
+    @Override
+    public void clip(Shape s) {
+        if (s == null) {
+            setClip(null);
+            return;
+        }
+        Shape transformed = transform.createTransformedShape(s);
+        if (deviceClip == null) {
+            deviceClip = transformed;
+        } else {
+            Area area = new Area(deviceClip);
+            area.intersect(new Area(transformed));
+            deviceClip = area;
+        }
+        clipChanged();
+    }
+
+    private void clipChanged() {
+        shadow.setClip(getClip());
+        list.add(DisplayList.SET_CLIP);
+        list.ref(deviceClip);
+    }
+
+    @Override
+    public FontMetrics getFontMetrics(Font f) {
+        return shadow.getFontMetrics(f);
+    }
+
+    @Override
+    public FontRenderContext getFontRenderContext() {
+        return shadow.getFontRenderContext();
+    }
+
+    @Override
+    public GraphicsConfiguration getDeviceConfiguration() {
+        return shadow.getDeviceConfiguration();
+    }
+
+    @Override
+    public boolean hit(Rectangle rect, Shape s, boolean onStroke) {
+        return shadow.hit(rect, s, onStroke);
+    }
+
+    @Override
+    public void copyArea(int x, int y, int width, int height, int dx, int dy) {
+        recordInts(DisplayList.COPY_AREA, x, y, width, height, dx, dy);
+    }
+
+    @Override
+    public void drawLine(int x1, int y1, int x2, int y2) {
+        recordInts(DisplayList.DRAW_LINE, x1, y1, x2, y2);
+    }
+
+    @Override
+    public void fillRect(int x, int y, int width, int height) {
+        recordInts(DisplayList.FILL_RECT, x, y, width, height);
+    }
+
+    @Override
+    public void clearRect(int x, int y, int width, int height) {
+        recordInts(DisplayList.CLEAR_RECT, x, y, width, height);
+    }
+
+    @Override
+    public void drawRoundRect(int x, int y, int width, int height, int arcWidth, int arcHeight) {
+        recordInts(DisplayList.DRAW_ROUND_RECT, x, y, width, height, arcWidth, arcHeight);
+    }
+
+    @Override
+    public void fillRoundRect(int x, int y, int width, int height, int arcWidth, int arcHeight) {
+        recordInts(DisplayList.FILL_ROUND_RECT, x, y, width, height, arcWidth, arcHeight);
+    }
+
+    @Override
+    public void drawOval(int x, int y, int width, int height) {
+        recordInts(DisplayList.DRAW_OVAL, x, y, width, height);
+    }
+
+    @Override
+    public void fillOval(int x, int y, int width, int height) {
+        recordInts(DisplayList.FILL_OVAL, x, y, width, height);
+    }
+
+    @Override
+    public void drawArc(int x, int y, int width, int height, int startAngle, int arcAngle) {
+        recordInts(DisplayList.DRAW_ARC, x, y, width, height, startAngle, arcAngle);
+    }
+
+    @Override
+    public void fillArc(int x, int y, int width, int height, int startAngle, int arcAngle) {
+        recordInts(DisplayList.FILL_ARC, x, y, width, height, startAngle, arcAngle);
+    }
+
+    @Override
+    public void drawPolyline(int[] xPoints, int[] yPoints, int nPoints) {
+        recordPolygon(DisplayList.DRAW_POLYLINE, xPoints, yPoints, nPoints);
+    }
+
+    @Override
+    public void drawPolygon(int[] xPoints, int[] yPoints, int nPoints) {
+        recordPolygon(DisplayList.DRAW_POLYGON, xPoints, yPoints, nPoints);
+    }
+
+    @Override
+    public void fillPolygon(int[] xPoints, int[] yPoints, int nPoints) {
+        recordPolygon(DisplayList.FILL_POLYGON, xPoints, yPoints, nPoints);
+    }
+
+    @Override
+    public void draw(Shape s) {
+        recordShape(DisplayList.DRAW_RECT2D, DisplayList.DRAW_SHAPE, s);
+    }
+
+    @Override
+    public void fill(Shape s) {
+        recordShape(DisplayList.FILL_RECT2D, DisplayList.FILL_SHAPE, s);
+    }
+
+    @Override
+    public void drawString(String str, int x, int y) {
+        drawString(str, (float) x, (float) y);
+    }
+
+    @Override
+    public void drawString(String str, float x, float y) {
+        list.add(DisplayList.DRAW_STRING);
+        list.ref(str);
+        list.arg(x);
+        list.arg(y);
+    }
+
+    @Override
+    public void drawString(AttributedCharacterIterator iterator, int x, int y) {
+        drawString(iterator, (float) x, (float) y);
+    }
+
+    @Override
+    public void drawString(AttributedCharacterIterator iterator, float x, float y) {
+        list.add(DisplayList.DRAW_ATTRIBUTED_STRING);
+        list.ref(new AttributedString(iterator));
+        list.arg(x);
+        list.arg(y);
+    }
+
+    @Override
+    public void drawGlyphVector(GlyphVector g, float x, float y) {
+        list.add(DisplayList.DRAW_GLYPHS);
+        list.ref(g);
+        list.arg(x);
+        list.arg(y);
+    }
+
+    @Override
+    public boolean drawImage(Image img, int x, int y, ImageObserver observer) {
+        return drawImage(img, x, y, null, observer);
+    }
+
+    @Override
+    public boolean drawImage(Image img, int x, int y, Color bgcolor, ImageObserver observer) {
+        list.add(DisplayList.DRAW_IMAGE);
+        list.ref(img);
+        list.ref(bgcolor);
+        list.arg(x);
+        list.arg(y);
+        return true;
+    }
+
+    @Override
+    public boolean drawImage(Image img, int x, int y, int width, int height, ImageObserver observer) {
+        return drawImage(img, x, y, width, height, null, observer);
+    }
+
+    @Override
+    public boolean drawImage(Image img, int x, int y, int width, int height, Color bgcolor, ImageObserver observer) {
+        list.add(DisplayList.DRAW_IMAGE_SCALED);
+        list.ref(img);
+        list.ref(bgcolor);
+        list.arg(x);
+        list.arg(y);
+        list.arg(width);
+        list.arg(height);
+        return true;
+    }
+
+    @Override
+    public boolean drawImage(Image img, int dx1, int dy1, int dx2, int dy2, int sx1, int sy1, int sx2, int sy2,
+                             ImageObserver observer) {
+        return drawImage(img, dx1, dy1, dx2, dy2, sx1, sy1, sx2, sy2, null, observer);
+    }
+
+    @Override
+    public boolean drawImage(Image img, int dx1, int dy1, int dx2, int dy2, int sx1, int sy1, int sx2, int sy2,
+                             Color bgcolor, ImageObserver observer) {
+        list.add(DisplayList.DRAW_IMAGE_REGION);
+        list.ref(img);
+        list.ref(bgcolor);
+        list.arg(dx1);
+        list.arg(dy1);
+        list.arg(dx2);
+        list.arg(dy2);
+        list.arg(sx1);
+        list.arg(sy1);
+        list.arg(sx2);
+        list.arg(sy2);
+        return true;
+    }
+
+    @Override
+    public boolean drawImage(Image img, AffineTransform xform, ImageObserver obs) {
+        list.add(DisplayList.DRAW_IMAGE_TRANSFORMED);
+        list.ref(img);
+        list.ref(new AffineTransform(xform));
+        return true;
+    }
+
+    @Override
+    public void drawImage(BufferedImage img, BufferedImageOp op, int x, int y) {
+        BufferedImage filtered = op == null ? img : op.filter(img, null);
+        drawImage(filtered, x, y, null);
+    }
+
+    @Override
+    public void drawRenderedImage(RenderedImage img, AffineTransform xform) {
+        list.add(DisplayList.DRAW_RENDERED);
+        list.ref(img);
+        list.ref(new AffineTransform(xform));
+    }
+
+    @Override
+    public void drawRenderableImage(RenderableImage img, AffineTransform xform) {
+        list.add(DisplayList.DRAW_RENDERABLE);
+        list.ref(img);
+        list.ref(new AffineTransform(xform));
+    }
+
+    private void recordInts(byte op, int... values) {
+        list.add(op);
+        for (int value : values) {
+            list.arg(value);
+        }
+    }
+
+    private void recordPolygon(byte op, int[] xPoints, int[] yPoints, int nPoints) {
+        list.add(op);
+        list.ref(Arrays.copyOf(xPoints, nPoints));
+        list.ref(Arrays.copyOf(yPoints, nPoints));
+        list.arg(nPoints);
+    }
+
+    private void recordShape(byte rectangleOp, byte shapeOp, Shape s) {
+        if (s instanceof Rectangle2D rectangle) {
+            list.add(rectangleOp);
+            list.arg(rectangle.getX());
+            list.arg(rectangle.getY());
+            list.arg(rectangle.getWidth());
+            list.arg(rectangle.getHeight());
+            return;
+        }
+        list.add(shapeOp);
+        if (s instanceof RectangularShape rectangular) {
+            list.ref(rectangular.clone());
+        } else {
+            list.ref(new Path2D.Double(s));
+        }
+    }
+}
@@ -0,0 +1,255 @@
+package org.example;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.MemoryCacheImageOutputStream;
+import java.awt.event.KeyEvent;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+final class ReplayExporter {
+    enum Format {
+        PNG,
+        AVI
+    }
+
+    interface TickDriver {
+        TickDriver AUTOPILOT = (world, tick) -> {
+            GameWorld.GameState state = world.getGameState();
+            if (state == GameWorld.GameState.LEVEL_COMPLETE || state == GameWorld.GameState.GAME_OVER) {
+                world.keyPressed(KeyEvent.VK_SPACE);
+            }
+        };
+
+        void beforeTick(GameWorld world, long tick);
+    }
+
+    static final class Result {
+        private final long ticks;
+        private final int frames;
+        private final long bytes;
+        private final double elapsedMillis;
+
+        private Result(long ticks, int frames, long bytes, double elapsedMillis) {
+            this.ticks = ticks;
+            this.frames = frames;
+            this.bytes = bytes;
+            this.elapsedMillis = elapsedMillis;
+        }
+
+        int frames() {
+            return frames;
+        }
+
+        long bytes() {
+            return bytes;
+        }
+
+        double elapsedMillis() {
+            return elapsedMillis;
+        }
+
+        double speedFactor() {
+            double gameMillis = ticks * 1000.0 / GameWorld.FRAMES_PER_SECOND;
+            return elapsedMillis <= 0 ? 0.0 : gameMillis / elapsedMillis;
+        }
+    }
+
+    private static final class EncodedFrame {
+        private final long tick;
+        private final byte[] data;
+
+        EncodedFrame(long tick, byte[] data) {
+            this.tick = tick;
+            this.data = data;
+        }
+    }
+
+    private static final float JPEG_QUALITY = 0.85f;
+
+    private final FrameRenderer renderer;
+    private final Format format;
+    private final int workers;
+    private final int queueCapacity;
+
+    ReplayExporter(FrameRenderer renderer, Format format, int workers) {
+        this.renderer = renderer;
+        this.format = format;
+        this.workers = Math.max(1, workers);
+        this.queueCapacity = this.workers * 4;
+    }
+
+    Result export(GameWorld world, int ticks, int every, TickDriver driver, Path output) throws IOException {
+        int stride = Math.max(1, every);
+        if (format == Format.PNG) {
+            Files.createDirectories(output);
+        } else if (output.getParent() != null) {
+            Files.createDirectories(output.getParent());
+        }
+
+        BlockingQueue<BufferedImage> freeImages = new ArrayBlockingQueue<>(queueCapacity + workers + 1);
+        for (int i = 0; i < queueCapacity + workers + 1; i++) {
+            freeImages.add(new BufferedImage(GameWorld.PANEL_WIDTH, GameWorld.PANEL_HEIGHT, BufferedImage.TYPE_INT_RGB));
+        }
+        BlockingQueue<Future<EncodedFrame>> pending = new ArrayBlockingQueue<>(queueCapacity);
+        Future<EncodedFrame> endOfStream = CompletableFuture.completedFuture(null);
+        AtomicInteger threadIndex = new AtomicInteger();
+        ExecutorService encoders = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "replay-encoder-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        long start = System.nanoTime();
+        long[] written = new long[2];
+        Exception[] writeFailure = new Exception[1];
+        Thread writer = new Thread(() -> {
+            try {
+                drain(pending, endOfStream, output, written);
+            } catch (IOException | RuntimeException e) {
+                writeFailure[0] = e;
+            }
+        }, "replay-writer");
+        writer.setDaemon(true);
+        writer.start();
+
+        long tick = 0;
+        try {
+            while (tick < ticks) {
+                tick++;
+                if (driver != null) {
+                    driver.beforeTick(world, tick);
+                }
+                world.update();
+                if (tick % stride != 0) {
+                    continue;
+                }
+                BufferedImage image = freeImages.take();
+                renderer.render(world, image);
+                long frameTick = tick;
+                Future<EncodedFrame> encoded = encoders.submit(() -> {
+                    try {
+                        return new EncodedFrame(frameTick, encode(image));
+                    } finally {
+                        freeImages.add(image);
+                    }
+                });
+                if (!enqueue(pending, encoded, writer)) {
+                    break;
+                }
+            }
+            enqueue(pending, endOfStream, writer);
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            writer.interrupt();
+            throw new InterruptedIOException("Export interrompu");
+        } finally {
+            encoders.shutdownNow();
+            if (writer.isAlive()) {
+                writer.interrupt();
+            }
+        }
+
+        if (writeFailure[0] instanceof IOException failure) {
+            throw failure;
+        }
+        if (writeFailure[0] != null) {
+            throw new IOException("Ecriture impossible", writeFailure[0]);
+        }
+        return new Result(tick, (int) written[0], written[1], (System.nanoTime() - start) / 1_000_000.0);
+    }
+
+    private boolean enqueue(BlockingQueue<Future<EncodedFrame>> pending, Future<EncodedFrame> frame, Thread writer)
+        throws InterruptedException {
+        while (!pending.offer(frame, 100, TimeUnit.MILLISECONDS)) {
+            if (!writer.isAlive()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void drain(BlockingQueue<Future<EncodedFrame>> pending, Future<EncodedFrame> endOfStream, Path output,
+                       long[] written) throws IOException {
+        MjpegAviWriter avi = format == Format.AVI
+            ? new MjpegAviWriter(output, GameWorld.PANEL_WIDTH, GameWorld.PANEL_HEIGHT, GameWorld.FRAMES_PER_SECOND)
+            : null;
+        try {
+            while (true) {
+                Future<EncodedFrame> next = pending.take();
+                if (next == endOfStream) {
+                    break;
+                }
+                EncodedFrame frame = next.get();
+                if (avi != null) {
+                    avi.writeFrame(frame.data);
+                } else {
+                    Path file = output.resolve(String.format(Locale.ROOT, "frame-%06d.png", frame.tick));
+                    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                        StandardOpenOption.TRUNCATE_EXISTING)) {
+                        ByteBuffer buffer = ByteBuffer.wrap(frame.data);
+                        while (buffer.hasRemaining()) {
+                            channel.write(buffer);
+                        }
+                    }
+                }
+                written[0]++;
+                written[1] += frame.data.length;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Ecriture interrompue");
+        } catch (ExecutionException e) {
+            throw new IOException("Encodage impossible", e.getCause());
+        } finally {
+            if (avi != null) {
+                avi.close();
+                written[1] = avi.size();
+            }
+        }
+    }
+
+    private byte[] encode(BufferedImage image) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(format == Format.AVI ? 64 * 1024 : 512 * 1024);
+        try {
+            if (format == Format.PNG) {
+                ImageIO.write(image, "png", bytes);
+                return bytes.toByteArray();
+            }
+            ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+            try (MemoryCacheImageOutputStream stream = new MemoryCacheImageOutputStream(bytes)) {
+                ImageWriteParam param = writer.getDefaultWriteParam();
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                param.setCompressionQuality(JPEG_QUALITY);
+                writer.setOutput(stream);
+                writer.write(null, new IIOImage(image, null, null), param);
+            } finally {
+                writer.dispose();
+            }
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
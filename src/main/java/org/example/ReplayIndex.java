@@ -0,0 +1,223 @@
+package org.example;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+final class ReplayIndex implements Closeable {
+    static final int DEFAULT_INTERVAL = GameWorld.FRAMES_PER_SECOND * 5;
+
+    private static final int MAGIC = 0x43425258;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 4 + 1 + 8 + 4 + 4;
+    private static final int ENTRY_SIZE = 8 + 4 + 8 + 8 + 4;
+
+    private final FileChannel channel;
+    private final long seed;
+    private final int interval;
+    private final int[] eventOffsets;
+    private final long[] baseTicks;
+    private final long[] stateOffsets;
+    private final int[] stateLengths;
+
+    private ReplayIndex(FileChannel channel, long seed, int interval, int count) {
+        this.channel = channel;
+        this.seed = seed;
+        this.interval = interval;
+        this.eventOffsets = new int[count];
+        this.baseTicks = new long[count];
+        this.stateOffsets = new long[count];
+        this.stateLengths = new int[count];
+    }
+
+    static Path pathFor(Path replay) {
+        String name = replay.getFileName().toString();
+        String base = name.endsWith(".cbr") ? name.substring(0, name.length() - 4) : name;
+        return replay.resolveSibling(base + ".cbx");
+    }
+
+    static int build(InputLog log, int interval, Path output) throws IOException {
+        if (interval <= 0) {
+            throw new IllegalArgumentException("Intervalle invalide : " + interval);
+        }
+        long keyframes = log.endTick() / interval + 1;
+        if (keyframes > (Integer.MAX_VALUE - HEADER_SIZE) / ENTRY_SIZE) {
+            throw new IllegalArgumentException("Trop d'images cles : " + keyframes);
+        }
+        int count = (int) keyframes;
+        GameWorld world = new GameWorld(log.seed());
+        InputLog.Player player = log.player();
+        ByteBuffer table = ByteBuffer.allocate(HEADER_SIZE + count * ENTRY_SIZE);
+        table.putInt(MAGIC);
+        table.put((byte) VERSION);
+        table.putLong(log.seed());
+        table.putInt(interval);
+        table.putInt(count);
+
+        try (FileChannel channel = FileChannel.open(output, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING)) {
+            long position = table.capacity();
+            ByteBuffer state = ByteBuffer.allocate(16 * 1024);
+            for (int i = 0; i < count; i++) {
+                long target = (long) i * interval;
+                while (world.getTick() < target) {
+                    player.beforeTick(world, world.getTick());
+                    world.update();
+                }
+                state = encode(world, state);
+                int length = state.remaining();
+                table.putLong(target);
+                table.putInt(player.resumeOffset());
+                table.putLong(player.resumeBaseTick());
+                table.putLong(position);
+                table.putInt(length);
+                writeFully(channel, state, position);
+                position += length;
+            }
+            table.flip();
+            writeFully(channel, table, 0);
+            channel.truncate(position);
+            channel.force(false);
+        }
+        return count;
+    }
+
+    static ReplayIndex open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            readFully(channel, header, 0);
+            if (header.getInt() != MAGIC) {
+                throw new IOException("Index de replay invalide : " + path);
+            }
+            int version = header.get();
+            if (version != VERSION) {
+                throw new IOException("Version d'index non supportee : " + version);
+            }
+            long seed = header.getLong();
+            int interval = header.getInt();
+            int count = header.getInt();
+            if (interval <= 0 || count <= 0) {
+                throw new IOException("Index de replay vide : " + path);
+            }
+            ReplayIndex index = new ReplayIndex(channel, seed, interval, count);
+            ByteBuffer table = ByteBuffer.allocate(count * ENTRY_SIZE);
+            readFully(channel, table, HEADER_SIZE);
+            for (int i = 0; i < count; i++) {
+                if (table.getLong() != (long) i * interval) {
+                    throw new IOException("Table d'index corrompue : " + path);
+                }
+                index.eventOffsets[i] = table.getInt();
+                index.baseTicks[i] = table.getLong();
+                index.stateOffsets[i] = table.getLong();
+                index.stateLengths[i] = table.getInt();
+            }
+            return index;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    long seed() {
+        return seed;
+    }
+
+    int interval() {
+        return interval;
+    }
+
+    int keyframeCount() {
+        return stateOffsets.length;
+    }
+
+    Cursor seek(InputLog log, long tick) throws IOException {
+        if (log.seed() != seed) {
+            throw new IllegalArgumentException("L'index ne correspond pas a ce replay");
+        }
+        if (tick < 0 || tick > log.endTick()) {
+            throw new IllegalArgumentException("Tick hors du replay : " + tick);
+        }
+        int keyframe = (int) Math.min(tick / interval, stateOffsets.length - 1);
+        ByteBuffer state = ByteBuffer.allocate(stateLengths[keyframe]);
+        readFully(channel, state, stateOffsets[keyframe]);
+
+        GameWorld world = new GameWorld(seed);
+        world.readState(state);
+        InputLog.Player player = log.playerAt(eventOffsets[keyframe], baseTicks[keyframe]);
+        long simulated = 0;
+        while (world.getTick() < tick) {
+            player.beforeTick(world, world.getTick());
+            world.update();
+            simulated++;
+        }
+        return new Cursor(world, player, simulated);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private static ByteBuffer encode(GameWorld world, ByteBuffer buffer) {
+        ByteBuffer target = buffer;
+        while (true) {
+            target.clear();
+            try {
+                world.writeState(target);
+                target.flip();
+                return target;
+            } catch (BufferOverflowException e) {
+                target = ByteBuffer.allocate(target.capacity() * 2);
+            }
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long at) throws IOException {
+        long offset = at;
+        while (buffer.hasRemaining()) {
+            offset += channel.write(buffer, offset);
+        }
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long at) throws IOException {
+        long offset = at;
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, offset);
+            if (read < 0) {
+                throw new EOFException("Index de replay tronque");
+            }
+            offset += read;
+        }
+        buffer.flip();
+    }
+
+    static final class Cursor {
+        private final GameWorld world;
+        private final InputLog.Player player;
+        private final long simulatedTicks;
+
+        private Cursor(GameWorld world, InputLog.Player player, long simulatedTicks) {
+            this.world = world;
+            this.player = player;
+            this.simulatedTicks = simulatedTicks;
+        }
+
+        GameWorld world() {
+            return world;
+        }
+
+        InputLog.Player player() {
+            return player;
+        }
+
+        long simulatedTicks() {
+            return simulatedTicks;
+        }
+    }
+}
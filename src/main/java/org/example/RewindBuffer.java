@@ -0,0 +1,231 @@
+package org.example;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+
+final class RewindBuffer {
+    private static final int MERGE_GAP = 8;
+    private static final int ENTRY_HEADER = 8;
+    private static final int RUN_HEADER = 8;
+
+    private final byte[] arena;
+    private final long[] entryStart;
+    private final int[] entrySize;
+    private int oldest;
+    private int count;
+    private long writePosition;
+
+    private byte[] latest = new byte[8 * 1024];
+    private ByteBuffer latestView = ByteBuffer.wrap(latest);
+    private int latestLength = -1;
+    private byte[] scratch = new byte[8 * 1024];
+    private ByteBuffer scratchView = ByteBuffer.wrap(scratch);
+    private int[] runOffsets = new int[64];
+    private int[] runLengths = new int[64];
+    private int runCount;
+
+    RewindBuffer(int capacityTicks, int arenaBytes) {
+        arena = new byte[arenaBytes];
+        entryStart = new long[capacityTicks];
+        entrySize = new int[capacityTicks];
+    }
+
+    int availableTicks() {
+        return count;
+    }
+
+    int usedBytes() {
+        return count == 0 ? 0 : (int) (writePosition - entryStart[oldest]);
+    }
+
+    int capacityBytes() {
+        return arena.length;
+    }
+
+    void clear() {
+        count = 0;
+        oldest = 0;
+        writePosition = 0;
+        latestLength = -1;
+    }
+
+    void record(GameWorld world) {
+        int length = encode(world);
+        if (latestLength < 0) {
+            promoteScratch(length);
+            return;
+        }
+        int size = diff(length);
+        if (size == ENTRY_HEADER && length == latestLength) {
+            return;
+        }
+        if (size > arena.length) {
+            clear();
+            promoteScratch(length);
+            return;
+        }
+        while (count > 0 && (count == entryStart.length || writePosition + size - entryStart[oldest] > arena.length)) {
+            oldest = (oldest + 1) % entryStart.length;
+            count--;
+        }
+        int slot = (oldest + count) % entryStart.length;
+        entryStart[slot] = writePosition;
+        entrySize[slot] = size;
+        count++;
+
+        long position = writePosition;
+        position = putInt(position, latestLength);
+        position = putInt(position, runCount);
+        for (int i = 0; i < runCount; i++) {
+            position = putInt(position, runOffsets[i]);
+            position = putInt(position, runLengths[i]);
+            position = putBytes(position, latest, runOffsets[i], runLengths[i]);
+        }
+        writePosition = position;
+        promoteScratch(length);
+    }
+
+    int rewind(GameWorld world, int ticks) {
+        record(world);
+        int rewound = 0;
+        while (rewound < ticks && count > 0) {
+            int slot = (oldest + count - 1) % entryStart.length;
+            long position = entryStart[slot];
+            int previousLength = getInt(position);
+            int runs = getInt(position + 4);
+            position += ENTRY_HEADER;
+            ensureLatestCapacity(previousLength);
+            for (int i = 0; i < runs; i++) {
+                int offset = getInt(position);
+                int runLength = getInt(position + 4);
+                position += RUN_HEADER;
+                getBytes(position, latest, offset, runLength);
+                position += runLength;
+            }
+            latestLength = previousLength;
+            writePosition = entryStart[slot];
+            count--;
+            rewound++;
+        }
+        if (rewound > 0) {
+            latestView.clear();
+            latestView.limit(latestLength);
+            world.restoreState(world.getSeed(), latestView);
+        }
+        return rewound;
+    }
+
+    private int encode(GameWorld world) {
+        while (true) {
+            scratchView.clear();
+            try {
+                world.writeState(scratchView);
+                return scratchView.position();
+            } catch (BufferOverflowException e) {
+                scratch = new byte[scratch.length * 2];
+                scratchView = ByteBuffer.wrap(scratch);
+            }
+        }
+    }
+
+    private void promoteScratch(int length) {
+        byte[] bytes = latest;
+        ByteBuffer view = latestView;
+        latest = scratch;
+        latestView = scratchView;
+        scratch = bytes;
+        scratchView = view;
+        latestLength = length;
+        if (scratch.length < latest.length) {
+            scratch = new byte[latest.length];
+            scratchView = ByteBuffer.wrap(scratch);
+        }
+    }
+
+    private void ensureLatestCapacity(int length) {
+        if (latest.length < length) {
+            byte[] grown = new byte[Math.max(length, latest.length * 2)];
+            System.arraycopy(latest, 0, grown, 0, latestLength);
+            latest = grown;
+            latestView = ByteBuffer.wrap(latest);
+        }
+    }
+
+    private int diff(int length) {
+        runCount = 0;
+        int common = Math.min(length, latestLength);
+        int i = 0;
+        while (i < common) {
+            if (scratch[i] == latest[i]) {
+                i++;
+                continue;
+            }
+            int start = i;
+            int lastDifference = i;
+            while (i < common && i - lastDifference <= MERGE_GAP) {
+                if (scratch[i] != latest[i]) {
+                    lastDifference = i;
+                }
+                i++;
+            }
+            addRun(start, lastDifference + 1 - start);
+            i = lastDifference + 1;
+        }
+        if (latestLength > common) {
+            if (runCount > 0 && runOffsets[runCount - 1] + runLengths[runCount - 1] + MERGE_GAP >= common) {
+                runLengths[runCount - 1] = latestLength - runOffsets[runCount - 1];
+            } else {
+                addRun(common, latestLength - common);
+            }
+        }
+        int size = ENTRY_HEADER;
+        for (int run = 0; run < runCount; run++) {
+            size += RUN_HEADER + runLengths[run];
+        }
+        return size;
+    }
+
+    private void addRun(int offset, int length) {
+        if (runCount == runOffsets.length) {
+            int[] offsets = new int[runCount * 2];
+            int[] lengths = new int[runCount * 2];
+            System.arraycopy(runOffsets, 0, offsets, 0, runCount);
+            System.arraycopy(runLengths, 0, lengths, 0, runCount);
+            runOffsets = offsets;
+            runLengths = lengths;
+        }
+        runOffsets[runCount] = offset;
+        runLengths[runCount] = length;
+        runCount++;
+    }
+
+    private long putInt(long position, int value) {
+        for (int shift = 24; shift >= 0; shift -= 8) {
+            arena[(int) (position++ % arena.length)] = (byte) (value >>> shift);
+        }
+        return position;
+    }
+
+    private int getInt(long position) {
+        int value = 0;
+        for (int i = 0; i < 4; i++) {
+            value = (value << 8) | (arena[(int) ((position + i) % arena.length)] & 0xFF);
+        }
+        return value;
+    }
+
+    private long putBytes(long position, byte[] source, int offset, int length) {
+        int index = (int) (position % arena.length);
+        int first = Math.min(length, arena.length - index);
+        System.arraycopy(source, offset, arena, index, first);
+        System.arraycopy(source, offset + first, arena, 0, length - first);
+        return position + length;
+    }
+
+    private void getBytes(long position, byte[] target, int offset, int length) {
+        int index = (int) (position % arena.length);
+        int first = Math.min(length, arena.length - index);
+        System.arraycopy(arena, index, target, offset, first);
+        System.arraycopy(arena, 0, target, offset + first, length - first);
+    }
+}
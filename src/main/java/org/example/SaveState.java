@@ -0,0 +1,198 @@
+package org.example;
+
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32C;
+
+final class SaveState {
+    static final int VERSION = 1;
+
+    private static final int MAGIC = 0x43425356;
+    private static final int HEADER_SIZE = 4 + 1 + 8 + 4 + 4;
+    private static final ThreadLocal<CRC32C> CRC = ThreadLocal.withInitial(CRC32C::new);
+    private static final ThreadLocal<GameWorld> SCRATCH = ThreadLocal.withInitial(() -> new GameWorld(0));
+
+    private SaveState() {
+    }
+
+    static ByteBuffer snapshot(GameWorld world, ByteBuffer reuse) {
+        ByteBuffer buffer = reuse != null && reuse.capacity() > HEADER_SIZE ? reuse : ByteBuffer.allocate(8 * 1024);
+        while (true) {
+            buffer.clear();
+            try {
+                buffer.position(HEADER_SIZE);
+                world.writeState(buffer);
+                int payloadLength = buffer.position() - HEADER_SIZE;
+                buffer.putInt(0, MAGIC);
+                buffer.put(4, (byte) VERSION);
+                buffer.putLong(5, world.getSeed());
+                buffer.putInt(13, payloadLength);
+                buffer.putInt(17, checksum(buffer, HEADER_SIZE, payloadLength));
+                buffer.flip();
+                return buffer;
+            } catch (BufferOverflowException e) {
+                buffer = ByteBuffer.allocate(buffer.capacity() * 2);
+            }
+        }
+    }
+
+    static void restore(GameWorld world, ByteBuffer snapshot) throws IOException {
+        ByteBuffer buffer = snapshot.duplicate();
+        if (buffer.remaining() < HEADER_SIZE || buffer.getInt() != MAGIC) {
+            throw new IOException("Sauvegarde invalide");
+        }
+        int version = buffer.get();
+        if (version != VERSION) {
+            throw new IOException("Version de sauvegarde non supportee : " + version);
+        }
+        long seed = buffer.getLong();
+        int payloadLength = buffer.getInt();
+        int expectedChecksum = buffer.getInt();
+        if (payloadLength < 0 || payloadLength > buffer.remaining()) {
+            throw new IOException("Sauvegarde tronquee");
+        }
+        if (checksum(buffer, buffer.position(), payloadLength) != expectedChecksum) {
+            throw new IOException("Sauvegarde corrompue");
+        }
+        buffer.limit(buffer.position() + payloadLength);
+        try {
+            ByteBuffer staged = buffer.duplicate();
+            SCRATCH.get().restoreState(seed, staged);
+            if (staged.hasRemaining()) {
+                throw new IOException("Sauvegarde illisible : " + staged.remaining() + " octets en trop");
+            }
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException e) {
+            throw new IOException("Sauvegarde illisible", e);
+        }
+        world.restoreState(seed, buffer);
+    }
+
+    static void save(GameWorld world, Path path) throws IOException {
+        write(snapshot(world, null), path);
+    }
+
+    static void write(ByteBuffer snapshot, Path path) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        ByteBuffer buffer = snapshot.duplicate();
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        }
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    static void load(GameWorld world, Path path) throws IOException {
+        restore(world, ByteBuffer.wrap(Files.readAllBytes(path)));
+    }
+
+    private static int checksum(ByteBuffer buffer, int offset, int length) {
+        CRC32C crc = CRC.get();
+        crc.reset();
+        if (buffer.hasArray()) {
+            crc.update(buffer.array(), buffer.arrayOffset() + offset, length);
+        } else {
+            int position = buffer.position();
+            int limit = buffer.limit();
+            buffer.limit(offset + length).position(offset);
+            crc.update(buffer);
+            buffer.limit(limit).position(position);
+        }
+        return (int) crc.getValue();
+    }
+
+    static final class Writer implements AutoCloseable {
+        private static final ByteBuffer STOP = ByteBuffer.allocate(0);
+
+        private final Path path;
+        private final ArrayBlockingQueue<ByteBuffer> free = new ArrayBlockingQueue<>(2);
+        private final LinkedBlockingQueue<ByteBuffer> pending = new LinkedBlockingQueue<>();
+        private final Thread thread;
+        private volatile boolean closed;
+        private volatile IOException failure;
+
+        private Writer(Path path) {
+            this.path = path;
+            free.add(ByteBuffer.allocate(8 * 1024));
+            free.add(ByteBuffer.allocate(8 * 1024));
+            this.thread = new Thread(this::writeLoop, "sauvegarde-secours");
+            this.thread.setDaemon(true);
+        }
+
+        static Writer start(Path path) {
+            Writer writer = new Writer(path);
+            writer.thread.start();
+            return writer;
+        }
+
+        boolean submit(GameWorld world) {
+            if (closed) {
+                return false;
+            }
+            ByteBuffer buffer = pending.poll();
+            if (buffer == null) {
+                buffer = free.poll();
+            }
+            if (buffer == null) {
+                return false;
+            }
+            pending.offer(snapshot(world, buffer));
+            return true;
+        }
+
+        IOException failure() {
+            return failure;
+        }
+
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            pending.offer(STOP);
+            try {
+                thread.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private void writeLoop() {
+            try {
+                while (true) {
+                    ByteBuffer buffer = pending.take();
+                    if (buffer == STOP) {
+                        return;
+                    }
+                    try {
+                        write(buffer, path);
+                        failure = null;
+                    } catch (IOException e) {
+                        failure = e;
+                    } finally {
+                        free.offer(buffer);
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,370 @@
+package org.example;
+
+import java.awt.event.KeyEvent;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32C;
+
+final class ScoreJournal implements AutoCloseable {
+    static final int VERSION = 1;
+    static final long DEFAULT_COMPACT_BYTES = 64 * 1024;
+
+    private static final int MAGIC = 0x4342534A;
+    private static final int FILE_HEADER_SIZE = 4 + 1;
+    private static final int ENTRY_HEADER_SIZE = 4 + 4;
+    private static final int MAX_NOTE_BYTES = 255;
+    private static final int MIN_ENTRY_SIZE = 4 * 5 + 1;
+    private static final int MAX_ENTRY_SIZE = MIN_ENTRY_SIZE + MAX_NOTE_BYTES;
+    private static final long GROUP_COMMIT_NANOS = 2_000_000L;
+    private static final int MAX_BATCH = 256;
+    private static final Entry STOP = new Entry(0, 0, "", 0, 0, 0);
+
+    private final Path path;
+    private final long compactBytes;
+    private final LinkedBlockingQueue<Entry> pending = new LinkedBlockingQueue<>();
+    private final List<GameWorld.ScoreRecord> records = new ArrayList<>();
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(MAX_BATCH * (ENTRY_HEADER_SIZE + MAX_ENTRY_SIZE));
+    private final Thread writer;
+    private FileChannel channel;
+    private int bestScore;
+    private int bestLevel = 1;
+    private int bestCredits;
+    private volatile boolean closed;
+    private volatile IOException failure;
+    private volatile long entries;
+    private volatile long batches;
+    private volatile long compactions;
+
+    private ScoreJournal(Path path, long compactBytes, FileChannel channel) {
+        this.path = path;
+        this.compactBytes = compactBytes;
+        this.channel = channel;
+        this.writer = new Thread(this::writeLoop, "journal-scores");
+        this.writer.setDaemon(true);
+    }
+
+    public static void main(String[] args) throws IOException {
+        System.setProperty("java.awt.headless", "true");
+        Path path = Path.of("saves", "scores.cbj");
+        int ticks = GameWorld.FRAMES_PER_SECOND * 60 * 5;
+        Long seed = null;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--journal" -> path = Path.of(args[++i]);
+                case "--ticks" -> ticks = Integer.parseInt(args[++i]);
+                case "--seed" -> seed = Long.parseLong(args[++i]);
+                default -> {
+                    System.err.println("Usage : ScoreJournal [--journal scores.cbj] [--ticks N] [--seed N]");
+                    System.exit(2);
+                }
+            }
+        }
+
+        GameWorld world = seed != null ? new GameWorld(seed) : new GameWorld();
+        long worstNanos = 0;
+        long before;
+        ScoreJournal journal = open(path);
+        try (journal) {
+            journal.restoreInto(world);
+            System.out.printf(Locale.ROOT, "%s : %d entrees rejouees, record %d niveau %d%n",
+                path, journal.entries(), world.getPersonalBestScore(), world.getPersonalBestLevel());
+            before = journal.entries();
+            world.setScoreListener(record -> journal.append(record, world));
+            for (int tick = 1; tick <= ticks; tick++) {
+                ReplayExporter.TickDriver.AUTOPILOT.beforeTick(world, tick);
+                if (!world.isAutoPilotMode()) {
+                    world.keyPressed(KeyEvent.VK_R);
+                }
+                long start = System.nanoTime();
+                world.update();
+                worstNanos = Math.max(worstNanos, System.nanoTime() - start);
+            }
+            world.abandonCurrentRun();
+        }
+        GameWorld reopened = new GameWorld(world.getSeed());
+        try (ScoreJournal reader = open(path)) {
+            reader.restoreInto(reopened);
+        }
+        System.out.printf(Locale.ROOT, "%d parties journalisees en %d lots fsync, %d compactages, pire tick %.2f ms%n",
+            journal.entries() - before, journal.batches(), journal.compactions(), worstNanos / 1_000_000.0);
+        System.out.printf(Locale.ROOT, "Apres relecture : record %d niveau %d credits %d, %d scores conserves%n",
+            reopened.getPersonalBestScore(), reopened.getPersonalBestLevel(), reopened.getPersonalBestCredits(),
+            reopened.getScoreRecords().size());
+    }
+
+    static ScoreJournal open(Path path) throws IOException {
+        return open(path, DEFAULT_COMPACT_BYTES);
+    }
+
+    static ScoreJournal open(Path path, long compactBytes) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        ScoreJournal journal = new ScoreJournal(path, compactBytes, channel);
+        try {
+            journal.replay();
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+        journal.writer.start();
+        return journal;
+    }
+
+    synchronized void restoreInto(GameWorld world) {
+        world.restoreScoreHistory(new ArrayList<>(records), bestScore, bestLevel, bestCredits);
+    }
+
+    boolean append(GameWorld.ScoreRecord record, GameWorld world) {
+        if (closed || failure != null) {
+            return false;
+        }
+        return pending.offer(new Entry(record.score(), record.level(), record.note(), world.getPersonalBestScore(),
+            world.getPersonalBestLevel(), world.getPersonalBestCredits()));
+    }
+
+    long entries() {
+        return entries;
+    }
+
+    long batches() {
+        return batches;
+    }
+
+    long compactions() {
+        return compactions;
+    }
+
+    IOException failure() {
+        return failure;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        pending.offer(STOP);
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        channel.close();
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private void replay() throws IOException {
+        long size = channel.size();
+        if (size < FILE_HEADER_SIZE) {
+            channel.truncate(0);
+            writeHeader(channel);
+            channel.force(false);
+            return;
+        }
+        ByteBuffer file = ByteBuffer.allocate((int) Math.min(size, Integer.MAX_VALUE - 8));
+        while (file.hasRemaining()) {
+            if (channel.read(file, file.position()) < 0) {
+                break;
+            }
+        }
+        file.flip();
+        if (file.getInt() != MAGIC) {
+            throw new IOException("Journal des scores invalide");
+        }
+        int version = file.get();
+        if (version != VERSION) {
+            throw new IOException("Version de journal non supportee : " + version);
+        }
+        long valid = file.position();
+        while (file.remaining() >= ENTRY_HEADER_SIZE) {
+            int length = file.getInt();
+            int expectedChecksum = file.getInt();
+            if (length < MIN_ENTRY_SIZE || length > MAX_ENTRY_SIZE || length > file.remaining()
+                || checksum(file, file.position(), length) != expectedChecksum) {
+                break;
+            }
+            apply(decode(file));
+            valid = file.position();
+            entries++;
+        }
+        if (valid < size) {
+            channel.truncate(valid);
+            channel.force(false);
+        }
+        channel.position(valid);
+    }
+
+    private void writeLoop() {
+        List<Entry> batch = new ArrayList<>(MAX_BATCH);
+        try {
+            while (true) {
+                Entry first = pending.take();
+                boolean stop = first == STOP;
+                if (!stop) {
+                    batch.add(first);
+                }
+                long deadline = System.nanoTime() + GROUP_COMMIT_NANOS;
+                while (!stop && batch.size() < MAX_BATCH) {
+                    Entry next = pending.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    if (next == STOP) {
+                        stop = true;
+                    } else {
+                        batch.add(next);
+                    }
+                }
+                if (!batch.isEmpty()) {
+                    commit(batch);
+                    batch.clear();
+                    if (channel.size() > compactBytes) {
+                        compact();
+                    }
+                }
+                if (stop) {
+                    return;
+                }
+            }
+        } catch (IOException e) {
+            failure = e;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void commit(List<Entry> batch) throws IOException {
+        buffer.clear();
+        for (Entry entry : batch) {
+            encode(entry, buffer);
+        }
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        channel.force(false);
+        synchronized (this) {
+            for (Entry entry : batch) {
+                apply(entry);
+            }
+        }
+        entries += batch.size();
+        batches++;
+    }
+
+    private void compact() throws IOException {
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        List<Entry> snapshot = new ArrayList<>();
+        synchronized (this) {
+            for (GameWorld.ScoreRecord record : records) {
+                snapshot.add(new Entry(record.score(), record.level(), record.note(), bestScore, bestLevel, bestCredits));
+            }
+        }
+        try (FileChannel compacted = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING)) {
+            writeHeader(compacted);
+            buffer.clear();
+            for (Entry entry : snapshot) {
+                encode(entry, buffer);
+            }
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                compacted.write(buffer);
+            }
+            compacted.force(false);
+        }
+        channel.close();
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        channel.position(channel.size());
+        compactions++;
+    }
+
+    private void apply(Entry entry) {
+        records.add(new GameWorld.ScoreRecord(entry.score, entry.level, entry.note));
+        records.sort((a, b) -> Integer.compare(b.score(), a.score()));
+        while (records.size() > GameWorld.SCORE_HISTORY_LIMIT) {
+            records.remove(records.size() - 1);
+        }
+        bestScore = Math.max(bestScore, entry.bestScore);
+        bestLevel = Math.max(bestLevel, entry.bestLevel);
+        bestCredits = Math.max(bestCredits, entry.bestCredits);
+    }
+
+    private static void writeHeader(FileChannel target) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_SIZE);
+        header.putInt(MAGIC).put((byte) VERSION).flip();
+        while (header.hasRemaining()) {
+            target.write(header);
+        }
+    }
+
+    private static void encode(Entry entry, ByteBuffer out) {
+        byte[] note = entry.note.getBytes(StandardCharsets.UTF_8);
+        int noteLength = Math.min(note.length, MAX_NOTE_BYTES);
+        int start = out.position();
+        out.position(start + ENTRY_HEADER_SIZE);
+        out.putInt(entry.score);
+        out.putInt(entry.level);
+        out.putInt(entry.bestScore);
+        out.putInt(entry.bestLevel);
+        out.putInt(entry.bestCredits);
+        out.put((byte) noteLength);
+        out.put(note, 0, noteLength);
+        int length = out.position() - start - ENTRY_HEADER_SIZE;
+        out.putInt(start, length);
+        out.putInt(start + 4, checksum(out, start + ENTRY_HEADER_SIZE, length));
+    }
+
+    private static Entry decode(ByteBuffer in) {
+        int score = in.getInt();
+        int level = in.getInt();
+        int bestScore = in.getInt();
+        int bestLevel = in.getInt();
+        int bestCredits = in.getInt();
+        byte[] note = new byte[in.get() & 0xFF];
+        in.get(note);
+        return new Entry(score, level, new String(note, StandardCharsets.UTF_8), bestScore, bestLevel, bestCredits);
+    }
+
+    private static int checksum(ByteBuffer buffer, int offset, int length) {
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(offset, length));
+        return (int) crc.getValue();
+    }
+
+    private static final class Entry {
+        private final int score;
+        private final int level;
+        private final String note;
+        private final int bestScore;
+        private final int bestLevel;
+        private final int bestCredits;
+
+        private Entry(int score, int level, String note, int bestScore, int bestLevel, int bestCredits) {
+            this.score = score;
+            this.level = level;
+            this.note = note;
+            this.bestScore = bestScore;
+            this.bestLevel = bestLevel;
+            this.bestCredits = bestCredits;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package org.example;
+
+import java.awt.event.KeyEvent;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+final class SessionLoad {
+    private static final double HEALTHY_RATIO = 0.95;
+
+    private final int port;
+    private final AtomicInteger connected = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+    private volatile boolean running = true;
+
+    private SessionLoad(int port) {
+        this.port = port;
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int port = SessionServer.DEFAULT_PORT;
+        int initial = 100;
+        int step = 100;
+        int max = 20_000;
+        int settleSeconds = 3;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--port" -> port = Integer.parseInt(args[++i]);
+                case "--start" -> initial = Integer.parseInt(args[++i]);
+                case "--step" -> step = Integer.parseInt(args[++i]);
+                case "--max" -> max = Integer.parseInt(args[++i]);
+                case "--settle" -> settleSeconds = Integer.parseInt(args[++i]);
+                default -> {
+                    System.err.println("Usage : SessionLoad [--port N] [--start N] [--step N] [--max N] [--settle secondes]");
+                    System.exit(2);
+                }
+            }
+        }
+        new SessionLoad(port).ramp(initial, Math.max(1, step), max, settleSeconds);
+    }
+
+    private void ramp(int initial, int step, int max, int settleSeconds) throws IOException, InterruptedException {
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor();
+             Socket control = new Socket(InetAddress.getLoopbackAddress(), port);
+             BufferedReader in = new BufferedReader(new InputStreamReader(control.getInputStream(), StandardCharsets.US_ASCII));
+             BufferedWriter out = new BufferedWriter(new OutputStreamWriter(control.getOutputStream(), StandardCharsets.US_ASCII))) {
+            int target = initial;
+            int healthy = 0;
+            int cores = 1;
+            while (target <= max) {
+                while (connected.get() + failed.get() < target) {
+                    long seed = connected.get() + failed.get();
+                    clients.submit(() -> runClient(seed));
+                    connected.incrementAndGet();
+                }
+                Thread.sleep(settleSeconds * 1000L);
+                out.write("STATS\n");
+                out.flush();
+                String[] stats = in.readLine().split(" ");
+                int sessions = Integer.parseInt(stats[1]);
+                double ticksPerSecond = Double.parseDouble(stats[2]);
+                double lateRatio = Double.parseDouble(stats[3]);
+                double microsPerTick = Double.parseDouble(stats[5]);
+                cores = Integer.parseInt(stats[6]);
+                double ratio = sessions == 0 ? 0.0 : ticksPerSecond / (sessions * (double) GameWorld.FRAMES_PER_SECOND);
+                System.out.printf(Locale.ROOT, "%6d sessions : %9.0f ticks/s (%.1f%% de la cible), %.2f%% en retard, %.1f us par tick%n",
+                    sessions, ticksPerSecond, ratio * 100.0, lateRatio * 100.0, microsPerTick);
+                if (failed.get() > 0 || sessions < target || ratio < HEALTHY_RATIO) {
+                    break;
+                }
+                healthy = sessions;
+                target += step;
+            }
+            running = false;
+            System.out.printf(Locale.ROOT, "Capacite : %d sessions a %d ticks/s sur %d coeurs, soit %.0f sessions par coeur (%d echecs de connexion)%n",
+                healthy, GameWorld.FRAMES_PER_SECOND, cores, healthy / (double) cores, failed.get());
+            clients.shutdownNow();
+        }
+    }
+
+    private void runClient(long seed) {
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port);
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+             BufferedWriter out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.US_ASCII))) {
+            out.write("NEW " + seed + "\n");
+            out.flush();
+            in.readLine();
+            out.write("P " + KeyEvent.VK_R + "\nR " + KeyEvent.VK_R + "\n");
+            out.flush();
+            while (running) {
+                Thread.sleep(1000);
+                out.write("S\n");
+                out.flush();
+                String state = in.readLine();
+                if (state == null) {
+                    return;
+                }
+                if (state.endsWith("GAME_OVER") || state.endsWith("LEVEL_COMPLETE")) {
+                    out.write("P " + KeyEvent.VK_SPACE + "\nR " + KeyEvent.VK_SPACE + "\n");
+                    out.flush();
+                }
+            }
+        } catch (IOException e) {
+            if (running) {
+                failed.incrementAndGet();
+                connected.decrementAndGet();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,351 @@
+package org.example;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+final class SessionServer implements AutoCloseable {
+    static final int DEFAULT_PORT = 47048;
+
+    private static final long TICK_NANOS = 1_000_000_000L / GameWorld.FRAMES_PER_SECOND;
+    private static final int MAX_CATCH_UP_TICKS = 4;
+    private static final int DEFAULT_TOP = 10;
+    private static final int MAX_KEY_CODE = 0xFFFF;
+    private static final String INVALID_ARGUMENT = "ERR argument invalide\n";
+
+    private final ServerSocket serverSocket;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Set<Thread> sessionThreads = ConcurrentHashMap.newKeySet();
+    private final Thread clockThread;
+    private final AtomicInteger sessions = new AtomicInteger();
+    private final AtomicLong nextSessionId = new AtomicLong(1);
+    private final LongAdder ticks = new LongAdder();
+    private final LongAdder lateTicks = new LongAdder();
+    private final LongAdder droppedTicks = new LongAdder();
+    private final LongAdder tickNanos = new LongAdder();
+    private final Leaderboard leaderboard = new Leaderboard();
+    private volatile long generation;
+    private volatile boolean running = true;
+    private volatile double ticksPerSecond;
+    private volatile double lateRatio;
+    private volatile double droppedPerSecond;
+    private volatile double microsPerTick;
+
+    private SessionServer(ServerSocket serverSocket) {
+        this.serverSocket = serverSocket;
+        this.clockThread = new Thread(this::runClock, "horloge-sessions");
+        this.clockThread.setDaemon(true);
+        this.clockThread.setPriority(Thread.MAX_PRIORITY);
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        System.setProperty("java.awt.headless", "true");
+        int port = DEFAULT_PORT;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--port" -> port = Integer.parseInt(args[++i]);
+                default -> {
+                    System.err.println("Usage : SessionServer [--port N]");
+                    System.exit(2);
+                }
+            }
+        }
+        try (SessionServer server = start(port)) {
+            System.out.printf(Locale.ROOT, "Serveur de sessions sur le port %d (%d coeurs)%n", server.port(),
+                Runtime.getRuntime().availableProcessors());
+            while (true) {
+                Thread.sleep(5000);
+                System.out.println(server.describeStats());
+            }
+        }
+    }
+
+    static SessionServer start(int port) throws IOException {
+        ServerSocket socket = new ServerSocket();
+        try {
+            socket.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 4096);
+        } catch (IOException e) {
+            socket.close();
+            throw e;
+        }
+        SessionServer server = new SessionServer(socket);
+        server.clockThread.start();
+        server.executor.submit(server::acceptLoop);
+        return server;
+    }
+
+    int port() {
+        return serverSocket.getLocalPort();
+    }
+
+    int sessionCount() {
+        return sessions.get();
+    }
+
+    Leaderboard leaderboard() {
+        return leaderboard;
+    }
+
+    String describeStats() {
+        return String.format(Locale.ROOT, "STATS %d %.1f %.4f %.1f %.2f %d", sessions.get(), ticksPerSecond, lateRatio,
+            droppedPerSecond, microsPerTick, Runtime.getRuntime().availableProcessors());
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        try {
+            serverSocket.close();
+        } catch (IOException e) {
+            // Le port est deja libere
+        }
+        for (Thread thread : sessionThreads) {
+            LockSupport.unpark(thread);
+        }
+        executor.shutdownNow();
+    }
+
+    private void runClock() {
+        long next = System.nanoTime() + TICK_NANOS;
+        long windowStart = System.nanoTime();
+        while (running) {
+            long wait = next - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+                continue;
+            }
+            next += TICK_NANOS;
+            generation++;
+            for (Thread thread : sessionThreads) {
+                LockSupport.unpark(thread);
+            }
+            if (generation % GameWorld.FRAMES_PER_SECOND == 0) {
+                long now = System.nanoTime();
+                double seconds = (now - windowStart) / 1_000_000_000.0;
+                windowStart = now;
+                long done = ticks.sumThenReset();
+                long late = lateTicks.sumThenReset();
+                long dropped = droppedTicks.sumThenReset();
+                long nanos = tickNanos.sumThenReset();
+                ticksPerSecond = done / seconds;
+                lateRatio = done == 0 ? 0.0 : late / (double) done;
+                droppedPerSecond = dropped / seconds;
+                microsPerTick = done == 0 ? 0.0 : nanos / 1000.0 / done;
+            }
+        }
+    }
+
+    private void acceptLoop() {
+        while (running) {
+            try {
+                Socket socket = serverSocket.accept();
+                executor.submit(() -> serve(socket));
+            } catch (IOException e) {
+                if (!running) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        Session session = null;
+        try (socket;
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+             BufferedWriter out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.US_ASCII))) {
+            socket.setTcpNoDelay(true);
+            String line;
+            while ((line = in.readLine()) != null) {
+                String[] parts = line.trim().split(" ");
+                switch (parts[0]) {
+                    case "NEW" -> {
+                        Long seed = parts.length > 1 ? argument(parts, Long.MIN_VALUE, Long.MAX_VALUE) : Long.valueOf(System.nanoTime());
+                        if (seed == null) {
+                            out.write(INVALID_ARGUMENT);
+                            out.flush();
+                            continue;
+                        }
+                        if (session != null) {
+                            session.stop();
+                        }
+                        session = new Session(nextSessionId.getAndIncrement(), seed);
+                        Session started = session;
+                        executor.submit(started::run);
+                        out.write("OK " + session.id + "\n");
+                    }
+                    case "P", "R" -> {
+                        Long keyCode = argument(parts, 0, MAX_KEY_CODE);
+                        if (session == null) {
+                            out.write("ERR aucune session\n");
+                        } else if (keyCode == null) {
+                            out.write(INVALID_ARGUMENT);
+                        } else {
+                            session.inputs.add(keyCode.intValue() << 1 | (parts[0].equals("P") ? 1 : 0));
+                            continue;
+                        }
+                    }
+                    case "S" -> {
+                        if (session == null) {
+                            out.write("ERR aucune session\n");
+                        } else {
+                            out.write(session.describe());
+                        }
+                    }
+                    case "STATS" -> out.write(describeStats() + "\n");
+                    case "TOP" -> {
+                        Long count = parts.length > 1 ? argument(parts, 1, Leaderboard.DEFAULT_RETAINED) : Long.valueOf(DEFAULT_TOP);
+                        if (count == null) {
+                            out.write(INVALID_ARGUMENT);
+                            break;
+                        }
+                        List<Leaderboard.Entry> entries = leaderboard.top(count.intValue());
+                        out.write("TOP " + entries.size() + " " + leaderboard.size() + "\n");
+                        for (Leaderboard.Entry entry : entries) {
+                            out.write(entry.score() + " " + entry.level() + " " + entry.seed() + "\n");
+                        }
+                    }
+                    case "RANG" -> {
+                        Long score = argument(parts, Integer.MIN_VALUE, Integer.MAX_VALUE);
+                        if (score == null) {
+                            out.write(INVALID_ARGUMENT);
+                        } else {
+                            out.write("RANG " + leaderboard.rankOf(score.intValue()) + " " + leaderboard.size() + "\n");
+                        }
+                    }
+                    case "Q" -> {
+                        return;
+                    }
+                    default -> out.write("ERR commande inconnue\n");
+                }
+                out.flush();
+            }
+        } catch (SocketException e) {
+            // Client deconnecte
+        } catch (IOException | RuntimeException e) {
+            // Une session defaillante ne doit pas arreter le serveur
+        } finally {
+            if (session != null) {
+                session.stop();
+            }
+        }
+    }
+
+    private static Long argument(String[] parts, long min, long max) {
+        if (parts.length != 2) {
+            return null;
+        }
+        try {
+            long value = Long.parseLong(parts[1]);
+            return value < min || value > max ? null : value;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private final class Session {
+        private final long id;
+        private final long seed;
+        private final GameWorld world;
+        private final ConcurrentLinkedQueue<Integer> inputs = new ConcurrentLinkedQueue<>();
+        private volatile boolean active = true;
+        private volatile long tick;
+        private volatile int score;
+        private volatile int level;
+        private volatile int lives;
+        private volatile GameWorld.GameState state;
+        private boolean recorded;
+
+        private Session(long id, long seed) {
+            this.id = id;
+            this.seed = seed;
+            this.world = new GameWorld(seed);
+            publish();
+        }
+
+        void stop() {
+            active = false;
+        }
+
+        String describe() {
+            return String.format(Locale.ROOT, "ETAT %d %d %d %d %s%n", tick, score, level, lives, state);
+        }
+
+        void run() {
+            Thread self = Thread.currentThread();
+            sessions.incrementAndGet();
+            sessionThreads.add(self);
+            try {
+                long seen = generation;
+                while (active && running) {
+                    long current = generation;
+                    if (current == seen) {
+                        LockSupport.park(this);
+                        continue;
+                    }
+                    long due = current - seen;
+                    long run = Math.min(due, MAX_CATCH_UP_TICKS);
+                    if (due > 1) {
+                        lateTicks.add(run - 1);
+                        droppedTicks.add(due - run);
+                    }
+                    seen = current;
+                    long start = System.nanoTime();
+                    for (int i = 0; i < run; i++) {
+                        step();
+                    }
+                    tickNanos.add(System.nanoTime() - start);
+                    ticks.add(run);
+                    publish();
+                }
+            } finally {
+                sessionThreads.remove(self);
+                sessions.decrementAndGet();
+            }
+        }
+
+        private void step() {
+            Integer input;
+            while ((input = inputs.poll()) != null) {
+                if ((input & 1) != 0) {
+                    world.keyPressed(input >>> 1);
+                } else {
+                    world.keyReleased(input >>> 1);
+                }
+            }
+            world.update();
+        }
+
+        private void publish() {
+            tick = world.getTick();
+            score = world.getScore();
+            level = world.getLevel();
+            lives = world.getLives();
+            state = world.getGameState();
+            if (state != GameWorld.GameState.GAME_OVER) {
+                recorded = false;
+            } else if (!recorded) {
+                leaderboard.record(score, level, seed);
+                recorded = true;
+            }
+        }
+    }
+}
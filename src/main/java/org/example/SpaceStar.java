@@ -0,0 +1,63 @@
+package org.example;
+
+final class SpaceStar {
+    static final int CYCLE_FRAMES = 480;
+
+    private final double x;
+    private final double y;
+    private final double size;
+    private final double haloSize;
+    private final int baseAlpha;
+    private final int alphaRange;
+    private final int harmonic;
+    private final double phase;
+    private final int tintRed;
+    private final int tintGreen;
+
+    SpaceStar(double x, double y, double size, double haloSize, int baseAlpha, int alphaRange, double twinkleSpeed, double phase, int tintRed, int tintGreen) {
+        this.x = x;
+        this.y = y;
+        this.size = size;
+        this.haloSize = haloSize;
+        this.baseAlpha = baseAlpha;
+        this.alphaRange = alphaRange;
+        this.harmonic = Math.max(1, (int) Math.round(twinkleSpeed * CYCLE_FRAMES / (Math.PI * 2)));
+        this.phase = phase;
+        this.tintRed = tintRed;
+        this.tintGreen = tintGreen;
+    }
+
+    int alphaAt(int frame) {
+        double angle = phase + Math.PI * 2 * harmonic * (frame % CYCLE_FRAMES) / CYCLE_FRAMES;
+        double oscillation = Math.sin(angle) * alphaRange;
+        int value = (int) Math.round(baseAlpha + oscillation);
+        if (value < 0) {
+            return 0;
+        }
+        return Math.min(255, value);
+    }
+
+    double getX() {
+        return x;
+    }
+
+    double getY() {
+        return y;
+    }
+
+    double getSize() {
+        return size;
+    }
+
+    double getHaloSize() {
+        return haloSize;
+    }
+
+    int getTintRed() {
+        return tintRed;
+    }
+
+    int getTintGreen() {
+        return tintGreen;
+    }
+}
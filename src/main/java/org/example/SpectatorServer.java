@@ -0,0 +1,651 @@
+package org.example;
+
+import java.awt.event.KeyEvent;
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+final class SpectatorServer implements AutoCloseable {
+    static final int DEFAULT_PORT = 47047;
+    static final int KEYFRAME_INTERVAL = GameWorld.FRAMES_PER_SECOND * 5;
+
+    private static final byte KEYFRAME = 1;
+    private static final byte DELTA = 2;
+    private static final int FIELD_PADDLE_X = 1;
+    private static final int FIELD_PADDLE_WIDTH = 1 << 1;
+    private static final int FIELD_BALL = 1 << 2;
+    private static final int FIELD_SCORE = 1 << 3;
+    private static final int FIELD_CREDITS = 1 << 4;
+    private static final int FIELD_LIVES = 1 << 5;
+    private static final int FIELD_LEVEL = 1 << 6;
+    private static final int FIELD_STATE = 1 << 7;
+
+    private final ServerSocketChannel serverChannel;
+    private final Selector selector;
+    private final Thread thread;
+    private final AtomicReference<Snapshot> exchange = new AtomicReference<>(new Snapshot());
+    private final List<Viewer> viewers = new ArrayList<>();
+    private final ByteBuffer discard = ByteBuffer.allocate(256);
+    private volatile boolean running = true;
+    private volatile int viewerCount;
+    private volatile long bytesSent;
+
+    private Keyframe keyframe;
+    private Brick[] keyBricks = new Brick[0];
+    private int nextEpoch;
+    private Snapshot back = new Snapshot();
+    private Snapshot front = new Snapshot();
+    private long published;
+
+    private SpectatorServer(ServerSocketChannel serverChannel, Selector selector) {
+        this.serverChannel = serverChannel;
+        this.selector = selector;
+        this.thread = new Thread(this::run, "spectateurs");
+        this.thread.setDaemon(true);
+    }
+
+    public static void main(String[] args) throws IOException {
+        System.setProperty("java.awt.headless", "true");
+        int serve = -1;
+        int spectate = -1;
+        int ticks = GameWorld.FRAMES_PER_SECOND * 60;
+        Long seed = null;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--serve" -> serve = Integer.parseInt(args[++i]);
+                case "--spectate" -> spectate = Integer.parseInt(args[++i]);
+                case "--ticks" -> ticks = Integer.parseInt(args[++i]);
+                case "--seed" -> seed = Long.parseLong(args[++i]);
+                default -> {
+                    System.err.println("Usage : SpectatorServer (--serve port [--seed N] | --spectate port) [--ticks N]");
+                    System.exit(2);
+                }
+            }
+        }
+        if (serve >= 0) {
+            GameWorld world = seed != null ? new GameWorld(seed) : new GameWorld();
+            world.keyPressed(KeyEvent.VK_R);
+            serveDemo(world, ticks, serve);
+        } else if (spectate >= 0) {
+            spectateDemo(spectate, ticks);
+        } else {
+            System.err.println("Usage : SpectatorServer (--serve port [--seed N] | --spectate port) [--ticks N]");
+            System.exit(2);
+        }
+    }
+
+    private static void serveDemo(GameWorld world, int ticks, int port) throws IOException {
+        try (SpectatorServer server = start(port)) {
+            System.out.printf(Locale.ROOT, "Spectateurs attendus sur le port %d%n", server.port());
+            long frameStart = System.nanoTime();
+            long started = frameStart;
+            for (int tick = 1; tick <= ticks; tick++) {
+                ReplayExporter.TickDriver.AUTOPILOT.beforeTick(world, tick);
+                world.update();
+                server.publish(world);
+                frameStart += 1_000_000_000L / GameWorld.FRAMES_PER_SECOND;
+                long sleep = frameStart - System.nanoTime();
+                if (sleep > 0) {
+                    LockSupport.parkNanos(sleep);
+                }
+            }
+            double seconds = (System.nanoTime() - started) / 1_000_000_000.0;
+            System.out.printf(Locale.ROOT, "%d ticks diffuses, %d spectateurs, %.1f Ko envoyes (%.2f Ko/s), score %d niveau %d%n",
+                ticks, server.viewerCount(), server.bytesSent() / 1024.0, server.bytesSent() / 1024.0 / seconds,
+                world.getScore(), world.getLevel());
+        }
+    }
+
+    private static void spectateDemo(int port, int messages) throws IOException {
+        View view = new View();
+        try (SocketChannel channel = SocketChannel.open(new InetSocketAddress(InetAddress.getLoopbackAddress(), port))) {
+            ByteBuffer header = ByteBuffer.allocate(4);
+            ByteBuffer message = ByteBuffer.allocate(4 * 1024);
+            long bytes = 0;
+            long started = System.nanoTime();
+            long lastReport = started;
+            while (view.keyframes() + view.deltas() < messages) {
+                header.clear();
+                if (!readFully(channel, header)) {
+                    break;
+                }
+                int length = header.flip().getInt();
+                if (message.capacity() < length) {
+                    message = ByteBuffer.allocate(length);
+                }
+                message.clear().limit(length);
+                if (!readFully(channel, message)) {
+                    break;
+                }
+                view.apply(message.flip());
+                bytes += 4 + length;
+                if (System.nanoTime() - lastReport >= 1_000_000_000L) {
+                    lastReport = System.nanoTime();
+                    System.out.printf(Locale.ROOT, "tick %d : score %d niveau %d vies %d briques %d, %.2f Ko/s%n",
+                        view.tick(), view.score(), view.level(), view.lives(), view.remainingBricks(),
+                        bytes / 1024.0 / ((lastReport - started) / 1_000_000_000.0));
+                }
+            }
+            double seconds = Math.max(1e-9, (System.nanoTime() - started) / 1_000_000_000.0);
+            System.out.printf(Locale.ROOT, "%d images cles, %d deltas, %.1f Ko recus (%.2f Ko/s), dernier tick %d score %d%n",
+                view.keyframes(), view.deltas(), bytes / 1024.0, bytes / 1024.0 / seconds, view.tick(), view.score());
+        }
+    }
+
+    private static boolean readFully(SocketChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static SpectatorServer start(int port) throws IOException {
+        Selector selector = Selector.open();
+        ServerSocketChannel channel = ServerSocketChannel.open();
+        try {
+            channel.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+            channel.configureBlocking(false);
+            channel.register(selector, SelectionKey.OP_ACCEPT);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            selector.close();
+            throw e;
+        }
+        SpectatorServer server = new SpectatorServer(channel, selector);
+        server.thread.start();
+        return server;
+    }
+
+    int port() {
+        return serverChannel.socket().getLocalPort();
+    }
+
+    int viewerCount() {
+        return viewerCount;
+    }
+
+    long bytesSent() {
+        return bytesSent;
+    }
+
+    void publish(GameWorld world) {
+        if (viewerCount == 0) {
+            return;
+        }
+        List<Brick> bricks = world.getBricks();
+        byte[] hits = back.prepareHits(keyBricks.length);
+        boolean rebuild = keyframe == null || world.getTick() - keyframe.tick >= KEYFRAME_INTERVAL
+            || world.getTick() < keyframe.tick;
+        int cursor = 0;
+        for (int i = 0; i < bricks.size() && !rebuild; i++) {
+            Brick brick = bricks.get(i);
+            while (cursor < keyBricks.length && keyBricks[cursor] != brick) {
+                cursor++;
+            }
+            if (cursor == keyBricks.length) {
+                rebuild = true;
+            } else {
+                hits[cursor++] = (byte) brick.getRemainingHits();
+            }
+        }
+        if (rebuild) {
+            keyBricks = bricks.toArray(new Brick[0]);
+            keyframe = new Keyframe(nextEpoch++, world.getTick(), keyBricks);
+            hits = back.prepareHits(keyBricks.length);
+            for (int i = 0; i < keyBricks.length; i++) {
+                hits[i] = (byte) keyBricks[i].getRemainingHits();
+            }
+        }
+        Paddle paddle = world.getPaddle();
+        Ball ball = world.getBall();
+        back.set(keyframe, world.getTick(), (float) paddle.getX(), paddle.getWidth(), (float) ball.getX(),
+            (float) ball.getY(), world.getScore(), world.getCredits(), world.getLives(), world.getLevel(),
+            world.getGameState().ordinal());
+        back.sequence = ++published;
+        back = exchange.getAndSet(back);
+        selector.wakeup();
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        selector.wakeup();
+        try {
+            thread.join(1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        try {
+            while (running) {
+                selector.select(250);
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (!key.isValid()) {
+                        continue;
+                    }
+                    if (key.isAcceptable()) {
+                        accept();
+                    } else if (key.isReadable()) {
+                        drainInput(key);
+                    }
+                }
+                Snapshot snapshot = acquire();
+                for (int i = viewers.size() - 1; i >= 0; i--) {
+                    flush(viewers.get(i), snapshot);
+                }
+            }
+        } catch (IOException | ClosedSelectorException e) {
+            // Le serveur de spectateurs s'arrete avec la partie
+        } finally {
+            for (Viewer viewer : viewers) {
+                closeQuietly(viewer.channel);
+            }
+            viewers.clear();
+            viewerCount = 0;
+            closeQuietly(serverChannel);
+            try {
+                selector.close();
+            } catch (IOException e) {
+                // Rien a liberer de plus
+            }
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel = serverChannel.accept();
+        if (channel == null) {
+            return;
+        }
+        channel.configureBlocking(false);
+        channel.socket().setTcpNoDelay(true);
+        Viewer viewer = new Viewer(channel);
+        viewer.key = channel.register(selector, SelectionKey.OP_READ, viewer);
+        viewers.add(viewer);
+        viewerCount = viewers.size();
+    }
+
+    private void drainInput(SelectionKey key) {
+        Viewer viewer = (Viewer) key.attachment();
+        try {
+            discard.clear();
+            if (viewer.channel.read(discard) < 0) {
+                disconnect(viewer);
+            }
+        } catch (IOException e) {
+            disconnect(viewer);
+        }
+    }
+
+    private Snapshot acquire() {
+        if (exchange.get().sequence > front.sequence) {
+            front = exchange.getAndSet(front);
+        }
+        return front.sequence == 0 ? null : front;
+    }
+
+    private void flush(Viewer viewer, Snapshot snapshot) {
+        try {
+            if (!viewer.output.hasRemaining() && snapshot != null && snapshot.sequence != viewer.sent.sequence) {
+                viewer.output.clear();
+                encode(viewer, snapshot);
+                viewer.output.flip();
+                viewer.sent.copyFrom(snapshot);
+            }
+            if (viewer.output.hasRemaining()) {
+                bytesSent += viewer.channel.write(viewer.output);
+            }
+            int interest = viewer.output.hasRemaining() ? SelectionKey.OP_READ | SelectionKey.OP_WRITE : SelectionKey.OP_READ;
+            if (viewer.key.interestOps() != interest) {
+                viewer.key.interestOps(interest);
+            }
+        } catch (IOException e) {
+            disconnect(viewer);
+        }
+    }
+
+    private void encode(Viewer viewer, Snapshot snapshot) {
+        Snapshot previous = viewer.sent;
+        if (previous.keyframe != snapshot.keyframe) {
+            ensureCapacity(viewer, 64 + snapshot.keyframe.size() * 24);
+            ByteBuffer out = viewer.output;
+            int start = out.position();
+            out.putInt(0);
+            out.put(KEYFRAME);
+            Keyframe frame = snapshot.keyframe;
+            out.putInt(frame.epoch);
+            putFields(out, snapshot, -1);
+            out.putShort((short) frame.size());
+            for (int i = 0; i < frame.size(); i++) {
+                out.putFloat(frame.x[i]);
+                out.putFloat(frame.y[i]);
+                out.putFloat(frame.width[i]);
+                out.putFloat(frame.height[i]);
+                out.putInt(frame.color[i]);
+                out.put(frame.maxHits[i]);
+                out.put(snapshot.hits[i]);
+            }
+            out.putInt(start, out.position() - start - 4);
+            return;
+        }
+        ensureCapacity(viewer, 64 + snapshot.hitCount * 3);
+        ByteBuffer out = viewer.output;
+        int start = out.position();
+        out.putInt(0);
+        out.put(DELTA);
+        int mask = (snapshot.paddleX != previous.paddleX ? FIELD_PADDLE_X : 0)
+            | (snapshot.paddleWidth != previous.paddleWidth ? FIELD_PADDLE_WIDTH : 0)
+            | (snapshot.ballX != previous.ballX || snapshot.ballY != previous.ballY ? FIELD_BALL : 0)
+            | (snapshot.score != previous.score ? FIELD_SCORE : 0)
+            | (snapshot.credits != previous.credits ? FIELD_CREDITS : 0)
+            | (snapshot.lives != previous.lives ? FIELD_LIVES : 0)
+            | (snapshot.level != previous.level ? FIELD_LEVEL : 0)
+            | (snapshot.gameState != previous.gameState ? FIELD_STATE : 0);
+        putFields(out, snapshot, mask);
+        int countAt = out.position();
+        out.putShort((short) 0);
+        int changed = 0;
+        for (int i = 0; i < snapshot.hitCount; i++) {
+            if (snapshot.hits[i] != previous.hits[i]) {
+                out.putShort((short) i);
+                out.put(snapshot.hits[i]);
+                changed++;
+            }
+        }
+        out.putShort(countAt, (short) changed);
+        out.putInt(start, out.position() - start - 4);
+    }
+
+    private static void putFields(ByteBuffer out, Snapshot snapshot, int mask) {
+        out.putInt((int) snapshot.tick);
+        out.put((byte) mask);
+        if ((mask & FIELD_PADDLE_X) != 0) {
+            out.putFloat(snapshot.paddleX);
+        }
+        if ((mask & FIELD_PADDLE_WIDTH) != 0) {
+            out.putShort((short) snapshot.paddleWidth);
+        }
+        if ((mask & FIELD_BALL) != 0) {
+            out.putFloat(snapshot.ballX);
+            out.putFloat(snapshot.ballY);
+        }
+        if ((mask & FIELD_SCORE) != 0) {
+            out.putInt(snapshot.score);
+        }
+        if ((mask & FIELD_CREDITS) != 0) {
+            out.putInt(snapshot.credits);
+        }
+        if ((mask & FIELD_LIVES) != 0) {
+            out.put((byte) snapshot.lives);
+        }
+        if ((mask & FIELD_LEVEL) != 0) {
+            out.putShort((short) snapshot.level);
+        }
+        if ((mask & FIELD_STATE) != 0) {
+            out.put((byte) snapshot.gameState);
+        }
+    }
+
+    private static void ensureCapacity(Viewer viewer, int bytes) {
+        if (viewer.output.capacity() < bytes) {
+            viewer.output = ByteBuffer.allocate(Math.max(bytes, viewer.output.capacity() * 2));
+        }
+    }
+
+    private void disconnect(Viewer viewer) {
+        viewer.key.cancel();
+        closeQuietly(viewer.channel);
+        viewers.remove(viewer);
+        viewerCount = viewers.size();
+    }
+
+    private static void closeQuietly(Closeable closeable) {
+        try {
+            closeable.close();
+        } catch (IOException e) {
+            // Connexion deja fermee
+        }
+    }
+
+    private static final class Keyframe {
+        private final int epoch;
+        private final long tick;
+        private final float[] x;
+        private final float[] y;
+        private final float[] width;
+        private final float[] height;
+        private final int[] color;
+        private final byte[] maxHits;
+
+        private Keyframe(int epoch, long tick, Brick[] bricks) {
+            this.epoch = epoch;
+            this.tick = tick;
+            this.x = new float[bricks.length];
+            this.y = new float[bricks.length];
+            this.width = new float[bricks.length];
+            this.height = new float[bricks.length];
+            this.color = new int[bricks.length];
+            this.maxHits = new byte[bricks.length];
+            for (int i = 0; i < bricks.length; i++) {
+                x[i] = (float) bricks[i].getBounds().x;
+                y[i] = (float) bricks[i].getBounds().y;
+                width[i] = (float) bricks[i].getBounds().width;
+                height[i] = (float) bricks[i].getBounds().height;
+                color[i] = bricks[i].getRgb();
+                maxHits[i] = (byte) bricks[i].getMaxHitPoints();
+            }
+        }
+
+        int size() {
+            return x.length;
+        }
+    }
+
+    private static final class Snapshot {
+        private Keyframe keyframe;
+        private long sequence;
+        private long tick;
+        private float paddleX;
+        private int paddleWidth;
+        private float ballX;
+        private float ballY;
+        private int score;
+        private int credits;
+        private int lives;
+        private int level;
+        private int gameState;
+        private byte[] hits = new byte[WorldLayout.MAX_BRICKS];
+        private int hitCount;
+
+        byte[] prepareHits(int count) {
+            if (hits.length < count) {
+                hits = new byte[count];
+            }
+            Arrays.fill(hits, 0, count, (byte) 0);
+            hitCount = count;
+            return hits;
+        }
+
+        void set(Keyframe keyframe, long tick, float paddleX, int paddleWidth, float ballX, float ballY,
+                 int score, int credits, int lives, int level, int gameState) {
+            this.keyframe = keyframe;
+            this.tick = tick;
+            this.paddleX = paddleX;
+            this.paddleWidth = paddleWidth;
+            this.ballX = ballX;
+            this.ballY = ballY;
+            this.score = score;
+            this.credits = credits;
+            this.lives = lives;
+            this.level = level;
+            this.gameState = gameState;
+        }
+
+        void copyFrom(Snapshot other) {
+            set(other.keyframe, other.tick, other.paddleX, other.paddleWidth, other.ballX, other.ballY,
+                other.score, other.credits, other.lives, other.level, other.gameState);
+            System.arraycopy(other.hits, 0, prepareHits(other.hitCount), 0, other.hitCount);
+            sequence = other.sequence;
+        }
+    }
+
+    private static final class Viewer {
+        private final SocketChannel channel;
+        private SelectionKey key;
+        private ByteBuffer output = ByteBuffer.allocate(4 * 1024);
+        private final Snapshot sent = new Snapshot();
+
+        private Viewer(SocketChannel channel) {
+            this.channel = channel;
+            this.output.flip();
+        }
+    }
+
+    static final class View {
+        private int epoch = -1;
+        private long tick;
+        private float paddleX;
+        private int paddleWidth;
+        private float ballX;
+        private float ballY;
+        private int score;
+        private int credits;
+        private int lives;
+        private int level;
+        private int gameState;
+        private byte[] hits = new byte[0];
+        private long keyframes;
+        private long deltas;
+
+        long tick() {
+            return tick;
+        }
+
+        float paddleX() {
+            return paddleX;
+        }
+
+        float ballX() {
+            return ballX;
+        }
+
+        float ballY() {
+            return ballY;
+        }
+
+        int score() {
+            return score;
+        }
+
+        int credits() {
+            return credits;
+        }
+
+        int lives() {
+            return lives;
+        }
+
+        int level() {
+            return level;
+        }
+
+        GameWorld.GameState gameState() {
+            return GameWorld.GameState.values()[gameState];
+        }
+
+        int remainingBricks() {
+            int count = 0;
+            for (byte hit : hits) {
+                if (hit > 0) {
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        long keyframes() {
+            return keyframes;
+        }
+
+        long deltas() {
+            return deltas;
+        }
+
+        void apply(ByteBuffer message) {
+            byte type = message.get();
+            if (type == KEYFRAME) {
+                epoch = message.getInt();
+                readFields(message);
+                int count = message.getShort() & 0xFFFF;
+                hits = new byte[count];
+                for (int i = 0; i < count; i++) {
+                    message.position(message.position() + 4 * 4 + 4 + 1);
+                    hits[i] = message.get();
+                }
+                keyframes++;
+            } else if (type == DELTA) {
+                if (epoch < 0) {
+                    throw new IllegalStateException("Delta recu avant la premiere image cle");
+                }
+                readFields(message);
+                int count = message.getShort() & 0xFFFF;
+                for (int i = 0; i < count; i++) {
+                    hits[message.getShort() & 0xFFFF] = message.get();
+                }
+                deltas++;
+            } else {
+                throw new IllegalArgumentException("Message de spectateur inconnu : " + type);
+            }
+        }
+
+        private void readFields(ByteBuffer message) {
+            tick = message.getInt();
+            int mask = message.get();
+            if ((mask & FIELD_PADDLE_X) != 0) {
+                paddleX = message.getFloat();
+            }
+            if ((mask & FIELD_PADDLE_WIDTH) != 0) {
+                paddleWidth = message.getShort();
+            }
+            if ((mask & FIELD_BALL) != 0) {
+                ballX = message.getFloat();
+                ballY = message.getFloat();
+            }
+            if ((mask & FIELD_SCORE) != 0) {
+                score = message.getInt();
+            }
+            if ((mask & FIELD_CREDITS) != 0) {
+                credits = message.getInt();
+            }
+            if ((mask & FIELD_LIVES) != 0) {
+                lives = message.get();
+            }
+            if ((mask & FIELD_LEVEL) != 0) {
+                level = message.getShort();
+            }
+            if ((mask & FIELD_STATE) != 0) {
+                gameState = message.get();
+            }
+        }
+    }
+}
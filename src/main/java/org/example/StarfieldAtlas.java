@@ -0,0 +1,141 @@
+package org.example;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.List;
+
+final class StarfieldAtlas {
+    private static final int ALPHA_LEVELS = 32;
+
+    private BufferedImage atlas;
+    private int[] atlasPixels;
+    private int starCount;
+    private int[] anchorX;
+    private int[] anchorY;
+    private int[] cellWidth;
+    private int[] cellHeight;
+    private int[] rowY;
+    private byte[] levels;
+    private GameWorld bakedWorld;
+    private int bakedVersion;
+
+    synchronized void ensure(GameWorld world) {
+        if (atlas != null && bakedWorld == world && bakedVersion == world.getStarfieldVersion()) {
+            return;
+        }
+        bake(world.getStars());
+        bakedWorld = world;
+        bakedVersion = world.getStarfieldVersion();
+    }
+
+    void draw(Graphics2D g2, GameWorld world, boolean halos) {
+        ensure(world);
+        int frame = world.getStarfieldFrame();
+        int variant = halos ? 1 : 0;
+        for (int i = 0; i < starCount; i++) {
+            int level = levels[i * SpaceStar.CYCLE_FRAMES + frame];
+            if (level == 0) {
+                continue;
+            }
+            int sourceX = (variant * ALPHA_LEVELS + level) * cellWidth[i];
+            int sourceY = rowY[i];
+            int w = cellWidth[i];
+            int h = cellHeight[i];
+            g2.drawImage(atlas, anchorX[i], anchorY[i], anchorX[i] + w, anchorY[i] + h,
+                sourceX, sourceY, sourceX + w, sourceY + h, null);
+        }
+    }
+
+    void draw(PixelCanvas canvas, GameWorld world, boolean halos) {
+        ensure(world);
+        int frame = world.getStarfieldFrame();
+        int variant = halos ? 1 : 0;
+        int stride = atlas.getWidth();
+        for (int i = 0; i < starCount; i++) {
+            int level = levels[i * SpaceStar.CYCLE_FRAMES + frame];
+            if (level == 0) {
+                continue;
+            }
+            int sourceX = (variant * ALPHA_LEVELS + level) * cellWidth[i];
+            canvas.blendImage(atlasPixels, stride, sourceX, rowY[i], cellWidth[i], cellHeight[i], anchorX[i], anchorY[i]);
+        }
+    }
+
+    private void bake(List<SpaceStar> stars) {
+        starCount = stars.size();
+        anchorX = new int[starCount];
+        anchorY = new int[starCount];
+        cellWidth = new int[starCount];
+        cellHeight = new int[starCount];
+        rowY = new int[starCount];
+        levels = new byte[starCount * SpaceStar.CYCLE_FRAMES];
+
+        int atlasWidth = 1;
+        int atlasHeight = 0;
+        for (int i = 0; i < starCount; i++) {
+            SpaceStar star = stars.get(i);
+            int haloDiameter = haloDiameter(star);
+            int haloX = (int) Math.round(star.getX() - star.getHaloSize() / 2.0);
+            int haloY = (int) Math.round(star.getY() - star.getHaloSize() / 2.0);
+            int starSize = starSize(star);
+            int drawX = (int) Math.round(star.getX() - star.getSize() / 2.0);
+            int drawY = (int) Math.round(star.getY() - star.getSize() / 2.0);
+            int left = Math.min(haloX, drawX) - 1;
+            int top = Math.min(haloY, drawY) - 1;
+            anchorX[i] = left;
+            anchorY[i] = top;
+            cellWidth[i] = Math.max(haloX + haloDiameter, drawX + starSize) + 1 - left;
+            cellHeight[i] = Math.max(haloY + haloDiameter, drawY + starSize) + 1 - top;
+            rowY[i] = atlasHeight;
+            atlasHeight += cellHeight[i];
+            atlasWidth = Math.max(atlasWidth, cellWidth[i] * ALPHA_LEVELS * 2);
+
+            for (int frame = 0; frame < SpaceStar.CYCLE_FRAMES; frame++) {
+                int alpha = star.alphaAt(frame);
+                levels[i * SpaceStar.CYCLE_FRAMES + frame] = (byte) Math.round(alpha * (ALPHA_LEVELS - 1) / 255.0);
+            }
+        }
+
+        atlas = new BufferedImage(atlasWidth, Math.max(1, atlasHeight), BufferedImage.TYPE_INT_ARGB);
+        atlasPixels = ((DataBufferInt) atlas.getRaster().getDataBuffer()).getData();
+        Graphics2D g2 = atlas.createGraphics();
+        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        for (int i = 0; i < starCount; i++) {
+            SpaceStar star = stars.get(i);
+            for (int variant = 0; variant < 2; variant++) {
+                for (int level = 1; level < ALPHA_LEVELS; level++) {
+                    int offsetX = (variant * ALPHA_LEVELS + level) * cellWidth[i] - anchorX[i];
+                    int offsetY = rowY[i] - anchorY[i];
+                    drawStar(g2, star, (int) Math.round(level * 255.0 / (ALPHA_LEVELS - 1)), variant == 1, offsetX, offsetY);
+                }
+            }
+        }
+        g2.dispose();
+    }
+
+    private void drawStar(Graphics2D g2, SpaceStar star, int alpha, boolean halos, int offsetX, int offsetY) {
+        double halo = star.getHaloSize();
+        int haloAlpha = alpha / 3;
+        if (halos && haloAlpha > 0 && halo > star.getSize()) {
+            g2.setColor(new Color(160, 200, 255, Math.min(255, haloAlpha)));
+            int haloX = (int) Math.round(star.getX() - halo / 2.0);
+            int haloY = (int) Math.round(star.getY() - halo / 2.0);
+            g2.fillOval(haloX + offsetX, haloY + offsetY, haloDiameter(star), haloDiameter(star));
+        }
+        int drawX = (int) Math.round(star.getX() - star.getSize() / 2.0);
+        int drawY = (int) Math.round(star.getY() - star.getSize() / 2.0);
+        g2.setColor(new Color(star.getTintRed(), star.getTintGreen(), 255, Math.min(255, alpha)));
+        g2.fillOval(drawX + offsetX, drawY + offsetY, starSize(star), starSize(star));
+    }
+
+    private int haloDiameter(SpaceStar star) {
+        return (int) Math.max(1, Math.round(star.getHaloSize()));
+    }
+
+    private int starSize(SpaceStar star) {
+        return (int) Math.max(1, Math.round(star.getSize()));
+    }
+}
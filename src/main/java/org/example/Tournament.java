@@ -0,0 +1,230 @@
+package org.example;
+
+import java.awt.event.KeyEvent;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+
+final class Tournament {
+    static final int MAX_TRACKED_LEVEL = 64;
+
+    private final int games;
+    private final long baseSeed;
+    private final long maxTicks;
+    private final ConcurrentLinkedQueue<Stats> workerStats = new ConcurrentLinkedQueue<>();
+    private final ThreadLocal<Stats> localStats = ThreadLocal.withInitial(this::registerStats);
+    private final AtomicLongArray livesLostByLevel = new AtomicLongArray(MAX_TRACKED_LEVEL + 1);
+    private final AtomicLongArray gamesReachingLevel = new AtomicLongArray(MAX_TRACKED_LEVEL + 1);
+    private final LongAdder totalTicks = new LongAdder();
+    private final LongAdder finished = new LongAdder();
+    private final LongAdder capped = new LongAdder();
+    private final LongAccumulator bestScore = new LongAccumulator(Math::max, 0);
+    private final Leaderboard leaderboard = new Leaderboard();
+
+    Tournament(int games, long baseSeed, long maxTicks) {
+        this.games = games;
+        this.baseSeed = baseSeed;
+        this.maxTicks = maxTicks;
+    }
+
+    public static void main(String[] args) throws InterruptedException, ExecutionException {
+        System.setProperty("java.awt.headless", "true");
+        int games = 200;
+        long seed = 1;
+        long maxTicks = GameWorld.FRAMES_PER_SECOND * 60L * 30;
+        int threads = Runtime.getRuntime().availableProcessors();
+        double minMeanScore = -1;
+        double minMeanLevel = -1;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--games" -> games = Integer.parseInt(args[++i]);
+                case "--seed" -> seed = Long.parseLong(args[++i]);
+                case "--max-ticks" -> maxTicks = Long.parseLong(args[++i]);
+                case "--threads" -> threads = Math.max(1, Integer.parseInt(args[++i]));
+                case "--min-mean-score" -> minMeanScore = Double.parseDouble(args[++i]);
+                case "--min-mean-level" -> minMeanLevel = Double.parseDouble(args[++i]);
+                default -> {
+                    System.err.println("Usage : Tournament [--games N] [--seed N] [--max-ticks N] [--threads N] [--min-mean-score X] [--min-mean-level X]");
+                    System.exit(2);
+                }
+            }
+        }
+
+        Tournament tournament = new Tournament(games, seed, maxTicks);
+        long start = System.nanoTime();
+        tournament.run(threads);
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        Stats total = tournament.mergedStats();
+        tournament.report(total, seconds, threads);
+
+        boolean failed = false;
+        if (minMeanScore >= 0 && total.scores.mean() < minMeanScore) {
+            System.out.printf(Locale.ROOT, "ECHEC : score moyen %.1f sous le seuil %.1f%n", total.scores.mean(), minMeanScore);
+            failed = true;
+        }
+        if (minMeanLevel >= 0 && total.levels.mean() < minMeanLevel) {
+            System.out.printf(Locale.ROOT, "ECHEC : niveau moyen %.2f sous le seuil %.2f%n", total.levels.mean(), minMeanLevel);
+            failed = true;
+        }
+        if (failed) {
+            System.exit(1);
+        }
+    }
+
+    void run(int threads) throws InterruptedException, ExecutionException {
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            pool.submit(() -> IntStream.range(0, games).parallel().forEach(this::play)).get();
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    long livesLost(int level) {
+        return livesLostByLevel.get(level);
+    }
+
+    long gamesReaching(int level) {
+        return gamesReachingLevel.get(level);
+    }
+
+    long totalTicks() {
+        return totalTicks.sum();
+    }
+
+    long finished() {
+        return finished.sum();
+    }
+
+    long capped() {
+        return capped.sum();
+    }
+
+    QuantileSketch ticksPerLevel() {
+        return mergedStats().ticksPerLevel;
+    }
+
+    private void play(int game) {
+        Stats stats = localStats.get();
+        GameWorld world = new GameWorld(baseSeed + game);
+        world.setEffectsSuppressed(true);
+        world.keyPressed(KeyEvent.VK_R);
+        int[] livesLost = new int[MAX_TRACKED_LEVEL + 1];
+        int highestLevel = 1;
+        int lives = world.getLives();
+        long levelStart = 0;
+        while (world.getGameState() != GameWorld.GameState.GAME_OVER && world.getTick() < maxTicks) {
+            if (world.getGameState() == GameWorld.GameState.LEVEL_COMPLETE) {
+                world.keyPressed(KeyEvent.VK_SPACE);
+                world.keyReleased(KeyEvent.VK_SPACE);
+            }
+            long before = System.nanoTime();
+            world.update();
+            stats.tickNanos.add(System.nanoTime() - before);
+            int level = Math.min(world.getLevel(), MAX_TRACKED_LEVEL);
+            if (level > highestLevel) {
+                stats.ticksPerLevel.add(world.getTick() - levelStart);
+                levelStart = world.getTick();
+            }
+            highestLevel = Math.max(highestLevel, level);
+            if (world.getLives() < lives) {
+                livesLost[level] += lives - world.getLives();
+            }
+            lives = world.getLives();
+        }
+
+        stats.scores.add(world.getScore());
+        stats.levels.add(world.getLevel());
+        stats.ticks.add(world.getTick());
+        totalTicks.add(world.getTick());
+        bestScore.accumulate(world.getScore());
+        leaderboard.record(world.getScore(), world.getLevel(), baseSeed + game);
+        if (world.getGameState() == GameWorld.GameState.GAME_OVER) {
+            finished.increment();
+        } else {
+            capped.increment();
+        }
+        for (int level = 1; level <= highestLevel; level++) {
+            gamesReachingLevel.incrementAndGet(level);
+            if (livesLost[level] > 0) {
+                livesLostByLevel.addAndGet(level, livesLost[level]);
+            }
+        }
+    }
+
+    private Stats registerStats() {
+        Stats stats = new Stats();
+        workerStats.add(stats);
+        return stats;
+    }
+
+    private Stats mergedStats() {
+        Stats total = new Stats();
+        for (Stats stats : workerStats) {
+            total.scores.merge(stats.scores);
+            total.levels.merge(stats.levels);
+            total.ticks.merge(stats.ticks);
+            total.ticksPerLevel.merge(stats.ticksPerLevel);
+            total.tickNanos.merge(stats.tickNanos);
+        }
+        return total;
+    }
+
+    private void report(Stats total, double seconds, int threads) {
+        System.out.printf(Locale.ROOT, "%d parties (graines %d a %d) sur %d fils en %.2f s : %.1f parties/s, %.0f ticks/s%n",
+            games, baseSeed, baseSeed + games - 1, threads, seconds, games / seconds, totalTicks.sum() / seconds);
+        System.out.printf(Locale.ROOT, "%d terminees par game over, %d arretees a %d ticks, meilleur score %d%n",
+            finished.sum(), capped.sum(), maxTicks, bestScore.get());
+        printDistribution("Score", total.scores);
+        printDistribution("Niveau", total.levels);
+        printDistribution("Ticks", total.ticks);
+        printDistribution("Ticks/niveau", total.ticksPerLevel);
+        printDistribution("Tick (ns)", total.tickNanos);
+        System.out.println("Vies perdues par niveau :");
+        for (int level = 1; level <= MAX_TRACKED_LEVEL; level++) {
+            long reached = gamesReachingLevel.get(level);
+            if (reached == 0) {
+                break;
+            }
+            long lost = livesLostByLevel.get(level);
+            System.out.printf(Locale.ROOT, "  niveau %2d : %5d parties, %5d vies perdues (%.2f par partie)%n",
+                level, reached, lost, lost / (double) reached);
+        }
+        System.out.println("Meilleures graines :");
+        for (Leaderboard.Entry entry : leaderboard.top(5)) {
+            System.out.printf(Locale.ROOT, "  #%d graine %d : score %d, niveau %d%n",
+                leaderboard.rankOf(entry.score()), entry.seed(), entry.score(), entry.level());
+        }
+        System.out.printf(Locale.ROOT, "Sketches : %d valeurs retenues pour %d mesures%n",
+            total.retained(), total.count());
+    }
+
+    private static void printDistribution(String label, QuantileSketch sketch) {
+        if (sketch.count() == 0) {
+            return;
+        }
+        System.out.printf(Locale.ROOT, "%-12s moyenne %10.1f  p50 %8.0f  p90 %8.0f  p99 %8.0f  max %8.0f%n", label, sketch.mean(),
+            sketch.quantile(0.50), sketch.quantile(0.90), sketch.quantile(0.99), sketch.max());
+    }
+
+    private static final class Stats {
+        private final QuantileSketch scores = new QuantileSketch();
+        private final QuantileSketch levels = new QuantileSketch();
+        private final QuantileSketch ticks = new QuantileSketch();
+        private final QuantileSketch ticksPerLevel = new QuantileSketch();
+        private final QuantileSketch tickNanos = new QuantileSketch();
+
+        private int retained() {
+            return scores.retained() + levels.retained() + ticks.retained() + ticksPerLevel.retained() + tickNanos.retained();
+        }
+
+        private long count() {
+            return scores.count() + levels.count() + ticks.count() + ticksPerLevel.count() + tickNanos.count();
+        }
+    }
+}
@@ -0,0 +1,455 @@
+package org.example;
+
+import java.awt.event.KeyEvent;
+import java.util.Arrays;
+import java.util.Locale;
+
+final class VectorGame {
+    static final int COLUMNS = GameWorld.MAX_BRICK_COLUMNS;
+    static final int CELLS = GameWorld.BRICK_GRID_CELLS;
+    static final int OCCUPANCY_WORDS = 2;
+
+    static final int READY = GameWorld.GameState.READY.ordinal();
+    static final int RUNNING = GameWorld.GameState.RUNNING.ordinal();
+    static final int LEVEL_COMPLETE = GameWorld.GameState.LEVEL_COMPLETE.ordinal();
+    static final int GAME_OVER = GameWorld.GameState.GAME_OVER.ordinal();
+
+    private static final double WIDTH = GameWorld.PANEL_WIDTH;
+    private static final double HEIGHT = GameWorld.PANEL_HEIGHT;
+    private static final double SIDE_PADDING = GameWorld.LEVEL_SIDE_PADDING;
+    private static final double TOP_OFFSET = GameWorld.LEVEL_TOP_OFFSET;
+    private static final int HORIZONTAL_GAP = GameWorld.LEVEL_HORIZONTAL_GAP;
+    private static final double BRICK_HEIGHT = GameWorld.LEVEL_BRICK_HEIGHT;
+    private static final double CELL_HEIGHT = BRICK_HEIGHT + GameWorld.LEVEL_VERTICAL_GAP;
+    private static final double INVERSE_CELL_HEIGHT = 1.0 / CELL_HEIGHT;
+    private static final int BALL_DIAMETER = GameWorld.BALL_DIAMETER;
+    private static final double BALL_RADIUS = BALL_DIAMETER / 2.0;
+    private static final int PADDLE_WIDTH = GameWorld.BASE_PADDLE_WIDTH;
+    private static final double PADDLE_Y = GameWorld.PADDLE_Y;
+    private static final double PADDLE_SPEED = GameWorld.BASE_PADDLE_SPEED;
+    private static final double READY_BALL_Y = PADDLE_Y - BALL_RADIUS - 4 - BALL_RADIUS;
+
+    private static final double[] DIRECTIONS = {0.0, -1.0, 1.0, 0.0};
+
+    private final int count;
+    private final double[] ballX;
+    private final double[] ballY;
+    private final double[] ballVX;
+    private final double[] ballVY;
+    private final double[] paddleX;
+    private final double[] direction;
+    private final double[] brickWidth;
+    private final int[] columns;
+    private final int[] rows;
+    private final int[] brickCount;
+    private final byte[] hits;
+    private final long[] occupied;
+    private final int[] state;
+    private final int[] score;
+    private final int[] credits;
+    private final int[] lives;
+    private final int[] level;
+    private final GameRandom[] random;
+    private long nextSeed;
+
+    VectorGame(int count, long seed) {
+        this.count = count;
+        ballX = new double[count];
+        ballY = new double[count];
+        ballVX = new double[count];
+        ballVY = new double[count];
+        paddleX = new double[count];
+        direction = new double[count];
+        brickWidth = new double[count];
+        columns = new int[count];
+        rows = new int[count];
+        brickCount = new int[count];
+        hits = new byte[count * CELLS];
+        occupied = new long[count * OCCUPANCY_WORDS];
+        state = new int[count];
+        score = new int[count];
+        credits = new int[count];
+        lives = new int[count];
+        level = new int[count];
+        random = new GameRandom[count];
+        nextSeed = seed + count;
+        for (int i = 0; i < count; i++) {
+            reset(i, seed + i);
+        }
+    }
+
+    public static void main(String[] args) {
+        System.setProperty("java.awt.headless", "true");
+        int environments = 1024;
+        int steps = 2000;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--envs" -> environments = Integer.parseInt(args[++i]);
+                case "--steps" -> steps = Integer.parseInt(args[++i]);
+                default -> {
+                    System.err.println("Usage : VectorGame [--envs N] [--steps N]");
+                    System.exit(2);
+                }
+            }
+        }
+        byte[][] actions = actionTable(environments);
+        for (int round = 0; round < 5; round++) {
+            double objects = benchmarkObjects(environments, Math.max(1, steps / 10), actions);
+            double vector = benchmarkVector(environments, steps, actions);
+            System.out.printf(Locale.ROOT, "%d environnements : objets %.0f pas-env/s, colonnes %.0f pas-env/s (x%.1f)%n",
+                environments, objects, vector, vector / objects);
+        }
+    }
+
+    int count() {
+        return count;
+    }
+
+    double ballX(int env) {
+        return ballX[env];
+    }
+
+    double ballY(int env) {
+        return ballY[env];
+    }
+
+    double ballVelocityX(int env) {
+        return ballVX[env];
+    }
+
+    double ballVelocityY(int env) {
+        return ballVY[env];
+    }
+
+    double paddleX(int env) {
+        return paddleX[env];
+    }
+
+    int brickCount(int env) {
+        return brickCount[env];
+    }
+
+    int remainingHits(int env, int cell) {
+        return hits[env * CELLS + cell];
+    }
+
+    boolean occupied(int env, int cell) {
+        return (occupied[env * OCCUPANCY_WORDS + (cell >>> 6)] & 1L << cell) != 0;
+    }
+
+    int state(int env) {
+        return state[env];
+    }
+
+    int score(int env) {
+        return score[env];
+    }
+
+    int credits(int env) {
+        return credits[env];
+    }
+
+    int lives(int env) {
+        return lives[env];
+    }
+
+    int level(int env) {
+        return level[env];
+    }
+
+    boolean done(int env) {
+        return state[env] == GAME_OVER;
+    }
+
+    void reset(int env, long seed) {
+        random[env] = new GameRandom(seed).split();
+        score[env] = 0;
+        credits[env] = 0;
+        lives[env] = GameWorld.STARTING_LIVES;
+        level[env] = 1;
+        buildLevel(env);
+        resetRound(env);
+    }
+
+    void step(byte[] actions) {
+        for (int i = 0; i < count; i++) {
+            if (state[i] == GAME_OVER) {
+                reset(i, nextSeed++);
+            }
+            byte action = actions[i];
+            direction[i] = state[i] == READY || state[i] == RUNNING ? DIRECTIONS[action & 3] : 0.0;
+            if (action == GymServer.ACTION_LAUNCH) {
+                if (state[i] == READY) {
+                    launch(i);
+                } else if (state[i] == LEVEL_COMPLETE) {
+                    level[i]++;
+                    buildLevel(i);
+                    resetRound(i);
+                }
+            }
+        }
+
+        double maxPaddle = WIDTH - PADDLE_WIDTH;
+        for (int i = 0; i < count; i++) {
+            paddleX[i] = Math.min(maxPaddle, Math.max(0.0, paddleX[i] + direction[i] * PADDLE_SPEED));
+        }
+
+        double maxBall = WIDTH - BALL_DIAMETER;
+        for (int i = 0; i < count; i++) {
+            boolean running = state[i] == RUNNING;
+            boolean ready = state[i] == READY;
+            double x = running ? ballX[i] + ballVX[i] : ready ? paddleX[i] + PADDLE_WIDTH / 2.0 - BALL_RADIUS : ballX[i];
+            double y = running ? ballY[i] + ballVY[i] : ready ? READY_BALL_Y : ballY[i];
+            double vx = ballVX[i];
+            double vy = ballVY[i];
+            boolean left = running & x <= 0.0 & vx < 0.0;
+            boolean right = running & !left & x + BALL_DIAMETER >= WIDTH & vx > 0.0;
+            boolean top = running & y <= 0.0 & vy < 0.0;
+            ballX[i] = left ? 0.0 : right ? maxBall : x;
+            ballY[i] = top ? 0.0 : y;
+            ballVX[i] = left | right ? -vx : vx;
+            ballVY[i] = top ? -vy : vy;
+        }
+
+        for (int i = 0; i < count; i++) {
+            if (state[i] != RUNNING) {
+                continue;
+            }
+            if (ballY[i] >= HEIGHT) {
+                loseLife(i);
+                continue;
+            }
+            collidePaddle(i);
+            if (brickCount[i] > 0) {
+                collideBricks(i);
+            }
+            if (brickCount[i] == 0) {
+                score[i] += 500 + 200 * level[i];
+                state[i] = LEVEL_COMPLETE;
+            }
+        }
+    }
+
+    private void collidePaddle(int i) {
+        double x = ballX[i];
+        double y = ballY[i];
+        double paddle = paddleX[i];
+        if (ballVY[i] < 0 || paddle + PADDLE_WIDTH <= x || PADDLE_Y + GameWorld.BASE_PADDLE_HEIGHT <= y
+            || paddle >= x + BALL_DIAMETER || PADDLE_Y >= y + BALL_DIAMETER) {
+            return;
+        }
+        ballY[i] = PADDLE_Y - BALL_DIAMETER - 0.5;
+        double hitPosition = (x + BALL_RADIUS - paddle) / PADDLE_WIDTH;
+        hitPosition = Math.max(0.05, Math.min(0.95, hitPosition));
+        double angle = (hitPosition - 0.5) * 2 * GameWorld.MAX_PADDLE_DEFLECTION;
+        double targetSpeed = Math.min(GameWorld.MAX_BALL_SPEED, minimumSpeed(i) + level[i] * 0.5);
+        ballVX[i] = targetSpeed * Math.sin(angle);
+        ballVY[i] = -Math.abs(targetSpeed * Math.cos(angle));
+    }
+
+    private void collideBricks(int i) {
+        double top = ballY[i];
+        int rowCount = rows[i];
+        if (top >= TOP_OFFSET + rowCount * CELL_HEIGHT) {
+            return;
+        }
+        double width = brickWidth[i];
+        double cellWidth = width + HORIZONTAL_GAP;
+        double left = ballX[i];
+        double right = left + BALL_DIAMETER;
+        double bottom = top + BALL_DIAMETER;
+        int firstColumn = Math.max(0, (int) Math.floor((left - SIDE_PADDING) / cellWidth));
+        int lastColumn = Math.min(columns[i] - 1, (int) Math.floor((right - SIDE_PADDING) / cellWidth) + 1);
+        if (lastColumn < firstColumn) {
+            return;
+        }
+        int firstRow = Math.max(0, (int) Math.floor((top - TOP_OFFSET) * INVERSE_CELL_HEIGHT));
+        int lastRow = Math.min(rowCount - 1, (int) Math.floor((bottom - TOP_OFFSET) * INVERSE_CELL_HEIGHT) + 1);
+        int base = i * CELLS;
+        int words = i * OCCUPANCY_WORDS;
+        long low = occupied[words];
+        long high = occupied[words + 1];
+        long columnMask = (1L << (lastColumn - firstColumn + 1)) - 1;
+        for (int row = firstRow; row <= lastRow; row++) {
+            int first = row * COLUMNS + firstColumn;
+            long candidates = occupancyFrom(low, high, first) & columnMask;
+            while (candidates != 0) {
+                int cell = first + Long.numberOfTrailingZeros(candidates);
+                candidates &= candidates - 1;
+                int column = cell - row * COLUMNS;
+                int index = base + cell;
+                double brickLeft = SIDE_PADDING + column * cellWidth;
+                double brickTop = TOP_OFFSET + row * CELL_HEIGHT;
+                if (brickLeft + width <= left || brickTop + BRICK_HEIGHT <= top || brickLeft >= right || brickTop >= bottom) {
+                    continue;
+                }
+                bounceOffBrick(i, brickLeft, brickTop, width);
+                if (--hits[index] == 0) {
+                    occupied[words + (cell >>> 6)] &= ~(1L << cell);
+                    brickCount[i]--;
+                    credits[i]++;
+                    score[i] += 100;
+                } else {
+                    score[i] += 30;
+                }
+                accelerate(i);
+                return;
+            }
+        }
+    }
+
+    private static long occupancyFrom(long low, long high, int cell) {
+        if (cell >= 64) {
+            return high >>> (cell - 64);
+        }
+        return cell == 0 ? low : low >>> cell | high << (64 - cell);
+    }
+
+    private void bounceOffBrick(int i, double brickLeft, double brickTop, double width) {
+        double overlapLeft = ballX[i] + BALL_DIAMETER - brickLeft;
+        double overlapRight = brickLeft + width - ballX[i];
+        double overlapTop = ballY[i] + BALL_DIAMETER - brickTop;
+        double overlapBottom = brickTop + BRICK_HEIGHT - ballY[i];
+        if (Math.min(overlapLeft, overlapRight) < Math.min(overlapTop, overlapBottom)) {
+            ballX[i] = overlapLeft < overlapRight ? brickLeft - BALL_DIAMETER - 0.5 : brickLeft + width + 0.5;
+            ballVX[i] = -ballVX[i];
+        } else {
+            ballY[i] = overlapTop < overlapBottom ? brickTop - BALL_DIAMETER - 0.5 : brickTop + BRICK_HEIGHT + 0.5;
+            ballVY[i] = -ballVY[i];
+        }
+    }
+
+    private void accelerate(int i) {
+        double speed = Math.hypot(ballVX[i], ballVY[i]);
+        double minimum = minimumSpeed(i);
+        double target = speed < minimum ? minimum : Math.min(GameWorld.MAX_BALL_SPEED, speed + GameWorld.SPEED_INCREMENT);
+        if (speed != 0) {
+            double scale = target / speed;
+            ballVX[i] *= scale;
+            ballVY[i] *= scale;
+        }
+    }
+
+    private double minimumSpeed(int i) {
+        return GameWorld.BASE_BALL_SPEED + (level[i] - 1) * 0.4;
+    }
+
+    private void loseLife(int i) {
+        if (--lives[i] <= 0) {
+            state[i] = GAME_OVER;
+            return;
+        }
+        resetRound(i);
+    }
+
+    private void resetRound(int i) {
+        paddleX[i] = WIDTH / 2.0 - PADDLE_WIDTH / 2.0;
+        ballX[i] = paddleX[i] + PADDLE_WIDTH / 2.0 - BALL_RADIUS;
+        ballY[i] = READY_BALL_Y;
+        ballVX[i] = 0.0;
+        ballVY[i] = 0.0;
+        state[i] = READY;
+    }
+
+    private void launch(int i) {
+        double speed = Math.min(Math.max(minimumSpeed(i), GameWorld.BASE_BALL_SPEED), GameWorld.MAX_BALL_SPEED);
+        GameRandom generator = random[i];
+        double angle = Math.toRadians(40 + generator.nextInt(21));
+        double side = generator.nextBoolean() ? 1 : -1;
+        ballVX[i] = side * speed * Math.sin(angle);
+        ballVY[i] = -speed * Math.cos(angle);
+        state[i] = RUNNING;
+    }
+
+    private void buildLevel(int i) {
+        GameWorld.LevelConfig config = GameWorld.determineLevelConfig(level[i]);
+        GameRandom generator = random[i];
+        int columnCount = config.columns();
+        columns[i] = columnCount;
+        rows[i] = config.rows();
+        brickWidth[i] = (WIDTH - SIDE_PADDING * 2.0 - HORIZONTAL_GAP * (columnCount - 1)) / columnCount;
+        int base = i * CELLS;
+        Arrays.fill(hits, base, base + CELLS, (byte) 0);
+        int words = i * OCCUPANCY_WORDS;
+        Arrays.fill(occupied, words, words + OCCUPANCY_WORDS, 0L);
+        int placed = 0;
+        for (int row = 0; row < config.rows(); row++) {
+            if (row > 0 && generator.nextDouble() < config.gapChance()) {
+                continue;
+            }
+            boolean[] pattern = GameWorld.generateRowPattern(config, row, generator);
+            for (int column = 0; column < columnCount; column++) {
+                if (!pattern[column]) {
+                    continue;
+                }
+                int cell = row * COLUMNS + column;
+                hits[base + cell] = (byte) GameWorld.determineBrickHits(config, row, generator);
+                occupied[words + (cell >>> 6)] |= 1L << cell;
+                // tirage de la teinte, pour rester sur la meme suite que GameWorld
+                generator.nextDouble();
+                placed++;
+            }
+        }
+        brickCount[i] = placed;
+    }
+
+    private static byte[][] actionTable(int environments) {
+        byte[][] actions = new byte[64][environments];
+        GameRandom random = new GameRandom(7);
+        for (byte[] row : actions) {
+            for (int i = 0; i < environments; i++) {
+                row[i] = (byte) random.nextInt(4);
+            }
+        }
+        return actions;
+    }
+
+    private static double benchmarkObjects(int environments, int steps, byte[][] actions) {
+        GameWorld[] worlds = new GameWorld[environments];
+        int[] held = new int[environments];
+        for (int i = 0; i < environments; i++) {
+            worlds[i] = new GameWorld(i);
+            worlds[i].setEffectsSuppressed(true);
+        }
+        long nextSeed = environments;
+        long start = System.nanoTime();
+        for (int step = 0; step < steps; step++) {
+            byte[] row = actions[step & 63];
+            for (int i = 0; i < environments; i++) {
+                GameWorld world = worlds[i];
+                if (world.getGameState() == GameWorld.GameState.GAME_OVER) {
+                    world = new GameWorld(nextSeed++);
+                    world.setEffectsSuppressed(true);
+                    worlds[i] = world;
+                    held[i] = 0;
+                }
+                int action = row[i];
+                int key = action == GymServer.ACTION_LEFT ? KeyEvent.VK_LEFT : action == GymServer.ACTION_RIGHT ? KeyEvent.VK_RIGHT : 0;
+                if (held[i] != key) {
+                    if (held[i] != 0) {
+                        world.keyReleased(held[i]);
+                    }
+                    if (key != 0) {
+                        world.keyPressed(key);
+                    }
+                    held[i] = key;
+                }
+                if (action == GymServer.ACTION_LAUNCH) {
+                    world.keyPressed(KeyEvent.VK_SPACE);
+                    world.keyReleased(KeyEvent.VK_SPACE);
+                }
+                world.update();
+            }
+        }
+        return (double) environments * steps * 1_000_000_000.0 / (System.nanoTime() - start);
+    }
+
+    private static double benchmarkVector(int environments, int steps, byte[][] actions) {
+        VectorGame game = new VectorGame(environments, 0);
+        long start = System.nanoTime();
+        for (int step = 0; step < steps; step++) {
+            game.step(actions[step & 63]);
+        }
+        return (double) environments * steps * 1_000_000_000.0 / (System.nanoTime() - start);
+    }
+}
@@ -0,0 +1,172 @@
+package org.example;
+
+import java.lang.foreign.MemoryLayout;
+import java.lang.foreign.MemoryLayout.PathElement;
+import java.lang.foreign.StructLayout;
+import java.lang.foreign.ValueLayout;
+
+final class WorldLayout {
+    static final int MAGIC = 0x43425744;
+    static final int VERSION = 1;
+    static final int MAX_BRICKS = GameWorld.BRICK_GRID_CELLS;
+    static final int MAX_BONUSES = 8;
+    static final int MESSAGE_BYTES = 64;
+    static final int NOTE_BYTES = 46;
+
+    static final StructLayout PADDLE = MemoryLayout.structLayout(
+        ValueLayout.JAVA_DOUBLE.withName("x"),
+        ValueLayout.JAVA_DOUBLE.withName("speed"),
+        ValueLayout.JAVA_INT.withName("width"),
+        ValueLayout.JAVA_BYTE.withName("flags"),
+        MemoryLayout.paddingLayout(3));
+
+    static final StructLayout BALL = MemoryLayout.structLayout(
+        ValueLayout.JAVA_DOUBLE.withName("x"),
+        ValueLayout.JAVA_DOUBLE.withName("y"),
+        ValueLayout.JAVA_DOUBLE.withName("velocityX"),
+        ValueLayout.JAVA_DOUBLE.withName("velocityY"),
+        MemoryLayout.sequenceLayout(Ball.TRAIL_CAPACITY, MemoryLayout.structLayout(
+            ValueLayout.JAVA_DOUBLE.withName("x"),
+            ValueLayout.JAVA_DOUBLE.withName("y"))).withName("trail"),
+        ValueLayout.JAVA_INT.withName("color"),
+        ValueLayout.JAVA_BYTE.withName("flags"),
+        ValueLayout.JAVA_BYTE.withName("trailSize"),
+        MemoryLayout.paddingLayout(2));
+
+    static final StructLayout BRICK = MemoryLayout.structLayout(
+        ValueLayout.JAVA_DOUBLE.withName("x"),
+        ValueLayout.JAVA_DOUBLE.withName("y"),
+        ValueLayout.JAVA_DOUBLE.withName("width"),
+        ValueLayout.JAVA_DOUBLE.withName("height"),
+        ValueLayout.JAVA_INT.withName("color"),
+        ValueLayout.JAVA_BYTE.withName("maxHits"),
+        ValueLayout.JAVA_BYTE.withName("hits"),
+        MemoryLayout.paddingLayout(2));
+
+    static final StructLayout BONUS = MemoryLayout.structLayout(
+        ValueLayout.JAVA_INT.withName("remainingFrames"),
+        ValueLayout.JAVA_BYTE.withName("type"),
+        MemoryLayout.paddingLayout(3));
+
+    static final StructLayout RECORD = MemoryLayout.structLayout(
+        ValueLayout.JAVA_INT.withName("score"),
+        ValueLayout.JAVA_INT.withName("level"),
+        ValueLayout.JAVA_SHORT.withName("noteLength"),
+        MemoryLayout.sequenceLayout(NOTE_BYTES, ValueLayout.JAVA_BYTE).withName("note"));
+
+    static final StructLayout WORLD = MemoryLayout.structLayout(
+        ValueLayout.JAVA_INT.withName("magic"),
+        ValueLayout.JAVA_INT.withName("version"),
+        ValueLayout.JAVA_LONG.withName("tick"),
+        ValueLayout.JAVA_LONG.withName("seed"),
+        ValueLayout.JAVA_LONG.withName("randomSeed"),
+        ValueLayout.JAVA_LONG.withName("randomGamma"),
+        ValueLayout.JAVA_DOUBLE.withName("autoPilotAimX"),
+        PADDLE.withName("paddle"),
+        BALL.withName("ball"),
+        ValueLayout.JAVA_INT.withName("starfieldFrame"),
+        ValueLayout.JAVA_INT.withName("score"),
+        ValueLayout.JAVA_INT.withName("lives"),
+        ValueLayout.JAVA_INT.withName("level"),
+        ValueLayout.JAVA_INT.withName("credits"),
+        ValueLayout.JAVA_INT.withName("bestScore"),
+        ValueLayout.JAVA_INT.withName("bestLevel"),
+        ValueLayout.JAVA_INT.withName("bestCredits"),
+        ValueLayout.JAVA_INT.withName("shopMessageTimer"),
+        ValueLayout.JAVA_INT.withName("brickCount"),
+        ValueLayout.JAVA_BYTE.withName("gameState"),
+        ValueLayout.JAVA_BYTE.withName("stateBeforePause"),
+        ValueLayout.JAVA_BYTE.withName("bonusCount"),
+        ValueLayout.JAVA_BYTE.withName("recordCount"),
+        ValueLayout.JAVA_SHORT.withName("flags"),
+        ValueLayout.JAVA_SHORT.withName("shopMessageLength"),
+        MemoryLayout.sequenceLayout(MESSAGE_BYTES, ValueLayout.JAVA_BYTE).withName("shopMessage"),
+        MemoryLayout.sequenceLayout(MAX_BONUSES, BONUS).withName("bonuses"),
+        MemoryLayout.sequenceLayout(GameWorld.SCORE_HISTORY_LIMIT, RECORD).withName("records"),
+        MemoryLayout.sequenceLayout(MAX_BRICKS, BRICK).withName("bricks"));
+
+    static final long SIZE = WORLD.byteSize();
+
+    static final long MAGIC_OFFSET = offset(WORLD, "magic");
+    static final long VERSION_OFFSET = offset(WORLD, "version");
+    static final long TICK = offset(WORLD, "tick");
+    static final long SEED = offset(WORLD, "seed");
+    static final long RANDOM_SEED = offset(WORLD, "randomSeed");
+    static final long RANDOM_GAMMA = offset(WORLD, "randomGamma");
+    static final long AUTO_PILOT_AIM_X = offset(WORLD, "autoPilotAimX");
+    static final long PADDLE_BASE = offset(WORLD, "paddle");
+    static final long BALL_BASE = offset(WORLD, "ball");
+    static final long STARFIELD_FRAME = offset(WORLD, "starfieldFrame");
+    static final long SCORE = offset(WORLD, "score");
+    static final long LIVES = offset(WORLD, "lives");
+    static final long LEVEL = offset(WORLD, "level");
+    static final long CREDITS = offset(WORLD, "credits");
+    static final long BEST_SCORE = offset(WORLD, "bestScore");
+    static final long BEST_LEVEL = offset(WORLD, "bestLevel");
+    static final long BEST_CREDITS = offset(WORLD, "bestCredits");
+    static final long SHOP_MESSAGE_TIMER = offset(WORLD, "shopMessageTimer");
+    static final long BRICK_COUNT = offset(WORLD, "brickCount");
+    static final long GAME_STATE = offset(WORLD, "gameState");
+    static final long STATE_BEFORE_PAUSE = offset(WORLD, "stateBeforePause");
+    static final long BONUS_COUNT = offset(WORLD, "bonusCount");
+    static final long RECORD_COUNT = offset(WORLD, "recordCount");
+    static final long FLAGS = offset(WORLD, "flags");
+    static final long SHOP_MESSAGE_LENGTH = offset(WORLD, "shopMessageLength");
+    static final long SHOP_MESSAGE = offset(WORLD, "shopMessage");
+    static final long BONUSES = offset(WORLD, "bonuses");
+    static final long RECORDS = offset(WORLD, "records");
+    static final long BRICKS = offset(WORLD, "bricks");
+
+    static final long PADDLE_X = offset(PADDLE, "x");
+    static final long PADDLE_SPEED = offset(PADDLE, "speed");
+    static final long PADDLE_WIDTH = offset(PADDLE, "width");
+    static final long PADDLE_FLAGS = offset(PADDLE, "flags");
+
+    static final long BALL_X = offset(BALL, "x");
+    static final long BALL_Y = offset(BALL, "y");
+    static final long BALL_VELOCITY_X = offset(BALL, "velocityX");
+    static final long BALL_VELOCITY_Y = offset(BALL, "velocityY");
+    static final long BALL_TRAIL = offset(BALL, "trail");
+    static final long BALL_COLOR = offset(BALL, "color");
+    static final long BALL_FLAGS = offset(BALL, "flags");
+    static final long BALL_TRAIL_SIZE = offset(BALL, "trailSize");
+
+    static final long BRICK_X = offset(BRICK, "x");
+    static final long BRICK_Y = offset(BRICK, "y");
+    static final long BRICK_WIDTH = offset(BRICK, "width");
+    static final long BRICK_HEIGHT = offset(BRICK, "height");
+    static final long BRICK_COLOR = offset(BRICK, "color");
+    static final long BRICK_MAX_HITS = offset(BRICK, "maxHits");
+    static final long BRICK_HITS = offset(BRICK, "hits");
+
+    static final long BONUS_REMAINING_FRAMES = offset(BONUS, "remainingFrames");
+    static final long BONUS_TYPE = offset(BONUS, "type");
+
+    static final long RECORD_SCORE = offset(RECORD, "score");
+    static final long RECORD_LEVEL = offset(RECORD, "level");
+    static final long RECORD_NOTE_LENGTH = offset(RECORD, "noteLength");
+    static final long RECORD_NOTE = offset(RECORD, "note");
+
+    private WorldLayout() {
+    }
+
+    static long brick(int index) {
+        return BRICKS + index * BRICK.byteSize();
+    }
+
+    static long bonus(int index) {
+        return BONUSES + index * BONUS.byteSize();
+    }
+
+    static long record(int index) {
+        return RECORDS + index * RECORD.byteSize();
+    }
+
+    static long trailPoint(int index) {
+        return BALL_TRAIL + index * 16L;
+    }
+
+    private static long offset(StructLayout layout, String name) {
+        return layout.byteOffset(PathElement.groupElement(name));
+    }
+}
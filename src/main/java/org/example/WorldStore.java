@@ -0,0 +1,184 @@
+package org.example;
+
+import java.awt.event.KeyEvent;
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+
+final class WorldStore implements AutoCloseable {
+    static final long SLOT_SIZE = (WorldLayout.SIZE + 63) & ~63L;
+
+    private final Arena arena;
+    private final MemorySegment segment;
+    private final int slots;
+    private final boolean mapped;
+
+    private WorldStore(Arena arena, MemorySegment segment, int slots, boolean mapped) {
+        this.arena = arena;
+        this.segment = segment;
+        this.slots = slots;
+        this.mapped = mapped;
+    }
+
+    public static void main(String[] args) throws IOException {
+        System.setProperty("java.awt.headless", "true");
+        int count = 1000;
+        int ticks = 600;
+        long seed = System.nanoTime();
+        Path path = null;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--worlds" -> count = Integer.parseInt(args[++i]);
+                case "--ticks" -> ticks = Integer.parseInt(args[++i]);
+                case "--seed" -> seed = Long.parseLong(args[++i]);
+                case "--store" -> path = Path.of(args[++i]);
+                default -> {
+                    System.err.println("Usage : WorldStore [--worlds N] [--ticks N] [--seed N] [--store mondes.cbw]");
+                    System.exit(2);
+                }
+            }
+        }
+
+        try (WorldStore store = path != null ? WorldStore.map(path, count) : WorldStore.allocate(count)) {
+            GameWorld world = new GameWorld(seed);
+            int resumed = 0;
+            for (int slot = 0; slot < count; slot++) {
+                if (store.isOccupied(slot)) {
+                    resumed++;
+                    continue;
+                }
+                GameWorld fresh = new GameWorld(seed + slot);
+                fresh.keyPressed(KeyEvent.VK_R);
+                store.store(slot, fresh);
+            }
+
+            long start = System.nanoTime();
+            for (int slot = 0; slot < count; slot++) {
+                store.load(slot, world);
+                long end = world.getTick() + ticks;
+                while (world.getTick() < end) {
+                    ReplayExporter.TickDriver.AUTOPILOT.beforeTick(world, world.getTick());
+                    world.update();
+                }
+                store.store(slot, world);
+            }
+            long elapsed = System.nanoTime() - start;
+
+            long snapshotStart = System.nanoTime();
+            try (WorldStore copy = WorldStore.allocate(count)) {
+                store.snapshotTo(copy);
+            }
+            long snapshotNanos = System.nanoTime() - snapshotStart;
+            store.force();
+
+            long totalScore = 0;
+            long checksum = 0;
+            for (int slot = 0; slot < count; slot++) {
+                store.load(slot, world);
+                totalScore += world.getScore();
+                checksum = checksum * 31 + world.stateChecksum();
+            }
+            System.out.printf(Locale.ROOT, "%d mondes (%d repris) x %d ticks en %.0f ms : %.0f ticks-monde/s, %.1f Ko hors tas%n",
+                count, resumed, ticks, elapsed / 1_000_000.0, (double) count * ticks * 1_000_000_000.0 / Math.max(1, elapsed),
+                store.byteSize() / 1024.0);
+            System.out.printf(Locale.ROOT, "Copie instantanee de tous les mondes : %.3f ms, score cumule %d, empreinte %016x%n",
+                snapshotNanos / 1_000_000.0, totalScore, checksum);
+        }
+    }
+
+    static WorldStore allocate(int slots) {
+        checkSlots(slots);
+        Arena arena = Arena.ofShared();
+        return new WorldStore(arena, arena.allocate(slots * SLOT_SIZE, 64), slots, false);
+    }
+
+    static WorldStore map(Path path, int slots) throws IOException {
+        checkSlots(slots);
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Arena arena = Arena.ofShared();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+            StandardOpenOption.WRITE)) {
+            long size = slots * SLOT_SIZE;
+            if (channel.size() != size) {
+                channel.truncate(0);
+                channel.truncate(size);
+            }
+            return new WorldStore(arena, channel.map(FileChannel.MapMode.READ_WRITE, 0, size, arena), slots, true);
+        } catch (IOException | RuntimeException e) {
+            arena.close();
+            throw e;
+        }
+    }
+
+    int slots() {
+        return slots;
+    }
+
+    long byteSize() {
+        return segment.byteSize();
+    }
+
+    boolean isOccupied(int slot) {
+        return segment.get(ValueLayout.JAVA_INT, base(slot) + WorldLayout.MAGIC_OFFSET) == WorldLayout.MAGIC;
+    }
+
+    long tickAt(int slot) {
+        return segment.get(ValueLayout.JAVA_LONG, base(slot) + WorldLayout.TICK);
+    }
+
+    void store(int slot, GameWorld world) {
+        world.writeTo(segment, base(slot));
+    }
+
+    void load(int slot, GameWorld world) {
+        world.readFrom(segment, base(slot));
+    }
+
+    void copy(int from, int to) {
+        MemorySegment.copy(segment, base(from), segment, base(to), SLOT_SIZE);
+    }
+
+    void clear(int slot) {
+        segment.asSlice(base(slot), SLOT_SIZE).fill((byte) 0);
+    }
+
+    void snapshotTo(WorldStore target) {
+        if (target.segment.byteSize() < segment.byteSize()) {
+            throw new IllegalArgumentException("Stockage cible trop petit");
+        }
+        MemorySegment.copy(segment, 0, target.segment, 0, segment.byteSize());
+    }
+
+    void force() {
+        if (mapped) {
+            segment.force();
+        }
+    }
+
+    @Override
+    public void close() {
+        arena.close();
+    }
+
+    private long base(int slot) {
+        if (slot < 0 || slot >= slots) {
+            throw new IndexOutOfBoundsException("Emplacement hors limites : " + slot);
+        }
+        return slot * SLOT_SIZE;
+    }
+
+    private static void checkSlots(int slots) {
+        if (slots <= 0 || slots > Integer.MAX_VALUE / SLOT_SIZE) {
+            throw new IllegalArgumentException("Nombre d'emplacements invalide : " + slots);
+        }
+    }
+}
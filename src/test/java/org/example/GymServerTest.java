@@ -0,0 +1,197 @@
+package org.example;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.event.KeyEvent;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.SocketChannel;
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+final class GymServerTest {
+    private static final int ENVIRONMENTS = 4;
+    private static final long SEED = 100;
+    private static final int HEADER = 4 + 8;
+    private static final int GRID = 4 * 5 + 4 + 2 + 1 + 1;
+
+    @Test
+    void observationsTrackLocalWorldsCellByCell() throws IOException {
+        GameWorld[] mirrors = new GameWorld[ENVIRONMENTS];
+        int[] held = new int[ENVIRONMENTS];
+        long nextSeed = SEED + ENVIRONMENTS;
+        for (int i = 0; i < ENVIRONMENTS; i++) {
+            mirrors[i] = new GameWorld(SEED + i);
+        }
+        try (GymServer server = GymServer.start(0); SocketChannel channel = connect(server)) {
+            assertMatches(mirrors, reset(channel, ENVIRONMENTS, SEED));
+
+            GameRandom random = new GameRandom(5);
+            byte[] actions = new byte[ENVIRONMENTS];
+            int[] scoreDeltas = new int[ENVIRONMENTS];
+            for (int step = 0; step < 300; step++) {
+                for (int i = 0; i < ENVIRONMENTS; i++) {
+                    if (mirrors[i].getGameState() == GameWorld.GameState.GAME_OVER) {
+                        mirrors[i] = new GameWorld(nextSeed++);
+                        held[i] = 0;
+                    }
+                    actions[i] = step % 50 == 0 ? GymServer.ACTION_LAUNCH : (byte) random.nextInt(3);
+                    int before = mirrors[i].getScore();
+                    apply(mirrors[i], held, i, actions[i], 2);
+                    scoreDeltas[i] = mirrors[i].getScore() - before;
+                }
+                ByteBuffer response = step(channel, actions, 2);
+
+                assertMatches(mirrors, response);
+                for (int i = 0; i < ENVIRONMENTS; i++) {
+                    assertEquals(scoreDeltas[i], scoreDelta(response, i));
+                }
+            }
+        }
+    }
+
+    @Test
+    void destroyedBricksDoNotShiftOtherCells() throws IOException {
+        try (GymServer server = GymServer.start(0); SocketChannel channel = connect(server)) {
+            ByteBuffer response = reset(channel, 1, 7);
+            byte[] previous = grid(response, 0);
+            int level = level(response, 0);
+            byte[] actions = {GymServer.ACTION_LAUNCH};
+            boolean changed = false;
+            for (int step = 0; step < 2000 && level(response, 0) == level; step++) {
+                response = step(channel, actions, 1);
+                actions[0] = (byte) (step % 3);
+                byte[] current = grid(response, 0);
+                if (level(response, 0) != level || response.get(HEADER + GRID - 1) != 0) {
+                    break;
+                }
+                for (int cell = 0; cell < current.length; cell++) {
+                    assertTrue(current[cell] <= previous[cell], "case " + cell);
+                    assertTrue(current[cell] == 0 || previous[cell] != 0, "case " + cell);
+                    changed |= current[cell] != previous[cell];
+                }
+                previous = current;
+            }
+            assertTrue(changed);
+        }
+    }
+
+    @Test
+    void invalidRequestOnlyDropsThatConnection() throws IOException {
+        try (GymServer server = GymServer.start(0)) {
+            try (SocketChannel channel = connect(server)) {
+                channel.write(ByteBuffer.wrap(new byte[] {GymServer.OP_STEP}));
+                assertTimeoutPreemptively(Duration.ofSeconds(10),
+                    () -> assertEquals(-1, channel.read(ByteBuffer.allocate(1))));
+            }
+            try (SocketChannel channel = connect(server)) {
+                ByteBuffer response = reset(channel, 2, 1);
+                assertEquals(2, response.getInt(0));
+            }
+        }
+    }
+
+    private static void apply(GameWorld world, int[] held, int index, byte action, int repeat) {
+        int key = action == GymServer.ACTION_LEFT ? KeyEvent.VK_LEFT : action == GymServer.ACTION_RIGHT ? KeyEvent.VK_RIGHT : 0;
+        if (held[index] != key) {
+            if (held[index] != 0) {
+                world.keyReleased(held[index]);
+            }
+            if (key != 0) {
+                world.keyPressed(key);
+            }
+            held[index] = key;
+        }
+        if (action == GymServer.ACTION_LAUNCH) {
+            world.keyPressed(KeyEvent.VK_SPACE);
+        }
+        for (int r = 0; r < repeat && world.getGameState() != GameWorld.GameState.GAME_OVER; r++) {
+            world.update();
+        }
+        if (action == GymServer.ACTION_LAUNCH) {
+            world.keyReleased(KeyEvent.VK_SPACE);
+        }
+    }
+
+    private static void assertMatches(GameWorld[] worlds, ByteBuffer response) {
+        assertEquals(worlds.length, response.getInt(0));
+        for (int i = 0; i < worlds.length; i++) {
+            int base = HEADER + i * GymServer.OBSERVATION_BYTES;
+            assertEquals((float) worlds[i].getBall().getCenterX(), response.getFloat(base));
+            assertEquals((float) worlds[i].getBall().getCenterY(), response.getFloat(base + 4));
+            assertEquals((float) worlds[i].getPaddle().getCenterX(), response.getFloat(base + 16));
+            assertEquals(worlds[i].getLevel(), level(response, i));
+            assertEquals(worlds[i].getLives(), response.get(base + GRID - 2));
+            byte[] expected = new byte[GameWorld.BRICK_GRID_CELLS];
+            for (Brick brick : worlds[i].getBricks()) {
+                expected[GameWorld.brickCell(brick)] = (byte) brick.getRemainingHits();
+            }
+            byte[] actual = grid(response, i);
+            for (int cell = 0; cell < expected.length; cell++) {
+                assertEquals(expected[cell], actual[cell], "env " + i + " case " + cell);
+            }
+        }
+    }
+
+    private static byte[] grid(ByteBuffer response, int env) {
+        byte[] grid = new byte[GameWorld.BRICK_GRID_CELLS];
+        response.get(HEADER + env * GymServer.OBSERVATION_BYTES + GRID, grid);
+        return grid;
+    }
+
+    private static int level(ByteBuffer response, int env) {
+        return response.getShort(HEADER + env * GymServer.OBSERVATION_BYTES + 4 * 5 + 4);
+    }
+
+    private static int scoreDelta(ByteBuffer response, int env) {
+        return response.getInt(HEADER + env * GymServer.OBSERVATION_BYTES + 4 * 5);
+    }
+
+    private static SocketChannel connect(GymServer server) throws IOException {
+        return SocketChannel.open(new InetSocketAddress(InetAddress.getLoopbackAddress(), server.port()));
+    }
+
+    private static ByteBuffer reset(SocketChannel channel, int count, long seed) throws IOException {
+        ByteBuffer request = ByteBuffer.allocate(1 + 4 + 8).order(ByteOrder.LITTLE_ENDIAN);
+        request.put(GymServer.OP_RESET).putInt(count).putLong(seed).flip();
+        writeFully(channel, request);
+        return readResponse(channel);
+    }
+
+    private static ByteBuffer step(SocketChannel channel, byte[] actions, int repeat) throws IOException {
+        ByteBuffer request = ByteBuffer.allocate(2 + actions.length);
+        request.put(GymServer.OP_STEP).put((byte) repeat).put(actions).flip();
+        writeFully(channel, request);
+        return readResponse(channel);
+    }
+
+    private static ByteBuffer readResponse(SocketChannel channel) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER).order(ByteOrder.LITTLE_ENDIAN);
+        readFully(channel, header);
+        int count = header.getInt(0);
+        ByteBuffer response = ByteBuffer.allocate(HEADER + count * GymServer.OBSERVATION_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        response.put(header.flip());
+        readFully(channel, response);
+        return response.flip();
+    }
+
+    private static void writeFully(SocketChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static void readFully(SocketChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new EOFException();
+            }
+        }
+    }
+}
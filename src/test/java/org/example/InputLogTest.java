@@ -0,0 +1,122 @@
+package org.example;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.event.KeyEvent;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+final class InputLogTest {
+    @TempDir
+    Path directory;
+
+    static GameWorld recordedGame(long seed, int ticks) {
+        GameWorld world = new GameWorld(seed);
+        world.setEffectsSuppressed(true);
+        world.startRecording();
+        world.keyPressed(KeyEvent.VK_SPACE);
+        for (int tick = 0; tick < ticks; tick++) {
+            if (tick % 90 == 0) {
+                world.keyReleased(KeyEvent.VK_RIGHT);
+                world.keyPressed(KeyEvent.VK_LEFT);
+            } else if (tick % 90 == 45) {
+                world.keyReleased(KeyEvent.VK_LEFT);
+                world.keyPressed(KeyEvent.VK_RIGHT);
+            }
+            if (tick == ticks / 2) {
+                world.keyPressed(KeyEvent.VK_R);
+            }
+            if (world.getGameState() != GameWorld.GameState.RUNNING) {
+                world.keyPressed(KeyEvent.VK_SPACE);
+                world.keyReleased(KeyEvent.VK_SPACE);
+            }
+            world.update();
+        }
+        world.getInputLog().markEnd(world);
+        return world;
+    }
+
+    @Test
+    void replayReproducesTheRecordedGame() {
+        GameWorld original = recordedGame(42, 3000);
+        InputLog log = original.getInputLog();
+
+        GameWorld replayed = log.replay();
+
+        assertTrue(log.matches(replayed));
+        assertEquals(original.stateChecksum(), replayed.stateChecksum());
+        assertEquals(original.getScore(), replayed.getScore());
+        assertTrue(original.getScore() > 0);
+    }
+
+    @Test
+    void differentSeedsDiverge() {
+        GameWorld first = recordedGame(1, 600);
+        GameWorld second = recordedGame(2, 600);
+
+        assertNotEquals(first.stateChecksum(), second.stateChecksum());
+    }
+
+    @Test
+    void savedLogReplaysAfterLoading() throws IOException {
+        GameWorld original = recordedGame(7, 2000);
+        Path path = directory.resolve("partie.cbr");
+        original.getInputLog().save(path);
+
+        InputLog loaded = InputLog.load(path);
+
+        assertEquals(original.getInputLog().eventCount(), loaded.eventCount());
+        assertEquals(original.getInputLog().sizeInBytes(), loaded.sizeInBytes());
+        assertTrue(loaded.matches(loaded.replay()));
+    }
+
+    @Test
+    void varintsRoundTripAcrossLengthBoundaries() throws IOException {
+        long[] gaps = {0, 1, 127, 128, 16_383, 16_384, 2_097_152, 1L << 35, 1L << 56};
+        int[] keys = {0, 1, 63, 64, 8191, 8192, Integer.MAX_VALUE};
+        InputLog log = new InputLog(3);
+        long tick = 0;
+        for (int i = 0; i < gaps.length; i++) {
+            tick += gaps[i];
+            log.record(tick, keys[i % keys.length], i % 2 == 0);
+        }
+        Path path = directory.resolve("bornes.cbr");
+        log.save(path);
+
+        InputLog loaded = InputLog.load(path);
+        Path copy = directory.resolve("copie.cbr");
+        loaded.save(copy);
+
+        assertEquals(gaps.length, loaded.eventCount());
+        assertArrayEquals(Files.readAllBytes(path), Files.readAllBytes(copy));
+        long last = tick;
+        assertThrows(IllegalArgumentException.class, () -> loaded.record(last - 1, KeyEvent.VK_LEFT, true));
+    }
+
+    @Test
+    void truncatedLogIsRejected() throws IOException {
+        GameWorld original = recordedGame(9, 1200);
+        Path path = directory.resolve("partie.cbr");
+        original.getInputLog().save(path);
+        byte[] bytes = Files.readAllBytes(path);
+        Files.write(path, Arrays.copyOf(bytes, bytes.length - 3));
+
+        assertThrows(IOException.class, () -> InputLog.load(path));
+    }
+
+    @Test
+    void recordingMustStartOnTheFirstTick() {
+        GameWorld world = new GameWorld(5);
+        world.update();
+
+        assertThrows(IllegalStateException.class, world::startRecording);
+    }
+}
@@ -0,0 +1,107 @@
+package org.example;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+final class LeaderboardTest {
+    @Test
+    void ranksMatchABruteForceCount() {
+        Leaderboard leaderboard = new Leaderboard(5000, 50);
+        GameRandom random = new GameRandom(17);
+        int[] scores = new int[3000];
+        for (int i = 0; i < scores.length; i++) {
+            scores[i] = random.nextInt(5001);
+            leaderboard.record(scores[i], 1, i);
+        }
+        int[] descending = IntStream.of(scores).boxed().sorted((a, b) -> b - a).mapToInt(Integer::intValue).toArray();
+
+        assertEquals(scores.length, leaderboard.size());
+        for (int score = 0; score <= 5000; score += 7) {
+            int probe = score;
+            long above = IntStream.of(scores).filter(s -> s > probe).count();
+            assertEquals(above + 1, leaderboard.rankOf(score), "score " + score);
+        }
+        for (int rank = 1; rank <= scores.length; rank++) {
+            assertEquals(descending[rank - 1], leaderboard.scoreAt(rank), "rang " + rank);
+        }
+        assertEquals(-1, leaderboard.scoreAt(0));
+        assertEquals(-1, leaderboard.scoreAt(scores.length + 1));
+    }
+
+    @Test
+    void topKeepsTheBestInOrder() {
+        Leaderboard leaderboard = new Leaderboard(1000, 10);
+        int[] scores = {300, 700, 300, 900, 100, 700, 500, 50, 900, 20, 650, 10, 800, 5};
+        for (int i = 0; i < scores.length; i++) {
+            leaderboard.record(scores[i], i + 1, i);
+        }
+
+        List<Leaderboard.Entry> top = leaderboard.top(100);
+
+        assertEquals(10, top.size());
+        int[] expected = {900, 900, 800, 700, 700, 650, 500, 300, 300, 100};
+        long[] seeds = {3, 8, 12, 1, 5, 10, 6, 0, 2, 4};
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i], top.get(i).score());
+            assertEquals(seeds[i], top.get(i).seed());
+            assertEquals(seeds[i] + 1, top.get(i).level());
+        }
+        assertEquals(3, leaderboard.top(3).size());
+    }
+
+    @Test
+    void scoresAreClampedToTheRange() {
+        Leaderboard leaderboard = new Leaderboard(100, 5);
+
+        assertEquals(1, leaderboard.record(250, 1, 1));
+        assertEquals(2, leaderboard.record(-5, 1, 2));
+        assertEquals(100, leaderboard.scoreAt(1));
+        assertEquals(0, leaderboard.scoreAt(2));
+        assertEquals(1, leaderboard.rankOf(1000));
+        assertEquals(100, leaderboard.top(1).get(0).score());
+    }
+
+    @Test
+    void concurrentRecordsAreAllCounted() throws InterruptedException {
+        Leaderboard leaderboard = new Leaderboard(10_000, 20);
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            long seed = t;
+            threads[t] = new Thread(() -> {
+                GameRandom random = new GameRandom(seed);
+                for (int i = 0; i < 5000; i++) {
+                    leaderboard.record(random.nextInt(10_001), 1, seed);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(20_000, leaderboard.size());
+        assertTrue(leaderboard.scoreAt(20_000) >= 0);
+        assertEquals(-1, leaderboard.scoreAt(20_001));
+        List<Leaderboard.Entry> top = leaderboard.top(100);
+        assertTrue(top.size() <= 20, "retenues " + top.size());
+        assertEquals(leaderboard.scoreAt(1), top.get(0).score());
+        int[] topScores = top.stream().mapToInt(Leaderboard.Entry::score).toArray();
+        int[] sorted = topScores.clone();
+        Arrays.sort(sorted);
+        for (int i = 0; i < sorted.length; i++) {
+            assertEquals(sorted[sorted.length - 1 - i], topScores[i]);
+        }
+    }
+
+    @Test
+    void invalidBoundsAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new Leaderboard(0, 10));
+        assertThrows(IllegalArgumentException.class, () -> new Leaderboard(100, 0));
+    }
+}
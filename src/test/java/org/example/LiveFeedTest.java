@@ -0,0 +1,101 @@
+package org.example;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.event.KeyEvent;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+final class LiveFeedTest {
+    private static final long SEED = 4000;
+    private static final int TICKS = 4000;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void readerNeverSeesATornFrameWhileTheWriterPublishes() {
+        long[] expected = new long[TICKS + 1];
+        GameWorld reference = autopilot();
+        expected[0] = reference.stateChecksum();
+        for (int tick = 1; tick <= TICKS; tick++) {
+            advance(reference, tick);
+            expected[tick] = reference.stateChecksum();
+        }
+
+        Path path = directory.resolve("live").resolve("etat.cbl");
+        assertTimeoutPreemptively(Duration.ofSeconds(60), () -> {
+            ExecutorService executor = Executors.newSingleThreadExecutor();
+            try (LiveFeed feed = LiveFeed.create(path); LiveFeed.Reader reader = LiveFeed.follow(path)) {
+                GameWorld target = new GameWorld(0);
+                assertFalse(reader.poll(target));
+                Future<?> writer = executor.submit(() -> {
+                    GameWorld world = autopilot();
+                    for (int tick = 1; tick <= TICKS; tick++) {
+                        advance(world, tick);
+                        feed.publish(world);
+                    }
+                });
+                long lastTick = -1;
+                while (!writer.isDone() || lastTick < TICKS) {
+                    if (!reader.poll(target)) {
+                        Thread.onSpinWait();
+                        continue;
+                    }
+                    int tick = (int) target.getTick();
+                    assertTrue(tick > lastTick);
+                    assertEquals(expected[tick], target.stateChecksum(), "etat dechire au tick " + tick);
+                    lastTick = tick;
+                }
+                writer.get();
+                assertEquals(TICKS, lastTick);
+                assertTrue(reader.frames() > 1);
+            } finally {
+                executor.shutdownNow();
+            }
+        });
+    }
+
+    @Test
+    void reopenedFeedResumesAfterTheLastSequence() throws IOException {
+        Path path = directory.resolve("etat.cbl");
+        GameWorld world = autopilot();
+        long sequence;
+        try (LiveFeed feed = LiveFeed.create(path)) {
+            advance(world, 1);
+            feed.publish(world);
+            sequence = feed.sequence();
+        }
+        try (LiveFeed feed = LiveFeed.create(path); LiveFeed.Reader reader = LiveFeed.follow(path)) {
+            assertTrue(feed.sequence() >= sequence);
+            assertFalse(reader.writerClosed());
+            advance(world, 2);
+            feed.publish(world);
+
+            GameWorld target = new GameWorld(0);
+            assertTrue(reader.poll(target));
+            assertEquals(world.stateChecksum(), target.stateChecksum());
+            assertFalse(reader.poll(target));
+        }
+    }
+
+    private static GameWorld autopilot() {
+        GameWorld world = new GameWorld(SEED);
+        world.keyPressed(KeyEvent.VK_R);
+        return world;
+    }
+
+    private static void advance(GameWorld world, long tick) {
+        ReplayExporter.TickDriver.AUTOPILOT.beforeTick(world, tick);
+        world.update();
+    }
+}
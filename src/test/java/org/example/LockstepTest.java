@@ -0,0 +1,93 @@
+package org.example;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.event.KeyEvent;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+final class LockstepTest {
+    private static final long SEED = 4300;
+    private static final int TICKS = 1500;
+
+    @Test
+    void peersStayInSyncOnScriptedInputs() {
+        assertTimeoutPreemptively(Duration.ofSeconds(60), () -> {
+            Lockstep[] peers = play(TICKS, -1);
+            try (Lockstep host = peers[0]; Lockstep joiner = peers[1]) {
+                assertEquals(-1, host.desyncTick());
+                assertEquals(-1, joiner.desyncTick());
+                assertEquals(TICKS, host.world().getTick());
+                assertEquals(TICKS, joiner.world().getTick());
+                assertEquals(host.world().stateChecksum(), joiner.world().stateChecksum());
+                assertEquals(host.world().getScore(), joiner.world().getScore());
+                assertTrue(host.world().getScore() > 0);
+                assertEquals(SEED, joiner.world().getSeed());
+                assertEquals(Lockstep.DEFAULT_DELAY, joiner.delay());
+                assertThrows(IllegalArgumentException.class, () -> host.keyPressed(-1));
+            }
+        });
+    }
+
+    @Test
+    void localOnlyInputIsReportedOnBothSides() {
+        long desync = 600;
+        assertTimeoutPreemptively(Duration.ofSeconds(60), () -> {
+            Lockstep[] peers = play(900, desync);
+            try (Lockstep host = peers[0]; Lockstep joiner = peers[1]) {
+                assertEquals(desync + 1, host.desyncTick());
+                assertEquals(desync + 1, joiner.desyncTick());
+            }
+        });
+    }
+
+    private static Lockstep[] play(int ticks, long desync) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try (ServerSocket server = Lockstep.listen(InetAddress.getLoopbackAddress(), 0)) {
+            Future<Lockstep> host = executor.submit(() -> run(Lockstep.host(server, SEED, Lockstep.DEFAULT_DELAY), ticks, -1));
+            Future<Lockstep> joiner = executor.submit(() ->
+                run(Lockstep.join(InetAddress.getLoopbackAddress().getHostAddress(), server.getLocalPort()), ticks, desync));
+            return new Lockstep[] {host.get(), joiner.get()};
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static Lockstep run(Lockstep session, int ticks, long desync) throws IOException {
+        int period = session.localPlayer() == 0 ? 40 : 25;
+        int held = 0;
+        while (session.world().getTick() < ticks) {
+            long tick = session.world().getTick();
+            if (session.localPlayer() == 0 && session.world().getGameState() != GameWorld.GameState.RUNNING) {
+                session.keyPressed(KeyEvent.VK_SPACE);
+                session.keyReleased(KeyEvent.VK_SPACE);
+            }
+            if (tick % period == 0) {
+                if (held != 0) {
+                    session.keyReleased(held);
+                }
+                held = (tick / period) % 2 == 0 ? KeyEvent.VK_LEFT : KeyEvent.VK_RIGHT;
+                session.keyPressed(held);
+            }
+            if (tick == desync) {
+                session.injectLocalOnly(KeyEvent.VK_R);
+            }
+            while (!session.step(5, TimeUnit.SECONDS)) {
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new IOException("Partenaire absent");
+                }
+            }
+        }
+        return session;
+    }
+}
@@ -0,0 +1,103 @@
+package org.example;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+final class QuantileSketchTest {
+    private static final int VALUES = 200_000;
+    private static final double RANK_TOLERANCE = 0.02;
+    private static final double[] QUANTILES = {0.01, 0.1, 0.25, 0.5, 0.75, 0.9, 0.99};
+
+    @Test
+    void quantilesStayWithinRankTolerance() {
+        QuantileSketch sketch = new QuantileSketch();
+        for (int value : shuffled(VALUES, 11)) {
+            sketch.add(value);
+        }
+
+        assertRanks(sketch, VALUES);
+        assertTrue(sketch.retained() < 3 * QuantileSketch.DEFAULT_ACCURACY, "retenues " + sketch.retained());
+    }
+
+    @Test
+    void mergedSketchesStayWithinRankTolerance() {
+        QuantileSketch[] parts = new QuantileSketch[8];
+        for (int i = 0; i < parts.length; i++) {
+            parts[i] = new QuantileSketch();
+        }
+        int[] values = shuffled(VALUES, 23);
+        for (int i = 0; i < values.length; i++) {
+            parts[i % parts.length].add(values[i]);
+        }
+        QuantileSketch total = new QuantileSketch();
+        for (QuantileSketch part : parts) {
+            total.merge(part);
+        }
+
+        assertRanks(total, VALUES);
+        assertTrue(total.retained() < 3 * QuantileSketch.DEFAULT_ACCURACY, "retenues " + total.retained());
+    }
+
+    @Test
+    void exactStatisticsAreKept() {
+        QuantileSketch sketch = new QuantileSketch(8);
+        QuantileSketch other = new QuantileSketch(8);
+        double sum = 0;
+        for (int i = 1; i <= 10_000; i++) {
+            (i % 3 == 0 ? other : sketch).add(i);
+            sum += i;
+        }
+        sketch.merge(other);
+        sketch.merge(new QuantileSketch());
+
+        assertEquals(10_000, sketch.count());
+        assertEquals(1, sketch.min());
+        assertEquals(10_000, sketch.max());
+        assertEquals(sum / 10_000, sketch.mean(), 1e-9);
+        assertEquals(1, sketch.quantile(0.0));
+        assertEquals(10_000, sketch.quantile(1.0));
+    }
+
+    @Test
+    void emptySketchHasNoValues() {
+        QuantileSketch sketch = new QuantileSketch();
+
+        assertEquals(0, sketch.count());
+        assertEquals(0, sketch.retained());
+        assertTrue(Double.isNaN(sketch.mean()));
+        assertTrue(Double.isNaN(sketch.min()));
+        assertTrue(Double.isNaN(sketch.max()));
+        assertTrue(Double.isNaN(sketch.quantile(0.5)));
+    }
+
+    @Test
+    void tooSmallAccuracyIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new QuantileSketch(7));
+    }
+
+    private static void assertRanks(QuantileSketch sketch, int values) {
+        assertEquals(values, sketch.count());
+        for (double q : QUANTILES) {
+            double rank = sketch.quantile(q) / values;
+            assertEquals(q, rank, RANK_TOLERANCE, "quantile " + q);
+        }
+    }
+
+    private static int[] shuffled(int count, long seed) {
+        int[] values = new int[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = i;
+        }
+        GameRandom random = new GameRandom(seed);
+        for (int i = count - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = values[i];
+            values[i] = values[j];
+            values[j] = swap;
+        }
+        return values;
+    }
+}
@@ -0,0 +1,80 @@
+package org.example;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+final class ReplayIndexTest {
+    private static final int INTERVAL = 250;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void seekMatchesAStraightReplay() throws IOException {
+        InputLog log = InputLogTest.recordedGame(11, 2600).getInputLog();
+        Path path = directory.resolve("partie.cbx");
+        int keyframes = ReplayIndex.build(log, INTERVAL, path);
+
+        try (ReplayIndex index = ReplayIndex.open(path)) {
+            assertEquals(keyframes, index.keyframeCount());
+            assertEquals(log.seed(), index.seed());
+            assertEquals(INTERVAL, index.interval());
+            for (long tick : new long[] {0, 1, INTERVAL - 1, INTERVAL, 1234, log.endTick()}) {
+                ReplayIndex.Cursor cursor = index.seek(log, tick);
+                GameWorld expected = replayTo(log, tick);
+
+                assertEquals(tick, cursor.world().getTick());
+                assertEquals(expected.stateChecksum(), cursor.world().stateChecksum(), "tick " + tick);
+                assertTrue(cursor.simulatedTicks() < INTERVAL);
+            }
+        }
+    }
+
+    @Test
+    void seekThenPlayReachesTheRecordedEnd() throws IOException {
+        InputLog log = InputLogTest.recordedGame(12, 1800).getInputLog();
+        Path path = directory.resolve("partie.cbx");
+        ReplayIndex.build(log, INTERVAL, path);
+
+        try (ReplayIndex index = ReplayIndex.open(path)) {
+            ReplayIndex.Cursor cursor = index.seek(log, 700);
+            GameWorld world = cursor.world();
+            while (world.getTick() < log.endTick()) {
+                cursor.player().beforeTick(world, world.getTick());
+                world.update();
+            }
+            cursor.player().beforeTick(world, world.getTick());
+
+            assertTrue(log.matches(world));
+        }
+    }
+
+    @Test
+    void seekOutsideTheReplayIsRejected() throws IOException {
+        InputLog log = InputLogTest.recordedGame(13, 600).getInputLog();
+        Path path = directory.resolve("partie.cbx");
+        ReplayIndex.build(log, INTERVAL, path);
+
+        try (ReplayIndex index = ReplayIndex.open(path)) {
+            assertThrows(IllegalArgumentException.class, () -> index.seek(log, log.endTick() + 1));
+            assertThrows(IllegalArgumentException.class, () -> index.seek(log, -1));
+            assertThrows(IllegalArgumentException.class, () -> index.seek(new InputLog(log.seed() + 1), 0));
+        }
+    }
+
+    private static GameWorld replayTo(InputLog log, long tick) {
+        GameWorld world = new GameWorld(log.seed());
+        InputLog.Player player = log.player();
+        while (world.getTick() < tick) {
+            player.beforeTick(world, world.getTick());
+            world.update();
+        }
+        return world;
+    }
+}
@@ -0,0 +1,83 @@
+package org.example;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.ByteBuffer;
+import org.junit.jupiter.api.Test;
+
+final class RewindBufferTest {
+    @Test
+    void rewindRestoresEarlierTicksExactly() {
+        GameWorld world = InputLogTest.recordedGame(31, 200);
+        RewindBuffer buffer = new RewindBuffer(600, 1 << 20);
+        long[] checksums = new long[400];
+        long start = world.getTick();
+        for (int i = 0; i < checksums.length; i++) {
+            buffer.record(world);
+            checksums[i] = world.stateChecksum();
+            world.update();
+        }
+
+        assertEquals(50, buffer.rewind(world, 50));
+        assertEquals(start + checksums.length - 50, world.getTick());
+        assertEquals(checksums[checksums.length - 50], world.stateChecksum());
+
+        assertEquals(100, buffer.rewind(world, 100));
+        assertEquals(checksums[checksums.length - 150], world.stateChecksum());
+    }
+
+    @Test
+    void rewoundWorldPlaysOnDeterministically() {
+        GameWorld world = InputLogTest.recordedGame(32, 200);
+        RewindBuffer buffer = new RewindBuffer(300, 1 << 20);
+        for (int i = 0; i < 120; i++) {
+            buffer.record(world);
+            world.update();
+        }
+        GameWorld reference = new GameWorld(world.getSeed());
+        ByteBuffer state = ByteBuffer.allocate(16 * 1024);
+        buffer.rewind(world, 60);
+        world.writeState(state);
+        reference.readState(state.flip());
+        for (int i = 0; i < 300; i++) {
+            world.update();
+            reference.update();
+        }
+
+        assertEquals(reference.stateChecksum(), world.stateChecksum());
+    }
+
+    @Test
+    void historyIsBoundedByTicksAndBytes() {
+        GameWorld world = InputLogTest.recordedGame(33, 200);
+        RewindBuffer byTicks = new RewindBuffer(64, 1 << 20);
+        RewindBuffer byBytes = new RewindBuffer(10_000, 4 * 1024);
+        for (int i = 0; i < 1000; i++) {
+            byTicks.record(world);
+            byBytes.record(world);
+            world.update();
+        }
+
+        assertEquals(64, byTicks.availableTicks());
+        assertTrue(byBytes.availableTicks() < 1000);
+        assertTrue(byBytes.usedBytes() <= byBytes.capacityBytes());
+        long tick = world.getTick();
+        assertEquals(64, byTicks.rewind(world, 1000));
+        assertEquals(tick - 64, world.getTick());
+    }
+
+    @Test
+    void emptyBufferLeavesTheWorldAlone() {
+        GameWorld world = InputLogTest.recordedGame(34, 100);
+        RewindBuffer buffer = new RewindBuffer(10, 1 << 16);
+        long before = world.stateChecksum();
+
+        assertEquals(0, buffer.rewind(world, 5));
+        assertEquals(before, world.stateChecksum());
+
+        buffer.clear();
+        assertEquals(0, buffer.availableTicks());
+        assertEquals(0, buffer.usedBytes());
+    }
+}
@@ -0,0 +1,129 @@
+package org.example;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.CRC32C;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+final class SaveStateTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void snapshotRestoresTheSameWorld() throws IOException {
+        GameWorld original = InputLogTest.recordedGame(21, 2500);
+        ByteBuffer snapshot = SaveState.snapshot(original, null);
+
+        GameWorld restored = new GameWorld(99);
+        SaveState.restore(restored, snapshot);
+
+        assertEquals(original.getSeed(), restored.getSeed());
+        assertEquals(original.stateChecksum(), restored.stateChecksum());
+        assertNull(restored.getInputLog());
+        for (int tick = 0; tick < 600; tick++) {
+            original.update();
+            restored.update();
+        }
+        assertEquals(original.stateChecksum(), restored.stateChecksum());
+    }
+
+    @Test
+    void snapshotGrowsASmallReusedBuffer() throws IOException {
+        GameWorld original = InputLogTest.recordedGame(22, 300);
+        ByteBuffer snapshot = SaveState.snapshot(original, ByteBuffer.allocate(16));
+
+        GameWorld restored = new GameWorld(0);
+        SaveState.restore(restored, snapshot);
+
+        assertEquals(original.stateChecksum(), restored.stateChecksum());
+    }
+
+    @Test
+    void savedFileLoadsBack() throws IOException {
+        GameWorld original = InputLogTest.recordedGame(23, 1500);
+        Path path = directory.resolve("saves").resolve("rapide.cbs");
+        SaveState.save(original, path);
+
+        GameWorld loaded = new GameWorld(0);
+        SaveState.load(loaded, path);
+
+        assertEquals(original.stateChecksum(), loaded.stateChecksum());
+        assertFalse(Files.exists(path.resolveSibling("rapide.cbs.tmp")));
+    }
+
+    @Test
+    void corruptedPayloadIsRejectedAndLeavesTheWorldUntouched() {
+        ByteBuffer snapshot = copy(SaveState.snapshot(InputLogTest.recordedGame(24, 900), null));
+        snapshot.put(snapshot.limit() - 5, (byte) (snapshot.get(snapshot.limit() - 5) ^ 0x40));
+        GameWorld target = InputLogTest.recordedGame(25, 400);
+        long before = target.stateChecksum();
+
+        IOException error = assertThrows(IOException.class, () -> SaveState.restore(target, snapshot));
+
+        assertEquals("Sauvegarde corrompue", error.getMessage());
+        assertEquals(before, target.stateChecksum());
+    }
+
+    @Test
+    void unreadablePayloadWithAValidChecksumLeavesTheWorldUntouched() {
+        ByteBuffer snapshot = copy(SaveState.snapshot(InputLogTest.recordedGame(26, 900), null));
+        int payloadLength = snapshot.getInt(13) - 8;
+        snapshot.putInt(13, payloadLength);
+        snapshot.limit(21 + payloadLength);
+        CRC32C crc = new CRC32C();
+        crc.update(snapshot.slice(21, payloadLength));
+        snapshot.putInt(17, (int) crc.getValue());
+        GameWorld target = InputLogTest.recordedGame(27, 400);
+        long before = target.stateChecksum();
+
+        assertThrows(IOException.class, () -> SaveState.restore(target, snapshot));
+        assertEquals(before, target.stateChecksum());
+        assertNotNull(target.getInputLog());
+    }
+
+    @Test
+    void truncatedAndForeignDataIsRejected() {
+        ByteBuffer snapshot = SaveState.snapshot(InputLogTest.recordedGame(28, 300), null);
+        ByteBuffer truncated = copy(snapshot).limit(snapshot.limit() - 1);
+        ByteBuffer foreign = copy(snapshot).putInt(0, 0x12345678);
+        ByteBuffer empty = ByteBuffer.allocate(4);
+        GameWorld target = new GameWorld(0);
+
+        assertThrows(IOException.class, () -> SaveState.restore(target, truncated));
+        assertThrows(IOException.class, () -> SaveState.restore(target, foreign));
+        assertThrows(IOException.class, () -> SaveState.restore(target, empty));
+    }
+
+    @Test
+    void backgroundWriterKeepsTheLatestSnapshot() throws IOException {
+        GameWorld world = InputLogTest.recordedGame(29, 300);
+        Path path = directory.resolve("reprise.cbs");
+        try (SaveState.Writer writer = SaveState.Writer.start(path)) {
+            for (int i = 0; i < 20; i++) {
+                world.update();
+                assertTrue(writer.submit(world));
+            }
+        }
+
+        GameWorld loaded = new GameWorld(0);
+        SaveState.load(loaded, path);
+
+        assertEquals(world.stateChecksum(), loaded.stateChecksum());
+    }
+
+    private static ByteBuffer copy(ByteBuffer source) {
+        ByteBuffer copy = ByteBuffer.allocate(source.remaining());
+        copy.put(source.duplicate()).flip();
+        return copy;
+    }
+}
@@ -0,0 +1,140 @@
+package org.example;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+final class ScoreJournalTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void reopenedJournalRestoresRecordsAndBests() throws IOException {
+        Path path = directory.resolve("scores.journal");
+        try (ScoreJournal journal = ScoreJournal.open(path)) {
+            append(journal, 400, 2, "Game over", 400, 2, 30);
+            append(journal, 1200, 4, "Abandon", 1200, 4, 90);
+            append(journal, 700, 3, "Game over", 1200, 4, 90);
+        }
+
+        GameWorld world = new GameWorld(1);
+        try (ScoreJournal journal = ScoreJournal.open(path)) {
+            assertEquals(3, journal.entries());
+            journal.restoreInto(world);
+        }
+
+        assertScores(world, 1200, 700, 400);
+        assertEquals("Abandon", world.getScoreRecords().get(0).note());
+        assertEquals(1200, world.getPersonalBestScore());
+        assertEquals(4, world.getPersonalBestLevel());
+        assertEquals(90, world.getPersonalBestCredits());
+    }
+
+    @Test
+    void truncatedTailIsDroppedAndJournalStaysAppendable() throws IOException {
+        Path path = directory.resolve("scores.journal");
+        try (ScoreJournal journal = ScoreJournal.open(path)) {
+            append(journal, 100, 1, "un", 100, 1, 0);
+            append(journal, 200, 1, "deux", 200, 1, 0);
+            append(journal, 300, 2, "trois", 300, 2, 0);
+        }
+        byte[] bytes = Files.readAllBytes(path);
+        Files.write(path, Arrays.copyOf(bytes, bytes.length - 5));
+
+        try (ScoreJournal journal = ScoreJournal.open(path)) {
+            assertEquals(2, journal.entries());
+            assertTrue(Files.size(path) < bytes.length - 5);
+            append(journal, 250, 2, "quatre", 250, 2, 0);
+        }
+
+        GameWorld world = new GameWorld(1);
+        try (ScoreJournal journal = ScoreJournal.open(path)) {
+            assertEquals(3, journal.entries());
+            journal.restoreInto(world);
+        }
+        assertScores(world, 250, 200, 100);
+    }
+
+    @Test
+    void corruptedLastEntryIsDropped() throws IOException {
+        Path path = directory.resolve("scores.journal");
+        try (ScoreJournal journal = ScoreJournal.open(path)) {
+            append(journal, 100, 1, "un", 100, 1, 0);
+            append(journal, 900, 5, "deux", 900, 5, 0);
+        }
+        byte[] bytes = Files.readAllBytes(path);
+        bytes[bytes.length - 1] ^= 0x20;
+        Files.write(path, bytes);
+
+        GameWorld world = new GameWorld(1);
+        try (ScoreJournal journal = ScoreJournal.open(path)) {
+            assertEquals(1, journal.entries());
+            journal.restoreInto(world);
+        }
+        assertScores(world, 100);
+        assertEquals(100, world.getPersonalBestScore());
+    }
+
+    @Test
+    void compactionKeepsTheBestRecords() throws IOException {
+        Path path = directory.resolve("scores.journal");
+        try (ScoreJournal journal = ScoreJournal.open(path, 256)) {
+            for (int i = 1; i <= 40; i++) {
+                append(journal, i * 10, 1 + i / 10, "partie " + i, i * 10, 1 + i / 10, i);
+            }
+            journal.close();
+            assertTrue(journal.compactions() > 0);
+        }
+        assertTrue(Files.size(path) <= 256, "taille " + Files.size(path));
+
+        GameWorld world = new GameWorld(1);
+        try (ScoreJournal journal = ScoreJournal.open(path)) {
+            assertEquals(GameWorld.SCORE_HISTORY_LIMIT, journal.entries());
+            journal.restoreInto(world);
+        }
+        assertScores(world, 400, 390, 380, 370, 360);
+        assertEquals(400, world.getPersonalBestScore());
+        assertEquals(5, world.getPersonalBestLevel());
+        assertEquals(40, world.getPersonalBestCredits());
+    }
+
+    @Test
+    void foreignFileIsRejected() throws IOException {
+        Path path = directory.resolve("scores.journal");
+        Files.write(path, new byte[] {'J', 'U', 'N', 'K', 1, 0, 0, 0});
+
+        assertThrows(IOException.class, () -> ScoreJournal.open(path));
+    }
+
+    @Test
+    void appendAfterCloseIsRefused() throws IOException {
+        ScoreJournal journal = ScoreJournal.open(directory.resolve("scores.journal"));
+        journal.close();
+
+        assertFalse(journal.append(new GameWorld.ScoreRecord(10, 1, "tard"), new GameWorld(1)));
+    }
+
+    private static void append(ScoreJournal journal, int score, int level, String note, int bestScore, int bestLevel,
+        int bestCredits) {
+        GameWorld world = new GameWorld(1);
+        world.restoreScoreHistory(List.of(), bestScore, bestLevel, bestCredits);
+        assertTrue(journal.append(new GameWorld.ScoreRecord(score, level, note), world));
+    }
+
+    private static void assertScores(GameWorld world, int... expected) {
+        List<GameWorld.ScoreRecord> records = world.getScoreRecords();
+        assertEquals(expected.length, records.size());
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i], records.get(i).score());
+        }
+    }
+}
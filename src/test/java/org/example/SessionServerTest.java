@@ -0,0 +1,96 @@
+package org.example;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.event.KeyEvent;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.locks.LockSupport;
+import org.junit.jupiter.api.Test;
+
+final class SessionServerTest {
+    @Test
+    void sessionRunsOnTheServerClockAndTakesInput() throws IOException {
+        try (SessionServer server = SessionServer.start(0);
+             Client client = new Client(server.port())) {
+            assertEquals("ERR aucune session", client.send("S"));
+            assertTrue(client.send("NEW 7").startsWith("OK "));
+            client.write("P " + KeyEvent.VK_SPACE);
+            client.write("R " + KeyEvent.VK_SPACE);
+
+            assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+                String[] state;
+                do {
+                    LockSupport.parkNanos(20_000_000L);
+                    state = client.send("S").split(" ");
+                } while (Long.parseLong(state[1]) < 30);
+                assertEquals("ETAT", state[0]);
+                assertEquals("RUNNING", state[5]);
+            });
+            assertTrue(client.send("STATS").startsWith("STATS 1 "));
+            assertEquals("TOP 0 0", client.send("TOP 5"));
+            assertEquals("RANG 1 0", client.send("RANG 100"));
+        }
+    }
+
+    @Test
+    void malformedArgumentsAreRejectedWithoutClosing() throws IOException {
+        try (SessionServer server = SessionServer.start(0);
+             Client client = new Client(server.port())) {
+            assertEquals("ERR argument invalide", client.send("NEW graine"));
+            assertEquals("ERR argument invalide", client.send("NEW 1 2"));
+            assertEquals("ERR aucune session", client.send("P 37"));
+            assertTrue(client.send("NEW 3").startsWith("OK "));
+            assertEquals("ERR argument invalide", client.send("P gauche"));
+            assertEquals("ERR argument invalide", client.send("R -1"));
+            assertEquals("ERR argument invalide", client.send("P 65536"));
+            assertEquals("ERR argument invalide", client.send("TOP 0"));
+            assertEquals("ERR argument invalide", client.send("TOP 99999999999"));
+            assertEquals("ERR argument invalide", client.send("RANG"));
+            assertEquals("ERR argument invalide", client.send("RANG 9999999999"));
+            assertEquals("ERR commande inconnue", client.send("SAUTER"));
+            assertTrue(client.send("S").startsWith("ETAT "));
+
+            client.write("Q");
+            assertNull(client.in.readLine());
+        }
+    }
+
+    private static final class Client implements AutoCloseable {
+        private final Socket socket;
+        private final BufferedReader in;
+        private final Writer out;
+
+        private Client(int port) throws IOException {
+            socket = new Socket(InetAddress.getLoopbackAddress(), port);
+            socket.setSoTimeout(10_000);
+            in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+            out = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.US_ASCII);
+        }
+
+        private void write(String line) throws IOException {
+            out.write(line + "\n");
+            out.flush();
+        }
+
+        private String send(String line) throws IOException {
+            write(line);
+            return in.readLine();
+        }
+
+        @Override
+        public void close() throws IOException {
+            socket.close();
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package org.example;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.time.Duration;
+import java.util.concurrent.locks.LockSupport;
+import org.junit.jupiter.api.Test;
+
+final class SpectatorServerTest {
+    @Test
+    void viewerConvergesOnThePublishedWorld() throws IOException {
+        GameWorld world = InputLogTest.recordedGame(41, 100);
+        try (SpectatorServer server = SpectatorServer.start(0);
+             SocketChannel channel = SocketChannel.open(new InetSocketAddress(InetAddress.getLoopbackAddress(), server.port()))) {
+            awaitViewers(server, 1);
+            SpectatorServer.View view = new SpectatorServer.View();
+            for (int round = 0; round < 3; round++) {
+                for (int tick = 0; tick < 400; tick++) {
+                    world.update();
+                    server.publish(world);
+                }
+                readUntil(channel, view, world.getTick());
+
+                assertEquals(world.getScore(), view.score());
+                assertEquals(world.getLives(), view.lives());
+                assertEquals(world.getLevel(), view.level());
+                assertEquals(world.getCredits(), view.credits());
+                assertEquals((float) world.getBall().getX(), view.ballX());
+                assertEquals((float) world.getPaddle().getX(), view.paddleX());
+                assertEquals(world.getBricks().size(), view.remainingBricks());
+            }
+            assertTrue(view.keyframes() >= 1);
+            assertTrue(view.deltas() >= 1);
+        }
+    }
+
+    @Test
+    void publishingWithoutViewersSendsNothing() throws IOException {
+        GameWorld world = new GameWorld(42);
+        try (SpectatorServer server = SpectatorServer.start(0)) {
+            for (int tick = 0; tick < 200; tick++) {
+                world.update();
+                server.publish(world);
+            }
+
+            assertEquals(0, server.viewerCount());
+            assertEquals(0, server.bytesSent());
+        }
+    }
+
+    private static void awaitViewers(SpectatorServer server, int count) {
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+            while (server.viewerCount() < count) {
+                LockSupport.parkNanos(1_000_000L);
+            }
+        });
+    }
+
+    private static void readUntil(SocketChannel channel, SpectatorServer.View view, long tick) {
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+            ByteBuffer header = ByteBuffer.allocate(4);
+            while (view.tick() != tick) {
+                header.clear();
+                readFully(channel, header);
+                ByteBuffer message = ByteBuffer.allocate(header.flip().getInt());
+                readFully(channel, message);
+                view.apply(message.flip());
+            }
+        });
+    }
+
+    private static void readFully(SocketChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new EOFException();
+            }
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package org.example;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.event.KeyEvent;
+import java.util.concurrent.ExecutionException;
+import org.junit.jupiter.api.Test;
+
+final class TournamentTest {
+    private static final int GAMES = 24;
+    private static final long SEED = 46;
+    private static final long MAX_TICKS = GameWorld.FRAMES_PER_SECOND * 60L * 3;
+
+    @Test
+    void parallelAggregatesMatchASequentialRun() throws InterruptedException, ExecutionException {
+        Tournament tournament = new Tournament(GAMES, SEED, MAX_TICKS);
+        tournament.run(4);
+
+        long[] livesLost = new long[Tournament.MAX_TRACKED_LEVEL + 1];
+        long[] reaching = new long[Tournament.MAX_TRACKED_LEVEL + 1];
+        long levelChanges = 0;
+        long levelTicks = 0;
+        long longestLevel = 0;
+        long totalTicks = 0;
+        long capped = 0;
+        for (int game = 0; game < GAMES; game++) {
+            GameWorld world = new GameWorld(SEED + game);
+            world.setEffectsSuppressed(true);
+            world.keyPressed(KeyEvent.VK_R);
+            int highestLevel = 1;
+            int lives = world.getLives();
+            long levelStart = 0;
+            while (world.getGameState() != GameWorld.GameState.GAME_OVER && world.getTick() < MAX_TICKS) {
+                if (world.getGameState() == GameWorld.GameState.LEVEL_COMPLETE) {
+                    world.keyPressed(KeyEvent.VK_SPACE);
+                    world.keyReleased(KeyEvent.VK_SPACE);
+                }
+                world.update();
+                int level = Math.min(world.getLevel(), Tournament.MAX_TRACKED_LEVEL);
+                if (level > highestLevel) {
+                    long spent = world.getTick() - levelStart;
+                    levelChanges++;
+                    levelTicks += spent;
+                    longestLevel = Math.max(longestLevel, spent);
+                    levelStart = world.getTick();
+                    highestLevel = level;
+                }
+                if (world.getLives() < lives) {
+                    livesLost[level] += lives - world.getLives();
+                }
+                lives = world.getLives();
+            }
+            for (int level = 1; level <= highestLevel; level++) {
+                reaching[level]++;
+            }
+            totalTicks += world.getTick();
+            if (world.getGameState() != GameWorld.GameState.GAME_OVER) {
+                capped++;
+            }
+        }
+
+        long lost = 0;
+        for (int level = 1; level <= Tournament.MAX_TRACKED_LEVEL; level++) {
+            assertEquals(reaching[level], tournament.gamesReaching(level), "niveau " + level);
+            assertEquals(livesLost[level], tournament.livesLost(level), "niveau " + level);
+            lost += livesLost[level];
+        }
+        assertTrue(lost > 0);
+        QuantileSketch ticksPerLevel = tournament.ticksPerLevel();
+        assertTrue(levelChanges > 0);
+        assertEquals(levelChanges, ticksPerLevel.count());
+        assertEquals(levelTicks / (double) levelChanges, ticksPerLevel.mean());
+        assertEquals(longestLevel, (long) ticksPerLevel.max());
+        assertEquals(totalTicks, tournament.totalTicks());
+        assertEquals(capped, tournament.capped());
+        assertEquals(GAMES, tournament.finished() + tournament.capped());
+        assertEquals(GAMES, tournament.gamesReaching(1));
+    }
+}
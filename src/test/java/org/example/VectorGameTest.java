@@ -0,0 +1,115 @@
+package org.example;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.event.KeyEvent;
+import org.junit.jupiter.api.Test;
+
+final class VectorGameTest {
+    private static final int ENVIRONMENTS = 32;
+    private static final long SEED = 1000;
+
+    @Test
+    void initialLevelsMatchGameWorld() {
+        VectorGame game = new VectorGame(ENVIRONMENTS, SEED);
+        for (int i = 0; i < ENVIRONMENTS; i++) {
+            assertSameState(new GameWorld(SEED + i), game, i);
+        }
+    }
+
+    @Test
+    void stepsMatchGameWorldExactly() {
+        VectorGame game = new VectorGame(ENVIRONMENTS, SEED);
+        GameWorld[] worlds = new GameWorld[ENVIRONMENTS];
+        int[] held = new int[ENVIRONMENTS];
+        boolean[] finished = new boolean[ENVIRONMENTS];
+        for (int i = 0; i < ENVIRONMENTS; i++) {
+            worlds[i] = new GameWorld(SEED + i);
+            worlds[i].setEffectsSuppressed(true);
+        }
+        GameRandom random = new GameRandom(3);
+        byte[] actions = new byte[ENVIRONMENTS];
+        int highestLevel = 1;
+        for (int step = 0; step < 8000; step++) {
+            for (int i = 0; i < ENVIRONMENTS; i++) {
+                actions[i] = follow(game, i, random.nextInt(61) - 30);
+            }
+            game.step(actions);
+            for (int i = 0; i < ENVIRONMENTS; i++) {
+                if (finished[i]) {
+                    continue;
+                }
+                apply(worlds[i], held, i, actions[i]);
+                assertSameState(worlds[i], game, i);
+                finished[i] = worlds[i].getGameState() == GameWorld.GameState.GAME_OVER;
+                highestLevel = Math.max(highestLevel, worlds[i].getLevel());
+            }
+        }
+        assertTrue(highestLevel >= 3, "niveau atteint " + highestLevel);
+    }
+
+    @Test
+    void finishedGamesRestartWithTheNextSeed() {
+        VectorGame game = new VectorGame(2, SEED);
+        byte[] idle = {GymServer.ACTION_LAUNCH, GymServer.ACTION_LAUNCH};
+        for (int step = 0; step < 20_000 && !game.done(0); step++) {
+            game.step(idle);
+        }
+        assertTrue(game.done(0));
+
+        game.step(new byte[] {GymServer.ACTION_NONE, GymServer.ACTION_NONE});
+
+        assertEquals(0, game.score(0));
+        assertEquals(GameWorld.STARTING_LIVES, game.lives(0));
+        assertEquals(new GameWorld(SEED + 2).getBricks().size(), game.brickCount(0));
+    }
+
+    private static byte follow(VectorGame game, int env, int offset) {
+        if (game.state(env) != VectorGame.RUNNING) {
+            return GymServer.ACTION_LAUNCH;
+        }
+        double ball = game.ballX(env) + GameWorld.BALL_DIAMETER / 2.0 + game.ballVelocityX(env) * 3;
+        double paddle = game.paddleX(env) + GameWorld.BASE_PADDLE_WIDTH / 2.0 + offset;
+        return ball < paddle - 8 ? GymServer.ACTION_LEFT : ball > paddle + 8 ? GymServer.ACTION_RIGHT : GymServer.ACTION_NONE;
+    }
+
+    private static void apply(GameWorld world, int[] held, int index, byte action) {
+        int key = action == GymServer.ACTION_LEFT ? KeyEvent.VK_LEFT : action == GymServer.ACTION_RIGHT ? KeyEvent.VK_RIGHT : 0;
+        if (held[index] != key) {
+            if (held[index] != 0) {
+                world.keyReleased(held[index]);
+            }
+            if (key != 0) {
+                world.keyPressed(key);
+            }
+            held[index] = key;
+        }
+        if (action == GymServer.ACTION_LAUNCH) {
+            world.keyPressed(KeyEvent.VK_SPACE);
+            world.keyReleased(KeyEvent.VK_SPACE);
+        }
+        world.update();
+    }
+
+    private static void assertSameState(GameWorld world, VectorGame game, int env) {
+        String where = "env " + env + " tick " + world.getTick();
+        assertEquals(world.getGameState().ordinal(), game.state(env), where);
+        assertEquals(world.getBall().getX(), game.ballX(env), where);
+        assertEquals(world.getBall().getY(), game.ballY(env), where);
+        assertEquals(world.getBall().getVelocityX(), game.ballVelocityX(env), where);
+        assertEquals(world.getBall().getVelocityY(), game.ballVelocityY(env), where);
+        assertEquals(world.getPaddle().getX(), game.paddleX(env), where);
+        assertEquals(world.getScore(), game.score(env), where);
+        assertEquals(world.getCredits(), game.credits(env), where);
+        assertEquals(world.getLives(), game.lives(env), where);
+        assertEquals(world.getLevel(), game.level(env), where);
+        assertEquals(world.getBricks().size(), game.brickCount(env), where);
+        for (Brick brick : world.getBricks()) {
+            assertEquals(brick.getRemainingHits(), game.remainingHits(env, GameWorld.brickCell(brick)), where);
+        }
+        for (int cell = 0; cell < VectorGame.CELLS; cell++) {
+            assertEquals(game.remainingHits(env, cell) > 0, game.occupied(env, cell), where);
+        }
+    }
+}
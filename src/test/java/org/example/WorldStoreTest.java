@@ -0,0 +1,107 @@
+package org.example;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+final class WorldStoreTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void storedWorldLoadsBackAndKeepsPlaying() {
+        GameWorld original = InputLogTest.recordedGame(31, 2500);
+        try (WorldStore store = WorldStore.allocate(2)) {
+            store.store(1, original);
+            assertTrue(store.isOccupied(1));
+            assertFalse(store.isOccupied(0));
+            assertEquals(original.getTick(), store.tickAt(1));
+
+            GameWorld loaded = new GameWorld(0);
+            store.load(1, loaded);
+
+            assertEquals(original.getSeed(), loaded.getSeed());
+            assertEquals(original.stateChecksum(), loaded.stateChecksum());
+            for (int tick = 0; tick < 600; tick++) {
+                original.update();
+                loaded.update();
+            }
+            assertEquals(original.stateChecksum(), loaded.stateChecksum());
+        }
+    }
+
+    @Test
+    void loadingReusesTheTargetBricksAndRecords() {
+        GameWorld full = new GameWorld(32);
+        GameWorld played = InputLogTest.recordedGame(33, 4000);
+        try (WorldStore store = WorldStore.allocate(2)) {
+            store.store(0, full);
+            store.store(1, played);
+            GameWorld target = new GameWorld(0);
+            store.load(0, target);
+            Set<Brick> known = Collections.newSetFromMap(new IdentityHashMap<>());
+            known.addAll(target.getBricks());
+            Brick first = target.getBricks().get(0);
+
+            store.load(1, target);
+            assertEquals(played.stateChecksum(), target.stateChecksum());
+            assertTrue(known.containsAll(target.getBricks()));
+            List<GameWorld.ScoreRecord> records = List.copyOf(target.getScoreRecords());
+            assertFalse(records.isEmpty());
+            store.load(1, target);
+            for (int i = 0; i < records.size(); i++) {
+                assertSame(records.get(i), target.getScoreRecords().get(i));
+            }
+
+            store.load(0, target);
+            assertEquals(full.stateChecksum(), target.stateChecksum());
+            assertSame(first, target.getBricks().get(0));
+            assertTrue(known.containsAll(target.getBricks()));
+        }
+    }
+
+    @Test
+    void mappedStoreReopensWithItsWorlds() throws IOException {
+        GameWorld original = InputLogTest.recordedGame(34, 1800);
+        Path path = directory.resolve("mondes").resolve("mondes.cbw");
+        try (WorldStore store = WorldStore.map(path, 3)) {
+            store.store(2, original);
+            store.copy(2, 0);
+            store.force();
+        }
+
+        try (WorldStore store = WorldStore.map(path, 3)) {
+            GameWorld loaded = new GameWorld(0);
+            store.load(0, loaded);
+            assertEquals(original.stateChecksum(), loaded.stateChecksum());
+            assertFalse(store.isOccupied(1));
+        }
+    }
+
+    @Test
+    void emptySlotIsRejectedAndLeavesTheWorldUntouched() {
+        GameWorld target = InputLogTest.recordedGame(35, 600);
+        long before = target.stateChecksum();
+        try (WorldStore store = WorldStore.allocate(2)) {
+            store.store(0, new GameWorld(36));
+            store.clear(0);
+
+            IllegalArgumentException error = assertThrows(IllegalArgumentException.class, () -> store.load(0, target));
+
+            assertEquals("Emplacement de monde vide", error.getMessage());
+            assertEquals(before, target.stateChecksum());
+            assertThrows(IndexOutOfBoundsException.class, () -> store.load(2, target));
+        }
+    }
+}